@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.SourceUnit;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+
+/**
+ * A {@link GroovyClassLoader} which loads the classes of previously compiled sources from a {@link GroovyClassCache}
+ * and stores the bytecode of newly compiled sources in it.
+ *
+ * Both the scripts and the classes compiled from the script class path go through
+ * {@link #parseClass(GroovyCodeSource, boolean)}. Classes of other sources compiled along with a script are stored
+ * with it, together with the hashes of these sources, so that the entry is not used anymore once they change. A
+ * script may also use classes of the class path which were loaded before, without compiling their sources along with
+ * it, so the entries are also keyed by a hash of all files on the class path.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachingGroovyClassLoader extends GroovyClassLoader {
+
+    // names generated by the script engine for scripts without file name, which differ between restarts
+    private static final Pattern GENERATED_NAME = Pattern.compile("Script\\d+\\.groovy");
+
+    /**
+     * The bytecode generated by the compilation of one source
+     */
+    private static class Recording {
+        private final Map<String, byte[]> classes = new LinkedHashMap<>();
+        private final Set<String> dependencies = new LinkedHashSet<>();
+    }
+
+    /**
+     * Records the bytecode of the classes it defines
+     */
+    private static class RecordingClassCollector extends ClassCollector {
+        private final SourceUnit sourceUnit;
+        private final Recording recording;
+
+        private RecordingClassCollector(InnerLoader loader, CompilationUnit unit, SourceUnit sourceUnit,
+                Recording recording) {
+            super(loader, unit, sourceUnit);
+            this.sourceUnit = sourceUnit;
+            this.recording = recording;
+        }
+
+        @Override
+        protected Class createClass(byte[] code, ClassNode classNode) {
+            recording.classes.put(classNode.getName(), code);
+            ModuleNode module = classNode.getModule();
+            if (module != null && module.getContext() != null && module.getContext() != sourceUnit) {
+                recording.dependencies.add(module.getContext().getName());
+            }
+            return super.createClass(code, classNode);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CachingGroovyClassLoader.class);
+
+    private final GroovyClassCache cache;
+    private final ThreadLocal<@Nullable Recording> recording = new ThreadLocal<>();
+
+    private final AtomicLong compileCount = new AtomicLong();
+    private final AtomicLong compileNanos = new AtomicLong();
+    private final AtomicLong cacheHitCount = new AtomicLong();
+    private final AtomicLong cacheHitNanos = new AtomicLong();
+
+    public CachingGroovyClassLoader(GroovyClassCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Class parseClass(@Nullable GroovyCodeSource codeSource, boolean shouldCacheSource)
+            throws CompilationFailedException {
+        String source = codeSource != null ? codeSource.getScriptText() : null;
+        if (codeSource == null || source == null) {
+            return super.parseClass(codeSource, shouldCacheSource);
+        }
+        String classpathHash = hashClasspath();
+        if (classpathHash == null) {
+            return super.parseClass(codeSource, shouldCacheSource);
+        }
+        String name = GENERATED_NAME.matcher(codeSource.getName()).matches() ? "" : codeSource.getName();
+        String key = cache.key(name, source, classpathHash);
+
+        long start = System.nanoTime();
+        Class<?> cachedClass = loadCachedClass(key);
+        if (cachedClass != null) {
+            long nanos = System.nanoTime() - start;
+            logger.debug("Loaded '{}' from the class cache in {} ms (average compile: {} ms, cache hit: {} ms)",
+                    codeSource.getName(), nanos / 1_000_000, average(compileNanos, compileCount),
+                    average(cacheHitNanos.addAndGet(nanos), cacheHitCount.incrementAndGet()));
+            return cachedClass;
+        }
+
+        Recording previous = recording.get();
+        Recording current = new Recording();
+        recording.set(current);
+        Class answer;
+        try {
+            answer = super.parseClass(codeSource, shouldCacheSource);
+        } finally {
+            recording.set(previous);
+        }
+        if (current.classes.isEmpty()) {
+            // served by the in-memory source cache of the class loader
+            return answer;
+        }
+
+        long nanos = System.nanoTime() - start;
+        logger.debug("Compiled '{}' in {} ms (average compile: {} ms, cache hit: {} ms)", codeSource.getName(),
+                nanos / 1_000_000, average(compileNanos.addAndGet(nanos), compileCount.incrementAndGet()),
+                average(cacheHitNanos, cacheHitCount));
+        Map<String, String> dependencies = hashDependencies(current.dependencies);
+        if (dependencies != null) {
+            cache.put(key, name, new GroovyClassCache.Entry(answer.getName(), current.classes, dependencies));
+        }
+        return answer;
+    }
+
+    @Override
+    protected ClassCollector createCollector(@Nullable CompilationUnit unit, @Nullable SourceUnit su) {
+        Recording current = recording.get();
+        if (current == null || unit == null || su == null) {
+            return super.createCollector(unit, su);
+        }
+        return new RecordingClassCollector(new InnerLoader(this), unit, su, current);
+    }
+
+    private @Nullable Class<?> loadCachedClass(String key) {
+        GroovyClassCache.Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> dependency : entry.getDependencies().entrySet()) {
+            if (!dependency.getValue().equals(hashSource(dependency.getKey()))) {
+                logger.debug("Source '{}' has changed, not using cached classes", dependency.getKey());
+                return null;
+            }
+        }
+
+        // like the compiler, define all classes of the source in one inner loader, so that they can refer to each other
+        InnerLoader loader = new InnerLoader(this);
+        Class<?> mainClass = null;
+        try {
+            for (Map.Entry<String, byte[]> compiledClass : entry.getClasses().entrySet()) {
+                Class<?> definedClass = loader.defineClass(compiledClass.getKey(), compiledClass.getValue());
+                setClassCacheEntry(definedClass);
+                if (compiledClass.getKey().equals(entry.getMainClassName())) {
+                    mainClass = definedClass;
+                }
+            }
+        } catch (LinkageError e) {
+            logger.debug("Failed to define cached classes: {}", e.getMessage());
+            mainClass = null;
+        }
+        if (mainClass == null) {
+            cache.remove(key);
+        }
+        return mainClass;
+    }
+
+    /**
+     * Returns the hashes of the given sources, or {@code null} if one of them cannot be read.
+     */
+    private @Nullable Map<String, String> hashDependencies(Set<String> sourceNames) {
+        Map<String, String> dependencies = new LinkedHashMap<>();
+        for (String sourceName : sourceNames) {
+            String hash = hashSource(sourceName);
+            if (hash == null) {
+                logger.debug("Not caching classes depending on source '{}' which cannot be read", sourceName);
+                return null;
+            }
+            dependencies.put(sourceName, hash);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Returns a hash of the names and contents of all files on the class path, or {@code null} if one of them cannot
+     * be read.
+     */
+    private @Nullable String hashClasspath() {
+        StringBuilder files = new StringBuilder();
+        for (String classpathEntry : getClassPath()) {
+            List<Path> paths;
+            try (Stream<Path> stream = Files.walk(Paths.get(classpathEntry))) {
+                paths = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            } catch (NoSuchFileException e) {
+                continue;
+            } catch (IOException | UncheckedIOException | InvalidPathException e) {
+                logger.debug("Not using the class cache as the class path '{}' cannot be read: {}", classpathEntry,
+                        e.getMessage());
+                return null;
+            }
+            for (Path path : paths) {
+                try {
+                    files.append(path).append('\0').append(GroovyClassCache.hash(Files.readAllBytes(path)))
+                            .append('\n');
+                } catch (IOException e) {
+                    logger.debug("Not using the class cache as '{}' cannot be read: {}", path, e.getMessage());
+                    return null;
+                }
+            }
+        }
+        return GroovyClassCache.hash(files.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private @Nullable String hashSource(String sourceName) {
+        try (InputStream in = new URL(sourceName).openStream()) {
+            return GroovyClassCache.hash(in.readAllBytes());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long average(long totalNanos, long count) {
+        return count == 0 ? 0 : totalNanos / count / 1_000_000;
+    }
+
+    private static long average(AtomicLong totalNanos, AtomicLong count) {
+        return average(totalNanos.get(), count.get());
+    }
+
+    /**
+     * Returns the number of sources compiled
+     */
+    public long getCompileCount() {
+        return compileCount.get();
+    }
+
+    /**
+     * Returns the total time spent compiling sources in nanoseconds
+     */
+    public long getCompileNanos() {
+        return compileNanos.get();
+    }
+
+    /**
+     * Returns the number of sources loaded from the cache
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    /**
+     * Returns the total time spent loading sources from the cache in nanoseconds
+     */
+    public long getCacheHitNanos() {
+        return cacheHitNanos.get();
+    }
+}
@@ -0,0 +1,352 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.util.HexUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the classes compiled from Groovy sources on disk, so that they do not have to be compiled again after a
+ * restart.
+ *
+ * An entry is keyed by the hash of the Groovy version, the class path, the source name and the source text, so a
+ * changed source, a changed class of the class path or a different Groovy version never matches an old entry. When a
+ * source is compiled again under the same name, the entry of its previous version is removed. The least recently used
+ * entries are evicted when the cache exceeds its maximum size.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroovyClassCache {
+
+    private static final int MAGIC = 0x47434331;
+    private static final String FILE_EXTENSION = ".classes";
+
+    /**
+     * The classes compiled from one source
+     */
+    public static class Entry {
+        private final String mainClassName;
+        private final Map<String, byte[]> classes;
+        private final Map<String, String> dependencies;
+
+        /**
+         * @param mainClassName name of the class returned for the source
+         * @param classes bytecode of all classes compiled from the source, by class name
+         * @param dependencies hashes of the other sources compiled along with it, by source URL
+         */
+        public Entry(String mainClassName, Map<String, byte[]> classes, Map<String, String> dependencies) {
+            this.mainClassName = mainClassName;
+            this.classes = classes;
+            this.dependencies = dependencies;
+        }
+
+        public String getMainClassName() {
+            return mainClassName;
+        }
+
+        public Map<String, byte[]> getClasses() {
+            return classes;
+        }
+
+        public Map<String, String> getDependencies() {
+            return dependencies;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(GroovyClassCache.class);
+
+    private final Path directory;
+    private final long maxSize;
+    private final String groovyVersion;
+
+    // file sizes by key, in access order
+    private final Map<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> keysByName = new HashMap<>();
+    private long size;
+    private boolean enabled;
+
+    /**
+     * @param directory the directory to store the classes in
+     * @param maxSize the maximum size of the cache in bytes
+     * @param groovyVersion the version of the Groovy compiler
+     */
+    public GroovyClassCache(Path directory, long maxSize, String groovyVersion) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.groovyVersion = groovyVersion;
+    }
+
+    /**
+     * Indexes the entries on disk and removes the ones which were written by another Groovy version or are damaged.
+     */
+    public synchronized void load() {
+        sizes.clear();
+        keysByName.clear();
+        size = 0;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            logger.warn("Failed to create the Groovy class cache directory '{}': {}", directory, e.getMessage());
+            enabled = false;
+            return;
+        }
+        enabled = true;
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            logger.warn("Failed to list the Groovy class cache directory '{}': {}", directory, e.getMessage());
+            return;
+        }
+        // oldest first, so that the access order of the index matches the last use
+        files.sort(Comparator.comparing(this::lastModified));
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            String key = fileName.substring(0, fileName.length() - FILE_EXTENSION.length());
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || !groovyVersion.equals(in.readUTF()) || !key.equals(in.readUTF())) {
+                    delete(file);
+                    continue;
+                }
+                String name = in.readUTF();
+                long fileSize = Files.size(file);
+                sizes.put(key, fileSize);
+                size += fileSize;
+                if (!name.isEmpty()) {
+                    String previousKey = keysByName.put(name, key);
+                    if (previousKey != null) {
+                        remove(previousKey);
+                    }
+                }
+            } catch (IOException e) {
+                delete(file);
+            }
+        }
+        evict();
+        logger.debug("Loaded Groovy class cache with {} entries ({} bytes)", sizes.size(), size);
+    }
+
+    /**
+     * Returns the key of the classes compiled from a source.
+     *
+     * @param name the name of the source, or an empty string if it has no stable name
+     * @param source the source text
+     * @param classpathHash the hash of the files on the class path the source is compiled with
+     */
+    public String key(String name, String source, String classpathHash) {
+        return hash((groovyVersion + '\0' + classpathHash + '\0' + name + '\0' + source)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the cached classes of a key.
+     *
+     * @param key the key
+     * @return the entry or {@code null} if it is not cached or damaged
+     */
+    public synchronized @Nullable Entry get(String key) {
+        // also marks the entry as recently used
+        if (!enabled || sizes.get(key) == null) {
+            return null;
+        }
+        Path file = file(key);
+        CRC32 crc = new CRC32();
+        try (InputStream fileIn = new BufferedInputStream(Files.newInputStream(file));
+                DataInputStream in = new DataInputStream(new CheckedInputStream(fileIn, crc))) {
+            if (in.readInt() != MAGIC || !groovyVersion.equals(in.readUTF()) || !key.equals(in.readUTF())) {
+                throw new IOException("Header mismatch");
+            }
+            in.readUTF();
+            String mainClassName = in.readUTF();
+            Map<String, String> dependencies = new LinkedHashMap<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                dependencies.put(in.readUTF(), in.readUTF());
+            }
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                String className = in.readUTF();
+                byte[] bytecode = new byte[in.readInt()];
+                in.readFully(bytecode);
+                classes.put(className, bytecode);
+            }
+            long checksum = crc.getValue();
+            if (new DataInputStream(fileIn).readLong() != checksum) {
+                throw new IOException("Checksum mismatch");
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new Entry(mainClassName, classes, dependencies);
+        } catch (IOException e) {
+            logger.debug("Removing damaged Groovy class cache entry '{}': {}", file, e.getMessage());
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the classes compiled from a source and removes the entry of its previous version.
+     *
+     * @param key the key of the source
+     * @param name the name of the source, or an empty string if it has no stable name
+     * @param entry the compiled classes
+     */
+    public synchronized void put(String key, String name, Entry entry) {
+        if (!enabled) {
+            return;
+        }
+        Path file = file(key);
+        Path tempFile = directory.resolve(key + ".tmp");
+        CRC32 crc = new CRC32();
+        try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(fileOut, crc));
+            out.writeInt(MAGIC);
+            out.writeUTF(groovyVersion);
+            out.writeUTF(key);
+            out.writeUTF(name);
+            out.writeUTF(entry.mainClassName);
+            out.writeInt(entry.dependencies.size());
+            for (Map.Entry<String, String> dependency : entry.dependencies.entrySet()) {
+                out.writeUTF(dependency.getKey());
+                out.writeUTF(dependency.getValue());
+            }
+            out.writeInt(entry.classes.size());
+            for (Map.Entry<String, byte[]> compiledClass : entry.classes.entrySet()) {
+                out.writeUTF(compiledClass.getKey());
+                out.writeInt(compiledClass.getValue().length);
+                out.write(compiledClass.getValue());
+            }
+            out.flush();
+            new DataOutputStream(fileOut).writeLong(crc.getValue());
+        } catch (IOException e) {
+            logger.debug("Failed to write Groovy class cache entry '{}': {}", file, e.getMessage());
+            delete(tempFile);
+            return;
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            long fileSize = Files.size(file);
+            Long previousSize = sizes.put(key, fileSize);
+            size += fileSize - (previousSize != null ? previousSize : 0);
+        } catch (IOException e) {
+            logger.debug("Failed to write Groovy class cache entry '{}': {}", file, e.getMessage());
+            delete(tempFile);
+            return;
+        }
+
+        if (!name.isEmpty()) {
+            String previousKey = keysByName.put(name, key);
+            if (previousKey != null && !previousKey.equals(key)) {
+                logger.debug("Source '{}' has changed, removing its previous Groovy class cache entry", name);
+                remove(previousKey);
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Removes the entry of a key.
+     */
+    public synchronized void remove(String key) {
+        Long fileSize = sizes.remove(key);
+        if (fileSize != null) {
+            size -= fileSize;
+        }
+        keysByName.values().remove(key);
+        delete(file(key));
+    }
+
+    /**
+     * Returns the number of cached entries
+     */
+    public synchronized int getEntryCount() {
+        return sizes.size();
+    }
+
+    /**
+     * Returns the size of the cache in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private void evict() {
+        while (size > maxSize && !sizes.isEmpty()) {
+            String key = sizes.keySet().iterator().next();
+            remove(key);
+            logger.debug("Evicted Groovy class cache entry {}", key);
+        }
+    }
+
+    /**
+     * Returns the hex encoded SHA-256 hash of the given data.
+     */
+    public static String hash(byte[] data) {
+        try {
+            return HexUtils.bytesToHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Failed to delete Groovy class cache file '{}': {}", file, e.getMessage());
+        }
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.automation.groovyscripting.internal;
 
 import java.io.File;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,8 +26,9 @@ import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.AbstractScriptEngineFactory;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 
-import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
 
 /**
  * This is an implementation of a {@link ScriptEngineFactory} for Groovy.
@@ -38,20 +40,32 @@ import groovy.lang.GroovyClassLoader;
 public class GroovyScriptEngineFactory extends AbstractScriptEngineFactory {
 
     private static final String FILE_DIRECTORY = "automation" + File.separator + "groovy";
+    private static final long CLASS_CACHE_MAX_SIZE = 32 * 1024 * 1024;
     private final org.codehaus.groovy.jsr223.GroovyScriptEngineFactory factory = new org.codehaus.groovy.jsr223.GroovyScriptEngineFactory();
 
     private final List<String> scriptTypes = (List<String>) Stream.of(factory.getExtensions(), factory.getMimeTypes())
             .flatMap(List::stream) //
             .collect(Collectors.toUnmodifiableList());
 
-    private final GroovyClassLoader gcl = new GroovyClassLoader();
+    private final GroovyClassCache classCache = new GroovyClassCache(
+            Paths.get(OpenHAB.getUserDataFolder(), "cache", GroovyScriptEngineFactory.class.getPackageName(), "classes"),
+            CLASS_CACHE_MAX_SIZE, GroovySystem.getVersion());
+    private final CachingGroovyClassLoader gcl = new CachingGroovyClassLoader(classCache);
 
     public GroovyScriptEngineFactory() {
+        classCache.load();
         String scriptDir = OpenHAB.getConfigFolder() + File.separator + FILE_DIRECTORY;
         logger.debug("Adding script directory {} to the GroovyScriptEngine class path.", scriptDir);
         gcl.addClasspath(scriptDir);
     }
 
+    @Deactivate
+    public void deactivate() {
+        logger.debug("Compiled {} Groovy sources in {} ms and loaded {} from the class cache in {} ms",
+                gcl.getCompileCount(), gcl.getCompileNanos() / 1_000_000, gcl.getCacheHitCount(),
+                gcl.getCacheHitNanos() / 1_000_000);
+    }
+
     @Override
     public List<String> getScriptTypes() {
         return scriptTypes;
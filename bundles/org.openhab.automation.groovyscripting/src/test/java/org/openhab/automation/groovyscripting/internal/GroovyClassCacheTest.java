@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.groovyscripting.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link GroovyClassCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroovyClassCacheTest {
+
+    private static final String VERSION = "3.0.9";
+    private static final String CLASSPATH_HASH = GroovyClassCache.hash(new byte[0]);
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+
+    private static GroovyClassCache.Entry entry(String mainClassName) {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put(mainClassName, mainClassName.getBytes(StandardCharsets.UTF_8));
+        classes.put(mainClassName + "$Inner", new byte[] { 1, 2, 3 });
+        return new GroovyClassCache.Entry(mainClassName, classes, Map.of("file:/util.groovy", "0123"));
+    }
+
+    private GroovyClassCache newCache(long maxSize) {
+        GroovyClassCache cache = new GroovyClassCache(directory, maxSize, VERSION);
+        cache.load();
+        return cache;
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + ".classes");
+    }
+
+    @Test
+    public void testEntryIsReadAfterRestart() {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String key = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+        cache.put(key, "rule.groovy", entry("Rule"));
+
+        GroovyClassCache.Entry entry = newCache(Long.MAX_VALUE).get(key);
+        assertNotNull(entry);
+        assertEquals("Rule", entry.getMainClassName());
+        assertEquals(2, entry.getClasses().size());
+        assertArrayEquals("Rule".getBytes(StandardCharsets.UTF_8), entry.getClasses().get("Rule"));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, entry.getClasses().get("Rule$Inner"));
+        assertEquals(Map.of("file:/util.groovy", "0123"), entry.getDependencies());
+    }
+
+    @Test
+    public void testKeyDependsOnAllInputs() {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String key = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+
+        assertEquals(key, cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH));
+        assertNotEquals(key, cache.key("other.groovy", "println 'Hello'", CLASSPATH_HASH));
+        assertNotEquals(key, cache.key("rule.groovy", "println 'Bye'", CLASSPATH_HASH));
+        assertNotEquals(key, cache.key("rule.groovy", "println 'Hello'", GroovyClassCache.hash(new byte[] { 1 })));
+        assertNotEquals(key,
+                new GroovyClassCache(directory, Long.MAX_VALUE, "4.0.0").key("rule.groovy", "println 'Hello'",
+                        CLASSPATH_HASH));
+    }
+
+    @Test
+    public void testEntriesOfOtherGroovyVersionAreRemoved() {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String key = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+        cache.put(key, "rule.groovy", entry("Rule"));
+
+        GroovyClassCache upgraded = new GroovyClassCache(directory, Long.MAX_VALUE, "4.0.0");
+        upgraded.load();
+
+        assertEquals(0, upgraded.getEntryCount());
+        assertFalse(Files.exists(file(key)));
+    }
+
+    @Test
+    public void testEntryUnderOtherKeyIsRemoved() throws IOException {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String key = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+        String otherKey = cache.key("rule.groovy", "println 'Bye'", CLASSPATH_HASH);
+        cache.put(key, "rule.groovy", entry("Rule"));
+        Files.move(file(key), file(otherKey));
+
+        GroovyClassCache reloaded = newCache(Long.MAX_VALUE);
+        assertEquals(0, reloaded.getEntryCount());
+        assertFalse(Files.exists(file(otherKey)));
+    }
+
+    @Test
+    public void testDamagedEntryIsRemoved() throws IOException {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String key = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+        cache.put(key, "rule.groovy", entry("Rule"));
+
+        // damage the bytecode after the header, which only the checksum detects
+        byte[] content = Files.readAllBytes(file(key));
+        content[content.length - 10] ^= 0x55;
+        Files.write(file(key), content);
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getSize());
+        assertFalse(Files.exists(file(key)));
+    }
+
+    @Test
+    public void testTruncatedEntryIsRemoved() throws IOException {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String key = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+        cache.put(key, "rule.groovy", entry("Rule"));
+
+        byte[] content = Files.readAllBytes(file(key));
+        Files.write(file(key), Arrays.copyOf(content, content.length - 4));
+
+        assertNull(cache.get(key));
+        assertFalse(Files.exists(file(key)));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        GroovyClassCache probe = new GroovyClassCache(directory.resolve("probe"), Long.MAX_VALUE, VERSION);
+        probe.load();
+        probe.put(probe.key("a.groovy", "a", CLASSPATH_HASH), "a.groovy", entry("A"));
+        long entrySize = probe.getSize();
+
+        GroovyClassCache cache = newCache(2 * entrySize);
+        String a = cache.key("a.groovy", "a", CLASSPATH_HASH);
+        String b = cache.key("b.groovy", "b", CLASSPATH_HASH);
+        String c = cache.key("c.groovy", "c", CLASSPATH_HASH);
+        cache.put(a, "a.groovy", entry("A"));
+        cache.put(b, "b.groovy", entry("B"));
+        assertNotNull(cache.get(a));
+        cache.put(c, "c.groovy", entry("C"));
+
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(2 * entrySize, cache.getSize());
+        assertNotNull(cache.get(a));
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(c));
+        assertFalse(Files.exists(file(b)));
+    }
+
+    @Test
+    public void testChangedSourceReplacesPreviousEntry() {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String first = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+        String second = cache.key("rule.groovy", "println 'Bye'", CLASSPATH_HASH);
+        cache.put(first, "rule.groovy", entry("Rule"));
+        long entrySize = cache.getSize();
+
+        cache.put(second, "rule.groovy", entry("Rule"));
+
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(entrySize, cache.getSize());
+        assertNull(cache.get(first));
+        assertFalse(Files.exists(file(first)));
+        assertNotNull(cache.get(second));
+        assertFalse(Files.exists(directory.resolve(second + ".tmp")));
+    }
+
+    @Test
+    public void testOlderVersionOfSourceIsRemovedOnLoad() throws IOException {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String first = cache.key("rule.groovy", "println 'Hello'", CLASSPATH_HASH);
+        cache.put(first, "rule.groovy", entry("Rule"));
+        Files.setLastModifiedTime(file(first), FileTime.fromMillis(1000));
+
+        // both versions of the source are on disk, e.g. after the previous entry could not be deleted
+        GroovyClassCache other = new GroovyClassCache(directory.resolve("other"), Long.MAX_VALUE, VERSION);
+        other.load();
+        String second = other.key("rule.groovy", "println 'Bye'", CLASSPATH_HASH);
+        other.put(second, "rule.groovy", entry("Rule"));
+        Files.copy(directory.resolve("other").resolve(second + ".classes"), file(second));
+        Files.setLastModifiedTime(file(second), FileTime.fromMillis(2000));
+
+        GroovyClassCache reloaded = newCache(Long.MAX_VALUE);
+        assertEquals(1, reloaded.getEntryCount());
+        assertNotNull(reloaded.get(second));
+        assertFalse(Files.exists(file(first)));
+    }
+
+    @Test
+    public void testEntriesWithoutNameAreKept() {
+        GroovyClassCache cache = newCache(Long.MAX_VALUE);
+        String first = cache.key("", "println 'Hello'", CLASSPATH_HASH);
+        String second = cache.key("", "println 'Bye'", CLASSPATH_HASH);
+        cache.put(first, "", entry("Script1"));
+        cache.put(second, "", entry("Script2"));
+
+        assertEquals(2, cache.getEntryCount());
+        assertNotNull(cache.get(first));
+        assertNotNull(cache.get(second));
+    }
+}
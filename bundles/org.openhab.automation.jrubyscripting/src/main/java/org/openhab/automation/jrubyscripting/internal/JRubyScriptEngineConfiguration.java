@@ -13,6 +13,9 @@
 package org.openhab.automation.jrubyscripting.internal;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
@@ -48,6 +51,9 @@ public class JRubyScriptEngineConfiguration {
 
     private static final Path DEFAULT_RUBYLIB = Paths.get(OpenHAB.getConfigFolder(), "automation", "lib", "ruby");
 
+    // Marker in gem_home with the gems resolved for the current configuration
+    private static final String GEMS_MARKER = ".openhab-gems";
+
     private static final String GEM_HOME = "gem_home";
     private static final String RUBYLIB = "rubylib";
     private static final String GEMS = "gems";
@@ -154,7 +160,14 @@ public class JRubyScriptEngineConfiguration {
             return;
         }
 
-        String[] gems = gemsConfigElement.getValue().get().split(",");
+        // The gems are only installed or updated once per configuration change, afterwards only missing gems are
+        // installed, which does not need to contact the gem server
+        String gemsConfig = gemsConfigElement.getValue().get();
+        Path gemsMarker = getGemsMarker();
+        boolean resolved = gemsMarker != null && gemsConfig.equals(readGemsMarker(gemsMarker));
+        boolean failed = false;
+
+        String[] gems = gemsConfig.split(",");
         for (String gem : gems) {
             gem = gem.trim();
             String version = "";
@@ -165,28 +178,61 @@ public class JRubyScriptEngineConfiguration {
                 version = gemParts[1].trim();
             }
 
+            String gemArguments;
             if (gem.isEmpty()) {
                 continue;
             } else if (version.isEmpty()) {
-                gemCommand = "Gem.install('" + gem + "')\n";
+                gemArguments = "'" + gem + "'";
+            } else {
+                gemArguments = "'" + gem + "', '" + version + "'";
+            }
+            if (resolved) {
+                gemCommand = "Gem.install(" + gemArguments + ") if Gem::Specification.find_all_by_name(" + gemArguments
+                        + ").empty?\n";
             } else {
-                gemCommand = "Gem.install('" + gem + "', '" + version + "')\n";
+                gemCommand = "Gem.install(" + gemArguments + ")\n";
             }
 
             try {
-                logger.debug("Installing Gem: {}", gem);
+                logger.debug(resolved ? "Checking Gem: {}" : "Installing Gem: {}", gem);
                 logger.trace("Gem install code:\n{}\n", gemCommand);
                 engine.eval(gemCommand);
             } catch (ScriptException e) {
                 logger.warn("Error installing Gem: {}", e.getMessage());
+                failed = true;
             } catch (BootstrapMethodError e) {
                 logger.warn("Error while checking/installing gems: {}. You may need to restart OpenHAB",
                         e.getMessage());
                 logger.debug("Error in configureGems", e);
+                failed = true;
+            }
+        }
+
+        if (gemsMarker != null && !resolved && !failed) {
+            try {
+                Files.writeString(gemsMarker, gemsConfig, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.debug("Error writing gems marker {}: {}", gemsMarker, e.getMessage());
             }
         }
     }
 
+    private @Nullable Path getGemsMarker() {
+        OptionalConfigurationElement gemHomeConfigElement = CONFIGURATION_PARAMETERS.get(GEM_HOME);
+        if (gemHomeConfigElement == null) {
+            return null;
+        }
+        return gemHomeConfigElement.getValue().map(gemHome -> Paths.get(gemHome, GEMS_MARKER)).orElse(null);
+    }
+
+    private @Nullable String readGemsMarker(Path gemsMarker) {
+        try {
+            return Files.readString(gemsMarker, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     /**
      * Execute ruby require statement in the ScriptEngine
      * 
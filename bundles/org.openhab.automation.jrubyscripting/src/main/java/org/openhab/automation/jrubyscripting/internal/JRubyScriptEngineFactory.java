@@ -118,7 +118,11 @@ public class JRubyScriptEngineFactory extends AbstractScriptEngineFactory {
         // scopeValues is called twice. The first call only passed 'se'. The second call passed the rest of the
         // presets, including 'ir'. We wait for the second call before running the require statements.
         if (scopeValues.containsKey("ir")) {
+            long start = System.nanoTime();
             configuration.injectRequire(scriptEngine);
+            if (scriptEngine instanceof JRubyScriptEngineWrapper) {
+                ((JRubyScriptEngineWrapper) scriptEngine).addSetupNanos(System.nanoTime() - start);
+            }
         }
     }
 
@@ -136,7 +140,13 @@ public class JRubyScriptEngineFactory extends AbstractScriptEngineFactory {
 
     @Override
     public @Nullable ScriptEngine createScriptEngine(String scriptType) {
-        return scriptTypes.contains(scriptType) ? configuration.configureRubyEnvironment(factory.getScriptEngine())
-                : null;
+        if (!scriptTypes.contains(scriptType)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        JRubyScriptEngineWrapper engine = new JRubyScriptEngineWrapper(
+                configuration.configureRubyEnvironment(factory.getScriptEngine()));
+        engine.addSetupNanos(System.nanoTime() - start);
+        return engine;
     }
 }
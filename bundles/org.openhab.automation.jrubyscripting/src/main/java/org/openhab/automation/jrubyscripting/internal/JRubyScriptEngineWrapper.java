@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jrubyscripting.internal;
+
+import static org.openhab.core.automation.module.script.ScriptEngineFactory.CONTEXT_KEY_ENGINE_IDENTIFIER;
+
+import java.io.Reader;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wraps a JRuby {@link ScriptEngine} to report the time needed to load a script. The wrapper offers the same
+ * {@link Invocable} and {@link Compilable} interfaces as the JRuby engine.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JRubyScriptEngineWrapper implements ScriptEngine, Invocable, Compilable {
+
+    private final Logger logger = LoggerFactory.getLogger(JRubyScriptEngineWrapper.class);
+
+    private final ScriptEngine engine;
+    private long setupNanos;
+
+    /**
+     * @param engine the JRuby engine
+     */
+    public JRubyScriptEngineWrapper(ScriptEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Adds the time spent to set up the engine before the script is loaded, to be included in the report.
+     */
+    void addSetupNanos(long nanos) {
+        setupNanos += nanos;
+    }
+
+    /**
+     * Evaluates a script read from a file or the UI and reports the time needed
+     */
+    private @Nullable Object load(Reader reader, ScriptContext context) throws ScriptException {
+        long start = System.nanoTime();
+        try {
+            return engine.eval(reader, context);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            Object name = context.getAttribute(ScriptEngine.FILENAME);
+            if (name == null) {
+                name = context.getAttribute(CONTEXT_KEY_ENGINE_IDENTIFIER);
+            }
+            logger.debug("Loaded script '{}' in {} ms (setup {} ms)", name, (setupNanos + nanos) / 1_000_000,
+                    setupNanos / 1_000_000);
+        }
+    }
+
+    @Override
+    public @Nullable Object eval(String script, ScriptContext context) throws ScriptException {
+        return engine.eval(script, context);
+    }
+
+    @Override
+    public @Nullable Object eval(Reader reader, ScriptContext context) throws ScriptException {
+        return load(reader, context);
+    }
+
+    @Override
+    public @Nullable Object eval(String script) throws ScriptException {
+        return eval(script, getContext());
+    }
+
+    @Override
+    public @Nullable Object eval(Reader reader) throws ScriptException {
+        return load(reader, getContext());
+    }
+
+    @Override
+    public @Nullable Object eval(String script, Bindings bindings) throws ScriptException {
+        return engine.eval(script, bindings);
+    }
+
+    @Override
+    public @Nullable Object eval(Reader reader, Bindings bindings) throws ScriptException {
+        return engine.eval(reader, bindings);
+    }
+
+    @Override
+    public void put(String key, @Nullable Object value) {
+        engine.put(key, value);
+    }
+
+    @Override
+    public @Nullable Object get(String key) {
+        return engine.get(key);
+    }
+
+    @Override
+    public Bindings getBindings(int scope) {
+        return engine.getBindings(scope);
+    }
+
+    @Override
+    public void setBindings(Bindings bindings, int scope) {
+        engine.setBindings(bindings, scope);
+    }
+
+    @Override
+    public Bindings createBindings() {
+        return engine.createBindings();
+    }
+
+    @Override
+    public ScriptContext getContext() {
+        return engine.getContext();
+    }
+
+    @Override
+    public void setContext(ScriptContext context) {
+        engine.setContext(context);
+    }
+
+    @Override
+    public ScriptEngineFactory getFactory() {
+        return engine.getFactory();
+    }
+
+    @Override
+    public @Nullable Object invokeMethod(Object thiz, String name, Object... args)
+            throws ScriptException, NoSuchMethodException {
+        return ((Invocable) engine).invokeMethod(thiz, name, args);
+    }
+
+    @Override
+    public @Nullable Object invokeFunction(String name, Object... args) throws ScriptException, NoSuchMethodException {
+        return ((Invocable) engine).invokeFunction(name, args);
+    }
+
+    @Override
+    public <T> T getInterface(Class<T> clasz) {
+        return ((Invocable) engine).getInterface(clasz);
+    }
+
+    @Override
+    public <T> T getInterface(Object thiz, Class<T> clasz) {
+        return ((Invocable) engine).getInterface(thiz, clasz);
+    }
+
+    @Override
+    public CompiledScript compile(String script) throws ScriptException {
+        return ((Compilable) engine).compile(script);
+    }
+
+    @Override
+    public CompiledScript compile(Reader reader) throws ScriptException {
+        return ((Compilable) engine).compile(reader);
+    }
+}
@@ -19,13 +19,17 @@ import java.util.Map;
 
 import javax.script.ScriptEngine;
 
+import org.graalvm.polyglot.Engine;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An implementation of {@link ScriptEngineFactory} with customizations for GraalJS ScriptEngines.
@@ -39,8 +43,16 @@ import org.osgi.service.component.annotations.Modified;
 public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     private static final String CFG_INJECTION_ENABLED = "injectionEnabled";
     private static final String INJECTION_CODE = "Object.assign(this, require('openhab'));";
+    private final Logger logger = LoggerFactory.getLogger(GraalJSScriptEngineFactory.class);
     private boolean injectionEnabled = true;
 
+    /*
+     * One engine for all script engines, so that the parsed and compiled code of the globals and the library is shared
+     * between their contexts instead of being re-parsed for every script.
+     */
+    private final Engine engine = Engine.newBuilder().allowExperimentalOptions(true)
+            .option("engine.WarnInterpreterOnly", "false").build();
+
     public static final String MIME_TYPE = "application/javascript;version=ECMAScript-2021";
 
     @Override
@@ -71,7 +83,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     @Override
     public ScriptEngine createScriptEngine(String scriptType) {
         return new DebuggingGraalScriptEngine<>(
-                new OpenhabGraalJSScriptEngine(injectionEnabled ? INJECTION_CODE : null));
+                new OpenhabGraalJSScriptEngine(engine, injectionEnabled ? INJECTION_CODE : null));
     }
 
     @Activate
@@ -79,6 +91,15 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         modified(config);
     }
 
+    @Deactivate
+    protected void deactivate() {
+        try {
+            engine.close();
+        } catch (IllegalStateException e) {
+            logger.debug("Could not close the polyglot engine while scripts are running: {}", e.getMessage());
+        }
+    }
+
     @Modified
     protected void modified(Map<String, ?> config) {
         Object injectionEnabled = config.get(CFG_INJECTION_ENABLED);
@@ -16,6 +16,8 @@ import static org.openhab.core.automation.module.script.ScriptEngineFactory.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.FileSystems;
@@ -30,17 +32,21 @@ import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import javax.script.ScriptContext;
-import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.openhab.automation.jsscripting.internal.fs.DelegatingFileSystem;
 import org.openhab.automation.jsscripting.internal.fs.PrefixedSeekableByteChannel;
@@ -65,23 +71,37 @@ public class OpenhabGraalJSScriptEngine
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenhabGraalJSScriptEngine.class);
     private static final String GLOBAL_REQUIRE = "require(\"@jsscripting-globals\");";
     private static final String REQUIRE_WRAPPER_NAME = "__wraprequire__";
+    private static final byte[] REQUIRE_WRAPPER = ("require=" + REQUIRE_WRAPPER_NAME + "(require);").getBytes();
     // final CommonJS search path for our library
     private static final Path NODE_DIR = Paths.get("node_modules");
 
+    // the global script and the bundled library are the same for all engines, so they are read and parsed once and
+    // the parsed code is shared through the polyglot engine
+    private static final Map<String, Source> GLOBAL_SOURCES = new ConcurrentHashMap<>();
+    private static final Map<String, byte[]> NODE_RESOURCES = new ConcurrentHashMap<>();
+
+    private static final AtomicLong INITIALIZED_CONTEXTS = new AtomicLong();
+    private static final AtomicLong INITIALIZATION_NANOS = new AtomicLong();
+
     // these fields start as null because they are populated on first use
     private @NonNullByDefault({}) String engineIdentifier;
     private @NonNullByDefault({}) Consumer<String> scriptDependencyListener;
 
     private boolean initialized = false;
-    private String globalScript;
+    private Source globalSource;
 
     /**
      * Creates an implementation of ScriptEngine (& Invocable), wrapping the contained engine, that tracks the script
      * lifecycle and provides hooks for scripts to do so too.
+     *
+     * @param engine the polyglot engine shared by all script engines, so that code is parsed and compiled once
+     * @param injectionCode code to run after the globals have been loaded
      */
-    public OpenhabGraalJSScriptEngine(@Nullable String injectionCode) {
+    public OpenhabGraalJSScriptEngine(Engine engine, @Nullable String injectionCode) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
-        this.globalScript = GLOBAL_REQUIRE + (injectionCode != null ? injectionCode : "");
+        this.globalSource = GLOBAL_SOURCES.computeIfAbsent(
+                GLOBAL_REQUIRE + (injectionCode != null ? injectionCode : ""),
+                script -> Source.newBuilder("js", script, "@openhab-globals-injection.js").cached(true).buildLiteral());
 
         // Custom translate JS Objects - > Java Objects
         HostAccess hostAccess = HostAccess.newBuilder(HostAccess.ALL)
@@ -99,9 +119,7 @@ public class OpenhabGraalJSScriptEngine
                         }, HostAccess.TargetMappingPrecedence.LOW)
                 .build();
 
-        delegate = GraalJSScriptEngine.create(
-                Engine.newBuilder().allowExperimentalOptions(true).option("engine.WarnInterpreterOnly", "false")
-                        .build(),
+        delegate = GraalJSScriptEngine.create(engine,
                 Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true).allowHostAccess(hostAccess)
                         .option("js.commonjs-require-cwd", JSDependencyTracker.LIB_PATH)
                         .option("js.nashorn-compat", "true") // to ease migration
@@ -120,16 +138,11 @@ public class OpenhabGraalJSScriptEngine
                                 if (path.toString().endsWith(".js")) {
                                     SeekableByteChannel sbc = null;
                                     if (isRootNodePath(path)) {
-                                        InputStream is = getClass().getResourceAsStream(nodeFileToResource(path));
-                                        if (is == null) {
-                                            throw new IOException("Could not read " + path.toString());
-                                        }
-                                        sbc = new ReadOnlySeekableByteArrayChannel(is.readAllBytes());
+                                        sbc = new ReadOnlySeekableByteArrayChannel(readNodeResource(path));
                                     } else {
                                         sbc = super.newByteChannel(path, options, attrs);
                                     }
-                                    return new PrefixedSeekableByteChannel(
-                                            ("require=" + REQUIRE_WRAPPER_NAME + "(require);").getBytes(), sbc);
+                                    return new PrefixedSeekableByteChannel(REQUIRE_WRAPPER, sbc);
                                 } else {
                                     return super.newByteChannel(path, options, attrs);
                                 }
@@ -172,6 +185,8 @@ public class OpenhabGraalJSScriptEngine
             return;
         }
 
+        long start = System.nanoTime();
+        long allocatedBefore = getAllocatedBytes();
         ScriptContext ctx = delegate.getContext();
 
         // these are added post-construction, so we need to fetch them late
@@ -206,10 +221,57 @@ public class OpenhabGraalJSScriptEngine
         initialized = true;
 
         try {
-            eval(globalScript);
-        } catch (ScriptException e) {
+            delegate.getPolyglotContext().eval(globalSource);
+        } catch (PolyglotException e) {
             LOGGER.error("Could not inject global script", e);
         }
+
+        long nanos = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+        long contexts = INITIALIZED_CONTEXTS.incrementAndGet();
+        long totalNanos = INITIALIZATION_NANOS.addAndGet(nanos);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                    "Initialized context of script engine '{}' in {} ms, allocating {} kB ({} contexts, {} ms on average)",
+                    engineIdentifier, TimeUnit.NANOSECONDS.toMillis(nanos),
+                    allocatedBefore < 0 ? "?" : (allocatedAfter - allocatedBefore) / 1024, contexts,
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos / contexts));
+        }
+    }
+
+    /**
+     * Reads a file of the bundled library, only once for all engines.
+     *
+     * @param path the root node path of the file
+     * @return the content of the file
+     * @throws IOException if the file is not bundled
+     */
+    private byte[] readNodeResource(Path path) throws IOException {
+        String resource = nodeFileToResource(path);
+        byte[] content = NODE_RESOURCES.get(resource);
+        if (content == null) {
+            try (InputStream is = getClass().getResourceAsStream(resource)) {
+                if (is == null) {
+                    throw new IOException("Could not read " + path.toString());
+                }
+                content = is.readAllBytes();
+            }
+            NODE_RESOURCES.put(resource, content);
+        }
+        return content;
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread, to estimate the memory used by a context, or -1 if the JVM
+     * does not support it.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
     }
 
     /**
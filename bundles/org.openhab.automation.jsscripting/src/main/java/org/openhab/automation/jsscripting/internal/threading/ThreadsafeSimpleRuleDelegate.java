@@ -15,6 +15,7 @@ package org.openhab.automation.jsscripting.internal.threading;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,6 +29,8 @@ import org.openhab.core.automation.module.script.rulesupport.shared.simple.Simpl
 import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRuleActionHandler;
 import org.openhab.core.config.core.ConfigDescriptionParameter;
 import org.openhab.core.config.core.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An version of {@link SimpleRule} which controls multithreaded execution access to this specific rule. This is useful
@@ -38,6 +41,11 @@ import org.openhab.core.config.core.Configuration;
 @NonNullByDefault
 class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
 
+    // waits for the lock of at least this time are logged, shorter ones are expected and not worth a log entry
+    private static final long WAIT_LOG_THRESHOLD_MILLIS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(ThreadsafeSimpleRuleDelegate.class);
+
     private final Object lock;
     private final SimpleRule delegate;
 
@@ -55,7 +63,13 @@ class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
     @Override
     @NonNullByDefault({})
     public Object execute(Action module, Map<String, ?> inputs) {
+        long start = System.nanoTime();
         synchronized (lock) {
+            // the time the rule waited for other rules of the same script to finish
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (waitMillis >= WAIT_LOG_THRESHOLD_MILLIS) {
+                logger.debug("Rule '{}' waited {} ms for the script context", delegate.getUID(), waitMillis);
+            }
             return delegate.execute(module, inputs);
         }
     }
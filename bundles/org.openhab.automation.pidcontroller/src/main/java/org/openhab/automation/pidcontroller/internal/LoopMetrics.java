@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Jitter and overrun statistics of a control loop scheduled with a fixed delay.
+ *
+ * The jitter of a loop is the deviation of its start from its scheduled start, i.e. one period after the previous
+ * loop finished. A loop overruns if it runs longer than the period.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LoopMetrics {
+    private final long periodNanos;
+    private long lastEndNanos;
+    private long loopCount;
+    private long overrunCount;
+    private long totalJitterNanos;
+    private long maxJitterNanos;
+    private long lastJitterNanos;
+
+    /**
+     * @param periodNanos the period of the loop in nanoseconds
+     */
+    public LoopMetrics(long periodNanos) {
+        this.periodNanos = periodNanos;
+    }
+
+    /**
+     * Records a loop.
+     *
+     * @param startNanos the {@link System#nanoTime()} the loop started at
+     * @param endNanos the {@link System#nanoTime()} the loop finished at
+     * @return {@code true} if the loop overran
+     */
+    public synchronized boolean record(long startNanos, long endNanos) {
+        long scheduledStartNanos = loopCount == 0 ? startNanos : lastEndNanos + periodNanos;
+        long jitterNanos = Math.abs(startNanos - scheduledStartNanos);
+        lastEndNanos = endNanos;
+        loopCount++;
+        totalJitterNanos += jitterNanos;
+        maxJitterNanos = Math.max(maxJitterNanos, jitterNanos);
+        lastJitterNanos = jitterNanos;
+
+        boolean overrun = endNanos - startNanos > periodNanos;
+        if (overrun) {
+            overrunCount++;
+        }
+        return overrun;
+    }
+
+    public synchronized long getLoopCount() {
+        return loopCount;
+    }
+
+    public synchronized long getOverrunCount() {
+        return overrunCount;
+    }
+
+    public synchronized long getLastJitterNanos() {
+        return lastJitterNanos;
+    }
+
+    public synchronized long getMaxJitterNanos() {
+        return maxJitterNanos;
+    }
+
+    public synchronized long getAverageJitterNanos() {
+        return loopCount == 0 ? 0 : totalJitterNanos / loopCount;
+    }
+}
@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class PIDControllerConstants {
     public static final String AUTOMATION_NAME = "pidcontroller";
+    public static final String THREAD_POOL_NAME = "automation-" + AUTOMATION_NAME;
     public static final String CONFIG_INPUT_ITEM = "input";
     public static final String CONFIG_SETPOINT_ITEM = "setpoint";
     public static final String CONFIG_COMMAND_ITEM = "commandItem";
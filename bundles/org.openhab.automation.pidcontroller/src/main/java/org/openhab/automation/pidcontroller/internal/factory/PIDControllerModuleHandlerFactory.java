@@ -12,20 +12,24 @@
  */
 package org.openhab.automation.pidcontroller.internal.factory;
 
+import static org.openhab.automation.pidcontroller.internal.PIDControllerConstants.THREAD_POOL_NAME;
+
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pidcontroller.internal.PIDControllerEventDispatcher;
 import org.openhab.automation.pidcontroller.internal.handler.PIDControllerTriggerHandler;
 import org.openhab.core.automation.Module;
 import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseModuleHandlerFactory;
 import org.openhab.core.automation.handler.ModuleHandler;
 import org.openhab.core.automation.handler.ModuleHandlerFactory;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.events.EventPublisher;
 import org.openhab.core.items.ItemRegistry;
-import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -38,16 +42,17 @@ import org.osgi.service.component.annotations.Reference;
 @NonNullByDefault
 public class PIDControllerModuleHandlerFactory extends BaseModuleHandlerFactory {
     private static final Collection<String> TYPES = Set.of(PIDControllerTriggerHandler.MODULE_TYPE_ID);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
     private ItemRegistry itemRegistry;
     private EventPublisher eventPublisher;
-    private BundleContext bundleContext;
+    private PIDControllerEventDispatcher eventDispatcher;
 
     @Activate
     public PIDControllerModuleHandlerFactory(@Reference ItemRegistry itemRegistry,
-            @Reference EventPublisher eventPublisher, BundleContext bundleContext) {
+            @Reference EventPublisher eventPublisher, @Reference PIDControllerEventDispatcher eventDispatcher) {
         this.itemRegistry = itemRegistry;
         this.eventPublisher = eventPublisher;
-        this.bundleContext = bundleContext;
+        this.eventDispatcher = eventDispatcher;
     }
 
     @Override
@@ -59,7 +64,8 @@ public class PIDControllerModuleHandlerFactory extends BaseModuleHandlerFactory
     protected @Nullable ModuleHandler internalCreate(Module module, String ruleUID) {
         switch (module.getTypeUID()) {
             case PIDControllerTriggerHandler.MODULE_TYPE_ID:
-                return new PIDControllerTriggerHandler((Trigger) module, itemRegistry, eventPublisher, bundleContext);
+                return new PIDControllerTriggerHandler((Trigger) module, itemRegistry, eventPublisher, eventDispatcher,
+                        scheduler);
         }
 
         return null;
@@ -16,35 +16,32 @@ import static org.openhab.automation.pidcontroller.internal.PIDControllerConstan
 
 import java.math.BigDecimal;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pidcontroller.internal.LoopMetrics;
+import org.openhab.automation.pidcontroller.internal.PIDControllerEventDispatcher;
 import org.openhab.automation.pidcontroller.internal.PIDException;
 import org.openhab.core.automation.ModuleHandlerCallback;
 import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseTriggerModuleHandler;
 import org.openhab.core.automation.handler.TriggerHandlerCallback;
 import org.openhab.core.config.core.Configuration;
-import org.openhab.core.events.Event;
-import org.openhab.core.events.EventFilter;
 import org.openhab.core.events.EventPublisher;
-import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.events.ItemEventFactory;
 import org.openhab.core.items.events.ItemStateChangedEvent;
-import org.openhab.core.items.events.ItemStateEvent;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,18 +51,22 @@ import org.slf4j.LoggerFactory;
  * @author Fabian Wolter - Add PID debug output values
  */
 @NonNullByDefault
-public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
+public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
-    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE, ItemStateChangedEvent.TYPE);
     private final Logger logger = LoggerFactory.getLogger(PIDControllerTriggerHandler.class);
-    private final ServiceRegistration<?> eventSubscriberRegistration;
+    private final PIDControllerEventDispatcher eventDispatcher;
+    private final Consumer<ItemStateChangedEvent> stateChangedListener = this::receive;
+    private final ScheduledExecutorService scheduler;
     private final PIDController controller;
     private final int loopTimeMs;
+    private final LoopMetrics loopMetrics;
     private long previousTimeMs = System.currentTimeMillis();
     private Item inputItem;
     private Item setpointItem;
-    private Optional<String> commandTopic;
-    private EventFilter eventFilter;
+    private @Nullable String commandItemName;
+    private @Nullable ScheduledFuture<?> loopJob;
+    // guarded by this, calculations queued or running on the scheduler are skipped once set
+    private boolean disposed;
     private EventPublisher eventPublisher;
     private @Nullable String pInspector;
     private @Nullable String iInspector;
@@ -74,10 +75,12 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
     private ItemRegistry itemRegistry;
 
     public PIDControllerTriggerHandler(Trigger module, ItemRegistry itemRegistry, EventPublisher eventPublisher,
-            BundleContext bundleContext) {
+            PIDControllerEventDispatcher eventDispatcher, ScheduledExecutorService scheduler) {
         super(module);
         this.itemRegistry = itemRegistry;
         this.eventPublisher = eventPublisher;
+        this.eventDispatcher = eventDispatcher;
+        this.scheduler = scheduler;
 
         Configuration config = module.getConfiguration();
 
@@ -96,12 +99,7 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
             throw new IllegalArgumentException("Configured setpoint item not found: " + setpointItemName, e);
         }
 
-        String commandItemName = (String) config.get(CONFIG_COMMAND_ITEM);
-        if (commandItemName != null) {
-            commandTopic = Optional.of("openhab/items/" + commandItemName + "/statechanged");
-        } else {
-            commandTopic = Optional.empty();
-        }
+        commandItemName = (String) config.get(CONFIG_COMMAND_ITEM);
 
         double kpAdjuster = getDoubleFromConfig(config, CONFIG_KP_GAIN);
         double kiAdjuster = getDoubleFromConfig(config, CONFIG_KI_GAIN);
@@ -116,6 +114,7 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
 
         loopTimeMs = ((BigDecimal) requireNonNull(config.get(CONFIG_LOOP_TIME), CONFIG_LOOP_TIME + " is not set"))
                 .intValue();
+        loopMetrics = new LoopMetrics(TimeUnit.MILLISECONDS.toNanos(loopTimeMs));
 
         double previousIntegralPart = getItemNameValueAsNumberOrZero(itemRegistry, iInspector);
         double previousDerivativePart = getItemNameValueAsNumberOrZero(itemRegistry, dInspector);
@@ -124,16 +123,12 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         controller = new PIDController(kpAdjuster, kiAdjuster, kdAdjuster, kdTimeConstant, iMinValue, iMaxValue,
                 previousIntegralPart, previousDerivativePart, previousError);
 
-        eventFilter = event -> {
-            String topic = event.getTopic();
-
-            return ("openhab/items/" + inputItemName + "/state").equals(topic)
-                    || ("openhab/items/" + inputItemName + "/statechanged").equals(topic)
-                    || ("openhab/items/" + setpointItemName + "/statechanged").equals(topic)
-                    || commandTopic.map(t -> topic.equals(t)).orElse(false);
-        };
-
-        eventSubscriberRegistration = bundleContext.registerService(EventSubscriber.class.getName(), this, null);
+        eventDispatcher.register(inputItemName, stateChangedListener);
+        eventDispatcher.register(setpointItemName, stateChangedListener);
+        String localCommandItemName = commandItemName;
+        if (localCommandItemName != null) {
+            eventDispatcher.register(localCommandItemName, stateChangedListener);
+        }
 
         eventPublisher.post(ItemEventFactory.createCommandEvent(inputItemName, RefreshType.REFRESH));
     }
@@ -141,7 +136,26 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
     @Override
     public void setCallback(ModuleHandlerCallback callback) {
         super.setCallback(callback);
-        getCallback().getScheduler().scheduleWithFixedDelay(this::calculate, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+        loopJob = scheduler.scheduleWithFixedDelay(this::loop, 0, loopTimeMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void loop() {
+        long start = System.nanoTime();
+        calculate();
+        long end = System.nanoTime();
+
+        if (loopMetrics.record(start, end)) {
+            logger.debug(
+                    "PID loop of '{}' overran the loop time of {} ms: took {} ms, started {} ms late ({} of {} loops overran, max. jitter {} ms)",
+                    inputItem.getName(), loopTimeMs, TimeUnit.NANOSECONDS.toMillis(end - start),
+                    TimeUnit.NANOSECONDS.toMillis(loopMetrics.getLastJitterNanos()), loopMetrics.getOverrunCount(),
+                    loopMetrics.getLoopCount(), TimeUnit.NANOSECONDS.toMillis(loopMetrics.getMaxJitterNanos()));
+        } else {
+            logger.trace("PID loop of '{}' took {} ms with a jitter of {} ms (average {} ms)", inputItem.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(end - start),
+                    TimeUnit.NANOSECONDS.toMillis(loopMetrics.getLastJitterNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(loopMetrics.getAverageJitterNanos()));
+        }
     }
 
     private <T> T requireNonNull(T obj, String message) {
@@ -161,7 +175,11 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         return ((BigDecimal) rawValue).doubleValue();
     }
 
-    private void calculate() {
+    private synchronized void calculate() {
+        if (disposed) {
+            return;
+        }
+
         double input;
         double setpoint;
 
@@ -252,37 +270,36 @@ public class PIDControllerTriggerHandler extends BaseTriggerModuleHandler implem
         throw new PIDException("Not a number: " + setpointState.getClass().getSimpleName() + ": " + setpointState);
     }
 
-    @Override
-    public void receive(Event event) {
-        if (event instanceof ItemStateChangedEvent) {
-            if (commandTopic.isPresent() && event.getTopic().equals(commandTopic.get())) {
-                ItemStateChangedEvent changedEvent = (ItemStateChangedEvent) event;
-                if ("RESET".equals(changedEvent.getItemState().toString())) {
+    private void receive(ItemStateChangedEvent changedEvent) {
+        if (changedEvent.getItemName().equals(commandItemName)) {
+            if ("RESET".equals(changedEvent.getItemState().toString())) {
+                synchronized (this) {
                     controller.setIntegralResult(0);
                     controller.setDerivativeResult(0);
-                    eventPublisher.post(ItemEventFactory.createStateEvent(changedEvent.getItemName(), UnDefType.NULL));
-                } else if (changedEvent.getItemState() != UnDefType.NULL) {
-                    logger.warn("Unknown command: {}", changedEvent.getItemState());
                 }
-            } else {
-                calculate();
+                eventPublisher.post(ItemEventFactory.createStateEvent(changedEvent.getItemName(), UnDefType.NULL));
+            } else if (changedEvent.getItemState() != UnDefType.NULL) {
+                logger.warn("Unknown command: {}", changedEvent.getItemState());
             }
+        } else {
+            // calculate on the PID controller scheduler instead of the event thread
+            scheduler.execute(this::calculate);
         }
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return SUBSCRIBED_EVENT_TYPES;
-    }
-
-    @Override
-    public @Nullable EventFilter getEventFilter() {
-        return eventFilter;
-    }
-
     @Override
     public void dispose() {
-        eventSubscriberRegistration.unregister();
+        synchronized (this) {
+            // waits for a running calculation, as the callback is removed below
+            disposed = true;
+        }
+        eventDispatcher.unregister(stateChangedListener);
+
+        ScheduledFuture<?> localLoopJob = loopJob;
+        if (localLoopJob != null) {
+            localLoopJob.cancel(false);
+            loopJob = null;
+        }
 
         super.dispose();
     }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LoopMetrics}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LoopMetricsTest {
+    private static final long PERIOD = 1000;
+
+    @Test
+    void testJitter() {
+        LoopMetrics metrics = new LoopMetrics(PERIOD);
+        assertFalse(metrics.record(5000, 5100));
+        // scheduled one period after the previous loop finished
+        assertFalse(metrics.record(6120, 6200));
+        assertFalse(metrics.record(7210, 7300));
+
+        assertEquals(3, metrics.getLoopCount());
+        assertEquals(0, metrics.getOverrunCount());
+        assertEquals(10, metrics.getLastJitterNanos());
+        assertEquals(20, metrics.getMaxJitterNanos());
+        assertEquals(10, metrics.getAverageJitterNanos());
+    }
+
+    @Test
+    void testOverrun() {
+        LoopMetrics metrics = new LoopMetrics(PERIOD);
+        assertFalse(metrics.record(0, 900));
+        // runs longer than the period
+        assertTrue(metrics.record(1900, 3400));
+        // the next loop is still scheduled one period after the overrun loop finished
+        assertFalse(metrics.record(4400, 4500));
+        assertFalse(metrics.record(6000, 6100));
+
+        assertEquals(4, metrics.getLoopCount());
+        assertEquals(1, metrics.getOverrunCount());
+        assertEquals(500, metrics.getMaxJitterNanos());
+    }
+}
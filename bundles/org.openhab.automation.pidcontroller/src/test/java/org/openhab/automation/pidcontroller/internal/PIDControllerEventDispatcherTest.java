@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pidcontroller.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.items.events.ItemStateChangedEvent;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * Tests for {@link PIDControllerEventDispatcher}, with the state changes of a house with many PID loops.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class PIDControllerEventDispatcherTest {
+    private static final int CONTROLLERS = 40;
+    private static final int OTHER_ITEMS = 200;
+
+    private static Event stateChanged(String itemName) {
+        return ItemEventFactory.createStateChangedEvent(itemName, new DecimalType(21), new DecimalType(20));
+    }
+
+    private static boolean deliver(PIDControllerEventDispatcher dispatcher, Event event) {
+        EventFilter filter = dispatcher.getEventFilter();
+        if (filter != null && !filter.apply(event)) {
+            return false;
+        }
+        dispatcher.receive(event);
+        return true;
+    }
+
+    @Test
+    void testEventsAreOnlyDeliveredForRegisteredItems() {
+        PIDControllerEventDispatcher dispatcher = new PIDControllerEventDispatcher();
+        List<List<String>> received = new ArrayList<>();
+        for (int i = 0; i < CONTROLLERS; i++) {
+            List<String> itemNames = new ArrayList<>();
+            received.add(itemNames);
+            Consumer<ItemStateChangedEvent> listener = event -> itemNames.add(event.getItemName());
+            dispatcher.register("Input" + i, listener);
+            dispatcher.register("Setpoint" + i, listener);
+        }
+        assertEquals(2 * CONTROLLERS, dispatcher.getItemCount());
+
+        int delivered = 0;
+        for (int i = 0; i < OTHER_ITEMS; i++) {
+            if (deliver(dispatcher, stateChanged("Other" + i))) {
+                delivered++;
+            }
+        }
+        for (int i = 0; i < CONTROLLERS; i++) {
+            if (deliver(dispatcher, stateChanged("Input" + i))) {
+                delivered++;
+            }
+            if (deliver(dispatcher, stateChanged("Setpoint" + i))) {
+                delivered++;
+            }
+        }
+
+        // before, every event of the inputs and setpoints was filtered by every controller
+        assertEquals(2 * CONTROLLERS, delivered);
+        for (int i = 0; i < CONTROLLERS; i++) {
+            assertEquals(List.of("Input" + i, "Setpoint" + i), received.get(i));
+        }
+    }
+
+    @Test
+    void testUnregisterRemovesAllItemsOfListener() {
+        PIDControllerEventDispatcher dispatcher = new PIDControllerEventDispatcher();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        Consumer<ItemStateChangedEvent> firstListener = event -> first.add(event.getItemName());
+        Consumer<ItemStateChangedEvent> secondListener = event -> second.add(event.getItemName());
+        dispatcher.register("Input", firstListener);
+        dispatcher.register("Setpoint", firstListener);
+        dispatcher.register("Input", secondListener);
+
+        dispatcher.unregister(firstListener);
+        assertEquals(1, dispatcher.getItemCount());
+        assertFalse(deliver(dispatcher, stateChanged("Setpoint")));
+        assertTrue(deliver(dispatcher, stateChanged("Input")));
+        assertEquals(List.of(), first);
+        assertEquals(List.of("Input"), second);
+
+        dispatcher.unregister(secondListener);
+        assertEquals(0, dispatcher.getItemCount());
+    }
+
+    @Test
+    void testOtherEventsAreIgnored() {
+        PIDControllerEventDispatcher dispatcher = new PIDControllerEventDispatcher();
+        List<String> received = new ArrayList<>();
+        dispatcher.register("Input", event -> received.add(event.getItemName()));
+
+        assertTrue(deliver(dispatcher, ItemEventFactory.createStateEvent("Input", new DecimalType(1))));
+        assertEquals(List.of(), received);
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pwm.internal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.events.Event;
+import org.openhab.core.events.EventFilter;
+import org.openhab.core.events.EventSubscriber;
+import org.openhab.core.items.events.ItemStateEvent;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscribes once to the item state updates for all PWM triggers and routes them to the triggers of the item.
+ *
+ * The event filter only accepts the topics of items with a registered listener, so the events of all other items are
+ * not delivered to this subscriber at all.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = { EventSubscriber.class, PWMEventDispatcher.class })
+public class PWMEventDispatcher implements EventSubscriber {
+    private static final String ITEM_TOPIC_PREFIX = "openhab/items/";
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE);
+
+    private final Logger logger = LoggerFactory.getLogger(PWMEventDispatcher.class);
+    private final Map<String, Set<Consumer<ItemStateEvent>>> listeners = new ConcurrentHashMap<>();
+    private final EventFilter eventFilter = event -> {
+        String itemName = getItemName(event.getTopic());
+        return itemName != null && listeners.containsKey(itemName);
+    };
+
+    /**
+     * Registers a listener for the state updates of an item.
+     *
+     * @param itemName the name of the item
+     * @param listener the listener
+     */
+    public void register(String itemName, Consumer<ItemStateEvent> listener) {
+        // add within the atomic step, so that a concurrent unregister cannot drop the set meanwhile
+        listeners.compute(itemName, (name, itemListeners) -> {
+            if (itemListeners == null) {
+                itemListeners = new CopyOnWriteArraySet<>();
+            }
+            itemListeners.add(listener);
+            return itemListeners;
+        });
+    }
+
+    /**
+     * Removes a listener from all items it was registered for.
+     *
+     * @param listener the listener
+     */
+    public void unregister(Consumer<ItemStateEvent> listener) {
+        for (String itemName : listeners.keySet()) {
+            listeners.computeIfPresent(itemName, (name, itemListeners) -> {
+                itemListeners.remove(listener);
+                return itemListeners.isEmpty() ? null : itemListeners;
+            });
+        }
+    }
+
+    /**
+     * Returns the number of items with at least one listener
+     */
+    public int getItemCount() {
+        return listeners.size();
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (!(event instanceof ItemStateEvent)) {
+            return;
+        }
+        ItemStateEvent stateEvent = (ItemStateEvent) event;
+        Set<Consumer<ItemStateEvent>> itemListeners = listeners.get(stateEvent.getItemName());
+        if (itemListeners == null) {
+            return;
+        }
+        for (Consumer<ItemStateEvent> listener : itemListeners) {
+            try {
+                listener.accept(stateEvent);
+            } catch (RuntimeException e) {
+                logger.warn("Error processing state update of item '{}': {}", stateEvent.getItemName(),
+                        e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return eventFilter;
+    }
+
+    private static @Nullable String getItemName(String topic) {
+        if (!topic.startsWith(ITEM_TOPIC_PREFIX)) {
+            return null;
+        }
+        int end = topic.indexOf('/', ITEM_TOPIC_PREFIX.length());
+        return end < 0 ? null : topic.substring(ITEM_TOPIC_PREFIX.length(), end);
+    }
+}
@@ -18,12 +18,13 @@ import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.pwm.internal.PWMEventDispatcher;
 import org.openhab.automation.pwm.internal.PWMException;
 import org.openhab.automation.pwm.internal.handler.state.StateMachine;
 import org.openhab.core.automation.ModuleHandlerCallback;
@@ -31,9 +32,6 @@ import org.openhab.core.automation.Trigger;
 import org.openhab.core.automation.handler.BaseTriggerModuleHandler;
 import org.openhab.core.automation.handler.TriggerHandlerCallback;
 import org.openhab.core.config.core.Configuration;
-import org.openhab.core.events.Event;
-import org.openhab.core.events.EventFilter;
-import org.openhab.core.events.EventSubscriber;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -43,8 +41,6 @@ import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,23 +50,21 @@ import org.slf4j.LoggerFactory;
  * @author Fabian Wolter - Initial Contribution
  */
 @NonNullByDefault
-public class PWMTriggerHandler extends BaseTriggerModuleHandler implements EventSubscriber {
+public class PWMTriggerHandler extends BaseTriggerModuleHandler {
     public static final String MODULE_TYPE_ID = AUTOMATION_NAME + ".trigger";
-    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Set.of(ItemStateEvent.TYPE);
     private final Logger logger = LoggerFactory.getLogger(PWMTriggerHandler.class);
-    private final BundleContext bundleContext;
-    private final EventFilter eventFilter;
+    private final PWMEventDispatcher eventDispatcher;
+    private final Consumer<ItemStateEvent> stateListener = this::receive;
     private final Optional<Double> minDutyCycle;
     private final Optional<Double> maxDutyCycle;
     private final Optional<Double> deadManSwitchTimeoutMs;
     private final Item dutyCycleItem;
-    private @Nullable ServiceRegistration<?> eventSubscriberRegistration;
     private @Nullable ScheduledFuture<?> deadMeanSwitchTimer;
     private @Nullable StateMachine stateMachine;
 
-    public PWMTriggerHandler(Trigger module, ItemRegistry itemRegistry, BundleContext bundleContext) {
+    public PWMTriggerHandler(Trigger module, ItemRegistry itemRegistry, PWMEventDispatcher eventDispatcher) {
         super(module);
-        this.bundleContext = bundleContext;
+        this.eventDispatcher = eventDispatcher;
 
         Configuration config = module.getConfiguration();
 
@@ -86,8 +80,6 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         } catch (ItemNotFoundException e) {
             throw new IllegalArgumentException("Dutycycle item not found: " + dutycycleItemName, e);
         }
-
-        eventFilter = event -> event.getTopic().equals("openhab/items/" + dutycycleItemName + "/state");
     }
 
     @Override
@@ -97,7 +89,7 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         double periodSec = getDoubleFromConfig(module.getConfiguration(), CONFIG_PERIOD);
         stateMachine = new StateMachine(getCallback().getScheduler(), this::setOutput, (long) (periodSec * 1000));
 
-        eventSubscriberRegistration = bundleContext.registerService(EventSubscriber.class.getName(), this, null);
+        eventDispatcher.register(dutyCycleItem.getName(), stateListener);
     }
 
     private double getDoubleFromConfig(Configuration config, String key) {
@@ -114,13 +106,7 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         return Optional.empty();
     }
 
-    @Override
-    public void receive(Event event) {
-        if (!(event instanceof ItemStateEvent)) {
-            return;
-        }
-
-        ItemStateEvent changedEvent = (ItemStateEvent) event;
+    private void receive(ItemStateEvent changedEvent) {
         synchronized (this) {
             try {
                 double newDutycycle = getDutyCycleValueInPercent(changedEvent.getItemState());
@@ -213,22 +199,9 @@ public class PWMTriggerHandler extends BaseTriggerModuleHandler implements Event
         throw new PWMException("Duty cycle item not of type DecimalType: " + state.getClass().getSimpleName());
     }
 
-    @Override
-    public Set<String> getSubscribedEventTypes() {
-        return SUBSCRIBED_EVENT_TYPES;
-    }
-
-    @Override
-    public @Nullable EventFilter getEventFilter() {
-        return eventFilter;
-    }
-
     @Override
     public void dispose() {
-        ServiceRegistration<?> localEventSubscriberRegistration = eventSubscriberRegistration;
-        if (localEventSubscriberRegistration != null) {
-            localEventSubscriberRegistration.unregister();
-        }
+        eventDispatcher.unregister(stateListener);
 
         StateMachine localStateMachine = stateMachine;
         if (localStateMachine != null) {
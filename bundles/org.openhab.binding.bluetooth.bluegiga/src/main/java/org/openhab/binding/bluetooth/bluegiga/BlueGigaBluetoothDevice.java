@@ -389,7 +389,8 @@ public class BlueGigaBluetoothDevice extends BaseBluetoothDevice implements Blue
 
     private void handleScanEvent(BlueGigaScanResponseEvent event) {
         // Check if this is addressed to this device
-        if (!address.equals(new BluetoothAddress(event.getSender()))) {
+        // every device receives all scan events, so compare the address strings without creating an address
+        if (!address.toString().equals(event.getSender())) {
             return;
         }
 
@@ -35,4 +35,7 @@ public class RoamingBindingConstants {
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections.singleton(THING_TYPE_ROAMING);
 
     public static final String CONFIGURATION_GROUP_ADAPTER_UIDS = "groupUIDs";
+    public static final String CONFIGURATION_DEDUPLICATION_WINDOW = "deduplicationWindow";
+
+    public static final long DEFAULT_DEDUPLICATION_WINDOW = 1000;
 }
@@ -12,12 +12,16 @@
  */
 package org.openhab.binding.bluetooth.roaming.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,20 +39,51 @@ import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 /**
  * The {@link RoamingBluetoothDevice} acts as a roaming device by delegating
  * its operations to actual adapters.
+ * <p>
+ * The delegate is the adapter with the best smoothed RSSI, unless the device is connected through another one. A
+ * different adapter only takes over if its RSSI is clearly better, so that the delegate doesn't change with every
+ * advertisement. Connections are always established through the adapter with the best RSSI.
+ * <p>
+ * Advertisements received by several adapters are only forwarded once: a scan record with the same data as one of
+ * the recent payloads forwarded within the deduplication window is dropped, except for the RSSI reported by the
+ * delegate.
  *
  * @author Connor Petty - Initial contribution
  */
 @NonNullByDefault
 public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
+    // weight of a new RSSI value in the smoothed RSSI of an adapter
+    private static final double RSSI_SMOOTHING = 0.25;
+    // advantage in dBm another adapter needs to replace the delegate
+    private static final double RSSI_HYSTERESIS = 4;
+    // adapters which didn't receive the device for this time are only used if no other adapter received it
+    private static final long STALE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    // number of different payloads remembered for the deduplication, e.g. a device alternating iBeacon and Eddystone
+    private static final int MAX_RECENT_SCAN_DATA = 8;
+
+    private final RoamingBridgeHandler roamingAdapter;
+
     private final Map<BluetoothDevice, Listener> devices = new ConcurrentHashMap<>();
 
     private final List<BluetoothDeviceListener> eventListeners = new CopyOnWriteArrayList<>();
 
     private final AtomicReference<@Nullable BluetoothDevice> currentDelegateRef = new AtomicReference<>();
 
+    private final Object scanRecordLock = new Object();
+    // time each recently forwarded payload was forwarded at, oldest first
+    private final Map<ByteBuffer, Long> recentScanData = new LinkedHashMap<>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Long> eldest) {
+            return size() > MAX_RECENT_SCAN_DATA;
+        }
+    };
+
     protected RoamingBluetoothDevice(RoamingBridgeHandler roamingAdapter, BluetoothAddress address) {
         super(roamingAdapter, address);
+        this.roamingAdapter = roamingAdapter;
     }
 
     public void addBluetoothDevice(BluetoothDevice device) {
@@ -68,22 +103,33 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
     }
 
     @Override
-    @SuppressWarnings("PMD.CompareObjectsWithEquals")
     protected @Nullable BluetoothDevice getDelegate() {
-        BluetoothDevice newDelegate = null;
-        int newRssi = Integer.MIN_VALUE;
-        for (BluetoothDevice device : devices.keySet()) {
-            ConnectionState state = device.getConnectionState();
-            if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
-                newDelegate = device;
-                break;
-            }
-            Integer rssi = device.getRssi();
-            if (rssi != null && (newDelegate == null || rssi > newRssi)) {
-                newRssi = rssi;
-                newDelegate = device;
-            }
+        BluetoothDevice delegate = currentDelegateRef.get();
+        if (delegate == null || !devices.containsKey(delegate)) {
+            delegate = updateDelegate(RSSI_HYSTERESIS);
+        }
+        return delegate;
+    }
+
+    @Override
+    public boolean connect() {
+        // connect through the strongest adapter, regardless of the hysteresis
+        BluetoothDevice delegate = updateDelegate(0);
+        if (delegate == null) {
+            return false;
         }
+        ConnectionState state = delegate.getConnectionState();
+        Listener listener = devices.get(delegate);
+        if (listener != null && state != ConnectionState.CONNECTING && state != ConnectionState.CONNECTED) {
+            roamingAdapter.connectionAttempted(delegate.getAdapter());
+            listener.connectionAttempted.set(true);
+        }
+        return delegate.connect();
+    }
+
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private @Nullable BluetoothDevice updateDelegate(double hysteresis) {
+        BluetoothDevice newDelegate = selectDelegate(hysteresis);
         BluetoothDevice oldDelegate = currentDelegateRef.getAndSet(newDelegate);
         if (oldDelegate != newDelegate) { // using reference comparison is valid in this case
             notifyListeners(BluetoothEventType.ADAPTER_CHANGED, getAdapter(newDelegate));
@@ -91,6 +137,81 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
         return newDelegate;
     }
 
+    private @Nullable BluetoothDevice selectDelegate(double hysteresis) {
+        long now = System.currentTimeMillis();
+        Listener best = null;
+        for (Listener listener : devices.values()) {
+            ConnectionState state = listener.device.getConnectionState();
+            if (state == ConnectionState.CONNECTING || state == ConnectionState.CONNECTED) {
+                return listener.device;
+            }
+            if (best == null || listener.isBetterThan(best, now)) {
+                best = listener;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        BluetoothDevice current = currentDelegateRef.get();
+        Listener currentListener = current != null ? devices.get(current) : null;
+        if (currentListener != null && !currentListener.isStale(now)
+                && best.smoothedRssi - currentListener.smoothedRssi < hysteresis) {
+            return currentListener.device;
+        }
+        return best.device;
+    }
+
+    /**
+     * Returns the scan record to forward to the listeners, or {@code null} if it is a duplicate.
+     *
+     * @param scanNotification the scan record received by an adapter
+     * @param fromDelegate whether the scan record was received by the delegate
+     */
+    private @Nullable BluetoothScanNotification deduplicate(BluetoothScanNotification scanNotification,
+            boolean fromDelegate) {
+        long window = roamingAdapter.getDeduplicationWindow();
+        byte @Nullable [] scanData = scanNotification.getManufacturerData();
+        if (scanData == null) {
+            scanData = scanNotification.getData();
+        }
+        if (window <= 0 || scanData == null) {
+            // nothing to compare, so only the delegate's view of the device is forwarded
+            return fromDelegate ? scanNotification : null;
+        }
+
+        boolean duplicate;
+        synchronized (scanRecordLock) {
+            long now = System.currentTimeMillis();
+            recentScanData.values().removeIf(forwardedMillis -> now - forwardedMillis >= window);
+            ByteBuffer key = ByteBuffer.wrap(scanData);
+            duplicate = recentScanData.containsKey(key);
+            if (!duplicate) {
+                recentScanData.put(key, now);
+            }
+        }
+        if (!duplicate) {
+            // the first adapter to receive new data forwards it, but only the delegate reports the RSSI
+            return fromDelegate ? scanNotification : copy(scanNotification, false);
+        }
+        if (fromDelegate && scanNotification.getRssi() != Integer.MIN_VALUE) {
+            return copy(scanNotification, true);
+        }
+        return null;
+    }
+
+    private static BluetoothScanNotification copy(BluetoothScanNotification scanNotification, boolean rssiOnly) {
+        BluetoothScanNotification copy = new BluetoothScanNotification();
+        copy.setBeaconType(scanNotification.getBeaconType());
+        if (rssiOnly) {
+            copy.setRssi(scanNotification.getRssi());
+        } else {
+            copy.setData(scanNotification.getData());
+            copy.setManufacturerData(scanNotification.getManufacturerData());
+            copy.setDeviceName(scanNotification.getDeviceName());
+        }
+        return copy;
+    }
+
     private BluetoothAdapter getAdapter(@Nullable BluetoothDevice delegate) {
         if (delegate != null) {
             return delegate.getAdapter();
@@ -109,20 +230,63 @@ public class RoamingBluetoothDevice extends DelegateBluetoothDevice {
 
         private BluetoothDevice device;
 
+        private volatile double smoothedRssi;
+        private volatile long lastSeenMillis;
+        // whether a connection attempt of connect() is pending on this adapter
+        private final AtomicBoolean connectionAttempted = new AtomicBoolean();
+
         public Listener(BluetoothDevice device) {
             this.device = device;
+            Integer rssi = device.getRssi();
+            smoothedRssi = rssi != null ? rssi : Double.NEGATIVE_INFINITY;
+            lastSeenMillis = rssi != null ? System.currentTimeMillis() : 0;
+        }
+
+        private void updateRssi(int rssi) {
+            double previous = smoothedRssi;
+            smoothedRssi = previous == Double.NEGATIVE_INFINITY ? rssi
+                    : previous + RSSI_SMOOTHING * (rssi - previous);
+            lastSeenMillis = System.currentTimeMillis();
+        }
+
+        private boolean isStale(long now) {
+            return now - lastSeenMillis > STALE_MILLIS;
+        }
+
+        private boolean isBetterThan(Listener other, long now) {
+            boolean stale = isStale(now);
+            if (stale != other.isStale(now)) {
+                return !stale;
+            }
+            return smoothedRssi > other.smoothedRssi;
         }
 
         @Override
         public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
-            if (device == getDelegate()) {
-                notifyListeners(BluetoothEventType.SCAN_RECORD, scanNotification);
+            int rssi = scanNotification.getRssi();
+            if (rssi != Integer.MIN_VALUE) {
+                updateRssi(rssi);
+            }
+            boolean fromDelegate = device == updateDelegate(RSSI_HYSTERESIS);
+            BluetoothScanNotification notification = deduplicate(scanNotification, fromDelegate);
+            if (notification != null) {
+                roamingAdapter.scanRecordForwarded();
+                notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+            } else {
+                roamingAdapter.scanRecordDeduplicated();
             }
         }
 
         @Override
         public void onConnectionStateChange(BluetoothConnectionStatusNotification connectionNotification) {
-            if (device == getDelegate()) {
+            ConnectionState state = connectionNotification.getConnectionState();
+            if (state == ConnectionState.CONNECTED || state == ConnectionState.DISCONNECTED) {
+                // only count the outcome of the attempts made by connect(), not connections started elsewhere
+                if (connectionAttempted.getAndSet(false) && state == ConnectionState.CONNECTED) {
+                    roamingAdapter.connectionSucceeded(device.getAdapter());
+                }
+            }
+            if (device == updateDelegate(RSSI_HYSTERESIS)) {
                 notifyListeners(BluetoothEventType.CONNECTION_STATE, connectionNotification);
             }
         }
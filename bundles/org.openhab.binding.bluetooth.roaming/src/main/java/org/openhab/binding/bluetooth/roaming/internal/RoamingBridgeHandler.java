@@ -16,7 +16,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -33,6 +37,8 @@ import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.types.Command;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link RoamingBridgeHandler} is responsible for handling commands, which are
@@ -43,6 +49,18 @@ import org.openhab.core.types.Command;
 @NonNullByDefault
 public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBluetoothAdapter {
 
+    private static final int STATISTICS_INTERVAL_SECONDS = 60;
+
+    /**
+     * Connection statistics of a physical adapter
+     */
+    private static class AdapterStatistics {
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong successes = new AtomicLong();
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(RoamingBridgeHandler.class);
+
     private final Set<BluetoothAdapter> adapters = new CopyOnWriteArraySet<>();
 
     /*
@@ -51,6 +69,12 @@ public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBl
      */
     private Map<BluetoothAddress, RoamingBluetoothDevice> devices = new HashMap<>();
     private ThingUID[] groupUIDs = new ThingUID[0];
+    private volatile long deduplicationWindow = RoamingBindingConstants.DEFAULT_DEDUPLICATION_WINDOW;
+
+    private final AtomicLong forwardedScanRecords = new AtomicLong();
+    private final AtomicLong deduplicatedScanRecords = new AtomicLong();
+    private final Map<ThingUID, AdapterStatistics> adapterStatistics = new ConcurrentHashMap<>();
+    private @Nullable ScheduledFuture<?> statisticsJob;
 
     public RoamingBridgeHandler(Bridge bridge) {
         super(bridge);
@@ -65,6 +89,12 @@ public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBl
             String groupIds = (String) value;
             groupUIDs = Stream.of(groupIds.split(",")).map(ThingUID::new).toArray(ThingUID[]::new);
         }
+        Object window = getConfig().get(RoamingBindingConstants.CONFIGURATION_DEDUPLICATION_WINDOW);
+        deduplicationWindow = window instanceof Number ? ((Number) window).longValue()
+                : RoamingBindingConstants.DEFAULT_DEDUPLICATION_WINDOW;
+
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL_SECONDS,
+                STATISTICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
 
         if (adapters.stream().map(BluetoothAdapter::getUID).anyMatch(this::isGroupMember)) {
             updateStatus(ThingStatus.ONLINE);
@@ -85,10 +115,57 @@ public class RoamingBridgeHandler extends BaseBridgeHandler implements RoamingBl
 
     @Override
     public void dispose() {
-        // nothing that needs to be done here.
+        ScheduledFuture<?> statisticsJob = this.statisticsJob;
+        if (statisticsJob != null) {
+            statisticsJob.cancel(true);
+        }
+        this.statisticsJob = null;
         // Listener cleanup will be performed by the discovery participant anyway.
     }
 
+    /**
+     * Returns the time in milliseconds within which scan records with the same data received by several adapters are
+     * only forwarded once, or 0 to only forward the scan records of the adapter a device is assigned to
+     */
+    long getDeduplicationWindow() {
+        return deduplicationWindow;
+    }
+
+    void scanRecordForwarded() {
+        forwardedScanRecords.incrementAndGet();
+    }
+
+    void scanRecordDeduplicated() {
+        deduplicatedScanRecords.incrementAndGet();
+    }
+
+    void connectionAttempted(BluetoothAdapter adapter) {
+        adapterStatistics.computeIfAbsent(adapter.getUID(), uid -> new AdapterStatistics()).attempts.incrementAndGet();
+    }
+
+    void connectionSucceeded(BluetoothAdapter adapter) {
+        adapterStatistics.computeIfAbsent(adapter.getUID(), uid -> new AdapterStatistics()).successes
+                .incrementAndGet();
+    }
+
+    /**
+     * Logs the deduplication and connection statistics
+     */
+    private void logStatistics() {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        Map<ThingUID, String> connections = new HashMap<>();
+        adapterStatistics.forEach((uid, adapter) -> {
+            long attempts = adapter.attempts.get();
+            long successes = adapter.successes.get();
+            String rate = attempts == 0 ? "-" : String.format("%d%%", successes * 100 / attempts);
+            connections.put(uid, String.format("%d/%d (%s)", successes, attempts, rate));
+        });
+        logger.debug("Roaming statistics of {}: {} scan records forwarded, {} deduplicated, connections {}",
+                getThing().getUID(), forwardedScanRecords.get(), deduplicatedScanRecords.get(), connections);
+    }
+
     @Override
     public ThingUID getUID() {
         return getThing().getUID();
@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.roaming.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.BluetoothAdapter;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+import org.openhab.binding.bluetooth.BluetoothCharacteristic;
+import org.openhab.binding.bluetooth.BluetoothDescriptor;
+import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.BluetoothDeviceListener;
+import org.openhab.binding.bluetooth.MockBluetoothAdapter;
+import org.openhab.binding.bluetooth.MockBluetoothDevice;
+import org.openhab.binding.bluetooth.TestUtils;
+import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.core.thing.Bridge;
+
+/**
+ * Tests the delegate selection, the RSSI smoothing and the deduplication of the {@link RoamingBluetoothDevice}
+ * with devices of fake adapters.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RoamingBluetoothDeviceTest {
+
+    private static final long WINDOW = RoamingBindingConstants.DEFAULT_DEDUPLICATION_WINDOW;
+    private static final byte[] PAYLOAD_1 = new byte[] { 0x4C, 0x00, 0x02, 0x15, 0x01 };
+    private static final byte[] PAYLOAD_2 = new byte[] { 0x4C, 0x00, 0x02, 0x15, 0x02 };
+
+    private final BluetoothAddress address = TestUtils.randomAddress();
+    private final RecordingListener listener = new RecordingListener();
+
+    @Test
+    public void testStrongestAdapterIsDelegate() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(WINDOW);
+        FakeDevice weak = addDevice(roamingDevice, -80);
+        FakeDevice strong = addDevice(roamingDevice, -60);
+        addDevice(roamingDevice, null);
+
+        assertSame(strong, roamingDevice.getDelegate());
+        assertSame(strong.getAdapter(), roamingDevice.getAdapter());
+        assertNotSame(weak, roamingDevice.getDelegate());
+    }
+
+    @Test
+    public void testSmoothedRssiWithHysteresis() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(WINDOW);
+        FakeDevice first = addDevice(roamingDevice, -70);
+        FakeDevice second = addDevice(roamingDevice, -80);
+        assertSame(first, roamingDevice.getDelegate());
+        roamingDevice.addListener(listener);
+
+        // smoothed RSSI of the second adapter: -72.5, -66.875 and -63.156
+        second.receive(-50, PAYLOAD_1);
+        assertSame(first, roamingDevice.getDelegate());
+        second.receive(-50, PAYLOAD_1);
+        // better than the delegate, but not by the hysteresis yet
+        assertSame(first, roamingDevice.getDelegate());
+        assertTrue(listener.adapters.isEmpty());
+        second.receive(-50, PAYLOAD_1);
+        assertSame(second, roamingDevice.getDelegate());
+        assertEquals(List.of(second.getAdapter()), listener.adapters);
+    }
+
+    @Test
+    public void testFirstRssiIsNotSmoothed() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(WINDOW);
+        FakeDevice first = addDevice(roamingDevice, -70);
+        FakeDevice second = addDevice(roamingDevice, null);
+        assertSame(first, roamingDevice.getDelegate());
+
+        second.receive(-60, PAYLOAD_1);
+        assertSame(second, roamingDevice.getDelegate());
+    }
+
+    @Test
+    public void testConnectedAdapterIsDelegate() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(WINDOW);
+        FakeDevice strong = addDevice(roamingDevice, -50);
+        FakeDevice weak = addDevice(roamingDevice, -90);
+        assertSame(strong, roamingDevice.getDelegate());
+
+        weak.setConnectionState(ConnectionState.CONNECTED);
+        strong.receive(-50, PAYLOAD_1);
+        assertSame(weak, roamingDevice.getDelegate());
+    }
+
+    @Test
+    public void testConnectIgnoresHysteresis() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(WINDOW);
+        FakeDevice first = addDevice(roamingDevice, -70);
+        FakeDevice second = addDevice(roamingDevice, -80);
+        assertSame(first, roamingDevice.getDelegate());
+
+        // smoothed RSSI of the second adapter: -67.5, within the hysteresis
+        second.receive(-30, PAYLOAD_1);
+        assertSame(first, roamingDevice.getDelegate());
+
+        assertTrue(roamingDevice.connect());
+        assertSame(second, roamingDevice.getDelegate());
+        assertEquals(ConnectionState.CONNECTED, second.getConnectionState());
+        assertEquals(ConnectionState.DISCOVERING, first.getConnectionState());
+    }
+
+    @Test
+    public void testDuplicatesOnlyForwardDelegateRssi() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(WINDOW);
+        FakeDevice delegate = addDevice(roamingDevice, -60);
+        FakeDevice other = addDevice(roamingDevice, -80);
+        roamingDevice.addListener(listener);
+        assertSame(delegate, roamingDevice.getDelegate());
+
+        // another adapter receives new data first: the data is forwarded without its RSSI
+        other.receive(-80, PAYLOAD_1);
+        // the delegate receives the same data: only its RSSI is forwarded
+        delegate.receive(-60, PAYLOAD_1);
+        // the other adapter receives the same data again: dropped
+        other.receive(-80, PAYLOAD_1);
+
+        assertEquals(2, listener.scanRecords.size());
+        BluetoothScanNotification data = listener.scanRecords.get(0);
+        assertArrayEquals(PAYLOAD_1, data.getManufacturerData());
+        assertEquals(Integer.MIN_VALUE, data.getRssi());
+        BluetoothScanNotification rssi = listener.scanRecords.get(1);
+        assertNull(rssi.getManufacturerData());
+        assertEquals(-60, rssi.getRssi());
+    }
+
+    @Test
+    public void testAlternatingPayloadsAreDeduplicated() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(WINDOW);
+        FakeDevice delegate = addDevice(roamingDevice, -60);
+        FakeDevice other = addDevice(roamingDevice, -80);
+        roamingDevice.addListener(listener);
+
+        for (int i = 0; i < 2; i++) {
+            delegate.receive(-60, PAYLOAD_1);
+            other.receive(-80, PAYLOAD_1);
+            delegate.receive(-60, PAYLOAD_2);
+            other.receive(-80, PAYLOAD_2);
+        }
+
+        // the data of both payloads is forwarded once, afterwards only the RSSI of the delegate
+        assertEquals(4, listener.scanRecords.size());
+        assertArrayEquals(PAYLOAD_1, listener.scanRecords.get(0).getManufacturerData());
+        assertArrayEquals(PAYLOAD_2, listener.scanRecords.get(1).getManufacturerData());
+        for (BluetoothScanNotification scanRecord : listener.scanRecords) {
+            assertEquals(-60, scanRecord.getRssi());
+        }
+        assertNull(listener.scanRecords.get(2).getManufacturerData());
+        assertNull(listener.scanRecords.get(3).getManufacturerData());
+    }
+
+    @Test
+    public void testWithoutWindowOnlyDelegateIsForwarded() {
+        RoamingBluetoothDevice roamingDevice = createRoamingDevice(0);
+        FakeDevice delegate = addDevice(roamingDevice, -60);
+        FakeDevice other = addDevice(roamingDevice, -80);
+        roamingDevice.addListener(listener);
+
+        other.receive(-80, PAYLOAD_1);
+        delegate.receive(-60, PAYLOAD_1);
+        delegate.receive(-60, PAYLOAD_1);
+
+        assertEquals(2, listener.scanRecords.size());
+        for (BluetoothScanNotification scanRecord : listener.scanRecords) {
+            assertArrayEquals(PAYLOAD_1, scanRecord.getManufacturerData());
+            assertEquals(-60, scanRecord.getRssi());
+        }
+    }
+
+    private RoamingBluetoothDevice createRoamingDevice(long deduplicationWindow) {
+        RoamingBridgeHandler roamingAdapter = new RoamingBridgeHandler(mock(Bridge.class)) {
+            @Override
+            long getDeduplicationWindow() {
+                return deduplicationWindow;
+            }
+        };
+        return new RoamingBluetoothDevice(roamingAdapter, address);
+    }
+
+    private FakeDevice addDevice(RoamingBluetoothDevice roamingDevice, @Nullable Integer rssi) {
+        FakeDevice device = new FakeDevice(new MockBluetoothAdapter(), address, rssi);
+        roamingDevice.addBluetoothDevice(device);
+        return device;
+    }
+
+    /**
+     * A device of a fake adapter, which delivers the scan records to its listeners synchronously.
+     */
+    private static class FakeDevice extends MockBluetoothDevice {
+
+        public FakeDevice(BluetoothAdapter adapter, BluetoothAddress address, @Nullable Integer rssi) {
+            super(adapter, address);
+            this.rssi = rssi;
+        }
+
+        public void setConnectionState(ConnectionState connectionState) {
+            this.connectionState = connectionState;
+        }
+
+        public void receive(int rssi, byte[] manufacturerData) {
+            BluetoothScanNotification scanNotification = new BluetoothScanNotification();
+            scanNotification.setRssi(rssi);
+            scanNotification.setManufacturerData(manufacturerData);
+            for (BluetoothDeviceListener listener : getListeners()) {
+                listener.onScanRecordReceived(scanNotification);
+            }
+        }
+    }
+
+    private static class RecordingListener implements BluetoothDeviceListener {
+
+        private final List<BluetoothScanNotification> scanRecords = new CopyOnWriteArrayList<>();
+        private final List<BluetoothAdapter> adapters = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
+            scanRecords.add(scanNotification);
+        }
+
+        @Override
+        public void onConnectionStateChange(BluetoothConnectionStatusNotification connectionNotification) {
+        }
+
+        @Override
+        public void onServicesDiscovered() {
+        }
+
+        @Override
+        public void onCharacteristicUpdate(BluetoothCharacteristic characteristic, byte[] value) {
+        }
+
+        @Override
+        public void onDescriptorUpdate(BluetoothDescriptor bluetoothDescriptor, byte[] value) {
+        }
+
+        @Override
+        public void onAdapterChanged(BluetoothAdapter adapter) {
+            adapters.add(adapter);
+        }
+    }
+}
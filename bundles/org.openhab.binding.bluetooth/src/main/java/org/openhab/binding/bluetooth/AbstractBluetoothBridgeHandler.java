@@ -12,7 +12,6 @@
  */
 package org.openhab.binding.bluetooth;
 
-import java.time.ZonedDateTime;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -102,10 +101,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         }
         this.inactiveRemovalJob = null;
 
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                removeDevice(device);
-            }
+        for (BD device : devices.values()) {
+            removeDevice(device);
         }
     }
 
@@ -115,22 +112,20 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private void removeInactiveDevices() {
         // clean up orphaned entries
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                if (shouldRemove(device)) {
-                    logger.debug("Removing device '{}' due to inactivity", device.getAddress());
-                    removeDevice(device);
-                }
+        for (BD device : devices.values()) {
+            if (shouldRemove(device)) {
+                logger.debug("Removing device '{}' due to inactivity", device.getAddress());
+                removeDevice(device);
             }
         }
     }
 
     protected void removeDevice(BD device) {
-        device.dispose();
-        synchronized (devices) {
-            devices.remove(device.getAddress());
+        // only the caller which actually removes the device disposes it, if it is removed concurrently
+        if (devices.remove(device.getAddress(), device)) {
+            device.dispose();
+            discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
         }
-        discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
     private boolean shouldRemove(BD device) {
@@ -143,14 +138,15 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
             return false;
         }
 
-        ZonedDateTime lastActiveTime = device.getLastSeenTime();
-        if (lastActiveTime == null) {
+        long lastActiveMillis = device.getLastSeenMillis();
+        if (lastActiveMillis == 0) {
             // we want any new device to at least live a certain amount of time so it has a chance to be discovered or
             // listened to.
-            lastActiveTime = device.createTime;
+            lastActiveMillis = device.createTime.toInstant().toEpochMilli();
         }
         // we remove devices we haven't seen in a while
-        return ZonedDateTime.now().minusSeconds(config.inactiveDeviceCleanupThreshold).isAfter(lastActiveTime);
+        return System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(config.inactiveDeviceCleanupThreshold)
+                > lastActiveMillis;
     }
 
     @Override
@@ -172,9 +168,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     protected void refreshDiscoveredDevices() {
         logger.debug("Refreshing Bluetooth device list...");
-        synchronized (devices) {
-            devices.values().forEach(this::deviceDiscovered);
-        }
+        devices.values().forEach(this::deviceDiscovered);
     }
 
     @Override
@@ -186,9 +180,16 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     @Override
     public BD getDevice(BluetoothAddress address) {
-        synchronized (devices) {
-            return Objects.requireNonNull(devices.computeIfAbsent(address, this::createDevice));
+        // every advertisement looks up its device, so known devices are returned without locking the map
+        BD device = devices.get(address);
+        if (device != null) {
+            return device;
         }
+        return Objects.requireNonNull(devices.computeIfAbsent(address, addr -> {
+            BD newDevice = createDevice(addr);
+            newDevice.setMaxScanRecordRate(config.maxScanRecordRate);
+            return newDevice;
+        }));
     }
 
     protected abstract BD createDevice(BluetoothAddress address);
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.bluetooth;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Map;
@@ -26,6 +28,9 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification.BluetoothBeaconType;
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,9 +80,10 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
     protected final transient ZonedDateTime createTime = ZonedDateTime.now();
 
     /**
-     * Last time when activity occurred on this device.
+     * Last time when activity occurred on this device in milliseconds since the epoch, or 0 if none occurred yet.
+     * It is updated for every advertisement, so it is kept as a primitive instead of a {@link ZonedDateTime}.
      */
-    protected @Nullable ZonedDateTime lastSeenTime = null;
+    protected volatile long lastSeenMillis = 0;
 
     /**
      * The event listeners will be notified of device updates
@@ -90,6 +96,14 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
 
     private volatile boolean servicesDiscovered = false;
 
+    /**
+     * Minimum time between two scan records forwarded to the listeners, or 0 to forward all of them
+     */
+    private volatile long scanRecordIntervalNanos = 0;
+    private final Object scanRecordLock = new Object();
+    private long lastScanRecordNanos;
+    private @Nullable BluetoothScanNotification pendingScanRecord;
+
     /**
      * Construct a Bluetooth device taking the Bluetooth address
      *
@@ -106,7 +120,17 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
      * @return The last time this device was active
      */
     public @Nullable ZonedDateTime getLastSeenTime() {
-        return lastSeenTime;
+        long millis = lastSeenMillis;
+        return millis == 0 ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns the last time this device was active
+     *
+     * @return The last time this device was active in milliseconds since the epoch, or 0 if it was never active
+     */
+    public long getLastSeenMillis() {
+        return lastSeenMillis;
     }
 
     /**
@@ -115,7 +139,20 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
      *
      */
     public void updateLastSeenTime() {
-        lastSeenTime = ZonedDateTime.now();
+        lastSeenMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Limits the rate of the scan records forwarded to the listeners of this device.
+     * <p>
+     * Scan records received within {@code 1 / maxRate} seconds after the last forwarded one are merged and forwarded
+     * at the end of that interval, so the listeners always receive the latest RSSI and manufacturer data. Scan records
+     * carrying a device name are always forwarded immediately.
+     *
+     * @param maxRate the maximum number of scan records per second, or 0 to forward all scan records
+     */
+    public void setMaxScanRecordRate(int maxRate) {
+        scanRecordIntervalNanos = maxRate > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRate : 0;
     }
 
     /**
@@ -309,6 +346,15 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
 
     @Override
     protected void notifyListeners(BluetoothEventType event, Object... args) {
+        if (event == BluetoothEventType.SCAN_RECORD && scanRecordIntervalNanos > 0
+                && ((BluetoothScanNotification) args[0]).getDeviceName().isEmpty()) {
+            updateLastSeenTime();
+            BluetoothScanNotification notification = coalesceScanRecord((BluetoothScanNotification) args[0]);
+            if (notification != null) {
+                super.notifyListeners(event, notification);
+            }
+            return;
+        }
         switch (event) {
             case SCAN_RECORD:
             case CHARACTERISTIC_UPDATED:
@@ -343,6 +389,59 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
         super.notifyListeners(event, args);
     }
 
+    /**
+     * Returns the scan record to forward now, or {@code null} if it was merged into a pending one
+     */
+    private @Nullable BluetoothScanNotification coalesceScanRecord(BluetoothScanNotification notification) {
+        synchronized (scanRecordLock) {
+            BluetoothScanNotification pending = pendingScanRecord;
+            if (pending != null) {
+                merge(pending, notification);
+                return null;
+            }
+            long now = System.nanoTime();
+            long delay = lastScanRecordNanos + scanRecordIntervalNanos - now;
+            if (lastScanRecordNanos == 0 || delay <= 0) {
+                lastScanRecordNanos = now;
+                return notification;
+            }
+            // copy the notification, as the following ones are merged into it
+            pending = new BluetoothScanNotification();
+            merge(pending, notification);
+            pendingScanRecord = pending;
+            ThreadPoolManager.getScheduledPool("bluetooth").schedule(this::flushScanRecord, delay,
+                    TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
+
+    private void flushScanRecord() {
+        BluetoothScanNotification pending;
+        synchronized (scanRecordLock) {
+            pending = pendingScanRecord;
+            pendingScanRecord = null;
+            lastScanRecordNanos = System.nanoTime();
+        }
+        if (pending != null) {
+            super.notifyListeners(BluetoothEventType.SCAN_RECORD, pending);
+        }
+    }
+
+    private static void merge(BluetoothScanNotification target, BluetoothScanNotification source) {
+        if (source.getRssi() != Integer.MIN_VALUE) {
+            target.setRssi(source.getRssi());
+        }
+        if (source.getData() != null) {
+            target.setData(source.getData());
+        }
+        if (source.getManufacturerData() != null) {
+            target.setManufacturerData(source.getManufacturerData());
+        }
+        if (source.getBeaconType() != BluetoothBeaconType.BEACON_UNKNOWN) {
+            target.setBeaconType(source.getBeaconType());
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
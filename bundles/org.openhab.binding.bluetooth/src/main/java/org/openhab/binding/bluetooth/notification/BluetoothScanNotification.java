@@ -41,7 +41,7 @@ public class BluetoothScanNotification extends BluetoothNotification {
     /**
      * The device name
      */
-    private String name = new String();
+    private String name = "";
 
     /**
      * An enumeration of basic beacon types
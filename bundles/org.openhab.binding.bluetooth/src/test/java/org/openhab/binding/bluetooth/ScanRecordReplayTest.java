@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openhab.binding.bluetooth.BluetoothDevice.BluetoothEventType;
+import org.openhab.binding.bluetooth.notification.BluetoothConnectionStatusNotification;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+import org.openhab.core.test.java.JavaTest;
+import org.openhab.core.thing.Bridge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays an advertisement trace through the device registry of a bridge and measures the throughput of the scan
+ * record dispatching.
+ *
+ * The trace mimics the advertisements received from a mix of beacons and sensors: every device advertises at a fixed
+ * interval between 100 ms and 1 s with a jittering RSSI and a counter in its manufacturer data.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ScanRecordReplayTest extends JavaTest {
+
+    private static final int DEVICE_COUNT = 50;
+    private static final int TRACE_MILLIS = 60_000;
+    private static final int THREAD_COUNT = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(ScanRecordReplayTest.class);
+
+    private static class Advertisement {
+        private final long timeMillis;
+        private final int deviceIndex;
+        private final int rssi;
+        private final byte[] manufacturerData;
+
+        private Advertisement(long timeMillis, int deviceIndex, int rssi, byte[] manufacturerData) {
+            this.timeMillis = timeMillis;
+            this.deviceIndex = deviceIndex;
+            this.rssi = rssi;
+            this.manufacturerData = manufacturerData;
+        }
+    }
+
+    private static class TestBridgeHandler extends AbstractBluetoothBridgeHandler<MockBluetoothDevice> {
+        private final BluetoothAddress address = TestUtils.randomAddress();
+
+        public TestBridgeHandler() {
+            super(Mockito.mock(Bridge.class));
+        }
+
+        @Override
+        protected MockBluetoothDevice createDevice(BluetoothAddress address) {
+            return new MockBluetoothDevice(this, address);
+        }
+
+        @Override
+        public @Nullable BluetoothAddress getAddress() {
+            return address;
+        }
+    }
+
+    private static class RecordingListener implements BluetoothDeviceListener {
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile @Nullable BluetoothScanNotification last;
+
+        @Override
+        public void onScanRecordReceived(BluetoothScanNotification scanNotification) {
+            count.incrementAndGet();
+            last = scanNotification;
+        }
+
+        @Override
+        public void onConnectionStateChange(BluetoothConnectionStatusNotification connectionNotification) {
+        }
+
+        @Override
+        public void onServicesDiscovered() {
+        }
+
+        @Override
+        public void onCharacteristicUpdate(BluetoothCharacteristic characteristic, byte[] value) {
+        }
+
+        @Override
+        public void onDescriptorUpdate(BluetoothDescriptor bluetoothDescriptor, byte[] value) {
+        }
+
+        @Override
+        public void onAdapterChanged(BluetoothAdapter adapter) {
+        }
+    }
+
+    private final List<BluetoothAddress> addresses = new ArrayList<>();
+    private final List<Advertisement> trace = new ArrayList<>();
+    private final Map<BluetoothAddress, RecordingListener> listeners = new ConcurrentHashMap<>();
+    private @NonNullByDefault({}) TestBridgeHandler handler;
+    private @NonNullByDefault({}) ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < DEVICE_COUNT; i++) {
+            addresses.add(new BluetoothAddress(String.format("AA:BB:CC:DD:%02X:%02X", i / 256, i % 256)));
+            int interval = 100 + random.nextInt(900);
+            int counter = 0;
+            for (long time = random.nextInt(interval); time < TRACE_MILLIS; time += interval) {
+                byte[] data = new byte[] { (byte) 0x99, 0x04, (byte) counter, (byte) (counter++ >> 8) };
+                trace.add(new Advertisement(time, i, -40 - random.nextInt(50), data));
+            }
+        }
+        trace.sort(Comparator.comparingLong(advertisement -> advertisement.timeMillis));
+
+        handler = new TestBridgeHandler();
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void replayForwardsAllScanRecords() throws Exception {
+        long nanos = replay(0);
+        logger.debug("Replayed {} advertisements of {} devices in {} ms", trace.size(), DEVICE_COUNT, nanos / 1_000_000);
+
+        assertEquals(DEVICE_COUNT, listeners.size());
+        int total = 0;
+        for (RecordingListener listener : listeners.values()) {
+            total += listener.count.get();
+        }
+        assertEquals(trace.size(), total);
+        assertLastScanRecordsForwarded();
+    }
+
+    @Test
+    public void replayCoalescesScanRecords() throws Exception {
+        int maxRate = 2;
+        long nanos = replay(maxRate);
+        logger.debug("Replayed {} advertisements of {} devices in {} ms", trace.size(), DEVICE_COUNT, nanos / 1_000_000);
+
+        // the pending scan records are forwarded at the end of their interval
+        waitForAssert(this::assertLastScanRecordsForwarded);
+        long maxCount = 2 + nanos * maxRate / TimeUnit.SECONDS.toNanos(1);
+        for (RecordingListener listener : listeners.values()) {
+            assertTrue(listener.count.get() <= maxCount, "Forwarded " + listener.count.get() + " scan records");
+        }
+    }
+
+    @Test
+    public void namesAreNotCoalesced() {
+        MockBluetoothDevice device = handler.getDevice(addresses.get(0));
+        device.setMaxScanRecordRate(1);
+        RecordingListener listener = new RecordingListener();
+        device.addListener(listener);
+
+        for (int i = 0; i < 3; i++) {
+            BluetoothScanNotification notification = new BluetoothScanNotification();
+            notification.setDeviceName("Device " + i);
+            device.notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+        }
+        assertEquals(3, listener.count.get());
+    }
+
+    /**
+     * Replays the trace from several threads, each of them handling the advertisements of a part of the devices, like
+     * the adapters receiving them from several D-Bus or serial threads.
+     *
+     * @return the time needed in nanoseconds
+     */
+    private long replay(int maxRate) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            int partition = thread;
+            futures.add(executor.submit(() -> {
+                for (Advertisement advertisement : trace) {
+                    if (advertisement.deviceIndex % THREAD_COUNT == partition) {
+                        dispatch(advertisement, maxRate);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Dispatches an advertisement like the adapters do when they receive it
+     */
+    private void dispatch(Advertisement advertisement, int maxRate) {
+        BluetoothAddress address = addresses.get(advertisement.deviceIndex);
+        MockBluetoothDevice device = handler.getDevice(address);
+        listeners.computeIfAbsent(address, addr -> {
+            RecordingListener listener = new RecordingListener();
+            device.setMaxScanRecordRate(maxRate);
+            device.addListener(listener);
+            return listener;
+        });
+        device.setRssi(advertisement.rssi);
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(advertisement.rssi);
+        notification.setManufacturerData(advertisement.manufacturerData);
+        device.notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
+    }
+
+    private void assertLastScanRecordsForwarded() {
+        Advertisement[] lastAdvertisements = new Advertisement[DEVICE_COUNT];
+        for (Advertisement advertisement : trace) {
+            lastAdvertisements[advertisement.deviceIndex] = advertisement;
+        }
+        for (int i = 0; i < DEVICE_COUNT; i++) {
+            RecordingListener listener = listeners.get(addresses.get(i));
+            assertNotNull(listener);
+            BluetoothScanNotification last = listener.last;
+            assertNotNull(last);
+            assertEquals(lastAdvertisements[i].rssi, last.getRssi());
+            assertTrue(Arrays.equals(lastAdvertisements[i].manufacturerData, last.getManufacturerData()));
+            assertSame(handler.getDevice(addresses.get(i)), handler.getDevice(addresses.get(i)));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Dispatches bus telegrams to the {@link GroupAddressListener}s interested in their destination.
+ *
+ * The listeners are indexed by the group addresses they listen to, so finding the listeners of a telegram does not
+ * depend on the number of registered listeners. Every listener is notified on its own serial executor, so it receives
+ * the telegrams in the order they were received from the bus, while different listeners are notified in parallel.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressDispatcher {
+
+    /**
+     * Runs the tasks of one listener one after another, in submission order
+     */
+    private class SerialExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.warn("Error processing telegram: {}", e.getMessage(), e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                // Tasks added after the last poll but before resetting the flag
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * A registered listener, with the group addresses it has been indexed with
+     */
+    private class Registration {
+        private final Set<GroupAddress> groupAddresses;
+        private final SerialExecutor serialExecutor;
+
+        private Registration(Set<GroupAddress> groupAddresses, SerialExecutor serialExecutor) {
+            this.groupAddresses = groupAddresses;
+            this.serialExecutor = serialExecutor;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressDispatcher.class);
+
+    private final Executor executor;
+    private final Map<GroupAddressListener, Registration> registrations = new ConcurrentHashMap<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor executor running the notifications
+     */
+    public GroupAddressDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register the given listener, or update the index with its current group addresses if it is registered already.
+     *
+     * @param listener the listener
+     * @return {@code true} if it wasn't registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+        Registration registration = registrations.get(listener);
+        if (registration != null) {
+            if (registration.groupAddresses.equals(groupAddresses)) {
+                return false;
+            }
+            removeFromIndex(listener, registration.groupAddresses);
+        }
+        // Keep the serial executor, so that pending notifications stay in order
+        registrations.put(listener, new Registration(groupAddresses,
+                registration != null ? registration.serialExecutor : new SerialExecutor()));
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+        return registration == null;
+    }
+
+    /**
+     * Remove the given listener.
+     *
+     * @param listener the listener
+     * @return {@code true} if it was successfully removed
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        Registration registration = registrations.remove(listener);
+        if (registration == null) {
+            return false;
+        }
+        removeFromIndex(listener, registration.groupAddresses);
+        return true;
+    }
+
+    private void removeFromIndex(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfPresent(groupAddress, (ga, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+
+    /**
+     * Notify the listeners of the given group address.
+     *
+     * @param destination the destination of the telegram
+     * @param notification the notification, run asynchronously for every listener of the destination
+     * @return the number of listeners notified
+     */
+    public int dispatch(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+        Set<GroupAddressListener> listeners = listenersByGroupAddress.get(destination);
+        if (listeners == null) {
+            return 0;
+        }
+        int notified = 0;
+        for (GroupAddressListener listener : listeners) {
+            Registration registration = registrations.get(listener);
+            if (registration != null) {
+                registration.serialExecutor.execute(() -> notification.accept(listener));
+                notified++;
+            }
+        }
+        return notified;
+    }
+
+    /**
+     * Return the number of registered listeners
+     */
+    public int getListenerCount() {
+        return registrations.size();
+    }
+
+    /**
+     * Return the number of group addresses with at least one listener
+     */
+    public int getGroupAddressCount() {
+        return listenersByGroupAddress.size();
+    }
+}
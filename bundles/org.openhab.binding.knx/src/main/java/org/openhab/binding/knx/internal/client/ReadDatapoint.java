@@ -24,11 +24,19 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
+    private final long queuedNanos;
 
     public ReadDatapoint(Datapoint datapoint, int limit) {
+        this(datapoint, limit, ReadPriority.PERIODIC, System.nanoTime());
+    }
+
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority, long queuedNanos) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
+        this.queuedNanos = queuedNanos;
     }
 
     public Datapoint getDatapoint() {
@@ -47,6 +55,18 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ReadPriority priority) {
+        this.priority = priority;
+    }
+
+    public long getQueuedNanos() {
+        return queuedNanos;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
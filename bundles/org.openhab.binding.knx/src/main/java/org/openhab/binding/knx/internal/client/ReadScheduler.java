@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of the data points to be read from the KNX bus.
+ *
+ * Every group address is queued at most once, looked up by hash, and a read requested again with a higher
+ * {@link ReadPriority} moves the queued read ahead. Reads are taken by priority, and in queuing order within the same
+ * priority, so interactive refreshes are not stuck behind the initial reads of a large installation.
+ *
+ * The pause between two reads adapts to the bus load: negative confirmations of the sent frames increase it up to
+ * {@value #MAX_PAUSE_FACTOR} times the configured reading pause, positive confirmations bring it back step by step.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    static final int MAX_PAUSE_FACTOR = 16;
+
+    private final int readingPause;
+    private final int readRetriesLimit;
+
+    private final Map<ReadPriority, LinkedHashMap<GroupAddress, ReadDatapoint>> queues = new EnumMap<>(
+            ReadPriority.class);
+    private final Map<GroupAddress, ReadDatapoint> queued = new HashMap<>();
+
+    private long pauseMillis;
+    private long lastReadNanos;
+    private boolean readStarted;
+
+    private long readCount;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    /**
+     * @param readingPause minimum pause between two reads in milliseconds
+     * @param readRetriesLimit number of attempts to read a data point
+     */
+    public ReadScheduler(int readingPause, int readRetriesLimit) {
+        this.readingPause = readingPause;
+        this.readRetriesLimit = readRetriesLimit;
+        this.pauseMillis = readingPause;
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+
+    /**
+     * Queue the given data point, unless a read of its group address is queued already.
+     *
+     * @param datapoint the data point
+     * @param priority the priority of the read
+     * @return {@code true} if the data point was queued or moved ahead
+     */
+    public synchronized boolean schedule(Datapoint datapoint, ReadPriority priority) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        ReadDatapoint readDatapoint = queued.get(groupAddress);
+        if (readDatapoint == null) {
+            readDatapoint = new ReadDatapoint(datapoint, readRetriesLimit, priority, System.nanoTime());
+            queued.put(groupAddress, readDatapoint);
+            queue(priority).put(groupAddress, readDatapoint);
+            return true;
+        }
+        if (priority.compareTo(readDatapoint.getPriority()) >= 0) {
+            return false;
+        }
+        queue(readDatapoint.getPriority()).remove(groupAddress);
+        readDatapoint.setPriority(priority);
+        queue(priority).put(groupAddress, readDatapoint);
+        return true;
+    }
+
+    /**
+     * Queue the given data point again after a failed read, unless its group address has been queued meanwhile.
+     *
+     * @param readDatapoint the data point
+     */
+    public synchronized void retry(ReadDatapoint readDatapoint) {
+        GroupAddress groupAddress = readDatapoint.getDatapoint().getMainAddress();
+        if (queued.putIfAbsent(groupAddress, readDatapoint) == null) {
+            queue(readDatapoint.getPriority()).put(groupAddress, readDatapoint);
+        }
+    }
+
+    /**
+     * Take the next data point to read, if the current pause has passed.
+     *
+     * @param nanoTime the current {@link System#nanoTime()}
+     * @return the data point with the highest priority, or {@code null} if there is none or it is too early
+     */
+    public synchronized @Nullable ReadDatapoint next(long nanoTime) {
+        if (queued.isEmpty()
+                || (readStarted && nanoTime - lastReadNanos < TimeUnit.MILLISECONDS.toNanos(pauseMillis))) {
+            return null;
+        }
+        for (LinkedHashMap<GroupAddress, ReadDatapoint> queue : queues.values()) {
+            Iterator<ReadDatapoint> iterator = queue.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint readDatapoint = iterator.next();
+                iterator.remove();
+                queued.remove(readDatapoint.getDatapoint().getMainAddress());
+                readStarted = true;
+                lastReadNanos = nanoTime;
+                return readDatapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record the successful read of the given data point.
+     *
+     * @param readDatapoint the data point
+     * @param nanoTime the current {@link System#nanoTime()}
+     */
+    public synchronized void completed(ReadDatapoint readDatapoint, long nanoTime) {
+        long latency = nanoTime - readDatapoint.getQueuedNanos();
+        readCount++;
+        totalLatencyNanos += latency;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+    }
+
+    /**
+     * Adapt the pause between reads to a confirmation of a frame sent to the bus.
+     *
+     * @param positive {@code false} if the frame could not be sent, e.g. because the bus is busy
+     */
+    public synchronized void confirmation(boolean positive) {
+        if (positive) {
+            pauseMillis = Math.max(readingPause, pauseMillis - Math.max(readingPause, 1));
+        } else {
+            pauseMillis = Math.min((long) readingPause * MAX_PAUSE_FACTOR, Math.max(pauseMillis * 2, 1));
+        }
+    }
+
+    /**
+     * Remove all queued data points.
+     */
+    public synchronized void clear() {
+        queues.values().forEach(Map::clear);
+        queued.clear();
+        pauseMillis = readingPause;
+        readStarted = false;
+    }
+
+    @SuppressWarnings("null")
+    private LinkedHashMap<GroupAddress, ReadDatapoint> queue(ReadPriority priority) {
+        return queues.get(priority);
+    }
+
+    /**
+     * Return the number of queued data points
+     */
+    public synchronized int getQueueDepth() {
+        return queued.size();
+    }
+
+    /**
+     * Return the number of queued data points of the given priority
+     */
+    public synchronized int getQueueDepth(ReadPriority priority) {
+        return queue(priority).size();
+    }
+
+    /**
+     * Return the current pause between two reads in milliseconds
+     */
+    public synchronized long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    /**
+     * Return the number of successful reads
+     */
+    public synchronized long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * Return the average time from queuing until the successful read in milliseconds
+     */
+    public synchronized long getAverageLatencyMillis() {
+        return readCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos / readCount);
+    }
+
+    /**
+     * Return the longest time from queuing until the successful read in milliseconds
+     */
+    public synchronized long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos);
+    }
+}
@@ -25,6 +25,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.measure.Unit;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -40,6 +44,7 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.types.Type;
 import org.openhab.core.types.UnDefType;
+import org.openhab.core.types.util.UnitUtils;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -110,6 +115,31 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** caches the calimero datapoint type of each DPT id, empty if calimero does not know the id */
+    private final Map<String, Optional<CachedDpt>> dptCache = new ConcurrentHashMap<>();
+
+    /** caches the units quantity types are converted to before sending them to the bus */
+    private final Map<String, Unit<?>> unitCache = new ConcurrentHashMap<>();
+
+    /**
+     * A datapoint type resolved by calimero, with the information needed to decode its values directly
+     */
+    private static class CachedDpt {
+        private final DPT dpt;
+        private final int mainNumber;
+        private final int subNumber;
+        private final Class<? extends Type> typeClass;
+        /** the types of all 256 values of a 1 byte datapoint type, built on first use */
+        private volatile Type[] byteValues;
+
+        private CachedDpt(DPT dpt, int mainNumber, int subNumber, Class<? extends Type> typeClass) {
+            this.dpt = dpt;
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = typeClass;
+        }
+    }
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -727,7 +757,8 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         // replace e.g. m3 by m³
         targetOhUnit = targetOhUnit.replace("3", "³").replace("2", "²");
 
-        final QuantityType<?> result = qt.toUnit(targetOhUnit);
+        final Unit<?> targetUnit = unitCache.computeIfAbsent(targetOhUnit, UnitUtils::parseUnit);
+        final QuantityType<?> result = targetUnit != null ? qt.toUnit(targetUnit) : null;
         if (result == null) {
             throw new KNXException("incompatible types: " + qt.getUnit().toString() + ", " + targetOhUnit);
         }
@@ -748,12 +779,11 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             return null;
         }
 
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-        } catch (KNXException e) {
+        CachedDpt cachedDpt = getCachedDpt(mainNumber, dptID);
+        if (cachedDpt == null) {
             return null;
         }
+        dpt = cachedDpt.dpt;
 
         try {
             // check for HSBType first, because it extends PercentType as well
@@ -839,6 +869,120 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        Type type = toTypeDirect(datapoint, data);
+        return type != null ? type : toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Returns the cached datapoint type for the given DPT id, resolving it with calimero on first use.
+     *
+     * @param mainNumber the main number of the datapoint, 0 to take it from the id
+     * @param dptID the DPT id
+     * @return the datapoint type or {@code null} if calimero does not support it
+     */
+    private CachedDpt getCachedDpt(int mainNumber, String dptID) {
+        if (dptID == null) {
+            return null;
+        }
+        Optional<CachedDpt> cachedDpt = dptCache.get(dptID);
+        if (cachedDpt == null) {
+            cachedDpt = Optional.empty();
+            try {
+                DPT dpt = TranslatorTypes.createTranslator(mainNumber, dptID).getType();
+                String id = dpt.getID();
+                int main = getMainNumber(id);
+                int sub = getSubNumber(id);
+                Class<? extends Type> typeClass = toTypeClass(id);
+                if (main != -1 && sub != -1 && typeClass != null) {
+                    cachedDpt = Optional.of(new CachedDpt(dpt, main, sub, typeClass));
+                }
+            } catch (KNXException e) {
+                // unsupported, the callers handle it
+            }
+            dptCache.put(dptID, cachedDpt);
+        }
+        return cachedDpt.orElse(null);
+    }
+
+    /**
+     * Decodes the values of the common datapoint types straight from the bus data, without creating a translator and
+     * without formatting the value as string.
+     *
+     * @return the type or {@code null} if the value has to be decoded by {@link #toTypeWithTranslator}
+     */
+    Type toTypeDirect(Datapoint datapoint, byte[] data) {
+        CachedDpt cachedDpt = getCachedDpt(datapoint.getMainNumber(), datapoint.getDPT());
+        if (cachedDpt == null) {
+            return null;
+        }
+        switch (cachedDpt.mainNumber) {
+            case 1:
+            case 5:
+                if (data.length != 1) {
+                    return null;
+                }
+                Type[] byteValues = cachedDpt.byteValues;
+                if (byteValues == null) {
+                    // both are decoded by table, calimero scales some 5.x types
+                    byteValues = new Type[256];
+                    for (int i = 0; i < byteValues.length; i++) {
+                        byteValues[i] = toTypeWithTranslator(datapoint, new byte[] { (byte) i });
+                    }
+                    cachedDpt.byteValues = byteValues;
+                }
+                return byteValues[data[0] & 0xff];
+            case 7:
+                if (data.length != 2 || cachedDpt.subNumber == 3 || cachedDpt.subNumber == 4) {
+                    // time periods in 10 ms and 100 ms are scaled by calimero
+                    return null;
+                }
+                return toNumericType(cachedDpt, ((data[0] & 0xff) << 8) | (data[1] & 0xff));
+            case 9:
+                if (data.length != 2 || ((data[0] & 0xff) == 0x7f && (data[1] & 0xff) == 0xff)) {
+                    // 0x7fff is the invalid value
+                    return null;
+                }
+                // high byte MEEEEMMM, low byte MMMMMMMM, value = 0.01 * M * 2^E
+                int mantissa = ((data[0] & 0x80) << 24 | (data[0] & 0x07) << 28 | (data[1] & 0xff) << 20) >> 20;
+                int exponent = (data[0] & 0x78) >> 3;
+                return toNumericType(cachedDpt, (1 << exponent) * mantissa * 0.01);
+            case 13:
+                if (data.length != 4) {
+                    return null;
+                }
+                return toNumericType(cachedDpt, toInt(data));
+            case 14:
+                if (data.length != 4) {
+                    return null;
+                }
+                float f = Float.intBitsToFloat(toInt(data));
+                if (Float.isNaN(f) || Float.isInfinite(f)) {
+                    return null;
+                }
+                return toNumericType(cachedDpt, f);
+            default:
+                return null;
+        }
+    }
+
+    private static int toInt(byte[] data) {
+        return (data[0] & 0xff) << 24 | (data[1] & 0xff) << 16 | (data[2] & 0xff) << 8 | (data[3] & 0xff);
+    }
+
+    private static Type toNumericType(CachedDpt cachedDpt, double value) {
+        if (cachedDpt.typeClass.equals(PercentType.class)) {
+            return new PercentType(BigDecimal.valueOf(Math.round(value)));
+        }
+        if (cachedDpt.typeClass.equals(DecimalType.class)) {
+            return new DecimalType(value);
+        }
+        return null;
+    }
+
+    /**
+     * Decodes the bus data with a calimero translator, for all datapoint types.
+     */
+    Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
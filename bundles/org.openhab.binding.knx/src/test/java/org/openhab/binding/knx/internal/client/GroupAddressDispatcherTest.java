@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ * Tests the {@link GroupAddressDispatcher} with a synthetic telegram stream of a large installation.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressDispatcherTest {
+
+    private static final int THINGS = 400;
+    private static final int GROUP_ADDRESSES_PER_THING = 5;
+    private static final int TELEGRAMS = 10_000;
+
+    private static class TestListener implements GroupAddressListener {
+        final Set<GroupAddress> groupAddresses = new HashSet<>();
+        final List<GroupAddress> received = Collections.synchronizedList(new ArrayList<>());
+        final AtomicLong listensToCalls;
+
+        TestListener(AtomicLong listensToCalls) {
+            this.listensToCalls = listensToCalls;
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            listensToCalls.incrementAndGet();
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source,
+                GroupAddress destination, byte[] asdu) {
+        }
+    }
+
+    private final AtomicLong listensToCalls = new AtomicLong();
+
+    private List<TestListener> createListeners() {
+        List<TestListener> listeners = new ArrayList<>();
+        for (int thing = 0; thing < THINGS; thing++) {
+            TestListener listener = new TestListener(listensToCalls);
+            for (int i = 0; i < GROUP_ADDRESSES_PER_THING; i++) {
+                listener.groupAddresses.add(new GroupAddress(thing * GROUP_ADDRESSES_PER_THING + i + 1));
+            }
+            listeners.add(listener);
+        }
+        return listeners;
+    }
+
+    private static List<GroupAddress> createTelegramStream() {
+        Random random = new Random(42);
+        List<GroupAddress> telegrams = new ArrayList<>();
+        for (int i = 0; i < TELEGRAMS; i++) {
+            // Some telegrams are addressed to group addresses nobody listens to
+            telegrams.add(new GroupAddress(random.nextInt(THINGS * GROUP_ADDRESSES_PER_THING + 100) + 1));
+        }
+        return telegrams;
+    }
+
+    @Test
+    public void testSyntheticTelegramStream() {
+        List<TestListener> listeners = createListeners();
+        List<GroupAddress> telegrams = createTelegramStream();
+
+        // Before: every telegram asks every listener
+        long expectedNotifications = 0;
+        for (GroupAddress destination : telegrams) {
+            for (TestListener listener : listeners) {
+                if (listener.listensTo(destination)) {
+                    expectedNotifications++;
+                }
+            }
+        }
+        assertEquals((long) THINGS * TELEGRAMS, listensToCalls.get());
+
+        // After: the index only looks up the listeners of the destination
+        listensToCalls.set(0);
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(Runnable::run);
+        listeners.forEach(dispatcher::register);
+        assertEquals(THINGS, dispatcher.getListenerCount());
+        assertEquals(THINGS * GROUP_ADDRESSES_PER_THING, dispatcher.getGroupAddressCount());
+        long notifications = 0;
+        for (GroupAddress destination : telegrams) {
+            notifications += dispatcher.dispatch(destination,
+                    listener -> ((TestListener) listener).received.add(destination));
+        }
+        assertEquals(0, listensToCalls.get());
+        assertEquals(expectedNotifications, notifications);
+        for (TestListener listener : listeners) {
+            for (GroupAddress received : listener.received) {
+                assertTrue(listener.groupAddresses.contains(received));
+            }
+        }
+    }
+
+    @Test
+    public void testNotificationsOfOneListenerStayInOrder() throws InterruptedException {
+        List<TestListener> listeners = createListeners();
+        List<GroupAddress> telegrams = createTelegramStream();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(executor);
+            listeners.forEach(dispatcher::register);
+            for (GroupAddress destination : telegrams) {
+                dispatcher.dispatch(destination, listener -> ((TestListener) listener).received.add(destination));
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        for (TestListener listener : listeners) {
+            List<GroupAddress> expected = new ArrayList<>();
+            for (GroupAddress destination : telegrams) {
+                if (listener.groupAddresses.contains(destination)) {
+                    expected.add(destination);
+                }
+            }
+            assertEquals(expected, listener.received);
+        }
+    }
+
+    @Test
+    public void testChangedGroupAddressesAreReindexed() {
+        TestListener listener = createListeners().get(0);
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(Runnable::run);
+        assertTrue(dispatcher.register(listener));
+        GroupAddress added = new GroupAddress(10_000);
+        assertEquals(0, dispatcher.dispatch(added, l -> {
+        }));
+
+        listener.groupAddresses.add(added);
+        assertFalse(dispatcher.register(listener));
+        assertEquals(1, dispatcher.dispatch(added, l -> {
+        }));
+        assertEquals(GROUP_ADDRESSES_PER_THING + 1, dispatcher.getGroupAddressCount());
+
+        assertTrue(dispatcher.unregister(listener));
+        assertEquals(0, dispatcher.dispatch(added, l -> {
+        }));
+        assertEquals(0, dispatcher.getGroupAddressCount());
+        assertFalse(dispatcher.unregister(listener));
+    }
+}
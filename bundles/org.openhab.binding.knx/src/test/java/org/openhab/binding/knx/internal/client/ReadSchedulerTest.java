@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Tests the {@link ReadScheduler} with the initial reads of a large installation.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadSchedulerTest {
+
+    private static final int READING_PAUSE = 50;
+    private static final int STARTUP_READS = 2000;
+
+    private static Datapoint datapoint(int groupAddress) {
+        return new CommandDP(new GroupAddress(groupAddress), "test", 0, "1.001");
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static int read(@Nullable ReadDatapoint readDatapoint) {
+        assertNotNull(readDatapoint);
+        return readDatapoint.getDatapoint().getMainAddress().getRawAddress();
+    }
+
+    @Test
+    public void testRefreshIsReadBeforeStartupReads() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        for (int i = 1; i <= STARTUP_READS; i++) {
+            assertTrue(scheduler.schedule(datapoint(i), ReadPriority.STARTUP));
+        }
+        // Reads of already queued group addresses are dropped
+        for (int i = 1; i <= STARTUP_READS; i++) {
+            assertFalse(scheduler.schedule(datapoint(i), ReadPriority.STARTUP));
+        }
+        assertEquals(STARTUP_READS, scheduler.getQueueDepth());
+
+        assertTrue(scheduler.schedule(datapoint(STARTUP_READS + 1), ReadPriority.PERIODIC));
+        assertTrue(scheduler.schedule(datapoint(STARTUP_READS + 2), ReadPriority.INTERACTIVE));
+        // A refresh of a queued startup read moves it ahead
+        assertTrue(scheduler.schedule(datapoint(STARTUP_READS), ReadPriority.INTERACTIVE));
+        assertEquals(STARTUP_READS + 2, scheduler.getQueueDepth());
+        assertEquals(2, scheduler.getQueueDepth(ReadPriority.INTERACTIVE));
+        assertEquals(1, scheduler.getQueueDepth(ReadPriority.PERIODIC));
+
+        // Before: the refresh waited for all startup reads, one per reading pause
+        long latencyBefore = (long) STARTUP_READS * READING_PAUSE;
+        // After: it is the second read
+        long now = 0;
+        assertEquals(STARTUP_READS + 2, read(scheduler.next(now)));
+        now += millis(READING_PAUSE);
+        assertEquals(STARTUP_READS, read(scheduler.next(now)));
+        now += millis(READING_PAUSE);
+        assertEquals(STARTUP_READS + 1, read(scheduler.next(now)));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(now) < latencyBefore / 100);
+
+        for (int i = 1; i < STARTUP_READS; i++) {
+            now += millis(READING_PAUSE);
+            assertEquals(i, read(scheduler.next(now)));
+        }
+        now += millis(READING_PAUSE);
+        assertNull(scheduler.next(now));
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void testRetryKeepsPriority() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        scheduler.schedule(datapoint(1), ReadPriority.STARTUP);
+        scheduler.schedule(datapoint(2), ReadPriority.INTERACTIVE);
+        ReadDatapoint failed = scheduler.next(0);
+        assertNotNull(failed);
+        scheduler.retry(failed);
+        assertEquals(1, scheduler.getQueueDepth(ReadPriority.INTERACTIVE));
+        assertEquals(2, read(scheduler.next(millis(READING_PAUSE))));
+    }
+
+    @Test
+    public void testPauseAdaptsToConfirmations() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        for (int i = 1; i <= 3; i++) {
+            scheduler.schedule(datapoint(i), ReadPriority.STARTUP);
+        }
+        assertEquals(1, read(scheduler.next(0)));
+
+        scheduler.confirmation(false);
+        scheduler.confirmation(false);
+        assertEquals(4 * READING_PAUSE, scheduler.getPauseMillis());
+        assertNull(scheduler.next(millis(READING_PAUSE)));
+        assertEquals(2, read(scheduler.next(millis(4 * READING_PAUSE))));
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.confirmation(false);
+        }
+        assertEquals(ReadScheduler.MAX_PAUSE_FACTOR * READING_PAUSE, scheduler.getPauseMillis());
+
+        for (int i = 0; i < ReadScheduler.MAX_PAUSE_FACTOR; i++) {
+            scheduler.confirmation(true);
+        }
+        assertEquals(READING_PAUSE, scheduler.getPauseMillis());
+        assertEquals(3, read(scheduler.next(millis(5 * READING_PAUSE))));
+    }
+
+    @Test
+    public void testLatencyMetrics() {
+        ReadScheduler scheduler = new ReadScheduler(READING_PAUSE, 3);
+        scheduler.schedule(datapoint(1), ReadPriority.INTERACTIVE);
+        ReadDatapoint readDatapoint = scheduler.next(System.nanoTime());
+        assertNotNull(readDatapoint);
+        scheduler.completed(readDatapoint, readDatapoint.getQueuedNanos() + millis(120));
+        assertEquals(1, scheduler.getReadCount());
+        assertEquals(120, scheduler.getAverageLatencyMillis());
+        assertEquals(120, scheduler.getMaxLatencyMillis());
+    }
+}
@@ -14,12 +14,21 @@ package org.openhab.binding.knx.internal.dpt;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.Random;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.QuantityType;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -278,4 +287,99 @@ public class KNXCoreTypeMapperTest {
         assertEquals("42.0", new KNXCoreTypeMapper().toDPTValue(new QuantityType<>("42 VAh"), "29.011"));
         assertEquals("42.0", new KNXCoreTypeMapper().toDPTValue(new QuantityType<>("42 varh"), "29.012"));
     }
+
+    private static final List<String> DIRECTLY_DECODED_DPTS = List.of("1.001", "1.008", "1.009", "1.010", "1.019",
+            "1.022", "5.001", "5.003", "5.004", "5.010", "7.001", "7.002", "7.005", "7.007", "7.011", "7.012", "7.013",
+            "7.600", "9.001", "9.002", "9.004", "9.007", "9.020", "9.024", "9.030", "13.001", "13.002", "13.010",
+            "13.013", "13.100", "14.000", "14.019", "14.056", "14.068", "14.080");
+
+    private static Datapoint datapoint(String dpt) {
+        return new CommandDP(new GroupAddress(1), "test", 0, dpt);
+    }
+
+    private static byte[] randomData(Random random, String dpt) {
+        int length;
+        switch (dpt.substring(0, dpt.indexOf('.'))) {
+            case "1":
+            case "5":
+                length = 1;
+                break;
+            case "7":
+            case "9":
+                length = 2;
+                break;
+            default:
+                length = 4;
+        }
+        byte[] data = new byte[length];
+        random.nextBytes(data);
+        return data;
+    }
+
+    @Test
+    public void testToTypeDirectMatchesTranslator() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        Random random = new Random(42);
+        for (String dpt : DIRECTLY_DECODED_DPTS) {
+            Datapoint datapoint = datapoint(dpt);
+            for (int i = 0; i < 2000; i++) {
+                byte[] data = randomData(random, dpt);
+                Object expected = mapper.toTypeWithTranslator(datapoint, data);
+                if (expected != null) {
+                    assertNotNull(mapper.toTypeDirect(datapoint, data), dpt);
+                }
+                assertEquals(expected, mapper.toType(datapoint, data), dpt);
+            }
+        }
+    }
+
+    @Test
+    public void testToTypeDirectAllTwoByteFloats() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        for (String dpt : List.of("9.001", "9.007")) {
+            Datapoint datapoint = datapoint(dpt);
+            for (int i = 0; i < 0x10000; i++) {
+                byte[] data = new byte[] { (byte) (i >> 8), (byte) i };
+                assertEquals(mapper.toTypeWithTranslator(datapoint, data), mapper.toType(datapoint, data), dpt);
+            }
+        }
+    }
+
+    @Test
+    public void testToTypeDirect() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(OnOffType.ON, mapper.toTypeDirect(datapoint("1.001"), new byte[] { 1 }));
+        assertEquals(new PercentType(100), mapper.toTypeDirect(datapoint("5.001"), new byte[] { (byte) 0xff }));
+        assertEquals(new DecimalType(4660), mapper.toTypeDirect(datapoint("7.001"), new byte[] { 0x12, 0x34 }));
+        assertEquals(new DecimalType(1.0), mapper.toTypeDirect(datapoint("9.001"), new byte[] { 0x00, 0x64 }));
+        assertEquals(new DecimalType(-1), mapper.toTypeDirect(datapoint("13.001"), new byte[] { -1, -1, -1, -1 }));
+        assertEquals(new DecimalType(1.0f),
+                mapper.toTypeDirect(datapoint("14.056"), new byte[] { 0x3f, (byte) 0x80, 0, 0 }));
+
+        // scaled by calimero, left to the translator
+        assertNull(mapper.toTypeDirect(datapoint("7.003"), new byte[] { 0, 1 }));
+        assertEquals(new DecimalType(10), mapper.toType(datapoint("7.003"), new byte[] { 0, 1 }));
+        // not decoded directly
+        assertNull(mapper.toTypeDirect(datapoint("12.001"), new byte[] { 0, 0, 0, 1 }));
+        assertNull(mapper.toTypeDirect(datapoint("99.999"), new byte[] { 0 }));
+    }
+
+    @Test
+    public void testToTypeDecodesTelegramsWithoutTranslator() {
+        // Before each telegram created a translator and formatted its value, now the common DPTs are decoded directly
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        Random random = new Random(7);
+        int direct = 0;
+        int telegrams = 100_000;
+        for (int i = 0; i < telegrams; i++) {
+            String dpt = DIRECTLY_DECODED_DPTS.get(random.nextInt(DIRECTLY_DECODED_DPTS.size()));
+            Datapoint datapoint = datapoint(dpt);
+            byte[] data = randomData(random, dpt);
+            if (mapper.toTypeDirect(datapoint, data) != null) {
+                direct++;
+            }
+        }
+        // only invalid 2 byte floats and non-finite 4 byte floats need a translator
+        assertTrue(direct > telegrams * 0.95, "decoded directly: " + direct);
+    }
 }
@@ -22,7 +22,10 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
@@ -189,11 +192,13 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile ModbusPollPlanner.@Nullable Registration plannedPoll;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
     private volatile AtomicReference<@Nullable ModbusRegisterArray> lastPolledDataCache = new AtomicReference<>();
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
 
     private ReadCallbackDelegator callbackDelegator = new ReadCallbackDelegator();
 
@@ -243,6 +248,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         }
         this.callbackDelegator.resetCache();
         comms = null;
+        writeCoalescer = null;
         request = null;
         disposed = false;
         logger.trace("Initializing {} from status {}", this.getThing().getUID(), this.getThing().getStatus());
@@ -295,6 +301,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         unregisterPollTask();
         this.callbackDelegator.resetCache();
         comms = null;
+        writeCoalescer = null;
         lastPolledDataCache.set(null);
     }
 
@@ -313,9 +320,16 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusPollPlanner.Registration localPlannedPoll = this.plannedPoll;
+        if (localPlannedPoll != null) {
+            logger.debug("Unregistering polling from the poll planner of the endpoint");
+            localPlannedPoll.unregister();
+        }
         this.pollTask = null;
+        this.plannedPoll = null;
         request = null;
         comms = null;
+        writeCoalescer = null;
         updateStatus(ThingStatus.OFFLINE);
     }
 
@@ -328,7 +342,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || plannedPoll != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -349,6 +363,9 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             return;
         }
         this.comms = localComms;
+        this.writeCoalescer = slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler
+                ? ((AbstractModbusEndpointThingHandler<?, ?>) slaveEndpointThingHandler).getWriteCoalescer()
+                : null;
         ModbusReadFunctionCode localFunctionCode = functionCode;
         if (localFunctionCode == null) {
             return;
@@ -362,10 +379,20 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
-            logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
-                    callbackDelegator);
-            assert pollTask != null;
+            ModbusPollPlanner planner = slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler
+                    ? ((AbstractModbusEndpointThingHandler<?, ?>) slaveEndpointThingHandler).getPollPlanner()
+                    : null;
+            if (planner != null) {
+                // Endpoint merges the polls of all its pollers
+                logger.debug("Registering polling with the poll planner of the endpoint");
+                plannedPoll = planner.registerRegularPoll(localRequest, config.getRefresh(), callbackDelegator,
+                        callbackDelegator);
+            } else {
+                logger.debug("Registering polling with ModbusManager");
+                pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
+                        callbackDelegator);
+                assert pollTask != null;
+            }
             updateStatus(ThingStatus.ONLINE);
         }
     }
@@ -418,6 +445,15 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         return comms;
     }
 
+    /**
+     * Get the coalescer merging the one-time writes to the endpoint of this poller
+     *
+     * @return write coalescer, or <code>null</code> if the endpoint does not coalesce writes
+     */
+    public @Nullable ModbusWriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
     /**
      * Refresh the data
      *
@@ -53,6 +53,11 @@ public class CascadedValueTransformationImpl implements ValueTransformation {
         return input;
     }
 
+    @Override
+    public boolean isAvailable(BundleContext context) {
+        return transformations.stream().allMatch(transformation -> transformation.isAvailable(context));
+    }
+
     @Override
     public boolean isIdentityTransform() {
         return transformations.stream().allMatch(SingleValueTransformation::isIdentityTransform);
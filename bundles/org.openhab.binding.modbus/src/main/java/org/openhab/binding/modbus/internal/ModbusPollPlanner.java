@@ -0,0 +1,301 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.openhab.core.io.transport.modbus.exception.ModbusUnexpectedResponseSizeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of all pollers of one slave endpoint into as few Modbus transactions as possible.
+ *
+ * Polls with the same function code, poll period and maximum tries are sorted by start address. Overlapping,
+ * adjacent and nearly adjacent ranges (at most <code>maxGap</code> unused registers or bits in between) are merged
+ * into one request, as long as the merged request stays within the protocol limits. The response of a merged request
+ * is split back to the callbacks of the individual polls.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlanner {
+
+    /**
+     * A regular poll registered with the planner
+     */
+    public class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+                ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        private int getStart() {
+            return request.getReference();
+        }
+
+        private int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+
+        /**
+         * Unregister the poll. The remaining polls are planned again.
+         */
+        public void unregister() {
+            unregisterRegularPoll(this);
+        }
+    }
+
+    /**
+     * Polls that can be merged with each other
+     */
+    private static class GroupKey {
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+        private final int maxTries;
+
+        private GroupKey(Registration registration) {
+            this.functionCode = registration.request.getFunctionCode();
+            this.pollPeriodMillis = registration.pollPeriodMillis;
+            this.maxTries = registration.request.getMaxTries();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(functionCode, pollPeriodMillis, maxTries);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return functionCode == other.functionCode && pollPeriodMillis == other.pollPeriodMillis
+                    && maxTries == other.maxTries;
+        }
+    }
+
+    /**
+     * Callback of a merged request, splitting the response back to the individual polls
+     */
+    private static class MergedCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+
+        private final ModbusReadRequestBlueprint mergedRequest;
+        private final List<Registration> registrations;
+
+        private MergedCallback(ModbusReadRequestBlueprint mergedRequest, List<Registration> registrations) {
+            this.mergedRequest = mergedRequest;
+            this.registrations = registrations;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            Optional<ModbusRegisterArray> registers = result.getRegisters();
+            Optional<BitArray> bits = result.getBits();
+            int responseLength = registers.map(r -> r.getBytes().length / 2).orElse(bits.map(BitArray::size).orElse(0));
+            for (Registration registration : registrations) {
+                int offset = registration.getStart() - mergedRequest.getReference();
+                int length = registration.request.getDataLength();
+                if (offset + length > responseLength) {
+                    // The slave answered with less data than requested, report that instead of failing on the split
+                    registration.failureCallback.handle(new AsyncModbusFailure<>(registration.request,
+                            new ModbusUnexpectedResponseSizeException(mergedRequest.getDataLength(), responseLength)));
+                } else if (registers.isPresent()) {
+                    byte[] bytes = registers.get().getBytes();
+                    registration.resultCallback.handle(new AsyncModbusReadResult(registration.request,
+                            new ModbusRegisterArray(Arrays.copyOfRange(bytes, offset * 2, (offset + length) * 2))));
+                } else if (bits.isPresent()) {
+                    BitArray allBits = bits.get();
+                    BitArray pollBits = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        pollBits.setBit(i, allBits.getBit(offset + i));
+                    }
+                    registration.resultCallback.handle(new AsyncModbusReadResult(registration.request, pollBits));
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration registration : registrations) {
+                registration.failureCallback.handle(new AsyncModbusFailure<>(registration.request, failure.getCause()));
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollPlanner.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final int maxGap;
+    private final Map<GroupKey, List<Registration>> registrations = new HashMap<>();
+    private final Map<GroupKey, List<PollTask>> pollTasks = new HashMap<>();
+
+    /**
+     * @param comms communication interface of the slave endpoint
+     * @param maxGap maximum number of unused registers or bits between two merged polls
+     */
+    public ModbusPollPlanner(ModbusCommunicationInterface comms, int maxGap) {
+        this.comms = comms;
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Register a regular poll. All polls of the same kind are planned again.
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback receiving the data of the request
+     * @param failureCallback callback receiving the failures of the request
+     * @return registration of the poll, used to unregister it
+     */
+    public synchronized Registration registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, pollPeriodMillis, resultCallback, failureCallback);
+        GroupKey key = new GroupKey(registration);
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        plan(key);
+        return registration;
+    }
+
+    private synchronized void unregisterRegularPoll(Registration registration) {
+        GroupKey key = new GroupKey(registration);
+        List<Registration> group = registrations.get(key);
+        if (group == null || !group.remove(registration)) {
+            return;
+        }
+        if (group.isEmpty()) {
+            registrations.remove(key);
+        }
+        plan(key);
+    }
+
+    /**
+     * Return the number of poll tasks, i.e. Modbus transactions per poll cycle, currently registered
+     */
+    public synchronized int getPollTaskCount() {
+        return pollTasks.values().stream().mapToInt(List::size).sum();
+    }
+
+    private void plan(GroupKey key) {
+        List<PollTask> oldTasks = pollTasks.remove(key);
+        if (oldTasks != null) {
+            oldTasks.forEach(comms::unregisterRegularPoll);
+        }
+        List<Registration> group = registrations.get(key);
+        if (group == null) {
+            return;
+        }
+
+        List<PollTask> tasks = new ArrayList<>();
+        for (List<Registration> block : merge(group, maxGap, getMaxLength(key.functionCode))) {
+            if (block.size() == 1) {
+                // Nothing to merge, poll directly
+                Registration registration = block.get(0);
+                tasks.add(comms.registerRegularPoll(registration.request, key.pollPeriodMillis, 0,
+                        registration.resultCallback, registration.failureCallback));
+            } else {
+                int start = block.stream().mapToInt(Registration::getStart).min().getAsInt();
+                int end = block.stream().mapToInt(Registration::getEnd).max().getAsInt();
+                ModbusReadRequestBlueprint first = block.get(0).request;
+                ModbusReadRequestBlueprint mergedRequest = new ModbusReadRequestBlueprint(first.getUnitID(),
+                        key.functionCode, start, end - start, key.maxTries);
+                MergedCallback callback = new MergedCallback(mergedRequest, List.copyOf(block));
+                tasks.add(comms.registerRegularPoll(mergedRequest, key.pollPeriodMillis, 0, callback, callback));
+            }
+        }
+        logger.debug("Planned {} polls of function code {} and period {} ms into {} requests", group.size(),
+                key.functionCode, key.pollPeriodMillis, tasks.size());
+        pollTasks.put(key, tasks);
+    }
+
+    private static int getMaxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    /**
+     * Merge polls into blocks, each of them read with a single request
+     *
+     * @param polls polls to merge
+     * @param maxGap maximum number of unused registers or bits between two merged polls
+     * @param maxLength maximum length of a merged request
+     * @return blocks of polls, each block sorted by start address
+     */
+    static List<List<Registration>> merge(List<Registration> polls, int maxGap, int maxLength) {
+        List<Registration> sorted = new ArrayList<>(polls);
+        sorted.sort(Comparator.comparingInt(Registration::getStart).thenComparingInt(Registration::getEnd));
+
+        List<List<Registration>> blocks = new ArrayList<>();
+        List<Registration> block = new ArrayList<>();
+        int blockStart = 0;
+        int blockEnd = 0;
+        for (Registration poll : sorted) {
+            if (!block.isEmpty() && poll.getStart() - blockEnd <= maxGap
+                    && Math.max(blockEnd, poll.getEnd()) - blockStart <= maxLength) {
+                block.add(poll);
+                blockEnd = Math.max(blockEnd, poll.getEnd());
+            } else {
+                if (!block.isEmpty()) {
+                    blocks.add(block);
+                }
+                block = new ArrayList<>();
+                block.add(poll);
+                blockStart = poll.getStart();
+                blockEnd = poll.getEnd();
+            }
+        }
+        if (!block.isEmpty()) {
+            blocks.add(block);
+        }
+        return blocks;
+    }
+}
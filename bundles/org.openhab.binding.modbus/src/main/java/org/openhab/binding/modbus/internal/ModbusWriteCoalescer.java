@@ -0,0 +1,434 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the one-time writes of all data things of one slave endpoint.
+ *
+ * Writes submitted within a short window are collected. Write multiple registers requests (FC16) to contiguous
+ * holding registers are merged into one FC16 request, write multiple coils requests (FC15) to contiguous coils into
+ * one FC15 request. Single register (FC06) and single coil (FC05) writes are merged the same way only when the slave
+ * is known to support the multiple write function codes, otherwise they are sent as they are. A write that is not
+ * merged with any other write is always sent with its original function code. When a register or coil is written
+ * more than once within the
+ * window, the writes are sent in separate, consecutive transactions, so that the slave sees the writes of each
+ * register in the order they were submitted. The success of a merged request is reported to the callbacks of every
+ * original write. When a merged request fails, the original writes are sent individually instead. Writes still
+ * pending when the coalescer is disposed are reported as failed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusWriteCoalescer {
+
+    /**
+     * Maximum number of registers in one write multiple registers request
+     */
+    static final int MAX_REGISTERS_WRITE_COUNT = 123;
+
+    /**
+     * Maximum number of coils in one write multiple coils request
+     */
+    static final int MAX_COILS_WRITE_COUNT = 1968;
+
+    /**
+     * A write waiting for the window to close
+     */
+    private static class PendingWrite {
+        private final ModbusWriteRequestBlueprint request;
+        private final ModbusWriteCallback resultCallback;
+        private final ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback;
+        private final long submittedNanos = System.nanoTime();
+
+        private PendingWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+                ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        private boolean isCoilWrite() {
+            return request instanceof ModbusWriteCoilRequestBlueprint;
+        }
+
+        private int getStart() {
+            return request.getReference();
+        }
+
+        private int getLength() {
+            return isCoilWrite() ? ((ModbusWriteCoilRequestBlueprint) request).getCoils().size()
+                    : ((ModbusWriteRegisterRequestBlueprint) request).getRegisters().size();
+        }
+
+        private int getEnd() {
+            return getStart() + getLength();
+        }
+    }
+
+    /**
+     * Writes that can be merged with each other
+     */
+    private static class GroupKey {
+        private final boolean coils;
+        private final int unitId;
+        private final int maxTries;
+
+        private GroupKey(PendingWrite write) {
+            this.coils = write.isCoilWrite();
+            this.unitId = write.request.getUnitID();
+            this.maxTries = write.request.getMaxTries();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(coils, unitId, maxTries);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return coils == other.coils && unitId == other.unitId && maxTries == other.maxTries;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusWriteCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final boolean mergeSingleWrites;
+
+    private final List<PendingWrite> pending = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> flushJob;
+    private boolean writing;
+
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong transactionCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+
+    /**
+     * @param comms communication interface of the slave endpoint
+     * @param scheduler scheduler closing the write windows
+     * @param windowMillis time to collect writes before they are sent, in milliseconds
+     * @param mergeSingleWrites whether single register (FC06) and single coil (FC05) writes may be merged into write
+     *            multiple registers (FC16) and write multiple coils (FC15) requests
+     */
+    public ModbusWriteCoalescer(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler,
+            long windowMillis, boolean mergeSingleWrites) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.mergeSingleWrites = mergeSingleWrites;
+    }
+
+    /**
+     * Submit a one-time write. The write is sent when the current window closes, possibly merged with other writes.
+     *
+     * @param request request to write
+     * @param resultCallback callback receiving the result of the original request
+     * @param failureCallback callback receiving the failure of the original request
+     */
+    public void submitOneTimeWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+            ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+        ModbusWriteFunctionCode functionCode = request.getFunctionCode();
+        boolean multipleWrite = functionCode == ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS
+                || functionCode == ModbusWriteFunctionCode.WRITE_MULTIPLE_COILS;
+        boolean singleWrite = functionCode == ModbusWriteFunctionCode.WRITE_SINGLE_REGISTER
+                || functionCode == ModbusWriteFunctionCode.WRITE_COIL;
+        if (!multipleWrite && !(mergeSingleWrites && singleWrite)) {
+            // Nothing we may merge, write directly
+            comms.submitOneTimeWrite(request, resultCallback, failureCallback);
+            return;
+        }
+        synchronized (this) {
+            pending.add(new PendingWrite(request, resultCallback, failureCallback));
+            scheduleFlush(windowMillis);
+        }
+    }
+
+    /**
+     * Cancel the pending window. Writes not sent yet are reported to their failure callbacks.
+     */
+    public void dispose() {
+        List<PendingWrite> dropped;
+        synchronized (this) {
+            ScheduledFuture<?> localFlushJob = flushJob;
+            if (localFlushJob != null) {
+                localFlushJob.cancel(false);
+                flushJob = null;
+            }
+            dropped = new ArrayList<>(pending);
+            pending.clear();
+        }
+        if (!dropped.isEmpty()) {
+            logger.debug("Dropping {} pending writes", dropped.size());
+            IllegalStateException cause = new IllegalStateException("Endpoint disposed before the write was sent");
+            dropped.forEach(write -> failed(write, cause));
+        }
+    }
+
+    /**
+     * Return the number of coalesced writes completed
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Return the number of Modbus transactions the coalesced writes were sent with
+     */
+    public long getTransactionCount() {
+        return transactionCount.get();
+    }
+
+    /**
+     * Return the average time from submitting a write until its outcome is reported, in milliseconds
+     */
+    public double getAverageLatencyMillis() {
+        long completed = writeCount.get();
+        return completed == 0 ? 0 : totalLatencyNanos.get() / 1_000_000.0 / completed;
+    }
+
+    private void scheduleFlush(long delayMillis) {
+        if (flushJob == null && !writing && !pending.isEmpty()) {
+            flushJob = scheduler.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void flush() {
+        List<PendingWrite> writes;
+        synchronized (this) {
+            flushJob = null;
+            if (writing || pending.isEmpty()) {
+                return;
+            }
+            writes = new ArrayList<>(pending);
+            pending.clear();
+            writing = true;
+        }
+        List<List<List<PendingWrite>>> batches = plan(writes);
+        logger.debug("Coalesced {} writes into {} requests", writes.size(),
+                batches.stream().mapToInt(List::size).sum());
+        submitBatch(batches, 0);
+    }
+
+    /**
+     * Submit the requests of one batch, and the next batch once all of them have completed
+     */
+    private void submitBatch(List<List<List<PendingWrite>>> batches, int index) {
+        if (index >= batches.size()) {
+            synchronized (this) {
+                writing = false;
+                // Writes submitted while writing have waited long enough already
+                scheduleFlush(0);
+            }
+            logger.debug("{} writes sent with {} transactions so far, average latency {} ms", writeCount.get(),
+                    transactionCount.get(), getAverageLatencyMillis());
+            return;
+        }
+        List<List<PendingWrite>> batch = batches.get(index);
+        AtomicInteger remaining = new AtomicInteger(batch.size());
+        Runnable onCompleted = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                submitBatch(batches, index + 1);
+            }
+        };
+        for (List<PendingWrite> run : batch) {
+            transactionCount.incrementAndGet();
+            ModbusWriteRequestBlueprint request = run.size() == 1 ? run.get(0).request : mergedRequest(run);
+            try {
+                comms.submitOneTimeWrite(request, result -> {
+                    for (PendingWrite write : run) {
+                        completed(write);
+                        write.resultCallback.handle(new AsyncModbusWriteResult(write.request, result.getResponse()));
+                    }
+                    onCompleted.run();
+                }, failure -> {
+                    if (run.size() == 1) {
+                        failed(run.get(0), failure.getCause());
+                        onCompleted.run();
+                    } else {
+                        logger.debug("Merged write of {} requests failed, writing them individually: {}", run.size(),
+                                failure.getCause().getMessage());
+                        submitIndividually(run, onCompleted);
+                    }
+                });
+            } catch (IllegalStateException e) {
+                // Communication interface closed meanwhile
+                run.forEach(write -> failed(write, e));
+                onCompleted.run();
+            }
+        }
+    }
+
+    /**
+     * Submit the original writes of a run whose merged request failed, so that one bad write does not fail the others
+     */
+    private void submitIndividually(List<PendingWrite> run, Runnable onCompleted) {
+        AtomicInteger remaining = new AtomicInteger(run.size());
+        Runnable onWriteCompleted = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                onCompleted.run();
+            }
+        };
+        for (PendingWrite write : run) {
+            transactionCount.incrementAndGet();
+            try {
+                comms.submitOneTimeWrite(write.request, result -> {
+                    completed(write);
+                    write.resultCallback.handle(result);
+                    onWriteCompleted.run();
+                }, failure -> {
+                    failed(write, failure.getCause());
+                    onWriteCompleted.run();
+                });
+            } catch (IllegalStateException e) {
+                // Communication interface closed meanwhile
+                failed(write, e);
+                onWriteCompleted.run();
+            }
+        }
+    }
+
+    private void failed(PendingWrite write, Exception cause) {
+        completed(write);
+        write.failureCallback.handle(new AsyncModbusFailure<>(write.request, cause));
+    }
+
+    private void completed(PendingWrite write) {
+        writeCount.incrementAndGet();
+        totalLatencyNanos.addAndGet(System.nanoTime() - write.submittedNanos);
+    }
+
+    /**
+     * Plan the writes into consecutive batches of requests. A batch never writes the same register or coil twice, so
+     * its requests can be sent in any order.
+     *
+     * @param writes writes in the order they were submitted
+     * @return batches, each consisting of runs of contiguous writes, each run sent with a single request
+     */
+    static List<List<List<PendingWrite>>> plan(List<PendingWrite> writes) {
+        List<List<List<PendingWrite>>> batches = new ArrayList<>();
+        Map<GroupKey, List<PendingWrite>> groups = new LinkedHashMap<>();
+        Set<String> written = new HashSet<>();
+        for (PendingWrite write : writes) {
+            GroupKey key = new GroupKey(write);
+            List<String> addresses = new ArrayList<>();
+            for (int address = write.getStart(); address < write.getEnd(); address++) {
+                addresses.add((key.coils ? "c" : "r") + key.unitId + ":" + address);
+            }
+            if (addresses.stream().anyMatch(written::contains)) {
+                // Written already, send the earlier write first
+                batches.add(runs(groups));
+                groups = new LinkedHashMap<>();
+                written.clear();
+            }
+            written.addAll(addresses);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(write);
+        }
+        if (!groups.isEmpty()) {
+            batches.add(runs(groups));
+        }
+        return batches;
+    }
+
+    private static List<List<PendingWrite>> runs(Map<GroupKey, List<PendingWrite>> groups) {
+        List<List<PendingWrite>> runs = new ArrayList<>();
+        groups.forEach((key, group) -> {
+            int maxLength = key.coils ? MAX_COILS_WRITE_COUNT : MAX_REGISTERS_WRITE_COUNT;
+            List<PendingWrite> sorted = new ArrayList<>(group);
+            sorted.sort(Comparator.comparingInt(PendingWrite::getStart));
+            List<PendingWrite> run = new ArrayList<>();
+            int runStart = 0;
+            int runEnd = 0;
+            for (PendingWrite write : sorted) {
+                if (!run.isEmpty() && write.getStart() == runEnd && write.getEnd() - runStart <= maxLength) {
+                    run.add(write);
+                    runEnd = write.getEnd();
+                } else {
+                    if (!run.isEmpty()) {
+                        runs.add(run);
+                    }
+                    run = new ArrayList<>();
+                    run.add(write);
+                    runStart = write.getStart();
+                    runEnd = write.getEnd();
+                }
+            }
+            if (!run.isEmpty()) {
+                runs.add(run);
+            }
+        });
+        return runs;
+    }
+
+    private static ModbusWriteRequestBlueprint mergedRequest(List<PendingWrite> run) {
+        PendingWrite first = run.get(0);
+        int start = first.getStart();
+        int length = run.get(run.size() - 1).getEnd() - start;
+        if (first.isCoilWrite()) {
+            BitArray coils = new BitArray(length);
+            for (PendingWrite write : run) {
+                BitArray writeCoils = ((ModbusWriteCoilRequestBlueprint) write.request).getCoils();
+                for (int i = 0; i < writeCoils.size(); i++) {
+                    coils.setBit(write.getStart() - start + i, writeCoils.getBit(i));
+                }
+            }
+            return new ModbusWriteCoilRequestBlueprint(first.request.getUnitID(), start, coils, true,
+                    first.request.getMaxTries());
+        }
+        byte[] bytes = new byte[length * 2];
+        for (PendingWrite write : run) {
+            byte[] writeBytes = ((ModbusWriteRegisterRequestBlueprint) write.request).getRegisters().getBytes();
+            System.arraycopy(writeBytes, 0, bytes, (write.getStart() - start) * 2, writeBytes.length);
+        }
+        return new ModbusWriteRegisterRequestBlueprint(first.request.getUnitID(), start, new ModbusRegisterArray(bytes),
+                true, first.request.getMaxTries());
+    }
+}
@@ -162,6 +162,13 @@ public class SingleValueTransformation implements ValueTransformation {
         return transformedResponse == null ? "" : transformedResponse;
     }
 
+    @Override
+    public boolean isAvailable(BundleContext context) {
+        String transformationServiceName = this.transformationServiceName;
+        return transformationServiceName == null
+                || TransformationHelper.getTransformationService(context, transformationServiceName) != null;
+    }
+
     @Override
     public boolean isIdentityTransform() {
         return TRANSFORM_DEFAULT.equalsIgnoreCase(this.transformation);
@@ -33,6 +33,17 @@ public interface ValueTransformation {
 
     boolean isIdentityTransform();
 
+    /**
+     * Check whether the transformation services used by this transformation are available. Without them, the value is
+     * passed on untransformed.
+     *
+     * @param context
+     * @return whether the transformation services are available
+     */
+    default boolean isAvailable(BundleContext context) {
+        return true;
+    }
+
     /**
      * Transform state to another state using this transformation
      *
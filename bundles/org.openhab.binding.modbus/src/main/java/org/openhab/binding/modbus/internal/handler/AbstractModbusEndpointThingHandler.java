@@ -17,6 +17,8 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -48,6 +50,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollPlanner pollPlanner;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +80,13 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    int mergePollsMaxGap = getMergePollsMaxGap();
+                    pollPlanner = mergePollsMaxGap >= 0 ? new ModbusPollPlanner(comms, mergePollsMaxGap) : null;
+                    int coalesceWritesMillis = getCoalesceWritesMillis();
+                    writeCoalescer = coalesceWritesMillis > 0
+                            ? new ModbusWriteCoalescer(comms, scheduler, coalesceWritesMillis,
+                                    isCoalesceSingleWrites())
+                            : null;
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +104,10 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusWriteCoalescer localWriteCoalescer = writeCoalescer;
+        if (localWriteCoalescer != null) {
+            localWriteCoalescer.dispose();
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -102,6 +117,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
             logger.warn("Error closing modbus communication interface", e);
         } finally {
             comms = null;
+            pollPlanner = null;
+            writeCoalescer = null;
         }
     }
 
@@ -110,6 +127,28 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Get the planner merging the regular polls of all pollers of this endpoint
+     *
+     * Note that this is <code>null</code> in case merging is disabled or initialization is incomplete
+     *
+     * @return poll planner of this endpoint
+     */
+    public @Nullable ModbusPollPlanner getPollPlanner() {
+        return pollPlanner;
+    }
+
+    /**
+     * Get the coalescer merging the one-time writes of all data things of this endpoint
+     *
+     * Note that this is <code>null</code> in case coalescing is disabled or initialization is incomplete
+     *
+     * @return write coalescer of this endpoint
+     */
+    public @Nullable ModbusWriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -118,6 +157,24 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     @Override
     public abstract int getSlaveId() throws EndpointNotInitializedException;
 
+    /**
+     * Maximum number of unused registers or bits between polls that are merged into one request. Negative values
+     * disable merging.
+     */
+    protected abstract int getMergePollsMaxGap();
+
+    /**
+     * Time to collect one-time writes before they are merged and sent, in milliseconds. Zero or negative values
+     * disable coalescing.
+     */
+    protected abstract int getCoalesceWritesMillis();
+
+    /**
+     * Whether single register (FC06) and single coil (FC05) writes may be merged into write multiple registers (FC16)
+     * and write multiple coils (FC15) requests. Only applies when coalescing is enabled.
+     */
+    protected abstract boolean isCoalesceSingleWrites();
+
     /**
      * Must be overriden by subclasses to initialize config, endpoint, and poolConfiguration
      */
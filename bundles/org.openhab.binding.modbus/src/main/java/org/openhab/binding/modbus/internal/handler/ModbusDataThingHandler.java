@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,6 +36,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.CascadedValueTransformationImpl;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
@@ -143,6 +145,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
     private volatile long updateUnchangedValuesEveryMillis;
     private volatile @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
     private volatile boolean isWriteEnabled;
     private volatile boolean isReadEnabled;
     private volatile boolean writeParametersHavingTransformationOnly;
@@ -151,6 +154,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile byte @Nullable [] lastReadBytes;
+    private volatile @Nullable Boolean lastReadBit;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -225,7 +230,19 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
 
         logger.trace("Submitting write task {} to endpoint {}", request, comms.getEndpoint());
-        comms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        submitOneTimeWrite(comms, request);
+    }
+
+    /**
+     * Submit write request, through the write coalescer of the endpoint if there is one
+     */
+    private void submitOneTimeWrite(ModbusCommunicationInterface localComms, ModbusWriteRequestBlueprint request) {
+        ModbusWriteCoalescer localWriteCoalescer = writeCoalescer;
+        if (localWriteCoalescer != null) {
+            localWriteCoalescer.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        } else {
+            localComms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        }
     }
 
     /**
@@ -391,7 +408,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         requests.stream().forEach(request -> {
             logger.trace("Submitting write request: {} to endpoint {} (based from transformation {})", request,
                     localComms.getEndpoint(), transformOutput);
-            localComms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+            submitOneTimeWrite(localComms, request);
         });
     }
 
@@ -422,6 +439,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 ModbusEndpointThingHandler endpointHandler = (ModbusEndpointThingHandler) bridgeHandler;
                 slaveId = endpointHandler.getSlaveId();
                 comms = endpointHandler.getCommunicationInterface();
+                writeCoalescer = endpointHandler instanceof AbstractModbusEndpointThingHandler
+                        ? ((AbstractModbusEndpointThingHandler<?, ?>) endpointHandler).getWriteCoalescer()
+                        : null;
                 childOfEndpoint = true;
                 functionCode = null;
                 readRequest = null;
@@ -441,6 +461,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 slaveId = localReadRequest.getUnitID();
                 functionCode = localReadRequest.getFunctionCode();
                 comms = localPollerHandler.getCommunicationInterface();
+                writeCoalescer = localPollerHandler.getWriteCoalescer();
                 pollStart = localReadRequest.getReference();
                 childOfEndpoint = false;
             }
@@ -472,6 +493,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         pollStart = 0;
         slaveId = 0;
         comms = null;
+        writeCoalescer = null;
         functionCode = null;
         readRequest = null;
         isWriteEnabled = false;
@@ -484,6 +506,16 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastReadBytes = null;
+        lastReadBit = null;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        super.channelLinked(channelUID);
+        // Newly linked channel has no state yet, decode the next poll in full
+        lastReadBytes = null;
+        lastReadBit = null;
     }
 
     @Override
@@ -841,10 +873,21 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
+        int firstRegister = readIndex.get() - pollStart;
+        int registerCount = Math.max(1, readValueType.getBits() / 16);
+        if (isReadRegistersUnchanged(registers, firstRegister, registerCount)) {
+            logger.trace("Thing {} registers unchanged, not decoding them again. Registers {} for request {}",
+                    thing.getUID(), registers, request);
+            processUnchangedValue();
+            return;
+        }
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        // Only remembered once decoded with all transformations, so that a value decoded without them is decoded again
+        lastReadBytes = isReadTransformationAvailable() ? copyReadRegisters(registers, firstRegister, registerCount)
+                : null;
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
@@ -858,8 +901,17 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        Boolean localLastReadBit = lastReadBit;
+        if (localLastReadBit != null && localLastReadBit.booleanValue() == boolValue) {
+            logger.trace("Thing {} bit unchanged, not decoding it again. Bits {} for request {}", thing.getUID(), bits,
+                    request);
+            processUnchangedValue();
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        // Only remembered once decoded with all transformations, so that a value decoded without them is decoded again
+        lastReadBit = isReadTransformationAvailable() ? boolValue : null;
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -951,6 +1003,57 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Check whether the registers holding the value of this thing are the same as on the previous read. The registers
+     * are compared in place.
+     *
+     * @param registers polled registers
+     * @param firstRegister index of the first register holding the value, relative to the poll start
+     * @param registerCount number of registers holding the value
+     * @return whether the registers are unchanged
+     */
+    private boolean isReadRegistersUnchanged(ModbusRegisterArray registers, int firstRegister, int registerCount) {
+        byte[] bytes = registers.getBytes();
+        int from = firstRegister * 2;
+        int to = from + registerCount * 2;
+        byte[] localLastReadBytes = lastReadBytes;
+        return from >= 0 && to <= bytes.length && localLastReadBytes != null
+                && localLastReadBytes.length == to - from
+                && Arrays.equals(localLastReadBytes, 0, localLastReadBytes.length, bytes, from, to);
+    }
+
+    /**
+     * Copy the registers holding the value of this thing, to be compared with the next read
+     *
+     * @return the copied registers, or null if they are out of bounds and left to the decoding to handle
+     */
+    private byte @Nullable [] copyReadRegisters(ModbusRegisterArray registers, int firstRegister, int registerCount) {
+        byte[] bytes = registers.getBytes();
+        int from = firstRegister * 2;
+        int to = from + registerCount * 2;
+        return from < 0 || to > bytes.length ? null : Arrays.copyOfRange(bytes, from, to);
+    }
+
+    /**
+     * Check whether the read transformation and the transformation services it uses are available
+     */
+    private boolean isReadTransformationAvailable() {
+        ValueTransformation localReadTransformation = readTransformation;
+        return localReadTransformation != null && localReadTransformation.isAvailable(bundleContext);
+    }
+
+    /**
+     * Update linked channels with the states decoded on the previous read, as the polled data has not changed
+     */
+    private void processUnchangedValue() {
+        Map<ChannelUID, State> states = new HashMap<>(channelLastState);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            states.put(lastReadSuccessUID, new DateTimeType());
+        }
+        updateExpiredChannels(states);
+    }
+
     /**
      * Update linked channels
      *
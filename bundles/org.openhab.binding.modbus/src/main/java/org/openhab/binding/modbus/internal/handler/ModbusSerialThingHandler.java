@@ -74,6 +74,24 @@ public class ModbusSerialThingHandler
                 stopBits, parity, encoding, config.isEcho(), config.getReceiveTimeoutMillis());
     }
 
+    @Override
+    protected int getMergePollsMaxGap() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig == null ? -1 : localConfig.getMergePollsMaxGap();
+    }
+
+    @Override
+    protected int getCoalesceWritesMillis() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig == null ? 0 : localConfig.getCoalesceWritesMillis();
+    }
+
+    @Override
+    protected boolean isCoalesceSingleWrites() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig != null && localConfig.isCoalesceSingleWrites();
+    }
+
     /**
      * Return true if auto discovery is enabled in the config
      */
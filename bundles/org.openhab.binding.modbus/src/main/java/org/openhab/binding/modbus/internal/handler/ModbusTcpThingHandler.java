@@ -87,6 +87,24 @@ public class ModbusTcpThingHandler
         return getThing().getUID();
     }
 
+    @Override
+    protected int getMergePollsMaxGap() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig == null ? -1 : localConfig.getMergePollsMaxGap();
+    }
+
+    @Override
+    protected int getCoalesceWritesMillis() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig == null ? 0 : localConfig.getCoalesceWritesMillis();
+    }
+
+    @Override
+    protected boolean isCoalesceSingleWrites() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig != null && localConfig.isCoalesceSingleWrites();
+    }
+
     /**
      * Returns true if discovery is enabled
      */
@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * Tests for {@link ModbusPollPlanner}, using a simulated slave that counts the transactions.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlannerTest {
+
+    private static final int POLLERS = 30;
+    private static final int POLLER_LENGTH = 4;
+    private static final int POLLER_STRIDE = 5;
+    private static final long REFRESH_MILLIS = 1000;
+    private static final long SIMULATED_MILLIS = 10_000;
+
+    /**
+     * Regular poll registered with the simulated slave
+     */
+    private static class SimulatedPoll {
+        final ModbusReadRequestBlueprint request;
+        final long periodMillis;
+        final ModbusReadCallback callback;
+        final PollTask task = mock(PollTask.class);
+
+        SimulatedPoll(ModbusReadRequestBlueprint request, long periodMillis, ModbusReadCallback callback) {
+            this.request = request;
+            this.periodMillis = periodMillis;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * Poller receiving data from the simulated slave
+     */
+    private static class Poller implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        final ModbusReadRequestBlueprint request;
+        final List<AsyncModbusReadResult> results = new ArrayList<>();
+        final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+        Poller(ModbusReadFunctionCode functionCode, int start) {
+            this.request = new ModbusReadRequestBlueprint(1, functionCode, start, POLLER_LENGTH, 3);
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            failures.add(failure);
+        }
+    }
+
+    private final List<SimulatedPoll> polls = new ArrayList<>();
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setUp() {
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            SimulatedPoll poll = new SimulatedPoll(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(3));
+            polls.add(poll);
+            return poll.task;
+        });
+        when(comms.unregisterRegularPoll(any())).thenAnswer(invocation -> {
+            PollTask task = invocation.getArgument(0);
+            return polls.removeIf(poll -> poll.task == task);
+        });
+    }
+
+    /**
+     * Run all registered polls for the simulated time and return the number of transactions
+     */
+    private long simulate() {
+        long transactions = 0;
+        for (SimulatedPoll poll : polls) {
+            for (long time = 0; time < SIMULATED_MILLIS; time += poll.periodMillis) {
+                transactions++;
+                poll.callback.handle(respond(poll.request));
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Simulated slave: every register holds its own address, every coil at an odd address is set
+     */
+    private static AsyncModbusReadResult respond(ModbusReadRequestBlueprint request) {
+        int start = request.getReference();
+        int length = request.getDataLength();
+        if (request.getFunctionCode() == ModbusReadFunctionCode.READ_COILS) {
+            BitArray bits = new BitArray(length);
+            for (int i = 0; i < length; i++) {
+                bits.setBit(i, (start + i) % 2 == 1);
+            }
+            return new AsyncModbusReadResult(request, bits);
+        }
+        int[] registers = new int[length];
+        for (int i = 0; i < length; i++) {
+            registers[i] = start + i;
+        }
+        return new AsyncModbusReadResult(request, new ModbusRegisterArray(registers));
+    }
+
+    private List<Poller> createPollers(ModbusReadFunctionCode functionCode) {
+        List<Poller> pollers = new ArrayList<>();
+        for (int i = 0; i < POLLERS; i++) {
+            pollers.add(new Poller(functionCode, i * POLLER_STRIDE));
+        }
+        return pollers;
+    }
+
+    private static void assertRegisters(Poller poller) {
+        for (AsyncModbusReadResult result : poller.results) {
+            assertThat(result.getRequest(), is(sameInstance(poller.request)));
+            ModbusRegisterArray registers = result.getRegisters().get();
+            assertThat(registers.size(), is(equalTo(POLLER_LENGTH)));
+            for (int i = 0; i < POLLER_LENGTH; i++) {
+                assertThat(registers.getRegister(i), is(equalTo(poller.request.getReference() + i)));
+            }
+        }
+    }
+
+    @Test
+    public void testTransactionsPerSecondBeforeAndAfterMerging() {
+        // Before: every poller registers its own regular poll
+        List<Poller> pollers = createPollers(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        List<PollTask> tasks = new ArrayList<>();
+        for (Poller poller : pollers) {
+            tasks.add(comms.registerRegularPoll(poller.request, REFRESH_MILLIS, 0, poller, poller));
+        }
+        long transactionsPerSecondBefore = simulate() * 1000 / SIMULATED_MILLIS;
+        tasks.forEach(comms::unregisterRegularPoll);
+        pollers.forEach(poller -> assertRegisters(poller));
+
+        // After: the planner merges the pollers, 150 registers fit in two requests
+        pollers = createPollers(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, POLLER_STRIDE - POLLER_LENGTH);
+        for (Poller poller : pollers) {
+            planner.registerRegularPoll(poller.request, REFRESH_MILLIS, poller, poller);
+        }
+        assertThat(planner.getPollTaskCount(), is(equalTo(2)));
+        assertThat(polls.size(), is(equalTo(2)));
+        long transactionsPerSecondAfter = simulate() * 1000 / SIMULATED_MILLIS;
+
+        assertThat(transactionsPerSecondBefore, is(equalTo((long) POLLERS)));
+        assertThat(transactionsPerSecondAfter, is(equalTo(2L)));
+        for (Poller poller : pollers) {
+            assertThat(poller.results.size(), is(equalTo((int) (SIMULATED_MILLIS / REFRESH_MILLIS))));
+            assertRegisters(poller);
+        }
+    }
+
+    @Test
+    public void testGapTooLarge() {
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, 0);
+        for (Poller poller : createPollers(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS)) {
+            planner.registerRegularPoll(poller.request, REFRESH_MILLIS, poller, poller);
+        }
+        assertThat(planner.getPollTaskCount(), is(equalTo(POLLERS)));
+    }
+
+    @Test
+    public void testDifferentRefreshIsNotMerged() {
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, 10);
+        List<Poller> pollers = createPollers(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS);
+        planner.registerRegularPoll(pollers.get(0).request, REFRESH_MILLIS, pollers.get(0), pollers.get(0));
+        planner.registerRegularPoll(pollers.get(1).request, 2 * REFRESH_MILLIS, pollers.get(1), pollers.get(1));
+        assertThat(planner.getPollTaskCount(), is(equalTo(2)));
+        // Single polls are registered as is
+        assertThat(polls.get(0).request, is(sameInstance(pollers.get(0).request)));
+        assertThat(polls.get(1).request, is(sameInstance(pollers.get(1).request)));
+    }
+
+    @Test
+    public void testCoilsAreSplit() {
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, POLLER_STRIDE);
+        List<Poller> pollers = createPollers(ModbusReadFunctionCode.READ_COILS);
+        for (Poller poller : pollers) {
+            planner.registerRegularPoll(poller.request, REFRESH_MILLIS, poller, poller);
+        }
+        assertThat(planner.getPollTaskCount(), is(equalTo(1)));
+        simulate();
+        for (Poller poller : pollers) {
+            BitArray bits = poller.results.get(0).getBits().get();
+            assertThat(bits.size(), is(equalTo(POLLER_LENGTH)));
+            for (int i = 0; i < POLLER_LENGTH; i++) {
+                assertThat(bits.getBit(i), is(equalTo((poller.request.getReference() + i) % 2 == 1)));
+            }
+        }
+    }
+
+    @Test
+    public void testShortResponseIsReportedAsFailure() {
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, POLLER_STRIDE);
+        List<Poller> pollers = createPollers(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).subList(0, 3);
+        for (Poller poller : pollers) {
+            planner.registerRegularPoll(poller.request, REFRESH_MILLIS, poller, poller);
+        }
+        assertThat(polls.size(), is(equalTo(1)));
+
+        // The slave returns only the first two polls' worth of registers
+        SimulatedPoll merged = polls.get(0);
+        merged.callback.handle(
+                new AsyncModbusReadResult(merged.request, new ModbusRegisterArray(new int[2 * POLLER_STRIDE])));
+        assertThat(pollers.get(0).results.size(), is(equalTo(1)));
+        assertThat(pollers.get(1).results.size(), is(equalTo(1)));
+        assertThat(pollers.get(2).results.size(), is(equalTo(0)));
+        assertThat(pollers.get(2).failures.size(), is(equalTo(1)));
+        assertThat(pollers.get(2).failures.get(0).getRequest(), is(sameInstance(pollers.get(2).request)));
+    }
+
+    @Test
+    public void testFailureIsDelegatedAndUnregisterReplans() {
+        ModbusPollPlanner planner = new ModbusPollPlanner(comms, 2 * POLLER_STRIDE);
+        List<Poller> pollers = createPollers(ModbusReadFunctionCode.READ_INPUT_REGISTERS).subList(0, 3);
+        List<ModbusPollPlanner.Registration> registrations = new ArrayList<>();
+        for (Poller poller : pollers) {
+            registrations.add(planner.registerRegularPoll(poller.request, REFRESH_MILLIS, poller, poller));
+        }
+        assertThat(polls.size(), is(equalTo(1)));
+
+        @SuppressWarnings("unchecked")
+        ModbusFailureCallback<ModbusReadRequestBlueprint> mergedFailureCallback = //
+                (ModbusFailureCallback<ModbusReadRequestBlueprint>) polls.get(0).callback;
+        Exception error = new Exception("simulated");
+        mergedFailureCallback.handle(new AsyncModbusFailure<>(polls.get(0).request, error));
+        for (Poller poller : pollers) {
+            assertThat(poller.failures.size(), is(equalTo(1)));
+            assertThat(poller.failures.get(0).getRequest(), is(sameInstance(poller.request)));
+            assertThat(poller.failures.get(0).getCause(), is(sameInstance(error)));
+        }
+
+        registrations.get(1).unregister();
+        assertThat(polls.size(), is(equalTo(1)));
+        assertThat(polls.get(0).request.getReference(), is(equalTo(0)));
+        assertThat(polls.get(0).request.getDataLength(), is(equalTo(2 * POLLER_STRIDE + POLLER_LENGTH)));
+
+        registrations.get(0).unregister();
+        registrations.get(2).unregister();
+        assertThat(polls.size(), is(equalTo(0)));
+        assertThat(planner.getPollTaskCount(), is(equalTo(0)));
+    }
+}
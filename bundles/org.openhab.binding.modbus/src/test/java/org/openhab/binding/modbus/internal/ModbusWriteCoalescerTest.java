@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusResponse;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+
+/**
+ * Tests for {@link ModbusWriteCoalescer}, using a simulated slave that counts the transactions.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusWriteCoalescerTest {
+
+    private static final int SETPOINTS = 20;
+    private static final long WINDOW_MILLIS = 50;
+
+    /**
+     * One-time write submitted to the simulated slave, completed by the test
+     */
+    private static class SimulatedWrite {
+        final ModbusWriteRequestBlueprint request;
+        final ModbusWriteCallback resultCallback;
+        final ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback;
+
+        SimulatedWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+                ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        void succeed() {
+            resultCallback.handle(new AsyncModbusWriteResult(request, mock(ModbusResponse.class)));
+        }
+    }
+
+    /**
+     * Data thing receiving the outcome of its write
+     */
+    private static class Writer implements ModbusWriteCallback, ModbusFailureCallback<ModbusWriteRequestBlueprint> {
+        final ModbusWriteRequestBlueprint request;
+        final List<AsyncModbusWriteResult> results = new ArrayList<>();
+        final List<AsyncModbusFailure<ModbusWriteRequestBlueprint>> failures = new ArrayList<>();
+
+        Writer(ModbusWriteRequestBlueprint request) {
+            this.request = request;
+        }
+
+        @Override
+        public void handle(AsyncModbusWriteResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusWriteRequestBlueprint> failure) {
+            failures.add(failure);
+        }
+    }
+
+    private final List<SimulatedWrite> writes = new ArrayList<>();
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private ModbusWriteCoalescer coalescer = new ModbusWriteCoalescer(comms, scheduler, WINDOW_MILLIS, false);
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            writes.add(new SimulatedWrite(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2)));
+            return null;
+        }).when(comms).submitOneTimeWrite(any(), any(), any());
+        doAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    /**
+     * Close the write window
+     */
+    private void runScheduled() {
+        List<Runnable> jobs = new ArrayList<>(scheduled);
+        scheduled.clear();
+        jobs.forEach(Runnable::run);
+    }
+
+    private Writer writeRegister(int address, int value) {
+        return writeRegister(address, value, true);
+    }
+
+    private Writer writeRegister(int address, int value, boolean writeMultiple) {
+        Writer writer = new Writer(new ModbusWriteRegisterRequestBlueprint(1, address,
+                new ModbusRegisterArray(new int[] { value }), writeMultiple, 3));
+        coalescer.submitOneTimeWrite(writer.request, writer, writer);
+        return writer;
+    }
+
+    private Writer writeCoil(int address, boolean value, boolean writeMultiple) {
+        Writer writer = new Writer(new ModbusWriteCoilRequestBlueprint(1, address, value, writeMultiple, 3));
+        coalescer.submitOneTimeWrite(writer.request, writer, writer);
+        return writer;
+    }
+
+    @Test
+    public void testContiguousSetpointsAreWrittenInOneTransaction() {
+        List<Writer> writers = new ArrayList<>();
+        for (int i = 0; i < SETPOINTS; i++) {
+            writers.add(writeRegister(100 + i, 1000 + i));
+        }
+        assertThat(writes.size(), is(equalTo(0)));
+        runScheduled();
+
+        assertThat(writes.size(), is(equalTo(1)));
+        ModbusWriteRegisterRequestBlueprint request = (ModbusWriteRegisterRequestBlueprint) writes.get(0).request;
+        assertThat(request.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS)));
+        assertThat(request.getReference(), is(equalTo(100)));
+        assertThat(request.getRegisters().size(), is(equalTo(SETPOINTS)));
+        for (int i = 0; i < SETPOINTS; i++) {
+            assertThat(request.getRegisters().getRegister(i), is(equalTo(1000 + i)));
+        }
+
+        writes.get(0).succeed();
+        for (Writer writer : writers) {
+            assertThat(writer.results.size(), is(equalTo(1)));
+            assertThat(writer.results.get(0).getRequest(), is(sameInstance(writer.request)));
+        }
+        assertThat(coalescer.getWriteCount(), is(equalTo((long) SETPOINTS)));
+        assertThat(coalescer.getTransactionCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testSameRegisterIsWrittenInOrder() {
+        Writer first = writeRegister(10, 1);
+        Writer neighbour = writeRegister(11, 2);
+        Writer second = writeRegister(10, 3);
+        runScheduled();
+
+        // Second write to register 10 waits until the first one has completed
+        assertThat(writes.size(), is(equalTo(1)));
+        assertThat(writes.get(0).request.getReference(), is(equalTo(10)));
+        assertThat(((ModbusWriteRegisterRequestBlueprint) writes.get(0).request).getRegisters().size(), is(equalTo(2)));
+        writes.get(0).succeed();
+
+        assertThat(writes.size(), is(equalTo(2)));
+        assertThat(writes.get(1).request, is(sameInstance(second.request)));
+        writes.get(1).succeed();
+
+        assertThat(first.results.size(), is(equalTo(1)));
+        assertThat(neighbour.results.size(), is(equalTo(1)));
+        assertThat(second.results.size(), is(equalTo(1)));
+        assertThat(coalescer.getTransactionCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testWritesDuringTransactionWaitForIt() {
+        writeRegister(10, 1);
+        runScheduled();
+        Writer late = writeRegister(11, 2);
+        assertThat(scheduled.size(), is(equalTo(0)));
+
+        writes.get(0).succeed();
+        assertThat(scheduled.size(), is(equalTo(1)));
+        runScheduled();
+        assertThat(writes.size(), is(equalTo(2)));
+        assertThat(writes.get(1).request, is(sameInstance(late.request)));
+    }
+
+    @Test
+    public void testNonContiguousWritesAreNotMerged() {
+        Writer first = writeRegister(10, 1);
+        Writer second = writeRegister(12, 2);
+        runScheduled();
+
+        assertThat(writes.size(), is(equalTo(2)));
+        assertThat(writes.get(0).request, is(sameInstance(first.request)));
+        assertThat(writes.get(1).request, is(sameInstance(second.request)));
+    }
+
+    @Test
+    public void testCoilsAreMerged() {
+        writeCoil(5, true, true);
+        writeCoil(6, false, true);
+        writeCoil(7, true, true);
+        runScheduled();
+
+        assertThat(writes.size(), is(equalTo(1)));
+        ModbusWriteCoilRequestBlueprint request = (ModbusWriteCoilRequestBlueprint) writes.get(0).request;
+        assertThat(request.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_COILS)));
+        assertThat(request.getReference(), is(equalTo(5)));
+        BitArray coils = request.getCoils();
+        assertThat(coils.size(), is(equalTo(3)));
+        assertThat(coils.getBit(0), is(equalTo(true)));
+        assertThat(coils.getBit(1), is(equalTo(false)));
+        assertThat(coils.getBit(2), is(equalTo(true)));
+    }
+
+    @Test
+    public void testSingleWritesAreNotMerged() {
+        Writer register = writeRegister(10, 1, false);
+        Writer neighbour = writeRegister(11, 2, false);
+        Writer coil = writeCoil(5, true, false);
+
+        // Sent directly with their own function code, without waiting for the window
+        assertThat(scheduled.size(), is(equalTo(0)));
+        assertThat(writes.size(), is(equalTo(3)));
+        assertThat(writes.get(0).request, is(sameInstance(register.request)));
+        assertThat(writes.get(0).request.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_SINGLE_REGISTER)));
+        assertThat(writes.get(1).request, is(sameInstance(neighbour.request)));
+        assertThat(writes.get(2).request, is(sameInstance(coil.request)));
+        assertThat(writes.get(2).request.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_COIL)));
+    }
+
+    @Test
+    public void testSingleWritesAreMergedWhenSlaveSupportsMultipleWrites() {
+        coalescer = new ModbusWriteCoalescer(comms, scheduler, WINDOW_MILLIS, true);
+        Writer register = writeRegister(10, 1, false);
+        Writer neighbour = writeRegister(11, 2, true);
+        Writer alone = writeRegister(20, 3, false);
+        writeCoil(5, true, false);
+        writeCoil(6, false, false);
+        assertThat(writes.size(), is(equalTo(0)));
+        runScheduled();
+
+        assertThat(writes.size(), is(equalTo(3)));
+        ModbusWriteRegisterRequestBlueprint merged = (ModbusWriteRegisterRequestBlueprint) writes.get(0).request;
+        assertThat(merged.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS)));
+        assertThat(merged.getReference(), is(equalTo(10)));
+        assertThat(merged.getRegisters().size(), is(equalTo(2)));
+        // A write without neighbours keeps its function code
+        assertThat(writes.get(1).request, is(sameInstance(alone.request)));
+        assertThat(writes.get(1).request.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_SINGLE_REGISTER)));
+        assertThat(writes.get(2).request.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_COILS)));
+        assertThat(((ModbusWriteCoilRequestBlueprint) writes.get(2).request).getCoils().size(), is(equalTo(2)));
+
+        writes.get(0).succeed();
+        assertThat(register.results.size(), is(equalTo(1)));
+        assertThat(register.results.get(0).getRequest(), is(sameInstance(register.request)));
+        assertThat(neighbour.results.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testPendingWritesFailOnDispose() {
+        Writer first = writeRegister(10, 1);
+        Writer second = writeRegister(11, 2);
+        coalescer.dispose();
+        runScheduled();
+
+        assertThat(writes.size(), is(equalTo(0)));
+        for (Writer writer : List.of(first, second)) {
+            assertThat(writer.results.size(), is(equalTo(0)));
+            assertThat(writer.failures.size(), is(equalTo(1)));
+            assertThat(writer.failures.get(0).getRequest(), is(sameInstance(writer.request)));
+            assertThat(writer.failures.get(0).getCause(), is(instanceOf(IllegalStateException.class)));
+        }
+        assertThat(coalescer.getWriteCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testFailedMergedWriteFallsBackToIndividualWrites() {
+        Writer first = writeRegister(10, 1);
+        Writer second = writeRegister(11, 2);
+        runScheduled();
+        assertThat(writes.size(), is(equalTo(1)));
+
+        Exception mergedError = new Exception("merged");
+        writes.get(0).failureCallback.handle(new AsyncModbusFailure<>(writes.get(0).request, mergedError));
+        assertThat(writes.size(), is(equalTo(3)));
+        assertThat(writes.get(1).request, is(sameInstance(first.request)));
+        assertThat(writes.get(2).request, is(sameInstance(second.request)));
+
+        Exception error = new Exception("simulated");
+        writes.get(1).succeed();
+        writes.get(2).failureCallback.handle(new AsyncModbusFailure<>(writes.get(2).request, error));
+        assertThat(first.results.size(), is(equalTo(1)));
+        assertThat(first.failures.size(), is(equalTo(0)));
+        assertThat(second.results.size(), is(equalTo(0)));
+        assertThat(second.failures.size(), is(equalTo(1)));
+        assertThat(second.failures.get(0).getRequest(), is(sameInstance(second.request)));
+        assertThat(second.failures.get(0).getCause(), is(sameInstance(error)));
+        assertThat(coalescer.getWriteCount(), is(equalTo(2L)));
+        assertThat(coalescer.getTransactionCount(), is(equalTo(3L)));
+
+        // The window is open again once the individual writes have completed
+        Writer late = writeRegister(12, 3);
+        runScheduled();
+        assertThat(writes.get(3).request, is(sameInstance(late.request)));
+    }
+}
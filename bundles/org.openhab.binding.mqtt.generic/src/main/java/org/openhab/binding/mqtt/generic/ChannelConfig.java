@@ -44,6 +44,13 @@ public class ChannelConfig {
     public boolean trigger = false;
     public String unit = "";
 
+    /** If true, received values are only propagated if they differ from the last propagated value. */
+    public boolean updateOnChangeOnly = false;
+    /** Minimum time in milliseconds between two propagated values. 0 disables rate limiting. */
+    public int minUpdateInterval = 0;
+    /** Numeric values are only propagated if they differ by at least this amount from the last propagated value. */
+    public @Nullable BigDecimal deadband;
+
     public String transformationPattern = "";
     public String transformationPatternOut = "";
     public String formatBeforePublish = "%s";
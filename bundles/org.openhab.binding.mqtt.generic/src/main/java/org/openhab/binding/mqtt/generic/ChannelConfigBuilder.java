@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.mqtt.generic;
 
+import java.math.BigDecimal;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -69,6 +71,21 @@ public class ChannelConfigBuilder {
         return this;
     }
 
+    public ChannelConfigBuilder withUpdateOnChangeOnly(boolean updateOnChangeOnly) {
+        config.updateOnChangeOnly = updateOnChangeOnly;
+        return this;
+    }
+
+    public ChannelConfigBuilder withMinUpdateInterval(int minUpdateInterval) {
+        config.minUpdateInterval = minUpdateInterval;
+        return this;
+    }
+
+    public ChannelConfigBuilder withDeadband(@Nullable BigDecimal deadband) {
+        config.deadband = deadband;
+        return this;
+    }
+
     public ChannelConfigBuilder makeTrigger(boolean trigger) {
         config.trigger = trigger;
         return this;
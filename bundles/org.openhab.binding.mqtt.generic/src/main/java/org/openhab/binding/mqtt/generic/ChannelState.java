@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic;
 
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.IllegalFormatException;
@@ -20,21 +21,29 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.JsonPayloadCache;
+import org.openhab.binding.mqtt.generic.tools.SimpleJsonPath;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * This object consists of an {@link Value}, which is updated on the respective MQTT topic change.
  * Updates to the value are propagated via the {@link ChannelStateUpdateListener}.
@@ -43,6 +52,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class ChannelState implements MqttMessageSubscriber {
+    /** Shared by all channels, so that a JSON payload on a topic is only parsed once for all its channels **/
+    static final JsonPayloadCache JSON_PAYLOAD_CACHE = new JsonPayloadCache();
+
     private final Logger logger = LoggerFactory.getLogger(ChannelState.class);
 
     // Immutable channel configuration
@@ -63,6 +75,14 @@ public class ChannelState implements MqttMessageSubscriber {
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
 
+    // Update filtering (change-only, deadband, rate limiting)
+    private final Object filterLock = new Object();
+    private @Nullable ScheduledExecutorService scheduler;
+    private @Nullable State lastPropagatedState;
+    private long lastPropagatedTime;
+    private @Nullable ScheduledFuture<?> delayedUpdate;
+    private final AtomicLong suppressedUpdates = new AtomicLong();
+
     /**
      * Creates a new channel state.
      *
@@ -169,9 +189,23 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
+        // String value: Apply transformations. A leading plain JSON path is evaluated on the shared parsed payload.
+        String strValue = null;
+        int transformationIndex = 0;
+        if (!transformationsIn.isEmpty()) {
+            SimpleJsonPath jsonPath = transformationsIn.get(0).getJsonPath();
+            if (jsonPath != null) {
+                JsonElement json = JSON_PAYLOAD_CACHE.parse(topic, payload);
+                strValue = json != null ? jsonPath.extract(json) : null;
+                if (strValue != null) {
+                    transformationIndex = 1;
+                }
+            }
+        }
+        if (strValue == null) {
+            strValue = new String(payload, StandardCharsets.UTF_8);
+        }
+        for (ChannelStateTransformation t : transformationsIn.subList(transformationIndex, transformationsIn.size())) {
             String transformedValue = t.processValue(strValue);
             if (transformedValue != null) {
                 strValue = transformedValue;
@@ -214,12 +248,101 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        State state = cachedValue.getChannelState();
+        synchronized (filterLock) {
+            if (isSuppressed(state, true)) {
+                suppressedUpdates.incrementAndGet();
+                logger.trace("Suppressed update '{}' for channel {}", state, channelUID);
+            } else {
+                propagate(channelStateUpdateListener, state);
+            }
+        }
+        receivedOrTimeout();
+    }
+
+    /**
+     * Decides whether a new state is held back, because it did not change, is within the deadband or arrived too
+     * early.
+     * A state held back by the minimum update interval is propagated later, if it is still the latest one.
+     */
+    private boolean isSuppressed(State state, boolean rateLimit) {
+        final State lastState = this.lastPropagatedState;
+        if (lastState == null) {
+            return false;
+        }
+        if (config.updateOnChangeOnly && state.equals(lastState)) {
+            return true;
+        }
+        final BigDecimal deadband = config.deadband;
+        if (deadband != null && isWithinDeadband(lastState, state, deadband)) {
+            return true;
+        }
+        if (rateLimit && config.minUpdateInterval > 0) {
+            long wait = lastPropagatedTime + config.minUpdateInterval - System.currentTimeMillis();
+            if (wait > 0) {
+                scheduleDelayedUpdate(wait);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWithinDeadband(State lastState, State state, BigDecimal deadband) {
+        BigDecimal last;
+        BigDecimal current;
+        if (lastState instanceof QuantityType && state instanceof QuantityType) {
+            QuantityType<?> lastQuantity = (QuantityType<?>) lastState;
+            QuantityType<?> quantity = ((QuantityType<?>) state).toUnit(lastQuantity.getUnit());
+            if (quantity == null) {
+                return false;
+            }
+            last = lastQuantity.toBigDecimal();
+            current = quantity.toBigDecimal();
+        } else if (lastState instanceof DecimalType && state instanceof DecimalType) {
+            last = ((DecimalType) lastState).toBigDecimal();
+            current = ((DecimalType) state).toBigDecimal();
+        } else {
+            return false;
+        }
+        return current.subtract(last).abs().compareTo(deadband) < 0;
+    }
+
+    private void scheduleDelayedUpdate(long delay) {
+        final ScheduledExecutorService scheduler = this.scheduler;
+        final ScheduledFuture<?> delayedUpdate = this.delayedUpdate;
+        if (scheduler == null || (delayedUpdate != null && !delayedUpdate.isDone())) {
+            return;
+        }
+        this.delayedUpdate = scheduler.schedule(() -> {
+            final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
+            if (channelStateUpdateListener == null) {
+                return;
+            }
+            synchronized (filterLock) {
+                State state = cachedValue.getChannelState();
+                if (!isSuppressed(state, false)) {
+                    propagate(channelStateUpdateListener, state);
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void propagate(ChannelStateUpdateListener channelStateUpdateListener, State state) {
+        lastPropagatedState = state;
+        lastPropagatedTime = System.currentTimeMillis();
         if (config.postCommand) {
-            channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
+            channelStateUpdateListener.postChannelCommand(channelUID, (Command) state);
         } else {
-            channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
+            channelStateUpdateListener.updateChannelState(channelUID, state);
         }
-        receivedOrTimeout();
+    }
+
+    /**
+     * Returns the number of received values that have not been propagated, because they did not change, were within
+     * the deadband or arrived before the minimum update interval had passed.
+     */
+    public long getSuppressedUpdates() {
+        return suppressedUpdates.get();
     }
 
     /**
@@ -271,6 +394,12 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        final ScheduledFuture<?> delayedUpdate = this.delayedUpdate;
+        if (delayedUpdate != null) {
+            delayedUpdate.cancel(false);
+            this.delayedUpdate = null;
+        }
+        lastPropagatedState = null;
         cachedValue.resetState();
     }
 
@@ -312,6 +441,7 @@ public class ChannelState implements MqttMessageSubscriber {
             hasSubscribed = false;
 
             this.connection = connection;
+            this.scheduler = scheduler;
 
             if (config.stateTopic.isBlank()) {
                 return CompletableFuture.completedFuture(null);
@@ -16,6 +16,7 @@ import java.lang.ref.WeakReference;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.SimpleJsonPath;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.slf4j.Logger;
@@ -33,6 +34,7 @@ public class ChannelStateTransformation {
     private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
     final String pattern;
     final String serviceName;
+    final @Nullable SimpleJsonPath jsonPath;
 
     /**
      * Creates a new channel state transformer.
@@ -53,6 +55,7 @@ public class ChannelStateTransformation {
         String type = pattern.substring(0, index).toUpperCase();
         this.pattern = pattern.substring(index + 1);
         this.serviceName = type;
+        this.jsonPath = compileJsonPath(type, this.pattern);
     }
 
     /**
@@ -68,6 +71,31 @@ public class ChannelStateTransformation {
         this.serviceName = serviceName;
         this.pattern = pattern;
         this.provider = provider;
+        this.jsonPath = compileJsonPath(serviceName, pattern);
+    }
+
+    private static @Nullable SimpleJsonPath compileJsonPath(String serviceName, String pattern) {
+        return "JSONPATH".equals(serviceName) ? SimpleJsonPath.compile(pattern) : null;
+    }
+
+    /**
+     * Returns the plain JSON path of this transformation, if it is a JSONPATH transformation that can be evaluated on
+     * an already parsed payload. Returns null otherwise.
+     */
+    public @Nullable SimpleJsonPath getJsonPath() {
+        SimpleJsonPath jsonPath = this.jsonPath;
+        return jsonPath != null && getTransformationService() != null ? jsonPath : null;
+    }
+
+    private @Nullable TransformationService getTransformationService() {
+        TransformationService transformationService = this.transformationService.get();
+        if (transformationService == null) {
+            transformationService = provider.getTransformationService(serviceName);
+            if (transformationService != null) {
+                this.transformationService = new WeakReference<>(transformationService);
+            }
+        }
+        return transformationService;
     }
 
     /**
@@ -77,14 +105,10 @@ public class ChannelStateTransformation {
      * @return The transformed value
      */
     protected @Nullable String processValue(String value) {
-        TransformationService transformationService = this.transformationService.get();
+        TransformationService transformationService = getTransformationService();
         if (transformationService == null) {
-            transformationService = provider.getTransformationService(serviceName);
-            if (transformationService == null) {
-                logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
-                return value;
-            }
-            this.transformationService = new WeakReference<>(transformationService);
+            logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
+            return value;
         }
         String returnValue = null;
         try {
@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -49,11 +51,16 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements ChannelStateUpdateListener {
+    private static final int SUPPRESSED_UPDATES_LOG_INTERVAL_MINUTES = 5;
+
     private final Logger logger = LoggerFactory.getLogger(GenericMQTTThingHandler.class);
     final Map<ChannelUID, ChannelState> channelStateByChannelUID = new HashMap<>();
     protected final MqttChannelStateDescriptionProvider stateDescProvider;
     protected final TransformationServiceProvider transformationServiceProvider;
 
+    private @Nullable ScheduledFuture<?> suppressedUpdatesLogJob;
+    private long loggedSuppressedUpdates;
+
     /**
      * Creates a new Thing handler for generic MQTT channels.
      *
@@ -85,12 +92,43 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
         // availability topics are also started asynchronously, so no problem here
         clearAllAvailabilityTopics();
         initializeAvailabilityTopicsFromConfig();
+        cancelSuppressedUpdatesLogJob();
+        suppressedUpdatesLogJob = scheduler.scheduleWithFixedDelay(this::logSuppressedUpdates,
+                SUPPRESSED_UPDATES_LOG_INTERVAL_MINUTES, SUPPRESSED_UPDATES_LOG_INTERVAL_MINUTES, TimeUnit.MINUTES);
         return channelStateByChannelUID.values().stream().map(c -> c.start(connection, scheduler, 0))
                 .collect(FutureCollector.allOf()).thenRun(this::calculateThingStatus);
     }
 
+    /**
+     * Returns the number of received values that have been held back by the update filters of all channels.
+     */
+    public long getSuppressedUpdates() {
+        return channelStateByChannelUID.values().stream().mapToLong(ChannelState::getSuppressedUpdates).sum();
+    }
+
+    /**
+     * Logs the number of suppressed updates while the thing is running, if it changed since it was last logged.
+     */
+    private void logSuppressedUpdates() {
+        long suppressedUpdates = getSuppressedUpdates();
+        if (suppressedUpdates != loggedSuppressedUpdates) {
+            loggedSuppressedUpdates = suppressedUpdates;
+            logger.debug("Suppressed {} channel updates of thing {}", suppressedUpdates, thing.getUID());
+        }
+    }
+
+    private void cancelSuppressedUpdatesLogJob() {
+        final ScheduledFuture<?> suppressedUpdatesLogJob = this.suppressedUpdatesLogJob;
+        if (suppressedUpdatesLogJob != null) {
+            suppressedUpdatesLogJob.cancel(false);
+            this.suppressedUpdatesLogJob = null;
+        }
+    }
+
     @Override
     protected void stop() {
+        cancelSuppressedUpdatesLogJob();
+        logger.debug("Suppressed {} channel updates of thing {}", getSuppressedUpdates(), thing.getUID());
         channelStateByChannelUID.values().forEach(c -> c.getCache().resetState());
         super.stop();
     }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Parses JSON payloads once per topic and message.
+ * <p>
+ * Many channels often share one JSON state topic (Zigbee2MQTT, Tasmota, ...), each extracting its own field.
+ * All subscribers of a topic receive the same payload, so the first channel parses it and all other channels reuse
+ * the parsed document, instead of each one decoding and parsing the payload on its own.
+ * <p>
+ * Only the last payload of the most recently used topics is kept. Entries are not removed when a channel stops, as
+ * other channels may still use the topic, and wildcard subscriptions receive payloads on many concrete topics.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonPayloadCache {
+    public static final int DEFAULT_MAX_TOPICS = 1000;
+
+    private final Map<String, ParsedPayload> payloads;
+    private final AtomicLong parseCount = new AtomicLong();
+
+    private static class ParsedPayload {
+        final byte[] payload;
+        final @Nullable JsonElement json;
+
+        ParsedPayload(byte[] payload, @Nullable JsonElement json) {
+            this.payload = payload;
+            this.json = json;
+        }
+    }
+
+    public JsonPayloadCache() {
+        this(DEFAULT_MAX_TOPICS);
+    }
+
+    /**
+     * Creates a cache for the payloads of the given number of topics.
+     *
+     * @param maxTopics The number of topics to keep, the least recently used topic is dropped first
+     */
+    public JsonPayloadCache(int maxTopics) {
+        payloads = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedPayload> eldest) {
+                return size() > maxTopics;
+            }
+        };
+    }
+
+    /**
+     * Returns the parsed JSON document of the given payload.
+     *
+     * @param topic The topic the payload has been received on
+     * @param payload The payload
+     * @return The parsed document or null, if the payload is not a JSON object or array.
+     */
+    public @Nullable JsonElement parse(String topic, byte[] payload) {
+        ParsedPayload parsed;
+        synchronized (payloads) {
+            parsed = payloads.get(topic);
+        }
+        if (parsed != null && (parsed.payload == payload || Arrays.equals(parsed.payload, payload))) {
+            return parsed.json;
+        }
+        parsed = new ParsedPayload(payload, parse(payload));
+        synchronized (payloads) {
+            payloads.put(topic, parsed);
+        }
+        return parsed.json;
+    }
+
+    private @Nullable JsonElement parse(byte[] payload) {
+        if (!isJsonStructure(payload)) {
+            return null;
+        }
+        parseCount.incrementAndGet();
+        try {
+            JsonElement json = JsonParser
+                    .parseReader(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8));
+            return json.isJsonObject() || json.isJsonArray() ? json : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean isJsonStructure(byte[] payload) {
+        for (byte b : payload) {
+            if (b == '{' || b == '[') {
+                return true;
+            } else if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of topics whose last payload is kept.
+     */
+    public int size() {
+        synchronized (payloads) {
+            return payloads.size();
+        }
+    }
+
+    /**
+     * Returns the number of payloads that have been parsed so far.
+     */
+    public long getParseCount() {
+        return parseCount.get();
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * A plain JSON path like <code>$.device.status.temperature</code>, <code>$['a b'].c</code> or
+ * <code>$.values[0]</code>, which can be evaluated directly on an already parsed {@link JsonElement}.
+ * <p>
+ * Filters, wildcards, deep scans and functions are not supported. {@link #compile(String)} returns null for those,
+ * and the JSONPATH transformation service has to be used instead.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SimpleJsonPath {
+    private static final Pattern SEGMENT = Pattern
+            .compile("\\.([A-Za-z0-9_\\-]+)|\\['([^'\\\\]*)'\\]|\\[\"([^\"\\\\]*)\"\\]|\\[(\\d+)\\]");
+
+    private final List<Object> segments;
+
+    private SimpleJsonPath(List<Object> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the given JSON path.
+     *
+     * @param pattern A JSON path, starting with <code>$</code>
+     * @return The compiled path or null, if the pattern is not a plain path.
+     */
+    public static @Nullable SimpleJsonPath compile(String pattern) {
+        if (!pattern.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        Matcher matcher = SEGMENT.matcher(pattern);
+        int pos = 1;
+        while (pos < pattern.length()) {
+            if (!matcher.find(pos) || matcher.start() != pos) {
+                return null;
+            }
+            if (matcher.group(1) != null) {
+                segments.add(matcher.group(1));
+            } else if (matcher.group(2) != null) {
+                segments.add(matcher.group(2));
+            } else if (matcher.group(3) != null) {
+                segments.add(matcher.group(3));
+            } else {
+                try {
+                    segments.add(Integer.valueOf(matcher.group(4)));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            pos = matcher.end();
+        }
+        return segments.isEmpty() ? null : new SimpleJsonPath(segments);
+    }
+
+    /**
+     * Extracts the value this path points to.
+     *
+     * @param root The parsed JSON document
+     * @return The value as String, formatted like the JSONPATH transformation does it, or null if the path does not
+     *         exist or does not point to a primitive value.
+     */
+    public @Nullable String extract(JsonElement root) {
+        JsonElement current = root;
+        for (Object segment : segments) {
+            if (segment instanceof Integer) {
+                int index = (Integer) segment;
+                if (!current.isJsonArray() || ((JsonArray) current).size() <= index) {
+                    return null;
+                }
+                current = ((JsonArray) current).get(index);
+            } else {
+                if (!current.isJsonObject()) {
+                    return null;
+                }
+                JsonElement child = ((JsonObject) current).get((String) segment);
+                if (child == null) {
+                    return null;
+                }
+                current = child;
+            }
+        }
+        if (!current.isJsonPrimitive()) {
+            return null;
+        }
+        JsonPrimitive primitive = (JsonPrimitive) current;
+        return primitive.isNumber() ? formatNumber(primitive.getAsString()) : primitive.getAsString();
+    }
+
+    /**
+     * Formats a JSON number the same way the JSONPATH transformation does, which parses decimals to double and integers
+     * to long, if they fit.
+     */
+    private static String formatNumber(String number) {
+        try {
+            if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+                return number.length() > 18 ? new BigDecimal(number).toString()
+                        : Double.toString(Double.parseDouble(number));
+            }
+            return Long.toString(Long.parseLong(number));
+        } catch (NumberFormatException e) {
+            return number;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.tools.JsonPayloadCache;
+import org.openhab.binding.mqtt.generic.tools.SimpleJsonPath;
+import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.TextValue;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.transform.TransformationService;
+import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonParser;
+
+/**
+ * Tests that JSON payloads shared by many channels on one topic are parsed only once, and benchmarks the
+ * fan-out of a Zigbee2MQTT-like setup.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class ChannelStateJsonFanOutTests {
+    private static final int DEVICES = 500;
+    private static final int CHANNELS_PER_DEVICE = 15;
+    private static final int SECONDS = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(ChannelStateJsonFanOutTests.class);
+
+    private @Mock @NonNullByDefault({}) TransformationService jsonPathServiceMock;
+    private @Mock @NonNullByDefault({}) TransformationServiceProvider transformationServiceProviderMock;
+
+    private final AtomicInteger updates = new AtomicInteger();
+    private final ChannelStateUpdateListener countingListener = new ChannelStateUpdateListener() {
+        @Override
+        public void updateChannelState(ChannelUID channelUID, State value) {
+            updates.incrementAndGet();
+        }
+
+        @Override
+        public void postChannelCommand(ChannelUID channelUID, Command value) {
+        }
+
+        @Override
+        public void triggerChannel(ChannelUID channelUID, String eventPayload) {
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        when(transformationServiceProviderMock.getTransformationService(anyString())).thenReturn(jsonPathServiceMock);
+    }
+
+    @Test
+    public void simpleJsonPath() {
+        String json = "{\"a\": {\"b c\": [1, 2.50, \"x\"]}, \"d\": true, \"e\": {\"f\": 1}}";
+        assertThat(extract("$.a['b c'][0]", json), is("1"));
+        assertThat(extract("$.a[\"b c\"][1]", json), is("2.5"));
+        assertThat(extract("$.a['b c'][2]", json), is("x"));
+        assertThat(extract("$.d", json), is("true"));
+        assertThat(extract("$.e", json), is(nullValue()));
+        assertThat(extract("$.missing", json), is(nullValue()));
+        assertThat(extract("$.a['b c'][3]", json), is(nullValue()));
+
+        assertThat(SimpleJsonPath.compile("$..b"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("$.a[*]"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("$.a[?(@.b > 1)]"), is(nullValue()));
+        assertThat(SimpleJsonPath.compile("$"), is(nullValue()));
+    }
+
+    private static @Nullable String extract(String path, String json) {
+        SimpleJsonPath jsonPath = SimpleJsonPath.compile(path);
+        if (jsonPath == null) {
+            throw new IllegalArgumentException(path);
+        }
+        return jsonPath.extract(JsonParser.parseString(json));
+    }
+
+    @Test
+    public void fallbackToTransformationChain() throws Exception {
+        when(jsonPathServiceMock.transform(eq("$..temperature"), anyString())).thenReturn("21");
+
+        ChannelState wildcard = new ChannelState(ChannelConfigBuilder.create("fallback/topic", null).build(),
+                new ChannelUID("a:b:c:wildcard"), new TextValue(), countingListener);
+        wildcard.addTransformation("JSONPATH:$..temperature", transformationServiceProviderMock);
+        wildcard.processMessage("fallback/topic", "{\"temperature\": 21}".getBytes(StandardCharsets.UTF_8));
+
+        verify(jsonPathServiceMock).transform(eq("$..temperature"), anyString());
+        assertThat(wildcard.getCache().getChannelState().toString(), is("21"));
+    }
+
+    @Test
+    public void parseOncePerTopic() throws Exception {
+        List<ChannelState> channels = new ArrayList<>();
+        List<String> topics = new ArrayList<>();
+        for (int device = 0; device < DEVICES; device++) {
+            String topic = "zigbee2mqtt/device" + device;
+            topics.add(topic);
+            for (int channel = 0; channel < CHANNELS_PER_DEVICE; channel++) {
+                ChannelState state = new ChannelState(ChannelConfigBuilder.create(topic, null).build(),
+                        new ChannelUID("mqtt:topic:device" + device + ":field" + channel),
+                        new NumberValue(null, null, null, null), countingListener);
+                state.addTransformation("JSONPATH:$.field" + channel, transformationServiceProviderMock);
+                channels.add(state);
+            }
+        }
+
+        long parsesBefore = ChannelState.JSON_PAYLOAD_CACHE.getParseCount();
+        long start = System.nanoTime();
+        // Every device publishes once per simulated second, the broker hands the same payload to all subscribers
+        for (int second = 0; second < SECONDS; second++) {
+            for (int device = 0; device < DEVICES; device++) {
+                byte[] payload = payload(device, second);
+                for (int channel = 0; channel < CHANNELS_PER_DEVICE; channel++) {
+                    channels.get(device * CHANNELS_PER_DEVICE + channel).processMessage(topics.get(device), payload);
+                }
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Processed {} messages for {} channels in {} ms", DEVICES * SECONDS, channels.size(),
+                elapsedMillis);
+
+        assertThat(ChannelState.JSON_PAYLOAD_CACHE.getParseCount() - parsesBefore, is((long) DEVICES * SECONDS));
+        assertThat(updates.get(), is(DEVICES * CHANNELS_PER_DEVICE * SECONDS));
+        verify(jsonPathServiceMock, never()).transform(anyString(), anyString());
+
+        ChannelState last = channels.get(channels.size() - 1);
+        assertThat(last.getCache().getChannelState().toString(),
+                is(String.valueOf((SECONDS - 1) * 1000 + CHANNELS_PER_DEVICE - 1 + 0.5)));
+    }
+
+    @Test
+    public void keepsOnlyRecentlyUsedTopics() {
+        JsonPayloadCache cache = new JsonPayloadCache(2);
+        cache.parse("device1", payload(1, 0));
+        cache.parse("device2", payload(2, 0));
+        cache.parse("device1", payload(1, 0));
+        assertThat(cache.getParseCount(), is(2L));
+
+        // drops device2, which has been used less recently than device1
+        cache.parse("device3", payload(3, 0));
+        assertThat(cache.size(), is(2));
+        cache.parse("device1", payload(1, 0));
+        assertThat(cache.getParseCount(), is(3L));
+        cache.parse("device2", payload(2, 0));
+        assertThat(cache.getParseCount(), is(4L));
+        assertThat(cache.size(), is(2));
+    }
+
+    private static byte[] payload(int device, int second) {
+        StringBuilder json = new StringBuilder("{\"linkquality\":").append(device % 255);
+        for (int channel = 0; channel < CHANNELS_PER_DEVICE; channel++) {
+            json.append(",\"field").append(channel).append("\":").append(second * 1000 + channel).append(".5");
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
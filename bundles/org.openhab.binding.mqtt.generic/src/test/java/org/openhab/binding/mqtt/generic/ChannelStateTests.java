@@ -186,6 +186,64 @@ public class ChannelStateTests {
         assertThat(value.getChannelState().toString(), is("16.0"));
     }
 
+    @Test
+    public void receiveOnChangeOnlyTest() {
+        ChannelConfig onChangeConfig = ChannelConfigBuilder.create("state", "command").withUpdateOnChangeOnly(true)
+                .build();
+        ChannelState c = spy(
+                new ChannelState(onChangeConfig, channelUIDMock, textValue, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "A".getBytes());
+        c.processMessage("state", "A".getBytes());
+        c.processMessage("state", "B".getBytes());
+        c.processMessage("state", "B".getBytes());
+
+        verify(channelStateUpdateListenerMock, times(2)).updateChannelState(eq(channelUIDMock), any());
+        assertThat(c.getSuppressedUpdates(), is(2L));
+    }
+
+    @Test
+    public void receiveDeadbandTest() {
+        ChannelConfig deadbandConfig = ChannelConfigBuilder.create("state", "command")
+                .withDeadband(new BigDecimal("0.5")).build();
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(deadbandConfig, channelUIDMock, value, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "20.0".getBytes());
+        c.processMessage("state", "20.2".getBytes());
+        c.processMessage("state", "20.4".getBytes());
+        c.processMessage("state", "20.5".getBytes());
+
+        // The cached value is always up to date, only propagation is filtered
+        assertThat(value.getChannelState().toString(), is("20.5"));
+        verify(channelStateUpdateListenerMock, times(2)).updateChannelState(eq(channelUIDMock), any());
+        assertThat(c.getSuppressedUpdates(), is(2L));
+    }
+
+    @Test
+    public void receiveMinUpdateIntervalTest() throws Exception {
+        ChannelConfig intervalConfig = ChannelConfigBuilder.create("state", "command").withMinUpdateInterval(200)
+                .build();
+        ChannelState c = spy(
+                new ChannelState(intervalConfig, channelUIDMock, textValue, channelStateUpdateListenerMock));
+        c.start(connectionMock, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        c.processMessage("state", "A".getBytes());
+        c.processMessage("state", "B".getBytes());
+        c.processMessage("state", "C".getBytes());
+
+        verify(channelStateUpdateListenerMock).updateChannelState(eq(channelUIDMock), eq(new StringType("A")));
+        assertThat(c.getSuppressedUpdates(), is(2L));
+
+        // The latest held back value is propagated after the interval
+        verify(channelStateUpdateListenerMock, timeout(1000)).updateChannelState(eq(channelUIDMock),
+                eq(new StringType("C")));
+        verify(channelStateUpdateListenerMock, never()).updateChannelState(eq(channelUIDMock),
+                eq(new StringType("B")));
+    }
+
     @Test
     public void receiveDecimalUnitTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10), Units.WATT);
@@ -68,6 +68,25 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public static interface ComponentDiscovered {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
+
+        /**
+         * Called before a received configuration is parsed.
+         *
+         * @param homeAssistantTopicID The component ID
+         * @param configHash The {@link String#hashCode()} of the configuration
+         * @return true if a component with this configuration is already known and does not need to be parsed again
+         */
+        default boolean isKnownComponent(HaID homeAssistantTopicID, int configHash) {
+            return false;
+        }
+
+        /**
+         * Called when an empty configuration is received, which is how Home Assistant deletes a component.
+         *
+         * @param homeAssistantTopicID The component ID
+         */
+        default void componentRemoved(HaID homeAssistantTopicID) {
+        }
     }
 
     /**
@@ -99,6 +118,11 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         AbstractComponent<?> component = null;
 
         if (config.length() > 0) {
+            final ComponentDiscovered discoveredListener = this.discoveredListener;
+            if (discoveredListener != null && discoveredListener.isKnownComponent(haID, config.hashCode())) {
+                logger.trace("HomeAssistant thing {} component {} is unchanged", haID.objectID, haID.component);
+                return;
+            }
             try {
                 component = ComponentFactory.createComponent(thingUID, haID, config, updateListener, tracker, scheduler,
                         gson, transformationServiceProvider);
@@ -120,6 +144,10 @@ public class DiscoverComponents implements MqttMessageSubscriber {
             }
         } else {
             logger.warn("Configuration of HomeAssistant thing {} is empty", haID.objectID);
+            final ComponentDiscovered discoveredListener = this.discoveredListener;
+            if (discoveredListener != null) {
+                discoveredListener.componentRemoved(haID);
+            }
         }
     }
 
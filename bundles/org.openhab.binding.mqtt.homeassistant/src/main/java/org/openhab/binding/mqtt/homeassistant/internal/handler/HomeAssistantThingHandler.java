@@ -42,6 +42,7 @@ import org.openhab.binding.mqtt.homeassistant.internal.component.ComponentFactor
 import org.openhab.binding.mqtt.homeassistant.internal.config.ChannelConfigurationTypeAdapterFactory;
 import org.openhab.binding.mqtt.homeassistant.internal.exception.ConfigurationException;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.storage.Storage;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
@@ -59,6 +60,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * Handles HomeAssistant MQTT object things. Such an HA Object can have multiple HA Components with different instances
@@ -72,7 +74,11 @@ import com.google.gson.GsonBuilder;
  * A Component Instance equals a Channel Group and the Component parts equal Channels.<br>
  * <br>
  *
- * If a Components configuration changes, the known ChannelGroupType and ChannelTypes are replaced with the new ones.
+ * If a Components configuration changes, the known ChannelGroupType and ChannelTypes are replaced with the new ones.<br>
+ * <br>
+ *
+ * The last known Component configurations are kept in a local storage. Components are restored from there on startup
+ * and reconciled with the retained configuration messages in the background.
  *
  * @author David Graeff - Initial contribution
  */
@@ -95,6 +101,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     private Set<HaID> discoveryHomeAssistantIDs = new HashSet<>();
 
     protected final TransformationServiceProvider transformationServiceProvider;
+    private final @Nullable Storage<String> componentConfigStorage;
 
     private boolean started;
 
@@ -110,7 +117,25 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
     public HomeAssistantThingHandler(Thing thing, MqttChannelTypeProvider channelTypeProvider,
             TransformationServiceProvider transformationServiceProvider, int subscribeTimeout,
             int attributeReceiveTimeout) {
+        this(thing, channelTypeProvider, transformationServiceProvider, subscribeTimeout, attributeReceiveTimeout,
+                null);
+    }
+
+    /**
+     * Create a new thing handler for HomeAssistant MQTT components.
+     * A channel type provider and a topic value receive timeout must be provided.
+     *
+     * @param thing The thing of this handler
+     * @param channelTypeProvider A channel type provider
+     * @param subscribeTimeout Timeout for the entire tree parsing and subscription. In milliseconds.
+     * @param attributeReceiveTimeout The timeout per attribute field subscription. In milliseconds.
+     * @param componentConfigStorage A storage for the last known component configurations, keyed by config topic.
+     */
+    public HomeAssistantThingHandler(Thing thing, MqttChannelTypeProvider channelTypeProvider,
+            TransformationServiceProvider transformationServiceProvider, int subscribeTimeout,
+            int attributeReceiveTimeout, @Nullable Storage<String> componentConfigStorage) {
         super(thing, subscribeTimeout);
+        this.componentConfigStorage = componentConfigStorage;
         this.gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create();
         this.channelTypeProvider = channelTypeProvider;
         this.transformationServiceProvider = transformationServiceProvider;
@@ -164,11 +189,64 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                 }
             }
         }
+        restoreCachedComponents();
         updateThingType();
 
         super.initialize();
     }
 
+    /**
+     * Restores all components of the local configuration storage, which have not been restored from the channel
+     * configurations already.
+     */
+    private void restoreCachedComponents() {
+        final Storage<String> storage = componentConfigStorage;
+        if (storage == null) {
+            return;
+        }
+        for (String configTopic : storage.getKeys()) {
+            String channelConfigurationJSON = storage.get(configTopic);
+            if (channelConfigurationJSON == null) {
+                continue;
+            }
+            try {
+                HaID haID = new HaID(configTopic);
+                AbstractComponent<?> component = ComponentFactory.createComponent(thing.getUID(), haID,
+                        channelConfigurationJSON, this, this, scheduler, gson, transformationServiceProvider);
+                String groupID = component.getGroupUID().getId();
+                AbstractComponent<?> known = haComponents.get(groupID);
+                if (known != null && known.getConfigHash() == component.getConfigHash()) {
+                    continue;
+                }
+                discoveryHomeAssistantIDs.add(haID);
+                haComponents.put(groupID, component);
+                component.addChannelTypes(channelTypeProvider);
+                addMissingChannels(component);
+            } catch (IllegalArgumentException | ConfigurationException | JsonParseException e) {
+                logger.debug("Cannot restore cached component {} of {}: {}", configTopic, thing.getUID(),
+                        e.getMessage());
+                storage.remove(configTopic);
+            }
+        }
+    }
+
+    private void addMissingChannels(AbstractComponent<?> component) {
+        Collection<Channel> channels = component.getChannelMap().values().stream().map(ComponentChannel::getChannel)
+                .filter(channel -> thing.getChannel(channel.getUID()) == null).collect(Collectors.toList());
+        if (!channels.isEmpty()) {
+            ThingHelper.addChannelsToThing(thing, channels);
+        }
+    }
+
+    @Override
+    public void handleRemoval() {
+        final Storage<String> storage = componentConfigStorage;
+        if (storage != null) {
+            storage.getKeys().forEach(storage::remove);
+        }
+        super.handleRemoval();
+    }
+
     @Override
     public void dispose() {
         // super.dispose() calls stop()
@@ -192,7 +270,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         connection.setQos(1);
         updateStatus(ThingStatus.UNKNOWN);
 
-        // Start all known components and channels within the components and put the Thing offline
+        // Start all known (restored) components and channels within the components and put the Thing offline
         // if any subscribing failed ( == broker connection lost)
         CompletableFuture<@Nullable Void> future = haComponents.values().parallelStream()
                 .map(e -> e.start(connection, scheduler, attributeReceiveTimeout))
@@ -202,8 +280,10 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     return null;
                 });
 
-        return future
-                .thenCompose(b -> discoverComponents.startDiscovery(connection, 0, discoveryHomeAssistantIDs, this));
+        // Reconcile the restored components with the retained configuration messages in the background, without
+        // waiting for the restored components to receive their first values
+        return CompletableFuture.allOf(future,
+                discoverComponents.startDiscovery(connection, 0, discoveryHomeAssistantIDs, this));
     }
 
     @Override
@@ -242,6 +322,40 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         return componentChannel.getState();
     }
 
+    /**
+     * Callback of {@link DiscoverComponents}. Marks a known component as seen, if its configuration did not change,
+     * so that it does not need to be parsed again.
+     */
+    @Override
+    public boolean isKnownComponent(HaID homeAssistantTopicID, int configHash) {
+        synchronized (haComponents) { // sync whenever discoverComponents is started
+            for (AbstractComponent<?> known : haComponents.values()) {
+                if (known.getConfigHash() == configHash && known.getHaID().equals(homeAssistantTopicID)) {
+                    known.setConfigSeen();
+                    final Storage<String> storage = componentConfigStorage;
+                    String configTopic = homeAssistantTopicID.getTopic("config");
+                    if (storage != null && !storage.containsKey(configTopic)) {
+                        storage.put(configTopic, known.getChannelConfigurationJson());
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Callback of {@link DiscoverComponents}. Forgets the cached configuration of a component that was deleted in
+     * Home Assistant, so that it is not restored on the next start.
+     */
+    @Override
+    public void componentRemoved(HaID homeAssistantTopicID) {
+        final Storage<String> storage = componentConfigStorage;
+        if (storage != null) {
+            storage.remove(homeAssistantTopicID.getTopic("config"));
+        }
+    }
+
     /**
      * Callback of {@link DiscoverComponents}. Add to a delayed batch processor.
      */
@@ -277,6 +391,12 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     }
                 }
 
+                // Remember the configuration for the next start
+                final Storage<String> storage = componentConfigStorage;
+                if (storage != null) {
+                    storage.put(discovered.getHaID().getTopic("config"), discovered.getChannelConfigurationJson());
+                }
+
                 // Add channel and group types to the types registry
                 discovered.addChannelTypes(channelTypeProvider);
                 // Add component to the component map
@@ -287,9 +407,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     return null;
                 });
 
-                Collection<Channel> channels = discovered.getChannelMap().values().stream()
-                        .map(ComponentChannel::getChannel).collect(Collectors.toList());
-                ThingHelper.addChannelsToThing(thing, channels);
+                addMissingChannels(discovered);
             }
         }
 
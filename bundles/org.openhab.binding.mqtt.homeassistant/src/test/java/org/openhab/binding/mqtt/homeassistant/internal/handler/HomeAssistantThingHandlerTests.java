@@ -19,6 +19,7 @@ import static org.mockito.Mockito.*;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -33,6 +34,7 @@ import org.openhab.binding.mqtt.homeassistant.internal.HaID;
 import org.openhab.binding.mqtt.homeassistant.internal.HandlerConfiguration;
 import org.openhab.binding.mqtt.homeassistant.internal.component.Climate;
 import org.openhab.binding.mqtt.homeassistant.internal.component.Switch;
+import org.openhab.core.storage.Storage;
 import org.openhab.core.thing.binding.ThingHandlerCallback;
 
 /**
@@ -179,4 +181,55 @@ public class HomeAssistantThingHandlerTests extends AbstractHomeAssistantTests {
         thingHandler.delayedProcessing.forceProcessNow();
         assertThat(haThing.getChannels().size(), CoreMatchers.is(0));
     }
+
+    @Test
+    public void testRestoreFromComponentConfigStorage() {
+        var configTopic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        var config = new String(getResourceAsByteArray("component/configTS0601ClimateThermostat.json"),
+                StandardCharsets.UTF_8);
+        @SuppressWarnings("unchecked")
+        Storage<String> storage = mock(Storage.class);
+        when(storage.getKeys()).thenReturn(Set.of(configTopic));
+        when(storage.get(eq(configTopic))).thenReturn(config);
+
+        thingHandler = new HomeAssistantThingHandler(haThing, channelTypeProvider, transformationServiceProvider,
+                SUBSCRIBE_TIMEOUT, ATTRIBUTE_RECEIVE_TIMEOUT, storage);
+        thingHandler.setConnection(bridgeConnection);
+        thingHandler.setCallback(callbackMock);
+        thingHandler = spy(thingHandler);
+
+        thingHandler.initialize();
+        // Channels are restored without waiting for the retained configuration message
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(6));
+
+        // An unchanged configuration is not parsed again
+        thingHandler.discoverComponents.processMessage(configTopic, config.getBytes(StandardCharsets.UTF_8));
+        verify(thingHandler, never()).componentDiscovered(any(), any());
+
+        // A new component is remembered for the next start
+        var switchTopic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        thingHandler.discoverComponents.processMessage(switchTopic,
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        thingHandler.delayedProcessing.forceProcessNow();
+        assertThat(haThing.getChannels().size(), CoreMatchers.is(7));
+        verify(storage).put(eq(switchTopic), any());
+    }
+
+    @Test
+    public void testRemoveDeletedComponentFromComponentConfigStorage() {
+        var configTopic = "homeassistant/climate/0x847127fffe11dd6a_climate_zigbee2mqtt/config";
+        @SuppressWarnings("unchecked")
+        Storage<String> storage = mock(Storage.class);
+        when(storage.getKeys()).thenReturn(Set.of());
+
+        thingHandler = new HomeAssistantThingHandler(haThing, channelTypeProvider, transformationServiceProvider,
+                SUBSCRIBE_TIMEOUT, ATTRIBUTE_RECEIVE_TIMEOUT, storage);
+        thingHandler.setConnection(bridgeConnection);
+        thingHandler.setCallback(callbackMock);
+        thingHandler.initialize();
+
+        // An empty retained configuration deletes the component in Home Assistant
+        thingHandler.discoverComponents.processMessage(configTopic, new byte[0]);
+        verify(storage).remove(eq(configTopic));
+    }
 }
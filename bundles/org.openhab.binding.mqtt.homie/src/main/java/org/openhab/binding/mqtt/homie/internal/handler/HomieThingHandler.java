@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -30,10 +31,12 @@ import org.openhab.binding.mqtt.homie.internal.homie300.Device;
 import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes;
 import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes.ReadyState;
 import org.openhab.binding.mqtt.homie.internal.homie300.DeviceCallback;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceSnapshot;
 import org.openhab.binding.mqtt.homie.internal.homie300.HandlerConfiguration;
 import org.openhab.binding.mqtt.homie.internal.homie300.Node;
 import org.openhab.binding.mqtt.homie.internal.homie300.Property;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.storage.Storage;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
@@ -45,6 +48,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Handles MQTT topics that follow the Homie MQTT convention. The convention specifies a MQTT topic layout
  * and defines Devices, Nodes and Properties, corresponding to Things, Channel Groups and Channels respectively.
+ * <p>
+ * The device tree is snapshotted to a local storage. On the next start, the channels of the restored tree are
+ * started right away, while the tree is verified against the attribute topics in the background.
  *
  * @author David Graeff - Initial contribution
  */
@@ -60,6 +66,7 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
     protected HandlerConfiguration config = new HandlerConfiguration();
     protected DelayedBatchProcessing<Object> delayedProcessing;
     private @Nullable ScheduledFuture<?> heartBeatTimer;
+    private final @Nullable Storage<String> snapshotStorage;
 
     /**
      * Create a new thing handler for homie discovered things. A channel type provider and a topic value receive timeout
@@ -75,7 +82,23 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
      */
     public HomieThingHandler(Thing thing, MqttChannelTypeProvider channelTypeProvider, int deviceTimeout,
             int subscribeTimeout, int attributeReceiveTimeout) {
+        this(thing, channelTypeProvider, deviceTimeout, subscribeTimeout, attributeReceiveTimeout, null);
+    }
+
+    /**
+     * Create a new thing handler for homie discovered things, that snapshots the device tree to the given storage.
+     *
+     * @param thing The thing of this handler
+     * @param channelTypeProvider A channel type provider
+     * @param deviceTimeout Timeout for the entire device subscription. In milliseconds.
+     * @param subscribeTimeout Timeout for an entire attribute class subscription and receive. In milliseconds.
+     * @param attributeReceiveTimeout The timeout per attribute field subscription. In milliseconds.
+     * @param snapshotStorage A storage for device tree snapshots, keyed by Thing UID. May be null.
+     */
+    public HomieThingHandler(Thing thing, MqttChannelTypeProvider channelTypeProvider, int deviceTimeout,
+            int subscribeTimeout, int attributeReceiveTimeout, @Nullable Storage<String> snapshotStorage) {
         super(thing, deviceTimeout);
+        this.snapshotStorage = snapshotStorage;
         this.channelTypeProvider = channelTypeProvider;
         this.deviceTimeout = deviceTimeout;
         this.subscribeTimeout = subscribeTimeout;
@@ -105,15 +128,46 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
             return;
         }
         device.initialize(config.basetopic, config.deviceid, thing.getChannels());
+        restoreSnapshot();
         super.initialize();
     }
 
+    /**
+     * Restores the device tree from the snapshot of the last run, if any.
+     */
+    private void restoreSnapshot() {
+        final Storage<String> snapshotStorage = this.snapshotStorage;
+        if (snapshotStorage == null) {
+            return;
+        }
+        final DeviceSnapshot snapshot = DeviceSnapshot.fromJson(snapshotStorage.get(thing.getUID().getAsString()));
+        if (snapshot != null) {
+            logger.debug("Restoring Homie device {} with {} nodes from snapshot", config.deviceid,
+                    snapshot.nodes.size());
+            device.restore(snapshot);
+        }
+    }
+
+    /**
+     * Stores a snapshot of the current device tree for the next start.
+     */
+    private void storeSnapshot() {
+        final Storage<String> snapshotStorage = this.snapshotStorage;
+        if (snapshotStorage != null && device.isInitialized()) {
+            snapshotStorage.put(thing.getUID().getAsString(), DeviceSnapshot.of(device).toJson());
+        }
+    }
+
     @Override
     public void handleRemoval() {
         this.stop();
         if (config.removetopics) {
             this.removeRetainedTopics();
         }
+        final Storage<String> snapshotStorage = this.snapshotStorage;
+        if (snapshotStorage != null) {
+            snapshotStorage.remove(thing.getUID().getAsString());
+        }
         super.handleRemoval();
     }
 
@@ -126,10 +180,26 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
                     "Homie devices require QoS 1 but Qos 0/2 is configured. Using override. Please check the configuration");
             connection.setQos(1);
         }
-        return device.subscribe(connection, scheduler, attributeReceiveTimeout).thenCompose((Void v) -> {
-            return device.startChannels(connection, scheduler, attributeReceiveTimeout, this);
-        }).thenRun(() -> {
-            logger.debug("Homie device {} fully attached (start)", config.deviceid);
+        final long startTime = System.nanoTime();
+        // A restored device tree is usable right away, the attribute topics are verified in parallel
+        final CompletableFuture<@Nullable Void> restoredChannels;
+        if (device.isRestored()) {
+            restoredChannels = device.startChannels(connection, scheduler, attributeReceiveTimeout, this)
+                    .thenRun(() -> {
+                        logger.debug("Homie device {} restored channels attached in {} ms", config.deviceid,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                    });
+        } else {
+            restoredChannels = CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<@Nullable Void> deviceTree = device
+                .subscribe(connection, scheduler, attributeReceiveTimeout).thenCompose((Void v) -> {
+                    return device.startChannels(connection, scheduler, attributeReceiveTimeout, this);
+                });
+        return CompletableFuture.allOf(restoredChannels, deviceTree).thenRun(() -> {
+            logger.debug("Homie device {} fully attached in {} ms (start)", config.deviceid,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            storeSnapshot();
         });
     }
 
@@ -217,13 +287,14 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
      */
     @Override
     public void accept(@Nullable List<Object> t) {
-        if (!device.isInitialized()) {
+        if (!device.isInitialized() && !device.isRestored()) {
             return;
         }
         List<Channel> channels = device.nodes().stream().flatMap(n -> n.properties.stream()).map(Property::getChannel)
                 .collect(Collectors.toList());
         updateThing(editThing().withChannels(channels).build());
         updateProperty(MqttBindingConstants.HOMIE_PROPERTY_VERSION, device.attributes.homie);
+        storeSnapshot();
         final MqttBrokerConnection connection = this.connection;
         if (connection != null) {
             device.startChannels(connection, scheduler, attributeReceiveTimeout, this).thenRun(() -> {
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.homie.internal.homie300;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
@@ -26,6 +27,8 @@ import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceSnapshot.NodeSnapshot;
+import org.openhab.core.config.core.Configuration;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -65,6 +68,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     private String topic = "";
     public String deviceID = "";
     private boolean initialized = false;
+    private boolean restored = false;
 
     /**
      * Creates a Homie Device structure. It consists of device attributes, device statistics and nodes.
@@ -114,9 +118,17 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
             throw new IllegalStateException("You must call initialize()!");
         }
 
-        return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
+        // Already known nodes (restored or from an earlier connection) are verified in parallel
+        final CompletableFuture<?>[] knownNodes = nodes.stream()
+                .map(node -> node.subscribe(connection, scheduler, timeout).exceptionally(e -> {
+                    logger.debug("Could not verify node {} of device {}", node.nodeID, deviceID, e);
+                    return null;
+                })).toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
                 // On success, create all nodes and tell the handler about the ready state
-                .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
+                .thenCompose(b -> attributesReceived(connection, scheduler, timeout)),
+                CompletableFuture.allOf(knownNodes))
                 // No matter if values have been received or not -> the subscriptions have been performed
                 .whenComplete((r, e) -> {
                     initialized = true;
@@ -141,7 +153,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      */
     public CompletableFuture<@Nullable Void> startChannels(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout, HomieThingHandler handler) {
-        if (!isInitialized() || deviceID.isEmpty()) {
+        if ((!isInitialized() && !isRestored()) || deviceID.isEmpty()) {
             CompletableFuture<@Nullable Void> c = new CompletableFuture<>();
             c.completeExceptionally(new Exception("Homie Device Tree not inialized yet."));
             return c;
@@ -193,6 +205,14 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
         return initialized;
     }
 
+    /**
+     * @return Return true if the device tree has been restored from the Thing channels or a snapshot and can be
+     *         used before the attribute topics have been received again.
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
     /**
      * Restore Nodes and Properties from Thing channels after handler initalization.
      *
@@ -228,6 +248,45 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
 
             node.properties.put(propertyID, property);
         }
+        restored = !channels.isEmpty();
+    }
+
+    /**
+     * Restore the device tree from a snapshot of an earlier run. Call this after
+     * {@link #initialize(String, String, List)}. Nodes and properties that have been restored from the Thing channels
+     * are kept, the snapshot only adds their missing attributes and any missing property.
+     *
+     * @param snapshot The device tree snapshot
+     */
+    public void restore(DeviceSnapshot snapshot) {
+        attributes.homie = snapshot.homie;
+        attributes.name = snapshot.name;
+        attributes.nodes = snapshot.nodes.keySet().toArray(String[]::new);
+        for (Map.Entry<String, NodeSnapshot> nodeEntry : snapshot.nodes.entrySet()) {
+            final String nodeID = nodeEntry.getKey();
+            final NodeSnapshot nodeSnapshot = nodeEntry.getValue();
+            Node node = nodes.get(nodeID);
+            if (node == null) {
+                node = createNode(nodeID);
+                node.nodeRestoredFromConfig();
+                nodes.put(nodeID, node);
+            }
+            node.attributes.name = nodeSnapshot.name;
+            node.attributes.type = nodeSnapshot.type;
+            node.attributes.properties = nodeSnapshot.properties.keySet().toArray(String[]::new);
+            for (Map.Entry<String, Map<String, Object>> propertyEntry : nodeSnapshot.properties.entrySet()) {
+                final String propertyID = propertyEntry.getKey();
+                if (node.properties.get(propertyID) != null) {
+                    continue;
+                }
+                Property property = node.createProperty(propertyID,
+                        new Configuration(propertyEntry.getValue()).as(PropertyAttributes.class));
+                property.attributesReceived();
+                node.properties.put(propertyID, property);
+            }
+            callback.nodeAddedOrChanged(node);
+        }
+        restored = nodes.size() > 0;
     }
 
     /**
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homie.internal.homie300;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * A serializable copy of a Homie device tree (device, node and property attributes). It is stored locally,
+ * so that the tree can be restored on the next start, before the attribute topics have been received again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DeviceSnapshot {
+    private static final Gson GSON = new Gson();
+
+    public @Nullable String homie;
+    public @Nullable String name;
+    public Map<String, NodeSnapshot> nodes = new TreeMap<>();
+
+    public static class NodeSnapshot {
+        public String name = "";
+        public @Nullable String type;
+        public Map<String, Map<String, Object>> properties = new TreeMap<>();
+    }
+
+    /**
+     * Creates a snapshot of the given device tree.
+     */
+    public static DeviceSnapshot of(Device device) {
+        DeviceSnapshot snapshot = new DeviceSnapshot();
+        snapshot.homie = device.attributes.homie;
+        snapshot.name = device.attributes.name;
+        device.nodes().stream().forEach(node -> {
+            NodeSnapshot nodeSnapshot = new NodeSnapshot();
+            nodeSnapshot.name = node.attributes.name;
+            nodeSnapshot.type = node.attributes.type;
+            node.properties.stream().forEach(
+                    property -> nodeSnapshot.properties.put(property.propertyID, property.attributes.asMap()));
+            snapshot.nodes.put(node.nodeID, nodeSnapshot);
+        });
+        return snapshot;
+    }
+
+    public String toJson() {
+        return GSON.toJson(this);
+    }
+
+    /**
+     * Parses a snapshot, previously created by {@link #toJson()}.
+     *
+     * @return The snapshot or null, if the given value could not be parsed.
+     */
+    public static @Nullable DeviceSnapshot fromJson(@Nullable String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return GSON.fromJson(json, DeviceSnapshot.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+}
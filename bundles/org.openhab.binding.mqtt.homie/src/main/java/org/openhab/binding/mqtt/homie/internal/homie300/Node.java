@@ -84,9 +84,15 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
      */
     public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
-        return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
+        // Already known properties (restored or from an earlier connection) are verified in parallel
+        final CompletableFuture<?>[] knownProperties = properties.stream()
+                .map(property -> property.subscribe(connection, scheduler, timeout))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
                 // On success, create all properties and tell the handler about this node
-                .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
+                .thenCompose(b -> attributesReceived(connection, scheduler, timeout)),
+                CompletableFuture.allOf(knownProperties))
                 // No matter if values have been received or not -> the subscriptions have been performed
                 .whenComplete((r, e) -> {
                     initialized = true;
@@ -17,6 +17,7 @@ import java.math.MathContext;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
@@ -104,9 +105,19 @@ public class Property implements AttributeChanged {
      */
     public CompletableFuture<@Nullable Void> subscribe(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
+        final Map<String, Object> knownAttributes = attributes.asMap();
         return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
                 // On success, create the channel and tell the handler about this property
-                .thenRun(this::attributesReceived)
+                .thenRun(() -> {
+                    // A restored property is only re-created, if its attributes have changed in the meantime
+                    final ChannelState knownChannelState = channelState;
+                    if (knownChannelState == null) {
+                        attributesReceived();
+                    } else if (!knownAttributes.equals(attributes.asMap())) {
+                        knownChannelState.stop();
+                        attributesReceived();
+                    }
+                })
                 // No matter if values have been received or not -> the subscriptions have been performed
                 .whenComplete((r, e) -> {
                     initialized = true;
@@ -54,6 +54,7 @@ import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homie.internal.homie300.Device;
 import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes;
 import org.openhab.binding.mqtt.homie.internal.homie300.DeviceAttributes.ReadyState;
+import org.openhab.binding.mqtt.homie.internal.homie300.DeviceSnapshot;
 import org.openhab.binding.mqtt.homie.internal.homie300.Node;
 import org.openhab.binding.mqtt.homie.internal.homie300.NodeAttributes;
 import org.openhab.binding.mqtt.homie.internal.homie300.Property;
@@ -367,4 +368,35 @@ public class HomieThingHandlerTests {
         assertThat(properties.get(MqttBindingConstants.HOMIE_PROPERTY_VERSION), is("3.0"));
         assertThat(properties.size(), is(1));
     }
+
+    @Test
+    public void restoreFromSnapshot() {
+        // Create a device tree with one node and one property and take a snapshot of it
+        Node node = thingHandler.device.createNode("node", new NodeAttributes());
+        node.attributes.name = "testnode";
+        Property property = node.createProperty("property", new PropertyAttributes());
+        property.attributes.name = "testprop";
+        property.attributes.datatype = DataTypeEnum.integer_;
+        property.attributes.settable = true;
+        node.properties.put(property.propertyID, property);
+        thingHandler.device.nodes.put(node.nodeID, node);
+        thingHandler.device.attributes.homie = "3.0";
+        final String json = DeviceSnapshot.of(thingHandler.device).toJson();
+
+        final Device device = new Device(thing.getUID(), thingHandler, new DeviceAttributes());
+        device.initialize("homie", deviceID, new ArrayList<>());
+        assertThat(device.isRestored(), is(false));
+        device.restore(requireNonNull(DeviceSnapshot.fromJson(json)));
+
+        assertThat(device.isRestored(), is(true));
+        assertThat(device.attributes.homie, is("3.0"));
+        final Node restoredNode = requireNonNull(device.nodes.get("node"));
+        assertThat(restoredNode.attributes.name, is("testnode"));
+        final Property restoredProperty = requireNonNull(restoredNode.properties.get("property"));
+        assertThat(restoredProperty.attributes.name, is("testprop"));
+        assertThat(restoredProperty.attributes.datatype, is(DataTypeEnum.integer_));
+        assertThat(restoredProperty.attributes.settable, is(true));
+        assertNotNull(restoredProperty.getChannelState());
+        verify(thingHandler).nodeAddedOrChanged(eq(restoredNode));
+    }
 }
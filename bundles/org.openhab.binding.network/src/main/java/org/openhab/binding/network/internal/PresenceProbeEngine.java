@@ -0,0 +1,448 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs the presence probes of all network things. The engine is owned by the handler factory, which closes it
+ * when it is deactivated.
+ * <p>
+ * TCP connection probes are non-blocking connects, all handled by a single selector thread. Probes that block, like
+ * the native ping and arping processes, run in a bounded pool, so the number of concurrent child processes is limited.
+ * <p>
+ * Probes of the same kind for the same address are shared: a probe requested while another one is running, or within
+ * a short time after it finished, gets the result of that probe. This avoids duplicate pings if several things
+ * monitor the same host.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProbeEngine {
+    public static final int DEFAULT_MAX_CONCURRENT_PROBES = 32;
+
+    // time a finished probe is shared with other things
+    private static final long RESULT_TTL_MS = 1000;
+    private static final long HOUSEKEEPING_INTERVAL_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+
+    /**
+     * Latency statistics of one kind of probe
+     */
+    private static class ProbeStatistics {
+        private long count;
+        private long successCount;
+        private double totalLatency;
+        private double maxLatency;
+
+        private synchronized void record(PingResult result) {
+            count++;
+            if (result.isSuccess()) {
+                successCount++;
+                totalLatency += result.getExecutionTimeInMS();
+                maxLatency = Math.max(maxLatency, result.getExecutionTimeInMS());
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d probes, %d successful, latency avg %.1f ms, max %.1f ms", count, successCount,
+                    successCount == 0 ? 0 : totalLatency / successCount, maxLatency);
+        }
+    }
+
+    private static class SharedProbe {
+        private final CompletableFuture<Optional<PingResult>> future;
+        private volatile long completedMillis;
+
+        private SharedProbe(CompletableFuture<Optional<PingResult>> future) {
+            this.future = future;
+        }
+
+        private boolean isUsable(long now) {
+            return !future.isDone() || now - completedMillis < RESULT_TTL_MS;
+        }
+    }
+
+    private static class TcpProbe {
+        private final SocketChannel channel;
+        private final CompletableFuture<Optional<PingResult>> future;
+        private final long startNanos;
+        private final long deadlineNanos;
+
+        private TcpProbe(SocketChannel channel, CompletableFuture<Optional<PingResult>> future, long startNanos,
+                int timeoutInMS) {
+            this.channel = channel;
+            this.future = future;
+            this.startNanos = startNanos;
+            this.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        }
+    }
+
+    private final Executor processExecutor;
+    private final boolean ownsProcessExecutor;
+    private final Executor callbackExecutor;
+
+    private final Map<String, SharedProbe> probes = new ConcurrentHashMap<>();
+    private final Map<PresenceDetectionType, ProbeStatistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicLong sharedProbeCount = new AtomicLong();
+    private volatile long lastHousekeepingMillis = System.currentTimeMillis();
+
+    private final Queue<TcpProbe> newTcpProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+    private @Nullable Thread selectorThread;
+    private volatile boolean closed;
+
+    /**
+     * @param maxConcurrentProbes the maximum number of blocking probes running at the same time
+     * @param callbackExecutor the executor to complete the probes with
+     */
+    public PresenceProbeEngine(int maxConcurrentProbes, Executor callbackExecutor) {
+        this(createProcessExecutor(maxConcurrentProbes), true, callbackExecutor);
+    }
+
+    /**
+     * @param processExecutor the executor to run the blocking probes in, which is not shut down by {@link #close()}
+     * @param callbackExecutor the executor to complete the probes with
+     */
+    PresenceProbeEngine(Executor processExecutor, Executor callbackExecutor) {
+        this(processExecutor, false, callbackExecutor);
+    }
+
+    private PresenceProbeEngine(Executor processExecutor, boolean ownsProcessExecutor, Executor callbackExecutor) {
+        this.processExecutor = processExecutor;
+        this.ownsProcessExecutor = ownsProcessExecutor;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    private static ThreadPoolExecutor createProcessExecutor(int maxConcurrentProbes) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentProbes, maxConcurrentProbes, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("network-probe", true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Sets the maximum number of blocking probes, like ping processes, running at the same time.
+     * Further probes wait until a running one finished.
+     */
+    public synchronized void setMaxConcurrentProbes(int maxConcurrentProbes) {
+        if (!(processExecutor instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) processExecutor;
+        int size = Math.max(1, maxConcurrentProbes);
+        // the core pool size must never exceed the maximum pool size
+        if (size > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(size);
+            executor.setCorePoolSize(size);
+        } else {
+            executor.setCorePoolSize(size);
+            executor.setMaximumPoolSize(size);
+        }
+    }
+
+    /**
+     * Stops the selector thread and the pool of blocking probes. Pending probes are completed as failed, and probes
+     * requested afterwards fail.
+     */
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            thread = selectorThread;
+            selectorThread = null;
+            Selector selector = this.selector;
+            if (selector != null) {
+                selector.wakeup();
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (ownsProcessExecutor && processExecutor instanceof ExecutorService) {
+            ((ExecutorService) processExecutor).shutdownNow();
+        }
+        probes.clear();
+    }
+
+    /**
+     * Tries to open a TCP connection without blocking a thread.
+     *
+     * @param host the IP address
+     * @param port the TCP port
+     * @param timeoutInMS the time to wait for the connection
+     * @return the result, which is successful if the connection was established, and failed if it was refused or
+     *         timed out
+     */
+    public CompletableFuture<Optional<PingResult>> tcpProbe(String host, int port, int timeoutInMS) {
+        return share(PresenceDetectionType.TCP_CONNECTION, "tcp/" + host + "/" + port + "/" + timeoutInMS,
+                () -> startTcpProbe(host, port, timeoutInMS));
+    }
+
+    /**
+     * Runs a probe that blocks its thread, like a ping process, in the bounded pool.
+     *
+     * @param type the kind of probe, for the statistics
+     * @param key the key under which the probe is shared, unique for the kind of probe, its target and every
+     *            parameter that changes its outcome, like the timeout
+     * @param probe the probe
+     * @return the result of the probe
+     */
+    public CompletableFuture<Optional<PingResult>> blockingProbe(PresenceDetectionType type, String key,
+            Callable<Optional<PingResult>> probe) {
+        return share(type, key, () -> {
+            CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+            try {
+                processExecutor.execute(() -> {
+                    try {
+                        future.complete(probe.call());
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the engine was closed
+                future.completeExceptionally(e);
+            }
+            return future;
+        });
+    }
+
+    /**
+     * Returns the number of probes whose result was shared with another thing
+     */
+    public long getSharedProbeCount() {
+        return sharedProbeCount.get();
+    }
+
+    /**
+     * Returns a summary of the number and latency of the probes per kind
+     */
+    public String getStatistics() {
+        StringBuilder builder = new StringBuilder();
+        statistics.forEach((type, probeStatistics) -> builder.append(type).append(": ").append(probeStatistics)
+                .append("; "));
+        return builder.append(sharedProbeCount.get()).append(" probes shared").toString();
+    }
+
+    private CompletableFuture<Optional<PingResult>> share(PresenceDetectionType type, String key,
+            Supplier<CompletableFuture<Optional<PingResult>>> probe) {
+        long now = System.currentTimeMillis();
+        housekeeping(now);
+        SharedProbe shared = probes.get(key);
+        if (shared != null && shared.isUsable(now)) {
+            sharedProbeCount.incrementAndGet();
+            return shared.future;
+        }
+        SharedProbe newProbe = new SharedProbe(new CompletableFuture<>());
+        shared = probes.merge(key, newProbe, (existing, added) -> existing.isUsable(now) ? existing : added);
+        if (shared != newProbe) {
+            sharedProbeCount.incrementAndGet();
+            return shared.future;
+        }
+        ProbeStatistics probeStatistics = statistics.computeIfAbsent(type, t -> new ProbeStatistics());
+        probe.get().whenComplete((result, e) -> {
+            newProbe.completedMillis = System.currentTimeMillis();
+            if (result != null) {
+                result.ifPresent(probeStatistics::record);
+                newProbe.future.complete(result);
+            } else {
+                newProbe.future.completeExceptionally(e);
+            }
+        });
+        return newProbe.future;
+    }
+
+    private void housekeeping(long now) {
+        if (now - lastHousekeepingMillis < HOUSEKEEPING_INTERVAL_MS) {
+            return;
+        }
+        lastHousekeepingMillis = now;
+        probes.values().removeIf(shared -> !shared.isUsable(now));
+        logger.debug("Presence probe statistics: {}", getStatistics());
+    }
+
+    private CompletableFuture<Optional<PingResult>> startTcpProbe(String host, int port, int timeoutInMS) {
+        CompletableFuture<Optional<PingResult>> future = new CompletableFuture<>();
+        long startNanos = System.nanoTime();
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            TcpProbe probe = new TcpProbe(channel, future, startNanos, timeoutInMS);
+            if (channel.connect(new InetSocketAddress(host, port))) {
+                finish(probe, true);
+            } else {
+                newTcpProbes.add(probe);
+                startSelector().wakeup();
+            }
+        } catch (ConnectException | NoRouteToHostException e) {
+            close(channel);
+            complete(future, startNanos, false);
+        } catch (IOException | ClosedSelectorException e) {
+            close(channel);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private synchronized Selector startSelector() throws IOException {
+        if (closed) {
+            throw new ClosedSelectorException();
+        }
+        Selector selector = this.selector;
+        if (selector == null) {
+            selector = Selector.open();
+            this.selector = selector;
+            Thread thread = new Thread(this::runSelector, "OH-binding-network-tcp-probe");
+            thread.setDaemon(true);
+            selectorThread = thread;
+            thread.start();
+        }
+        return selector;
+    }
+
+    private void runSelector() {
+        Selector selector = this.selector;
+        if (selector == null) {
+            return;
+        }
+        while (!closed && !Thread.currentThread().isInterrupted()) {
+            try {
+                TcpProbe newProbe;
+                while ((newProbe = newTcpProbes.poll()) != null) {
+                    try {
+                        newProbe.channel.register(selector, SelectionKey.OP_CONNECT, newProbe);
+                    } catch (ClosedChannelException e) {
+                        finish(newProbe, false);
+                    }
+                }
+
+                long nextDeadline = expireTcpProbes(selector);
+                selector.select(nextDeadline == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadline)));
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    TcpProbe probe = (TcpProbe) key.attachment();
+                    key.cancel();
+                    try {
+                        finish(probe, probe.channel.finishConnect());
+                    } catch (ConnectException | NoRouteToHostException e) {
+                        finish(probe, false);
+                    } catch (IOException e) {
+                        close(probe.channel);
+                        probe.future.completeExceptionally(e);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Error in the TCP presence probe selector: {}", e.getMessage(), e);
+            }
+        }
+        // closed: fail the pending probes and release the selector
+        TcpProbe newProbe;
+        while ((newProbe = newTcpProbes.poll()) != null) {
+            finish(newProbe, false);
+        }
+        for (SelectionKey key : selector.keys()) {
+            TcpProbe probe = (TcpProbe) key.attachment();
+            if (probe != null) {
+                finish(probe, false);
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.trace("Failed to close TCP probe selector: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fails the probes which timed out.
+     *
+     * @return the time until the next probe times out in nanoseconds, or 0 if there are no pending probes
+     */
+    private long expireTcpProbes(Selector selector) {
+        long now = System.nanoTime();
+        long nextDeadline = 0;
+        for (SelectionKey key : selector.keys()) {
+            TcpProbe probe = (TcpProbe) key.attachment();
+            if (probe == null || !key.isValid()) {
+                continue;
+            }
+            long remaining = probe.deadlineNanos - now;
+            if (remaining <= 0) {
+                key.cancel();
+                finish(probe, false);
+            } else if (nextDeadline == 0 || remaining < nextDeadline) {
+                nextDeadline = remaining;
+            }
+        }
+        return nextDeadline;
+    }
+
+    private void finish(TcpProbe probe, boolean success) {
+        close(probe.channel);
+        complete(probe.future, probe.startNanos, success);
+    }
+
+    private void complete(CompletableFuture<Optional<PingResult>> future, long startNanos, boolean success) {
+        PingResult result = new PingResult(success, (System.nanoTime() - startNanos) / 1_000_000.0);
+        // complete outside of the selector thread, the callbacks update the things
+        callbackExecutor.execute(() -> future.complete(Optional.of(result)));
+    }
+
+    private void close(@Nullable SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.trace("Failed to close TCP probe channel: {}", e.getMessage());
+            }
+        }
+    }
+}
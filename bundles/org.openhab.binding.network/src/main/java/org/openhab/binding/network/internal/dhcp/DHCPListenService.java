@@ -14,7 +14,9 @@ package org.openhab.binding.network.internal.dhcp;
 
 import java.net.SocketException;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -27,7 +29,7 @@ import org.slf4j.LoggerFactory;
  * receiver thread will be started. If the last IPRequestReceivedCallback is removed, the thread will be stopped
  * after the receive socket is closed.
  * IPRequestReceivedCallback will be called for the address that is registered and matches the
- * DHO_DHCP_REQUESTED_ADDRESS address field.
+ * DHO_DHCP_REQUESTED_ADDRESS address field. Callbacks registered for all addresses are called for every request.
  *
  * @author David Graeff - Initial contribution
  */
@@ -35,33 +37,62 @@ import org.slf4j.LoggerFactory;
 public class DHCPListenService {
     static @Nullable DHCPPacketListenerServer instance;
     private static Map<String, IPRequestReceivedCallback> registeredListeners = new TreeMap<>();
+    private static Set<IPRequestReceivedCallback> allAddressesListeners = new CopyOnWriteArraySet<>();
     private static Logger logger = LoggerFactory.getLogger(DHCPListenService.class);
 
     public static synchronized DHCPPacketListenerServer register(String hostAddress,
             IPRequestReceivedCallback dhcpListener) throws SocketException {
+        DHCPPacketListenerServer instance = start();
+        synchronized (registeredListeners) {
+            registeredListeners.put(hostAddress, dhcpListener);
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a callback for the DHCP requests of all addresses, for example to learn about the devices on the
+     * network while scanning it.
+     */
+    public static synchronized DHCPPacketListenerServer registerForAllAddresses(IPRequestReceivedCallback dhcpListener)
+            throws SocketException {
+        DHCPPacketListenerServer instance = start();
+        allAddressesListeners.add(dhcpListener);
+        return instance;
+    }
+
+    public static void unregister(String hostAddress) {
+        synchronized (registeredListeners) {
+            registeredListeners.remove(hostAddress);
+        }
+        closeIfUnused();
+    }
+
+    public static void unregisterForAllAddresses(IPRequestReceivedCallback dhcpListener) {
+        allAddressesListeners.remove(dhcpListener);
+        closeIfUnused();
+    }
+
+    private static DHCPPacketListenerServer start() throws SocketException {
         DHCPPacketListenerServer instance = DHCPListenService.instance;
         if (instance == null) {
             instance = new DHCPPacketListenerServer((String ipAddress) -> {
                 IPRequestReceivedCallback listener = registeredListeners.get(ipAddress);
                 if (listener != null) {
                     listener.dhcpRequestReceived(ipAddress);
-                } else {
+                } else if (allAddressesListeners.isEmpty()) {
                     logger.trace("DHCP request for unknown address: {}", ipAddress);
                 }
+                allAddressesListeners.forEach(l -> l.dhcpRequestReceived(ipAddress));
             });
             DHCPListenService.instance = instance;
             instance.start();
         }
-        synchronized (registeredListeners) {
-            registeredListeners.put(hostAddress, dhcpListener);
-        }
         return instance;
     }
 
-    public static void unregister(String hostAddress) {
+    private static synchronized void closeIfUnused() {
         synchronized (registeredListeners) {
-            registeredListeners.remove(hostAddress);
-            if (!registeredListeners.isEmpty()) {
+            if (!registeredListeners.isEmpty() || !allAddressesListeners.isEmpty()) {
                 return;
             }
         }
@@ -14,15 +14,14 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.net.SocketException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,7 +31,11 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProbeEngine;
+import org.openhab.binding.network.internal.dhcp.DHCPListenService;
+import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -50,6 +53,9 @@ import org.slf4j.LoggerFactory;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * The hosts in the ARP cache and the hosts sending DHCP requests during the scan are probed first. The probes are
+ * started by a {@link NetworkScanner} at a limited rate, and devices are added to the inbox as soon as they respond.
+ *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
@@ -66,10 +72,12 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable NetworkScanner scanner;
+    private @Nullable IPRequestReceivedCallback dhcpListener;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    private final PresenceProbeEngine probeEngine = new PresenceProbeEngine(
+            PresenceProbeEngine.DEFAULT_MAX_CONCURRENT_PROBES, ThreadPoolManager.getPool("network"));
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
@@ -92,14 +100,14 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        probeEngine.setMaxConcurrentProbes(configuration.maxConcurrentProbes);
     }
 
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
-        }
+        stopScanner();
+        probeEngine.close();
         super.deactivate();
     }
 
@@ -121,62 +129,103 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the scan of each IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
-        }
+    protected synchronized void startScan() {
+        stopScanner();
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
-
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            s.setHostname(ip);
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
-                }
-            });
+        // TCP connections, ICMP ping and ARP pings on each interface
+        int packetsPerHost = tcpServicePorts.size() + 1;
+        if (configuration.arpPingUtilMethod.canProceed) {
+            packetsPerHost += networkUtils.getInterfaceNames().size();
         }
+        final NetworkScanner scanner = new NetworkScanner(this::detectPresence, packetsPerHost,
+                configuration.scanPacketsPerSecond);
+        this.scanner = scanner;
+
+        // Devices which have recently been seen on the network are probed first
+        networkUtils.getArpCacheIPs().stream().filter(networkIPs::contains).forEach(scanner::addHint);
+        if (configuration.allowDHCPlisten) {
+            startDHCPListen(scanner);
+        }
+
+        scanner.start(networkIPs, scheduler).whenComplete((result, e) -> {
+            if (e == null && this.scanner == scanner) {
+                logger.trace("Scan of {} IPs successful", scanner.getProbedCount());
+                stopScan();
+            }
+        });
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
+        stopScanner();
+    }
+
+    private synchronized void stopScanner() {
+        IPRequestReceivedCallback listener = dhcpListener;
+        if (listener != null) {
+            DHCPListenService.unregisterForAllAddresses(listener);
+            dhcpListener = null;
         }
+        NetworkScanner scanner = this.scanner;
+        if (scanner != null) {
+            this.scanner = null;
+            scanner.cancel();
+        }
+    }
 
+    /**
+     * Probes hosts as soon as they request an address by DHCP during the scan.
+     */
+    private void startDHCPListen(NetworkScanner scanner) {
+        IPRequestReceivedCallback listener = scanner::addHint;
         try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+            DHCPListenService.registerForAllAddresses(listener);
+            dhcpListener = listener;
+        } catch (SocketException e) {
+            logger.debug("Cannot use DHCP requests to discover devices: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Performs a presence detection of a single host, the results are reported to the inbox as they arrive.
+     *
+     * @param ip The device IP
+     * @return a future which is completed when the presence detection finished
+     */
+    private CompletableFuture<Void> detectPresence(String ip) {
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        final PresenceDetection s = new PresenceDetection(new PresenceDetectionListener() {
+            @Override
+            public void partialDetectionResult(PresenceDetectionValue value) {
+                NetworkDiscoveryService.this.partialDetectionResult(value);
+            }
+
+            @Override
+            public void finalDetectionResult(PresenceDetectionValue value) {
+                finished.complete(null);
+            }
+        }, 2000, probeEngine);
+        s.setHostname(ip);
+        s.setIOSDevice(true);
+        s.setUseDhcpSniffing(false);
+        s.setTimeout(PING_TIMEOUT_IN_MS);
+        // Ping devices
+        s.setUseIcmpPing(true);
+        s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
+        // TCP devices
+        s.setServicePorts(tcpServicePorts);
+
+        if (!s.performPresenceDetection(false)) {
+            finished.complete(null);
         }
-        service.shutdown();
-        executorService = null;
+        return finished;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -185,7 +234,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the presence detections started in {@link startScan}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -228,7 +277,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the presence detections started in {@link startScan}.
      *
      * @param ip The device IP
      */
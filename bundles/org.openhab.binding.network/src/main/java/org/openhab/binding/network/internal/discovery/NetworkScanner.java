@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Probes a set of hosts without blocking a thread per host, limited by a budget of packets per second.
+ * <p>
+ * Hosts which are known to be on the network, for example because they are in the ARP cache or have just sent a
+ * DHCP request, can be given as hints. Hints are probed before all other hosts, also if they are given while the scan
+ * is running. The results are reported by the probes themselves as soon as they arrive.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkScanner {
+    static final long TICK_INTERVAL_MS = 50;
+
+    /**
+     * Probes a single host.
+     */
+    public interface HostProbe {
+        /**
+         * Starts probing a host.
+         *
+         * @param host the IP address of the host
+         * @return a future which is completed when the probe finished
+         */
+        CompletableFuture<Void> probe(String host);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(NetworkScanner.class);
+
+    private final HostProbe hostProbe;
+    private final int packetsPerHost;
+    private final int packetsPerSecond;
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+    private final Set<String> hints = new LinkedHashSet<>();
+    private final Set<String> pendingHosts = new LinkedHashSet<>();
+    private final Set<String> probedHosts = new HashSet<>();
+    private int runningProbes;
+    private double budget;
+    private long lastTickNanos;
+    private long startMillis;
+    private boolean started;
+    private @Nullable ScheduledFuture<?> tickJob;
+
+    /**
+     * @param hostProbe the probe performed for each host
+     * @param packetsPerHost the number of packets the probe of a host sends
+     * @param packetsPerSecond the maximum number of packets sent per second
+     */
+    public NetworkScanner(HostProbe hostProbe, int packetsPerHost, int packetsPerSecond) {
+        this.hostProbe = hostProbe;
+        this.packetsPerHost = Math.max(1, packetsPerHost);
+        this.packetsPerSecond = Math.max(1, packetsPerSecond);
+    }
+
+    /**
+     * Adds a host which is probed before the hosts not probed yet. Hosts which have already been probed are ignored.
+     *
+     * @param host the IP address of the host
+     */
+    public synchronized void addHint(String host) {
+        if (finished.isDone() || probedHosts.contains(host)) {
+            return;
+        }
+        hints.add(host);
+    }
+
+    /**
+     * Starts the scan.
+     *
+     * @param hosts the IP addresses of the hosts to scan
+     * @param scheduler the scheduler to start the probes with
+     * @return a future which is completed when all hosts have been probed
+     */
+    public CompletableFuture<Void> start(Collection<String> hosts, ScheduledExecutorService scheduler) {
+        start(hosts, System.nanoTime());
+        if (!finished.isDone()) {
+            ScheduledFuture<?> tickJob = scheduler.scheduleWithFixedDelay(() -> tick(System.nanoTime()),
+                    TICK_INTERVAL_MS, TICK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            this.tickJob = tickJob;
+            finished.whenComplete((result, e) -> tickJob.cancel(false));
+        }
+        return finished;
+    }
+
+    /**
+     * Starts the scan without scheduling the probes, they are started by calling {@link #tick(long)}.
+     *
+     * @param hosts the IP addresses of the hosts to scan
+     * @param nowNanos the current time in nanoseconds
+     * @return a future which is completed when all hosts have been probed
+     */
+    CompletableFuture<Void> start(Collection<String> hosts, long nowNanos) {
+        synchronized (this) {
+            pendingHosts.addAll(hosts);
+            // the first host is probed right away
+            budget = packetsPerHost;
+            lastTickNanos = nowNanos;
+            startMillis = System.currentTimeMillis();
+            started = true;
+        }
+        logger.debug("Scanning {} hosts with a budget of {} packets per second", hosts.size(), packetsPerSecond);
+        tick(nowNanos);
+        return finished;
+    }
+
+    /**
+     * Stops the scan. Probes which are running already are not stopped.
+     */
+    public void cancel() {
+        synchronized (this) {
+            hints.clear();
+            pendingHosts.clear();
+        }
+        ScheduledFuture<?> tickJob = this.tickJob;
+        if (tickJob != null) {
+            tickJob.cancel(false);
+        }
+        finished.cancel(false);
+    }
+
+    /**
+     * Starts as many probes as the budget accumulated since the last call allows.
+     *
+     * @param nowNanos the current time in nanoseconds
+     */
+    void tick(long nowNanos) {
+        List<String> hostsToProbe = new ArrayList<>();
+        synchronized (this) {
+            if (!started || finished.isDone()) {
+                return;
+            }
+            // the budget accumulates for at most one second, to limit bursts after a delayed tick
+            budget = Math.min(budget + (nowNanos - lastTickNanos) * packetsPerSecond / 1e9,
+                    Math.max(packetsPerSecond, packetsPerHost));
+            lastTickNanos = nowNanos;
+            String host;
+            while (budget >= packetsPerHost && (host = nextHost()) != null) {
+                budget -= packetsPerHost;
+                probedHosts.add(host);
+                runningProbes++;
+                hostsToProbe.add(host);
+            }
+        }
+
+        for (String host : hostsToProbe) {
+            try {
+                hostProbe.probe(host).whenComplete((result, e) -> probeFinished(host, e));
+            } catch (RuntimeException e) {
+                probeFinished(host, e);
+            }
+        }
+        checkFinished();
+    }
+
+    private @Nullable String nextHost() {
+        Iterator<String> iterator = hints.iterator();
+        while (iterator.hasNext()) {
+            String host = iterator.next();
+            iterator.remove();
+            if (!probedHosts.contains(host)) {
+                pendingHosts.remove(host);
+                return host;
+            }
+        }
+        iterator = pendingHosts.iterator();
+        if (iterator.hasNext()) {
+            String host = iterator.next();
+            iterator.remove();
+            return host;
+        }
+        return null;
+    }
+
+    private void probeFinished(String host, @Nullable Throwable e) {
+        if (e != null) {
+            logger.debug("Failed to probe {}: {}", host, e.getMessage());
+        }
+        synchronized (this) {
+            runningProbes--;
+        }
+        checkFinished();
+    }
+
+    private void checkFinished() {
+        int probedCount;
+        long startMillis;
+        synchronized (this) {
+            if (!started || runningProbes > 0 || !hints.isEmpty() || !pendingHosts.isEmpty()) {
+                return;
+            }
+            probedCount = probedHosts.size();
+            startMillis = this.startMillis;
+        }
+        if (finished.complete(null)) {
+            logger.debug("Scanned {} hosts in {} ms", probedCount, System.currentTimeMillis() - startMillis);
+        }
+    }
+
+    /**
+     * Returns the number of hosts probed so far
+     */
+    public synchronized int getProbedCount() {
+        return probedHosts.size();
+    }
+
+    /**
+     * Returns the number of probes which have not finished yet
+     */
+    public synchronized int getRunningCount() {
+        return runningProbes;
+    }
+}
@@ -29,6 +29,8 @@ import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Enumeration;
@@ -54,6 +56,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final String ARP_CACHE_FILE = "/proc/net/arp";
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -175,6 +179,33 @@ public class NetworkUtils {
         return networkIPs;
     }
 
+    /**
+     * Returns the IPv4 addresses with a resolved hardware address in the ARP cache of the operating system.
+     * These hosts have recently been seen on the network. Only Linux exposes its ARP cache as a file, on other
+     * systems the result is empty.
+     *
+     * @return The IP addresses of the ARP cache
+     */
+    public Set<String> getArpCacheIPs() {
+        Set<String> result = new LinkedHashSet<>();
+        Path arpCache = Path.of(ARP_CACHE_FILE);
+        if (!Files.isReadable(arpCache)) {
+            return result;
+        }
+        try {
+            // IP address, HW type, Flags, HW address, Mask, Device; the first line is the header
+            for (String line : Files.readAllLines(arpCache)) {
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length >= 4 && columns[2].startsWith("0x") && !"0x0".equals(columns[2])) {
+                    result.add(columns[0]);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to read the ARP cache: {}", e.getMessage());
+        }
+        return result;
+    }
+
     /**
      * Try to establish a tcp connection to the given port. Returns false if a timeout occurred
      * or the connection was denied.
@@ -19,10 +19,13 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.net.ServerSocket;
 import java.net.UnknownHostException;
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -53,9 +56,10 @@ public class PresenceDetectionTest {
     private static final long CACHETIME = 2000L;
 
     private PresenceDetection subject;
+    private PresenceProbeEngine probeEngine;
 
     private @Mock Consumer<PresenceDetectionValue> callback;
-    private @Mock ExecutorService executorService;
+    private @Mock Executor executor;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
 
@@ -66,7 +70,8 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        probeEngine = new PresenceProbeEngine(4, ForkJoinPool.commonPool());
+        subject = spy(new PresenceDetection(listener, (int) CACHETIME, probeEngine));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -87,28 +92,30 @@ public class PresenceDetectionTest {
     @AfterEach
     public void shutDown() {
         subject.waitForPresenceDetection();
+        probeEngine.close();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is performed.
+    // We will check if they are started and finished in time, even if they do not complete.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void checkCountTest() {
+        assertNull(subject.detection);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doReturn(new CompletableFuture<Void>()).when(subject).performARPping(any());
+        doReturn(new CompletableFuture<Void>()).when(subject).performJavaPing();
+        doReturn(new CompletableFuture<Void>()).when(subject).performSystemPing();
+        doReturn(new CompletableFuture<Void>()).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detection);
+        verify(listener, times(1)).finalDetectionResult(any());
     }
 
     @Test
@@ -117,10 +124,12 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
-        assertTrue(subject.performPresenceDetection(false));
-        subject.waitForPresenceDetection();
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            subject.setServicePorts(Collections.singleton(serverSocket.getLocalPort()));
+            assertTrue(subject.performPresenceDetection(false));
+            subject.waitForPresenceDetection();
+        }
 
         verify(subject, times(0)).performJavaPing();
         verify(subject).performSystemPing();
@@ -140,22 +149,23 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        // Capture the blocking probes instead of running them
+        subject.probeEngine = new PresenceProbeEngine(executor, Runnable::run);
+        subject.setServicePorts(Collections.emptySet());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the different presence detection checks now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(executor, times(2)).execute(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
@@ -205,4 +215,29 @@ public class PresenceDetectionTest {
         assertNotEquals(v, v2);
         assertThat(v2.getLowestLatency(), is(25.0));
     }
+
+    @Test
+    public void arpPingIsNotSharedWithoutWakeUp() {
+        // Capture the blocking probes instead of running them
+        subject.probeEngine = new PresenceProbeEngine(executor, Runnable::run);
+        PresenceDetection other = new PresenceDetection(listener, (int) CACHETIME, subject.probeEngine);
+        other.networkUtils = networkUtils;
+        other.setHostname("127.0.0.1");
+        other.setTimeout(300);
+        other.setUseDhcpSniffing(false);
+        other.setIOSDevice(false);
+        other.setUseArpPing(true, "arping", ArpPingUtilEnum.IPUTILS_ARPING);
+
+        subject.performARPping("TESTinterface");
+        // the device is not woken up by this probe, so it must not share the result of the first one
+        other.performARPping("TESTinterface");
+        // while the same probe is shared
+        subject.performARPping("TESTinterface");
+        verify(executor, times(2)).execute(any());
+
+        // a different timeout is not shared either
+        subject.setTimeout(600);
+        subject.performARPping("TESTinterface");
+        verify(executor, times(3)).execute(any());
+    }
 }
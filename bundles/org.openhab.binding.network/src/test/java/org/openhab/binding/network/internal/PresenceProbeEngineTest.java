@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@link PresenceProbeEngine}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProbeEngineTest {
+    private static final String SELECTOR_THREAD_NAME = "OH-binding-network-tcp-probe";
+
+    private @NonNullByDefault({}) PresenceProbeEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        engine = new PresenceProbeEngine(2, Runnable::run);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.close();
+    }
+
+    private static List<Thread> selectorThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> SELECTOR_THREAD_NAME.equals(thread.getName())).collect(Collectors.toList());
+    }
+
+    @Test
+    public void tcpProbeConnectsWithoutBlocking() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Optional<PingResult> result = engine
+                    .tcpProbe(InetAddress.getLoopbackAddress().getHostAddress(), server.getLocalPort(), 1000)
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(result.isPresent());
+            assertTrue(result.get().isSuccess());
+        }
+    }
+
+    @Test
+    public void closeStopsSelectorThreadAndProcessPool() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            engine.tcpProbe(InetAddress.getLoopbackAddress().getHostAddress(), server.getLocalPort(), 1000).get(5,
+                    TimeUnit.SECONDS);
+        }
+        assertFalse(selectorThreads().isEmpty());
+
+        engine.close();
+        for (Thread thread : selectorThreads()) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(thread.isAlive());
+        }
+
+        // probes requested after closing fail instead of starting new threads
+        CompletableFuture<Optional<PingResult>> tcpProbe = engine.tcpProbe("127.0.0.1", 1, 1000);
+        assertThrows(ExecutionException.class, () -> tcpProbe.get(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<PingResult>> blockingProbe = engine.blockingProbe(PresenceDetectionType.ICMP_PING,
+                "icmp/127.0.0.1/1000", () -> Optional.of(new PingResult(true, 1)));
+        assertThrows(ExecutionException.class, () -> blockingProbe.get(5, TimeUnit.SECONDS));
+        assertTrue(selectorThreads().isEmpty());
+    }
+
+    @Test
+    public void probesAreShared() {
+        CompletableFuture<Optional<PingResult>> first = engine.blockingProbe(PresenceDetectionType.ICMP_PING,
+                "icmp/127.0.0.1/1000", () -> Optional.of(new PingResult(true, 1)));
+        CompletableFuture<Optional<PingResult>> second = engine.blockingProbe(PresenceDetectionType.ICMP_PING,
+                "icmp/127.0.0.1/1000", () -> Optional.of(new PingResult(true, 2)));
+        assertSame(first, second);
+        assertEquals(1, engine.getSharedProbeCount());
+    }
+}
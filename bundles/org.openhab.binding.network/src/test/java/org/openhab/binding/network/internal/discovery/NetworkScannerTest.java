@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link NetworkScanner} on a simulated network
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkScannerTest {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(NetworkScanner.TICK_INTERVAL_MS);
+
+    /**
+     * A network on which the live hosts respond at once, while the probes of all other hosts only finish when they
+     * time out.
+     */
+    private static class SimulatedNetwork implements NetworkScanner.HostProbe {
+        private final Set<String> liveHosts;
+        private final List<String> probedHosts = new ArrayList<>();
+        private final List<String> discoveredHosts = new ArrayList<>();
+        private final Map<String, CompletableFuture<Void>> runningProbes = new HashMap<>();
+
+        private SimulatedNetwork(Set<String> liveHosts) {
+            this.liveHosts = liveHosts;
+        }
+
+        @Override
+        public synchronized CompletableFuture<Void> probe(String host) {
+            probedHosts.add(host);
+            if (liveHosts.contains(host)) {
+                discoveredHosts.add(host);
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> probe = new CompletableFuture<>();
+            runningProbes.put(host, probe);
+            return probe;
+        }
+
+        private void timeout() {
+            List<CompletableFuture<Void>> probes;
+            synchronized (this) {
+                probes = new ArrayList<>(runningProbes.values());
+                runningProbes.clear();
+            }
+            probes.forEach(probe -> probe.complete(null));
+        }
+    }
+
+    private static List<String> hosts(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> "10.0.0." + i).collect(Collectors.toList());
+    }
+
+    @Test
+    public void hintsAreProbedFirst() {
+        SimulatedNetwork network = new SimulatedNetwork(Set.of("10.0.0.7", "10.0.0.40"));
+        NetworkScanner scanner = new NetworkScanner(network, 1, 1000);
+        scanner.addHint("10.0.0.40");
+        scanner.addHint("10.0.0.7");
+
+        CompletableFuture<Void> finished = scanner.start(hosts(50), 0);
+        assertThat(network.probedHosts.get(0), is("10.0.0.40"));
+
+        long now = 0;
+        while (!finished.isDone() && now < TimeUnit.SECONDS.toNanos(10)) {
+            now += TICK_NANOS;
+            scanner.tick(now);
+            network.timeout();
+        }
+
+        assertTrue(finished.isDone());
+        assertThat(network.probedHosts.subList(0, 2), is(List.of("10.0.0.40", "10.0.0.7")));
+        // every host is probed exactly once
+        assertThat(network.probedHosts.size(), is(50));
+        assertThat(Set.copyOf(network.probedHosts).size(), is(50));
+    }
+
+    @Test
+    public void budgetIsRespected() {
+        SimulatedNetwork network = new SimulatedNetwork(Set.of());
+        // 5 packets per host and 50 packets per second allow 10 hosts per second
+        NetworkScanner scanner = new NetworkScanner(network, 5, 50);
+        CompletableFuture<Void> finished = scanner.start(hosts(100), 0);
+
+        long now = 0;
+        for (int second = 1; second <= 5; second++) {
+            for (long tick = 0; tick < TimeUnit.SECONDS.toNanos(1); tick += TICK_NANOS) {
+                now += TICK_NANOS;
+                scanner.tick(now);
+            }
+            assertThat(network.probedHosts.size(), is(lessThanOrEqualTo(1 + 10 * second)));
+            assertThat(network.probedHosts.size(), is(greaterThanOrEqualTo(10 * second)));
+        }
+
+        // a delayed tick does not start more hosts than the budget of one second
+        int probedCount = network.probedHosts.size();
+        now += TimeUnit.SECONDS.toNanos(10);
+        scanner.tick(now);
+        assertThat(network.probedHosts.size() - probedCount, is(10));
+
+        // the scan is not finished before the probes have timed out
+        while (network.probedHosts.size() < 100) {
+            now += TICK_NANOS;
+            scanner.tick(now);
+        }
+        assertFalse(finished.isDone());
+        network.timeout();
+        assertTrue(finished.isDone());
+    }
+
+    @Test
+    public void resultsAreStreamed() {
+        SimulatedNetwork network = new SimulatedNetwork(Set.of("10.0.0.2", "10.0.0.3", "10.0.0.20"));
+        NetworkScanner scanner = new NetworkScanner(network, 1, 20);
+        CompletableFuture<Void> finished = scanner.start(hosts(30), 0);
+
+        long now = 0;
+        while (network.probedHosts.size() < 5) {
+            now += TICK_NANOS;
+            scanner.tick(now);
+        }
+        // the first devices are found long before the scan finished
+        assertThat(network.discoveredHosts, is(List.of("10.0.0.2", "10.0.0.3")));
+        assertFalse(finished.isDone());
+
+        while (!finished.isDone() && now < TimeUnit.SECONDS.toNanos(10)) {
+            now += TICK_NANOS;
+            scanner.tick(now);
+            network.timeout();
+        }
+        assertTrue(finished.isDone());
+        assertThat(network.discoveredHosts, is(List.of("10.0.0.2", "10.0.0.3", "10.0.0.20")));
+        assertThat(scanner.getProbedCount(), is(30));
+        assertThat(scanner.getRunningCount(), is(0));
+    }
+
+    @Test
+    public void hintDuringScanIsProbedNext() {
+        SimulatedNetwork network = new SimulatedNetwork(Set.of("10.0.0.25", "10.0.0.200"));
+        NetworkScanner scanner = new NetworkScanner(network, 1, 20);
+        scanner.start(hosts(30), 0);
+
+        long now = TICK_NANOS;
+        scanner.tick(now);
+        assertThat(network.probedHosts, is(List.of("10.0.0.1", "10.0.0.2")));
+
+        // a DHCP request of a device in and out of the scanned range
+        scanner.addHint("10.0.0.25");
+        scanner.addHint("10.0.0.200");
+        // a hint for a host which has already been probed is ignored
+        scanner.addHint("10.0.0.1");
+
+        now += TICK_NANOS;
+        scanner.tick(now);
+        now += TICK_NANOS;
+        scanner.tick(now);
+        now += TICK_NANOS;
+        scanner.tick(now);
+        assertThat(network.probedHosts,
+                is(List.of("10.0.0.1", "10.0.0.2", "10.0.0.25", "10.0.0.200", "10.0.0.3")));
+        assertThat(network.discoveredHosts, is(List.of("10.0.0.25", "10.0.0.200")));
+    }
+
+    @Test
+    public void cancelStopsScan() {
+        SimulatedNetwork network = new SimulatedNetwork(Set.of());
+        NetworkScanner scanner = new NetworkScanner(network, 1, 20);
+        CompletableFuture<Void> finished = scanner.start(hosts(30), 0);
+
+        scanner.tick(TICK_NANOS);
+        scanner.cancel();
+        assertTrue(finished.isCancelled());
+
+        scanner.tick(TimeUnit.SECONDS.toNanos(1));
+        network.timeout();
+        assertThat(network.probedHosts.size(), is(2));
+    }
+
+    @Test
+    public void emptyScanFinishesImmediately() {
+        NetworkScanner scanner = new NetworkScanner(new SimulatedNetwork(Set.of()), 1, 20);
+        assertTrue(scanner.start(List.of(), 0).isDone());
+    }
+}
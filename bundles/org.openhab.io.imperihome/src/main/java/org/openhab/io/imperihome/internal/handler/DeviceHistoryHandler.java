@@ -17,9 +17,10 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 
 import javax.servlet.http.HttpServletRequest;
@@ -45,11 +46,28 @@ import org.slf4j.LoggerFactory;
  */
 public class DeviceHistoryHandler {
 
+    /**
+     * Maximum number of points returned for a single history request; the requested range is divided into this many
+     * buckets at most.
+     */
+    private static final int MAX_HISTORY_POINTS = 300;
+    private static final int CACHE_SIZE = 32;
+    private static final long CACHE_TTL_MILLIS = 60_000;
+
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
 
+    private final Map<String, CachedHistory> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedHistory> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
@@ -90,34 +108,95 @@ public class DeviceHistoryHandler {
 
     private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
             long end) {
-        logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
-
-        FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName())
-                .setBeginDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneId.systemDefault()))
-                .setEndDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(end), ZoneId.systemDefault()));
-
-        List<HistoryItem> resultItems = new LinkedList<>();
-        Iterable<HistoricItem> historicItems = persistence.query(criteria);
+        // Align the buckets to their size, so that repeated requests for a sliding range share cache entries
+        long bucketSize = HistoryAggregator.bucketSizeFor(start, end, MAX_HISTORY_POINTS);
+        long alignedStart = start - Math.floorMod(start, bucketSize);
+        long alignedEnd = end - Math.floorMod(end, bucketSize) + bucketSize;
+
+        // Buckets completely within the requested range are served from the aligned aggregation, the partly covered
+        // buckets at its edges are aggregated from the requested range only
+        long fullStart = start == alignedStart ? alignedStart : alignedStart + bucketSize;
+        long fullEnd = end == alignedEnd - 1 ? alignedEnd : alignedEnd - bucketSize;
+        List<HistoryItem> resultItems = new ArrayList<>();
+        if (fullStart >= fullEnd) {
+            resultItems.addAll(aggregate(device, persistence, start, end, alignedStart, bucketSize));
+        } else {
+            if (start < fullStart) {
+                resultItems.addAll(aggregate(device, persistence, start, fullStart - 1, alignedStart, bucketSize));
+            }
+            for (HistoryItem item : alignedHistory(device, persistence, alignedStart, alignedEnd, bucketSize)) {
+                if (item.getDate() >= fullStart && item.getDate() < fullEnd) {
+                    resultItems.add(item);
+                }
+            }
+            if (fullEnd <= end) {
+                resultItems.addAll(aggregate(device, persistence, fullEnd, end, alignedStart, bucketSize));
+            }
+        }
 
-        Iterator<HistoricItem> iterator = historicItems.iterator();
-        if (!iterator.hasNext()) {
+        if (resultItems.isEmpty()) {
             logger.info("Persistence returned no results for history query");
         } else {
-            while (iterator.hasNext()) {
-                HistoricItem historicItem = iterator.next();
-                State state = historicItem.getState();
-                if (state instanceof DecimalType) {
-                    Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp().toInstant().toEpochMilli(), value));
-                }
+            logger.debug("Aggregated history of Item {} into {} buckets of {} ms", device.getItemName(),
+                    resultItems.size(), bucketSize);
+        }
+        return new HistoryList(resultItems);
+    }
+
+    private List<HistoryItem> alignedHistory(AbstractDevice device, QueryablePersistenceService persistence,
+            long alignedStart, long alignedEnd, long bucketSize) {
+        String cacheKey = device.getItemName() + '|' + bucketSize + '|' + alignedStart + '|' + alignedEnd;
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedHistory cached = cache.get(cacheKey);
+            if (cached != null && now - cached.created < CACHE_TTL_MILLIS) {
+                logger.debug("Serving history of Item {} from cache", device.getItemName());
+                return cached.items;
             }
+        }
+
+        List<HistoryItem> items = aggregate(device, persistence, alignedStart, alignedEnd - 1, alignedStart,
+                bucketSize);
+        synchronized (cache) {
+            cache.put(cacheKey, new CachedHistory(items, now));
+        }
+        return items;
+    }
+
+    private List<HistoryItem> aggregate(AbstractDevice device, QueryablePersistenceService persistence, long from,
+            long to, long alignedStart, long bucketSize) {
+        logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), from, to);
 
-            if (resultItems.isEmpty()) {
-                logger.warn(
-                        "Persistence returned results for history query, but could not be interpreted as DecimalTypes");
+        FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName())
+                .setBeginDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(from), ZoneId.systemDefault()))
+                .setEndDate(ZonedDateTime.ofInstant(Instant.ofEpochMilli(to), ZoneId.systemDefault()))
+                .setOrdering(FilterCriteria.Ordering.ASCENDING);
+
+        HistoryAggregator aggregator = new HistoryAggregator(alignedStart, bucketSize, from, to);
+        int resultCount = 0;
+        for (HistoricItem historicItem : persistence.query(criteria)) {
+            resultCount++;
+            State state = historicItem.getState();
+            if (state instanceof DecimalType) {
+                aggregator.add(historicItem.getTimestamp().toInstant().toEpochMilli(),
+                        ((DecimalType) state).doubleValue());
             }
         }
 
-        return new HistoryList(resultItems);
+        List<HistoryItem> items = aggregator.getItems();
+        if (resultCount > 0 && items.isEmpty()) {
+            logger.warn("Persistence returned results for history query, but could not be interpreted as DecimalTypes");
+        }
+        return items;
+    }
+
+    private static class CachedHistory {
+        private final List<HistoryItem> items;
+        private final long created;
+
+        private CachedHistory(List<HistoryItem> items, long created) {
+            this.items = items;
+            this.created = created;
+        }
     }
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Aggregates a time ordered stream of historic values into fixed-width buckets, keeping min, average and max per
+ * bucket. Values are consumed one by one, so the raw persistence result never has to be held in memory. The
+ * aggregation can be clamped to a range that does not start or end on a bucket boundary; values outside of it are
+ * ignored and a bucket starting before it is dated at its start.
+ *
+ * @author agent - Initial contribution
+ */
+public class HistoryAggregator {
+
+    private final long start;
+    private final long bucketSize;
+    private final long from;
+    private final long to;
+    private final List<HistoryItem> items = new ArrayList<>();
+
+    private long bucket;
+    private int count;
+    private double sum;
+    private double min;
+    private double max;
+
+    /**
+     * @param start Start of the first bucket, in epoch millis.
+     * @param bucketSize Width of a single bucket, in millis.
+     */
+    public HistoryAggregator(long start, long bucketSize) {
+        this(start, bucketSize, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param start Start of the first bucket, in epoch millis.
+     * @param bucketSize Width of a single bucket, in millis.
+     * @param from First timestamp to aggregate, in epoch millis.
+     * @param to Last timestamp to aggregate, in epoch millis.
+     */
+    public HistoryAggregator(long start, long bucketSize, long from, long to) {
+        this.start = start;
+        this.bucketSize = Math.max(1, bucketSize);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the bucket size to use for the given range, so that at most maxPoints buckets are produced.
+     */
+    public static long bucketSizeFor(long start, long end, int maxPoints) {
+        long range = Math.max(1, end - start);
+        return (range + maxPoints - 1) / maxPoints;
+    }
+
+    public void add(long timestamp, double value) {
+        if (timestamp < from || timestamp > to) {
+            return;
+        }
+        long valueBucket = Math.floorDiv(timestamp - start, bucketSize);
+        if (count == 0 || valueBucket != bucket) {
+            flush();
+            bucket = valueBucket;
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        sum += value;
+        count++;
+    }
+
+    /**
+     * Closes the current bucket and returns all aggregated items.
+     */
+    public List<HistoryItem> getItems() {
+        flush();
+        return items;
+    }
+
+    private void flush() {
+        if (count > 0) {
+            long date = Math.max(start + bucket * bucketSize, from);
+            items.add(new HistoryItem(date, sum / count, min, max));
+        }
+        count = 0;
+        sum = 0;
+    }
+}
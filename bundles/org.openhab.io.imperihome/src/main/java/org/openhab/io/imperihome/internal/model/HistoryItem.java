@@ -23,6 +23,8 @@ public class HistoryItem {
 
     private long date;
     private Number value;
+    private Number min;
+    private Number max;
 
     public HistoryItem(Date date, Number value) {
         this(date.getTime(), value);
@@ -33,6 +35,12 @@ public class HistoryItem {
         this.value = value;
     }
 
+    public HistoryItem(long date, Number value, Number min, Number max) {
+        this(date, value);
+        this.min = min;
+        this.max = max;
+    }
+
     public long getDate() {
         return date;
     }
@@ -48,4 +56,20 @@ public class HistoryItem {
     public void setValue(Number value) {
         this.value = value;
     }
+
+    public Number getMin() {
+        return min;
+    }
+
+    public void setMin(Number min) {
+        this.min = min;
+    }
+
+    public Number getMax() {
+        return max;
+    }
+
+    public void setMax(Number max) {
+        this.max = max;
+    }
 }
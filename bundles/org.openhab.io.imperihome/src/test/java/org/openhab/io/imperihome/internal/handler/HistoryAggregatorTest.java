@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Tests for {@link HistoryAggregator}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HistoryAggregatorTest {
+
+    private static void assertItem(HistoryItem item, long date, double value, double min, double max) {
+        assertEquals(date, item.getDate());
+        assertEquals(value, item.getValue().doubleValue(), 1e-9);
+        assertEquals(min, item.getMin().doubleValue(), 1e-9);
+        assertEquals(max, item.getMax().doubleValue(), 1e-9);
+    }
+
+    @Test
+    public void testBucketSizeFor() {
+        assertEquals(100, HistoryAggregator.bucketSizeFor(0, 30_000, 300));
+        assertEquals(101, HistoryAggregator.bucketSizeFor(0, 30_001, 300));
+        assertEquals(1, HistoryAggregator.bucketSizeFor(1000, 1100, 300));
+        assertEquals(1, HistoryAggregator.bucketSizeFor(1000, 1000, 300));
+    }
+
+    @Test
+    public void testMinMaxAverage() {
+        HistoryAggregator aggregator = new HistoryAggregator(1000, 100);
+        aggregator.add(1000, 4);
+        aggregator.add(1050, 1);
+        aggregator.add(1099, 7);
+        aggregator.add(1150, 2);
+        aggregator.add(1350, -1);
+        aggregator.add(1399, 3);
+
+        List<HistoryItem> items = aggregator.getItems();
+        assertEquals(3, items.size());
+        assertItem(items.get(0), 1000, 4, 1, 7);
+        assertItem(items.get(1), 1100, 2, 2, 2);
+        assertItem(items.get(2), 1300, 1, -1, 3);
+    }
+
+    @Test
+    public void testNoValues() {
+        assertEquals(0, new HistoryAggregator(1000, 100).getItems().size());
+    }
+
+    @Test
+    public void testEdgeBucketsAreClamped() {
+        HistoryAggregator aggregator = new HistoryAggregator(1000, 100, 1040, 1220);
+        aggregator.add(1000, 100);
+        aggregator.add(1039, 100);
+        aggregator.add(1040, 2);
+        aggregator.add(1099, 4);
+        aggregator.add(1100, 5);
+        aggregator.add(1200, 6);
+        aggregator.add(1220, 8);
+        aggregator.add(1221, 100);
+        aggregator.add(1299, 100);
+
+        List<HistoryItem> items = aggregator.getItems();
+        assertEquals(3, items.size());
+        // The first bucket starts before the range, so it is dated at its start
+        assertItem(items.get(0), 1040, 3, 2, 4);
+        assertItem(items.get(1), 1100, 5, 5, 5);
+        assertItem(items.get(2), 1200, 7, 6, 8);
+    }
+
+    @Test
+    public void testBucketsBeforeStart() {
+        HistoryAggregator aggregator = new HistoryAggregator(1000, 100);
+        aggregator.add(950, 1);
+        aggregator.add(1000, 2);
+
+        List<HistoryItem> items = aggregator.getItems();
+        assertEquals(2, items.size());
+        assertItem(items.get(0), 900, 1, 1, 1);
+        assertItem(items.get(1), 1000, 2, 2, 2);
+    }
+}
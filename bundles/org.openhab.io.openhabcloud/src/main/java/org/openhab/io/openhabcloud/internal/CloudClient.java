@@ -24,6 +24,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
@@ -38,6 +41,7 @@ import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.common.ThreadPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +64,11 @@ import io.socket.thread.EventThread;
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
 public class CloudClient {
+    /*
+     * Interval in which buffered item updates are sent to the openHAB Cloud
+     */
+    private static final long ITEM_UPDATE_FLUSH_INTERVAL_MS = 500;
+
     /*
      * Logger for this class
      */
@@ -95,6 +104,15 @@ public class CloudClient {
      */
     private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
+    /*
+     * This buffer holds the item updates which have not yet been sent to the openHAB Cloud
+     */
+    private final ItemUpdateBuffer itemUpdates = new ItemUpdateBuffer();
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("openhabcloud");
+
+    private @Nullable ScheduledFuture<?> itemUpdateJob;
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -310,6 +328,8 @@ public class CloudClient {
                 onEvent("command", (JSONObject) args[0]);
             }
         });
+        itemUpdateJob = scheduler.scheduleWithFixedDelay(this::flushItemUpdates, ITEM_UPDATE_FLUSH_INTERVAL_MS,
+                ITEM_UPDATE_FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
         socket.connect();
     }
 
@@ -321,6 +341,8 @@ public class CloudClient {
         logger.info("Connected to the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid, this.localBaseUrl);
         reconnectBackoff.reset();
         isConnected = true;
+        // The updates sent shortly before the connection was lost may not have reached the openHAB Cloud
+        itemUpdates.connected();
     }
 
     /**
@@ -331,6 +353,7 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid,
                 this.localBaseUrl);
         isConnected = false;
+        itemUpdates.disconnected(System.currentTimeMillis());
         // And clean up the list of running requests
         runningRequests.clear();
     }
@@ -614,25 +637,46 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Queue an item update for the openHAB Cloud. Only the latest state per item is kept and unchanged states are
+     * dropped. Pending updates are sent periodically, and updates received while disconnected are sent after the
+     * connection has been (re-)established.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
+        if (!itemUpdates.update(itemName, itemState)) {
+            logger.trace("Dropping unchanged update '{}' for item '{}'", itemState, itemName);
+        }
+    }
+
+    private void flushItemUpdates() {
+        if (!isConnected()) {
+            int pending = itemUpdates.getPendingCount();
+            if (pending > 0) {
+                logger.trace("No connection, {} item update(s) kept pending", pending);
+            }
+            return;
+        }
+        int sent = 0;
+        for (Map.Entry<String, String> entry : itemUpdates.takePendingUpdates().entrySet()) {
+            String itemName = entry.getKey();
+            String itemState = entry.getValue();
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
             try {
                 itemUpdateMessage.put("itemName", itemName);
                 itemUpdateMessage.put("itemStatus", itemState);
                 socket.emit("itemupdate", itemUpdateMessage);
+                itemUpdates.sent(itemName, itemState, System.currentTimeMillis());
+                sent++;
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
-        } else {
-            logger.debug("No connection, Item update is not sent");
+        }
+        if (sent > 0) {
+            logger.trace("Sent {} item update(s) to the openHAB Cloud", sent);
         }
     }
 
@@ -648,6 +692,11 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        ScheduledFuture<?> job = itemUpdateJob;
+        if (job != null) {
+            job.cancel(false);
+            itemUpdateJob = null;
+        }
         socket.disconnect();
     }
 
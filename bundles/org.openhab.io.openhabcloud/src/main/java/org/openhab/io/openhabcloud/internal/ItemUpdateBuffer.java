@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Buffers the item updates sent to the openHAB Cloud.
+ *
+ * Only the latest state per item is kept, and a state which equals the state last sent for the item is dropped.
+ * After a reconnect, the states sent shortly before the connection was lost are sent again, as they might not have
+ * reached the openHAB Cloud.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateBuffer {
+    static final int DEFAULT_MAX_SENT_STATES = 10000;
+    static final long RESEND_WINDOW_MS = TimeUnit.MINUTES.toMillis(2);
+
+    private static class SentState {
+        private final String state;
+        private final long sentMillis;
+
+        private SentState(String state, long sentMillis) {
+            this.state = state;
+            this.sentMillis = sentMillis;
+        }
+    }
+
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+    private final Map<String, SentState> sentStates;
+    // items queued again after a reconnect, which must be sent even if their state did not change
+    private final Set<String> resendItems = new HashSet<>();
+    private long disconnectedMillis = -1;
+
+    public ItemUpdateBuffer() {
+        this(DEFAULT_MAX_SENT_STATES);
+    }
+
+    /**
+     * @param maxSentStates the maximum number of items whose last sent state is remembered
+     */
+    ItemUpdateBuffer(int maxSentStates) {
+        // in access order, so that the states of items which are not updated anymore are forgotten first
+        sentStates = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SentState> eldest) {
+                return size() > maxSentStates;
+            }
+        };
+    }
+
+    /**
+     * Queues an item update.
+     *
+     * @return true if the update is sent, false if it was dropped because the state is unchanged
+     */
+    public synchronized boolean update(String itemName, String itemState) {
+        SentState sent = sentStates.get(itemName);
+        if (sent != null && sent.state.equals(itemState) && !resendItems.contains(itemName)) {
+            pendingUpdates.remove(itemName);
+            return false;
+        }
+        pendingUpdates.put(itemName, itemState);
+        return true;
+    }
+
+    /**
+     * Removes and returns the pending updates, by item name.
+     */
+    public synchronized Map<String, String> takePendingUpdates() {
+        Map<String, String> updates = new LinkedHashMap<>(pendingUpdates);
+        pendingUpdates.clear();
+        return updates;
+    }
+
+    /**
+     * Records that an update has been sent.
+     */
+    public synchronized void sent(String itemName, String itemState, long nowMillis) {
+        sentStates.put(itemName, new SentState(itemState, nowMillis));
+        resendItems.remove(itemName);
+    }
+
+    /**
+     * Records that the connection was lost.
+     */
+    public synchronized void disconnected(long nowMillis) {
+        disconnectedMillis = nowMillis;
+    }
+
+    /**
+     * Queues the states sent shortly before the connection was lost again, unless a newer update is pending.
+     */
+    public synchronized void connected() {
+        if (disconnectedMillis < 0) {
+            return;
+        }
+        long resendAfterMillis = disconnectedMillis - RESEND_WINDOW_MS;
+        sentStates.forEach((itemName, sent) -> {
+            if (sent.sentMillis >= resendAfterMillis) {
+                pendingUpdates.putIfAbsent(itemName, sent.state);
+                resendItems.add(itemName);
+            }
+        });
+        disconnectedMillis = -1;
+    }
+
+    public synchronized int getPendingCount() {
+        return pendingUpdates.size();
+    }
+
+    public synchronized int getSentStateCount() {
+        return sentStates.size();
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link ItemUpdateBuffer}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateBufferTest {
+
+    private void send(ItemUpdateBuffer buffer, long nowMillis) {
+        buffer.takePendingUpdates().forEach((itemName, itemState) -> buffer.sent(itemName, itemState, nowMillis));
+    }
+
+    @Test
+    public void onlyLatestStateIsSent() {
+        ItemUpdateBuffer buffer = new ItemUpdateBuffer();
+        buffer.update("Temperature", "20.1");
+        buffer.update("Temperature", "20.2");
+        buffer.update("Switch", "ON");
+
+        assertEquals(Map.of("Temperature", "20.2", "Switch", "ON"), buffer.takePendingUpdates());
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    public void unchangedStateIsDropped() {
+        ItemUpdateBuffer buffer = new ItemUpdateBuffer();
+        buffer.update("Switch", "ON");
+        send(buffer, 1000);
+
+        assertFalse(buffer.update("Switch", "ON"));
+        assertEquals(0, buffer.getPendingCount());
+
+        // a state changing back before the next flush is not sent either
+        assertTrue(buffer.update("Switch", "OFF"));
+        assertFalse(buffer.update("Switch", "ON"));
+        assertEquals(Map.of(), buffer.takePendingUpdates());
+    }
+
+    @Test
+    public void recentStatesAreResentAfterReconnect() {
+        ItemUpdateBuffer buffer = new ItemUpdateBuffer();
+        buffer.update("Old", "1");
+        send(buffer, 1000);
+        buffer.update("Recent", "2");
+        long sentMillis = 1000 + 10 * ItemUpdateBuffer.RESEND_WINDOW_MS;
+        send(buffer, sentMillis);
+
+        buffer.disconnected(sentMillis + 1000);
+        buffer.connected();
+
+        // only the state sent shortly before the connection was lost is sent again
+        assertEquals(Map.of("Recent", "2"), buffer.takePendingUpdates());
+    }
+
+    @Test
+    public void unchangedUpdateDoesNotCancelResend() {
+        ItemUpdateBuffer buffer = new ItemUpdateBuffer();
+        buffer.update("Switch", "ON");
+        send(buffer, 1000);
+
+        buffer.disconnected(2000);
+        buffer.connected();
+        // the same state is reported again before the queued state has been sent
+        assertTrue(buffer.update("Switch", "ON"));
+
+        assertEquals(Map.of("Switch", "ON"), buffer.takePendingUpdates());
+        buffer.sent("Switch", "ON", 3000);
+
+        // once sent again, unchanged states are dropped as before
+        assertFalse(buffer.update("Switch", "ON"));
+    }
+
+    @Test
+    public void newerUpdateReplacesResend() {
+        ItemUpdateBuffer buffer = new ItemUpdateBuffer();
+        buffer.update("Switch", "ON");
+        send(buffer, 1000);
+
+        buffer.update("Switch", "OFF");
+        buffer.disconnected(2000);
+        buffer.connected();
+
+        assertEquals(Map.of("Switch", "OFF"), buffer.takePendingUpdates());
+    }
+
+    @Test
+    public void noResendOnFirstConnect() {
+        ItemUpdateBuffer buffer = new ItemUpdateBuffer();
+        buffer.update("Switch", "ON");
+        send(buffer, 1000);
+
+        buffer.connected();
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    public void sentStatesAreBounded() {
+        ItemUpdateBuffer buffer = new ItemUpdateBuffer(2);
+        buffer.update("A", "1");
+        buffer.update("B", "1");
+        send(buffer, 1000);
+        buffer.update("C", "1");
+        send(buffer, 1000);
+
+        assertEquals(2, buffer.getSentStateCount());
+        // the state of the least recently updated item has been forgotten, so it is sent again
+        assertTrue(buffer.update("A", "1"));
+        assertFalse(buffer.update("C", "1"));
+    }
+}
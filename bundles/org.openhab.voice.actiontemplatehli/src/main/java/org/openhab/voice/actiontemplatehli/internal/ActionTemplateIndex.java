@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.actiontemplatehli.internal;
+
+import static org.openhab.voice.actiontemplatehli.internal.ActionTemplateInterpreterConstants.DYNAMIC_PLACEHOLDER_SYMBOL;
+import static org.openhab.voice.actiontemplatehli.internal.ActionTemplateInterpreterConstants.ITEM_OPTION_PLACEHOLDER_SYMBOL;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.voice.actiontemplatehli.internal.configuration.ActionTemplateConfiguration;
+import org.openhab.voice.actiontemplatehli.internal.configuration.ActionTemplatePlaceholder;
+
+import opennlp.tools.namefind.DictionaryNameFinder;
+
+/**
+ * The {@link ActionTemplateIndex} is an inverted index of the compiled item action templates, used to select the
+ * templates that can score on an input before scoring them.
+ *
+ * A template only scores if every input token not skipped by its language tag matches a template token, so a
+ * template is a candidate if it contains all these tokens (or their lemmas). The tokens of the static values of its
+ * placeholders are indexed along with it, as they are replaced by the placeholder symbol before scoring. Templates
+ * with the dynamic placeholder only need to share one token with the input, and templates with placeholders whose
+ * values are unknown until scoring (NER models and the itemOption placeholder) are always candidates.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ActionTemplateIndex {
+    private final List<CompiledTemplate> templates = new ArrayList<>();
+    private final Map<String, BitSet> templatesByToken = new HashMap<>();
+    // templates which need all input tokens
+    private final BitSet strictTemplates = new BitSet();
+    // templates with the dynamic placeholder, which need any input token
+    private final BitSet dynamicTemplates = new BitSet();
+    // templates which are always candidates
+    private final BitSet unindexedTemplates = new BitSet();
+
+    /**
+     * Adds a compiled template to the index.
+     */
+    public void add(CompiledTemplate template) {
+        int id = templates.size();
+        templates.add(template);
+        var keys = getKeys(template);
+        if (keys == null) {
+            unindexedTemplates.set(id);
+            return;
+        }
+        for (var key : keys) {
+            templatesByToken.computeIfAbsent(key, k -> new BitSet()).set(id);
+        }
+        if (keys.contains(DYNAMIC_PLACEHOLDER_SYMBOL)) {
+            dynamicTemplates.set(id);
+        } else {
+            strictTemplates.set(id);
+        }
+    }
+
+    /**
+     * Returns the templates that can score on an input, in the order they were added.
+     *
+     * @param tokens the input tokens
+     * @param lemmas the input lemmas, empty if not available
+     * @param tags the input language tags, empty if not available
+     * @param optionalTags the language tags of the tokens that can be skipped
+     */
+    public List<CompiledTemplate> getCandidates(String[] tokens, String[] lemmas, String[] tags,
+            List<String> optionalTags) {
+        var candidates = (BitSet) strictTemplates.clone();
+        var dynamicCandidates = new BitSet();
+        var lemmasEnabled = lemmas.length == tokens.length;
+        var tagsEnabled = tags.length == tokens.length;
+        for (int i = 0; i < tokens.length; i++) {
+            var matches = new BitSet();
+            addTemplates(matches, tokens[i]);
+            if (lemmasEnabled) {
+                addTemplates(matches, lemmas[i]);
+            }
+            dynamicCandidates.or(matches);
+            if (!tagsEnabled || !optionalTags.contains(tags[i])) {
+                candidates.and(matches);
+            }
+        }
+        dynamicCandidates.and(dynamicTemplates);
+        candidates.or(dynamicCandidates);
+        candidates.or(unindexedTemplates);
+        var result = new ArrayList<CompiledTemplate>(candidates.cardinality());
+        candidates.stream().forEach(id -> result.add(templates.get(id)));
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed templates
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    private void addTemplates(BitSet matches, String token) {
+        var tokenTemplates = templatesByToken.get(normalize(token));
+        if (tokenTemplates != null) {
+            matches.or(tokenTemplates);
+        }
+    }
+
+    private static @Nullable Set<String> getKeys(CompiledTemplate template) {
+        var keys = new HashSet<String>();
+        for (var alternatives : template.tokens) {
+            for (var alternative : alternatives) {
+                if (ITEM_OPTION_PLACEHOLDER_SYMBOL.equals(alternative)) {
+                    // item options are read from the target item on scoring
+                    return null;
+                }
+                keys.add(normalize(alternative));
+                for (var placeholder : template.placeholders) {
+                    if (!placeholder.symbol.equals(alternative)) {
+                        continue;
+                    }
+                    var valueTokens = placeholder.valueTokens;
+                    if (valueTokens == null) {
+                        // values are only known when the NER model is applied
+                        return null;
+                    }
+                    for (var tokens : valueTokens) {
+                        for (var token : tokens) {
+                            keys.add(normalize(token));
+                        }
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String token) {
+        return token.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * An action template split into tokens and token alternatives, along with the compiled placeholders of its action
+     */
+    public static class CompiledTemplate {
+        public final Item item;
+        public final ActionTemplateConfiguration actionConfig;
+        public final String template;
+        public final String[][] tokens;
+        public final List<CompiledPlaceholder> placeholders;
+        public final boolean hasItemOption;
+
+        public CompiledTemplate(Item item, ActionTemplateConfiguration actionConfig, String template, String[][] tokens,
+                List<CompiledPlaceholder> placeholders) {
+            this.item = item;
+            this.actionConfig = actionConfig;
+            this.template = template;
+            this.tokens = tokens;
+            this.placeholders = placeholders;
+            this.hasItemOption = template.contains(ITEM_OPTION_PLACEHOLDER_SYMBOL);
+        }
+    }
+
+    /**
+     * A placeholder with the name finder for its static values, or the NER file to find its values
+     */
+    public static class CompiledPlaceholder {
+        public final ActionTemplatePlaceholder placeholder;
+        public final String symbol;
+        public final @Nullable Map<String[], String> valuesByTokens;
+        public final String @Nullable [][] valueTokens;
+        public final @Nullable DictionaryNameFinder nameFinder;
+        public final @Nullable String nerFile;
+
+        private CompiledPlaceholder(ActionTemplatePlaceholder placeholder,
+                @Nullable Map<String[], String> valuesByTokens, @Nullable DictionaryNameFinder nameFinder,
+                @Nullable String nerFile) {
+            this.placeholder = placeholder;
+            this.symbol = ActionTemplateInterpreter.getPlaceholderSymbol(placeholder.label);
+            this.valuesByTokens = valuesByTokens;
+            this.valueTokens = valuesByTokens != null ? valuesByTokens.keySet().toArray(String[][]::new) : null;
+            this.nameFinder = nameFinder;
+            this.nerFile = nerFile;
+        }
+
+        public static CompiledPlaceholder withValues(ActionTemplatePlaceholder placeholder,
+                Map<String[], String> valuesByTokens, DictionaryNameFinder nameFinder) {
+            return new CompiledPlaceholder(placeholder, valuesByTokens, nameFinder, null);
+        }
+
+        public static CompiledPlaceholder withNerFile(ActionTemplatePlaceholder placeholder, String nerFile) {
+            return new CompiledPlaceholder(placeholder, null, null, nerFile);
+        }
+    }
+}
@@ -72,6 +72,8 @@ import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
 import org.openhab.core.voice.text.HumanLanguageInterpreter;
 import org.openhab.core.voice.text.InterpretationException;
+import org.openhab.voice.actiontemplatehli.internal.ActionTemplateIndex.CompiledPlaceholder;
+import org.openhab.voice.actiontemplatehli.internal.ActionTemplateIndex.CompiledTemplate;
 import org.openhab.voice.actiontemplatehli.internal.configuration.ActionTemplateConfiguration;
 import org.openhab.voice.actiontemplatehli.internal.configuration.ActionTemplateGroupTargets;
 import org.openhab.voice.actiontemplatehli.internal.configuration.ActionTemplatePlaceholder;
@@ -120,6 +122,7 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         createFolder(logger, POS_FOLDER);
         createFolder(logger, TYPE_ACTION_CONFIGS_FOLDER);
     }
+    private static final String SYNONYMS_NAMESPACE = "synonyms";
     private static final Pattern COLOR_HEX_PATTERN = Pattern.compile("^#([a-fA-F0-9]{6}|[a-fA-F0-9]{3})$");
     private final Logger logger = LoggerFactory.getLogger(ActionTemplateInterpreter.class);
     private final ItemRegistry itemRegistry;
@@ -128,8 +131,7 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
     private ActionTemplateInterpreterConfiguration config = new ActionTemplateInterpreterConfiguration();
     private Tokenizer tokenizer = WhitespaceTokenizer.INSTANCE;
     private List<String> optionalLanguageTags = List.of();
-    @Nullable
-    private NLPItemMaps nlpItemMaps;
+    private volatile @Nullable NLPItemMaps nlpItemMaps;
 
     private final RegistryChangeListener<Item> registryChangeListener = new RegistryChangeListener<>() {
         @Override
@@ -148,6 +150,30 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         }
     };
 
+    private final RegistryChangeListener<Metadata> metadataChangeListener = new RegistryChangeListener<>() {
+        @Override
+        public void added(Metadata element) {
+            invalidate(element);
+        }
+
+        @Override
+        public void removed(Metadata element) {
+            invalidate(element);
+        }
+
+        @Override
+        public void updated(Metadata oldElement, Metadata element) {
+            invalidate(element);
+        }
+
+        private void invalidate(Metadata element) {
+            var namespace = element.getUID().getNamespace();
+            if (SERVICE_ID.equals(namespace) || SYNONYMS_NAMESPACE.equals(namespace)) {
+                ActionTemplateInterpreter.this.invalidate();
+            }
+        }
+    };
+
     @Activate
     public ActionTemplateInterpreter(@Reference ItemRegistry itemRegistry, @Reference MetadataRegistry metadataRegistry,
             @Reference EventPublisher eventPublisher) {
@@ -155,6 +181,7 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         this.metadataRegistry = metadataRegistry;
         this.eventPublisher = eventPublisher;
         itemRegistry.addRegistryChangeListener(registryChangeListener);
+        metadataRegistry.addRegistryChangeListener(metadataChangeListener);
     }
 
     @Activate
@@ -171,6 +198,7 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
     @Deactivate
     protected void deactivate() {
         itemRegistry.removeRegistryChangeListener(registryChangeListener);
+        metadataRegistry.removeRegistryChangeListener(metadataChangeListener);
     }
 
     @Override
@@ -266,8 +294,10 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
 
     private @Nullable NLPInterpretationResult checkItemActions(String text, String[] tokens, String[] tags,
             String[] lemmas) throws IOException {
-        // Check item with action config
-        var itemsWithActions = getItemsWithActionConfigs();
+        // Check item with action config, scoring only the templates that can match the input
+        var actionTemplateIndex = getItemsMaps().actionTemplateIndex;
+        var candidates = actionTemplateIndex.getCandidates(tokens, lemmas, tags, optionalLanguageTags);
+        logger.debug("scoring {} of {} item action templates", candidates.size(), actionTemplateIndex.size());
         Item targetItem = null;
         ActionTemplateConfiguration targetActionConfig = null;
         // store data to restore placeholder values
@@ -275,36 +305,29 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         // store span of dynamic placeholder, to invalidate others
         Span dynamicSpan = null;
         int matchScore = 0;
-        for (var entry : itemsWithActions.entrySet()) {
-            var actionConfigs = entry.getValue();
-            for (var actionConfig : actionConfigs) {
-                var templates = Arrays.stream(actionConfig.template.split(";")).map(String::trim)
-                        .collect(Collectors.toList());
-                for (var template : templates) {
-                    List<NLPPlaceholderData> currentPlaceholderValues = new ArrayList<>();
-                    var currentItem = entry.getKey();
-                    var scoreResult = getScoreWithPlaceholders(text, currentItem, actionConfig.memberTargets,
-                            actionConfig.read, tokens, tags, lemmas, actionConfig, template, currentPlaceholderValues);
-                    if (scoreResult.score != 0 && scoreResult.score == matchScore) {
-                        if (targetItem == currentItem) {
-                            logger.warn(
-                                    "multiple alternative templates for item '{}' has the same score, '{}' can be removed",
-                                    targetItem.getName(), template);
-                        } else {
-                            logger.warn(
-                                    "multiple templates with same score for items '{}' and '{}', the action with template '{}' can be removed",
-                                    targetItem.getName(), currentItem.getName(), template);
-                        }
-                    }
-                    if (scoreResult.score > matchScore) {
-                        targetItem = currentItem;
-                        targetActionConfig = actionConfig;
-                        placeholderValues = currentPlaceholderValues;
-                        matchScore = scoreResult.score;
-                        dynamicSpan = scoreResult.dynamicSpan;
-                    }
+        for (var candidate : candidates) {
+            List<NLPPlaceholderData> currentPlaceholderValues = new ArrayList<>();
+            var currentItem = candidate.item;
+            var actionConfig = candidate.actionConfig;
+            var scoreResult = getScoreWithPlaceholders(text, tokens, tags, lemmas, candidate,
+                    currentPlaceholderValues);
+            if (scoreResult.score != 0 && scoreResult.score == matchScore) {
+                if (targetItem == currentItem) {
+                    logger.warn("multiple alternative templates for item '{}' has the same score, '{}' can be removed",
+                            targetItem.getName(), candidate.template);
+                } else {
+                    logger.warn(
+                            "multiple templates with same score for items '{}' and '{}', the action with template '{}' can be removed",
+                            targetItem.getName(), currentItem.getName(), candidate.template);
                 }
             }
+            if (scoreResult.score > matchScore) {
+                targetItem = currentItem;
+                targetActionConfig = actionConfig;
+                placeholderValues = currentPlaceholderValues;
+                matchScore = scoreResult.score;
+                dynamicSpan = scoreResult.dynamicSpan;
+            }
         }
         if (targetItem != null && targetActionConfig != null && placeholderValues != null) {
             if (dynamicSpan != null) {
@@ -360,13 +383,11 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
                         continue;
                     }
                 }
-                var templates = Arrays.stream(actionConfig.template.split(";")).map(String::trim)
-                        .collect(Collectors.toList());
-                for (var template : templates) {
+                for (var compiledTemplate : compileTemplates(targetItem, actionConfig)) {
+                    var template = compiledTemplate.template;
                     var replacedValues = new ArrayList<NLPPlaceholderData>();
-                    var scoreResult = getScoreWithPlaceholders(text, targetItem, actionConfig.memberTargets,
-                            actionConfig.read, tokensWithGenericLabel, tagsWithGenericLabel, lemmasWithGenericLabel,
-                            actionConfig, template, replacedValues);
+                    var scoreResult = getScoreWithPlaceholders(text, tokensWithGenericLabel, tagsWithGenericLabel,
+                            lemmasWithGenericLabel, compiledTemplate, replacedValues);
                     if (scoreResult.score != 0 && scoreResult.score == matchScore
                             && actionConfig.requiredItemTags.length == targetActionConfig.requiredItemTags.length) {
                         if (targetActionConfig == actionConfig) {
@@ -532,46 +553,41 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         return state;
     }
 
-    private NLPTokenComparisonResult getScoreWithPlaceholders(String text, Item targetItem,
-            @Nullable ActionTemplateGroupTargets targetMembers, boolean isRead, String[] tokens, String[] tags,
-            String[] lemmas, ActionTemplateConfiguration actionConfiguration, String template,
-            List<NLPPlaceholderData> placeholderValues) throws IOException {
-        var placeholders = new ArrayList<>(actionConfiguration.placeholders);
+    private NLPTokenComparisonResult getScoreWithPlaceholders(String text, String[] tokens, String[] tags,
+            String[] lemmas, CompiledTemplate compiledTemplate, List<NLPPlaceholderData> placeholderValues)
+            throws IOException {
+        var actionConfiguration = compiledTemplate.actionConfig;
+        var placeholders = compiledTemplate.placeholders;
         var finalTokens = tokens;
         var finalLemmas = lemmas;
         var finalTags = tags;
-        if (template.contains(ITEM_OPTION_PLACEHOLDER_SYMBOL)) {
-            var itemOptionPlaceholder = getItemOptionPlaceholder(targetItem, isRead, targetMembers);
+        if (compiledTemplate.hasItemOption) {
+            var itemOptionPlaceholder = getItemOptionPlaceholder(compiledTemplate.item, actionConfiguration.read,
+                    actionConfiguration.memberTargets);
             if (itemOptionPlaceholder == null) {
                 return NLPTokenComparisonResult.ZERO;
             }
-            placeholders.add(itemOptionPlaceholder);
-        }
-        for (var placeholder : placeholders) {
-            if (actionConfiguration.read && placeholder.label.equals(STATE_PLACEHOLDER)) {
-                // This placeholder is reserved on read mode should not be replaced now
-                continue;
-            }
-            if (placeholder.label.equals(DYNAMIC_PLACEHOLDER)) {
-                logger.warn("the name {} is reserved for the dynamic placeholder", DYNAMIC_PLACEHOLDER);
-                continue;
+            var compiledItemOptionPlaceholder = compilePlaceholder(itemOptionPlaceholder);
+            if (compiledItemOptionPlaceholder == null) {
+                return NLPTokenComparisonResult.ZERO;
             }
-            var nerStaticValues = placeholder.nerStaticValues;
-            var nerFile = placeholder.nerFile;
+            placeholders = new ArrayList<>(placeholders);
+            placeholders.add(compiledItemOptionPlaceholder);
+        }
+        for (var compiledPlaceholder : placeholders) {
             Span[] nerSpans;
-            Map<String[], String> possibleValuesByTokensMap = null;
-            if (nerStaticValues != null) {
-                possibleValuesByTokensMap = getStringsByTokensMap(nerStaticValues);
-                nerSpans = nerValues(finalTokens, possibleValuesByTokensMap.keySet().toArray(String[][]::new),
-                        placeholder.label);
+            var nameFinder = compiledPlaceholder.nameFinder;
+            var nerFile = compiledPlaceholder.nerFile;
+            if (nameFinder != null) {
+                nerSpans = nameFinder.find(finalTokens);
             } else if (nerFile != null) {
                 nerSpans = nerWithFile(finalTokens, nerFile);
             } else {
-                logger.warn("Placeholder {} could not be applied due to missing ner config", placeholder.label);
                 continue;
             }
+            var possibleValuesByTokensMap = compiledPlaceholder.valuesByTokens;
             for (Span nerSpan : nerSpans) {
-                var placeholderName = placeholder.label;
+                var placeholderName = compiledPlaceholder.placeholder.label;
                 finalTokens = replacePlaceholder(text, finalTokens, nerSpan, placeholderName, placeholderValues,
                         possibleValuesByTokensMap);
                 if (finalLemmas.length > 0) {
@@ -582,21 +598,20 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
                 }
             }
         }
-        return getScore(finalTokens, finalTags, finalLemmas, actionConfiguration, template);
+        return getScore(finalTokens, finalTags, finalLemmas, compiledTemplate);
     }
 
     private NLPTokenComparisonResult getScore(String[] tokens, String[] tags, String[] lemmas,
-            ActionTemplateConfiguration actionConfiguration, String template) {
+            CompiledTemplate compiledTemplate) {
+        var actionConfiguration = compiledTemplate.actionConfig;
         switch (actionConfiguration.type) {
             case "tokens":
-                String[] tokensTemplate = splitString(template, "\\s");
-                var scoreByTokens = compareTokens(tokens, tags, tokensTemplate);
-                logger.debug("tokens '{}' score: {}", List.of(tokensTemplate), scoreByTokens.score);
+                var scoreByTokens = compareTokens(tokens, tags, compiledTemplate.tokens);
+                logger.debug("tokens '{}' score: {}", compiledTemplate.template, scoreByTokens.score);
                 return scoreByTokens;
             case "lemmas":
-                String[] lemmasTemplate = splitString(template, "\\s");
-                var scoreByLemmas = compareTokens(lemmas, tags, lemmasTemplate);
-                logger.debug("lemmas '{}' score: {}", List.of(lemmasTemplate), scoreByLemmas.score);
+                var scoreByLemmas = compareTokens(lemmas, tags, compiledTemplate.tokens);
+                logger.debug("lemmas '{}' score: {}", compiledTemplate.template, scoreByLemmas.score);
                 return scoreByLemmas;
             default:
                 logger.warn("Unsupported template type '{}'", actionConfiguration.type);
@@ -848,12 +863,14 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
             return tokens[0];
         }
         if (config.detokenizeOptimization) {
-            // this is a dynamic regex to de-tokenize a part of the text based on the original text,
-            // this way we don't miss special characters between tokens.
-            var detokenizeRegex = String.join("[^a-bA-B0-9]?", tokens);
-            var match = Pattern.compile(detokenizeRegex).matcher(text);
-            if (match.find()) {
-                return match.group();
+            // de-tokenize a part of the text by finding the tokens in the original text, allowing a separator
+            // character between them, this way we don't miss special characters between tokens.
+            for (int start = text.indexOf(tokens[0]); start >= 0 && start < text.length(); start = text
+                    .indexOf(tokens[0], start + 1)) {
+                var end = findTokens(text, tokens, 1, start + tokens[0].length());
+                if (end >= 0) {
+                    return text.substring(start, end);
+                }
             }
             logger.warn("Unable to detokenize using build-in optimization, consider reporting this case");
         }
@@ -861,6 +878,24 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         return String.join(" ", tokens);
     }
 
+    /**
+     * Returns the end of the remaining tokens in the text starting at offset, or -1 if they are not found there.
+     */
+    private static int findTokens(String text, String[] tokens, int index, int offset) {
+        if (index == tokens.length) {
+            return offset;
+        }
+        var token = tokens[index];
+        if (offset < text.length() && !Character.isLetterOrDigit(text.charAt(offset))
+                && text.startsWith(token, offset + 1)) {
+            var end = findTokens(text, tokens, index + 1, offset + 1 + token.length());
+            if (end >= 0) {
+                return end;
+            }
+        }
+        return text.startsWith(token, offset) ? findTokens(text, tokens, index + 1, offset + token.length()) : -1;
+    }
+
     private Tokenizer getTokenizer() {
         try {
             Tokenizer tokenizer;
@@ -927,10 +962,6 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         return nerWithDictionary(tokens, dictionary, type);
     }
 
-    private Span[] nerValues(String[] tokens, String[][] valueTokens, String type) {
-        return nerValues(tokens, valueTokens, type, config.caseSensitive);
-    }
-
     private Span[] nerValues(String[] tokens, String[][] valueTokens, String type, boolean caseSensitive) {
         var runtimeDictionary = new Dictionary(caseSensitive);
         Arrays.stream(valueTokens).map(StringList::new).forEach(runtimeDictionary::put);
@@ -1029,15 +1060,13 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         return getItemsMaps().itemLabelByTokens;
     }
 
-    private Map<Item, ActionTemplateConfiguration[]> getItemsWithActionConfigs() {
-        return getItemsMaps().itemsWithActionConfigs;
-    }
-
     private NLPItemMaps getItemsMaps() {
         var itemMaps = this.nlpItemMaps;
         if (itemMaps == null) {
+            long start = System.nanoTime();
             var itemByLabelTokens = new HashMap<String[], Item>();
-            var itemsWithActionConfigs = new HashMap<Item, ActionTemplateConfiguration[]>();
+            var actionTemplateIndex = new ActionTemplateIndex();
+            int itemsWithActionConfigs = 0;
             var labelList = new ArrayList<String>();
             for (Item item : itemRegistry.getAll()) {
                 var alternativeNames = new ArrayList<String>();
@@ -1045,7 +1074,7 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
                 if (label != null) {
                     alternativeNames.add(label);
                 }
-                MetadataKey key = new MetadataKey("synonyms", item.getName());
+                MetadataKey key = new MetadataKey(SYNONYMS_NAMESPACE, item.getName());
                 Metadata synonymsMetadata = metadataRegistry.get(key);
                 if (synonymsMetadata != null) {
                     String[] synonyms = synonymsMetadata.getValue().split(",");
@@ -1068,20 +1097,25 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
                 var metadata = metadataRegistry.get(new MetadataKey(SERVICE_ID, item.getName()));
                 if (metadata != null) {
                     try {
-                        itemsWithActionConfigs.put(item, ActionTemplateConfiguration.fromMetadata(metadata));
+                        for (var actionConfig : ActionTemplateConfiguration.fromMetadata(metadata)) {
+                            compileTemplates(item, actionConfig).forEach(actionTemplateIndex::add);
+                        }
+                        itemsWithActionConfigs++;
                     } catch (IOException e) {
                         logger.warn("Unable to parse template action configs for item '{}': {}", item.getName(),
                                 e.getMessage());
                     }
                 }
             }
-            itemMaps = new NLPItemMaps(itemByLabelTokens, itemsWithActionConfigs);
+            logger.debug("Indexed {} action templates of {} items in {} ms", actionTemplateIndex.size(),
+                    itemsWithActionConfigs, (System.nanoTime() - start) / 1_000_000);
+            itemMaps = new NLPItemMaps(itemByLabelTokens, actionTemplateIndex);
             this.nlpItemMaps = itemMaps;
         }
         return itemMaps;
     }
 
-    private NLPTokenComparisonResult compareTokens(String[] tokens, String[] tokenTags, String[] tokensTemplate) {
+    private NLPTokenComparisonResult compareTokens(String[] tokens, String[] tokenTags, String[][] tokensTemplate) {
         if (tokens.length == 0 || tokensTemplate.length == 0) {
             return NLPTokenComparisonResult.ZERO;
         }
@@ -1096,8 +1130,7 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
             if (processedIndex == tokensTemplate.length) {
                 return NLPTokenComparisonResult.ZERO;
             }
-            String tokenTemplate = tokensTemplate[processedIndex];
-            var tokenAlternatives = splitString(tokenTemplate, "\\|");
+            var tokenAlternatives = tokensTemplate[processedIndex];
             boolean isMatch = false;
             for (var tokenAlternative : tokenAlternatives) {
                 if (DYNAMIC_PLACEHOLDER_SYMBOL.equals(tokenAlternative)) {
@@ -1165,6 +1198,50 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         return Arrays.stream(template.split(regex)).map(String::trim).toArray(String[]::new);
     }
 
+    /**
+     * Splits the alternative templates of an action into tokens and token alternatives, and prepares its placeholders.
+     */
+    private List<CompiledTemplate> compileTemplates(Item item, ActionTemplateConfiguration actionConfig) {
+        var placeholders = new ArrayList<CompiledPlaceholder>();
+        for (var placeholder : actionConfig.placeholders) {
+            if (actionConfig.read && placeholder.label.equals(STATE_PLACEHOLDER)) {
+                // This placeholder is reserved on read mode should not be replaced now
+                continue;
+            }
+            if (placeholder.label.equals(DYNAMIC_PLACEHOLDER)) {
+                logger.warn("the name {} is reserved for the dynamic placeholder", DYNAMIC_PLACEHOLDER);
+                continue;
+            }
+            var compiledPlaceholder = compilePlaceholder(placeholder);
+            if (compiledPlaceholder != null) {
+                placeholders.add(compiledPlaceholder);
+            }
+        }
+        var templates = new ArrayList<CompiledTemplate>();
+        for (var template : splitString(actionConfig.template, ";")) {
+            var tokens = Arrays.stream(splitString(template, "\\s")).map(token -> splitString(token, "\\|"))
+                    .toArray(String[][]::new);
+            templates.add(new CompiledTemplate(item, actionConfig, template, tokens, placeholders));
+        }
+        return templates;
+    }
+
+    private @Nullable CompiledPlaceholder compilePlaceholder(ActionTemplatePlaceholder placeholder) {
+        var nerStaticValues = placeholder.nerStaticValues;
+        var nerFile = placeholder.nerFile;
+        if (nerStaticValues != null) {
+            var possibleValuesByTokensMap = getStringsByTokensMap(nerStaticValues);
+            var runtimeDictionary = new Dictionary(config.caseSensitive);
+            possibleValuesByTokensMap.keySet().stream().map(StringList::new).forEach(runtimeDictionary::put);
+            return CompiledPlaceholder.withValues(placeholder, possibleValuesByTokensMap,
+                    new DictionaryNameFinder(runtimeDictionary, placeholder.label));
+        } else if (nerFile != null) {
+            return CompiledPlaceholder.withNerFile(placeholder, nerFile);
+        }
+        logger.warn("Placeholder {} could not be applied due to missing ner config", placeholder.label);
+        return null;
+    }
+
     private void invalidate() {
         logger.debug("Invalidate cached item data");
         nlpItemMaps = null;
@@ -1174,6 +1251,8 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
         optionalLanguageTags = Arrays.stream(this.config.optionalLanguageTags.split(",")).filter(i -> !i.isEmpty())
                 .collect(Collectors.toList());
         tokenizer = getTokenizer();
+        // templates are compiled with the tokenizer and case sensitivity of the configuration
+        invalidate();
     }
 
     private static class NLPInfo {
@@ -1245,12 +1324,11 @@ public class ActionTemplateInterpreter implements HumanLanguageInterpreter {
 
     private static class NLPItemMaps {
         private final Map<String[], Item> itemLabelByTokens;
-        private final Map<Item, ActionTemplateConfiguration[]> itemsWithActionConfigs;
+        private final ActionTemplateIndex actionTemplateIndex;
 
-        private NLPItemMaps(Map<String[], Item> itemLabelByTokens,
-                Map<Item, ActionTemplateConfiguration[]> itemsWithActionConfigs) {
+        private NLPItemMaps(Map<String[], Item> itemLabelByTokens, ActionTemplateIndex actionTemplateIndex) {
             this.itemLabelByTokens = itemLabelByTokens;
-            this.itemsWithActionConfigs = itemsWithActionConfigs;
+            this.actionTemplateIndex = actionTemplateIndex;
         }
     }
 }
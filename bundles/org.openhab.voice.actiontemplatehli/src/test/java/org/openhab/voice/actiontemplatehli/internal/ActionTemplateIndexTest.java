@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.actiontemplatehli.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.openhab.voice.actiontemplatehli.internal.ActionTemplateInterpreterConstants.SERVICE_ID;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.openhab.core.events.EventPublisher;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.items.Metadata;
+import org.openhab.core.items.MetadataKey;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.items.events.ItemEventFactory;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.voice.text.InterpretationException;
+import org.openhab.voice.actiontemplatehli.internal.ActionTemplateIndex.CompiledPlaceholder;
+import org.openhab.voice.actiontemplatehli.internal.ActionTemplateIndex.CompiledTemplate;
+import org.openhab.voice.actiontemplatehli.internal.configuration.ActionTemplateConfiguration;
+import org.openhab.voice.actiontemplatehli.internal.configuration.ActionTemplatePlaceholder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import opennlp.tools.dictionary.Dictionary;
+import opennlp.tools.namefind.DictionaryNameFinder;
+import opennlp.tools.util.StringList;
+
+/**
+ * The {@link ActionTemplateIndexTest} class contains the tests for the candidate selection of the item action
+ * templates, and a latency benchmark over a synthetic item set
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ActionTemplateIndexTest {
+    private static final int ITEM_COUNT = 800;
+
+    private final Logger logger = LoggerFactory.getLogger(ActionTemplateIndexTest.class);
+    private @Mock @NonNullByDefault({}) ItemRegistry itemRegistryMock;
+    private @Mock @NonNullByDefault({}) MetadataRegistry metadataRegistryMock;
+    private @Mock @NonNullByDefault({}) EventPublisher eventPublisherMock;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Test a template is a candidate only if it contains all input tokens
+     */
+    @Test
+    public void literalTokensTest() {
+        var index = new ActionTemplateIndex();
+        var lightTemplate = compile(new SwitchItem("light"), "turn on|off the light", List.of());
+        var fanTemplate = compile(new SwitchItem("fan"), "turn on|off the fan", List.of());
+        index.add(lightTemplate);
+        index.add(fanTemplate);
+        assertThat(candidates(index, "turn off the light"), is(List.of(lightTemplate)));
+        assertThat(candidates(index, "TURN OFF THE FAN"), is(List.of(fanTemplate)));
+        assertThat(candidates(index, "turn off the radio"), is(List.of()));
+    }
+
+    /**
+     * Test tokens with optional language tags are not required
+     */
+    @Test
+    public void optionalTagsTest() {
+        var index = new ActionTemplateIndex();
+        var template = compile(new SwitchItem("light"), "turn on light", List.of());
+        index.add(template);
+        var tokens = "turn on the light".split(" ");
+        assertThat(index.getCandidates(tokens, new String[] {}, new String[] { "VB", "RP", "DT", "NN" }, List.of()),
+                is(List.of()));
+        assertThat(index.getCandidates(tokens, new String[] {}, new String[] { "VB", "RP", "DT", "NN" },
+                List.of("DT")), is(List.of(template)));
+        // lemmas are matched as well
+        assertThat(index.getCandidates("turned on light".split(" "), "turn on light".split(" "), new String[] {},
+                List.of()), is(List.of(template)));
+    }
+
+    /**
+     * Test the tokens of the static placeholder values are indexed with the template
+     */
+    @Test
+    public void placeholderTest() {
+        var index = new ActionTemplateIndex();
+        var staticTemplate = compile(new SwitchItem("light"), "$onOff light",
+                List.of(compile("onOff", "turn on", "turn off")));
+        var modelTemplate = compile(new SwitchItem("radio"), "play $station",
+                List.of(CompiledPlaceholder.withNerFile(ActionTemplatePlaceholder.withLabel("station"), "stations")));
+        var dynamicTemplate = compile(new SwitchItem("message"), "send $* to mark", List.of());
+        index.add(staticTemplate);
+        index.add(modelTemplate);
+        index.add(dynamicTemplate);
+        assertThat(candidates(index, "turn off light"), is(List.of(staticTemplate, modelTemplate)));
+        assertThat(candidates(index, "send hello world to mark"), is(List.of(modelTemplate, dynamicTemplate)));
+    }
+
+    /**
+     * Benchmark the interpretation latency with an item action configured on each of a synthetic set of items
+     */
+    @Test
+    public void syntheticItemsBenchmark() throws Exception {
+        var mapper = new ObjectMapper();
+        var items = new ArrayList<Item>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            var item = new SwitchItem("lamp" + i);
+            item.setLabel("lamp " + i);
+            items.add(item);
+            var action = new ActionTemplateConfiguration();
+            action.template = "$onOff lamp " + i + ";$onOff the lamp " + i;
+            action.value = "$onOff";
+            var onOff = ActionTemplatePlaceholder.withLabel("onOff");
+            onOff.nerStaticValues = new String[] { "turn on", "turn off" };
+            onOff.posStaticValues = Map.of("turn__on", "ON", "turn__off", "OFF");
+            action.placeholders = List.of(onOff);
+            var key = new MetadataKey(SERVICE_ID, item.getName());
+            Mockito.when(metadataRegistryMock.get(key))
+                    .thenReturn(new Metadata(key, "", mapper.readValue(mapper.writeValueAsString(action), Map.class)));
+        }
+        Mockito.when(itemRegistryMock.getAll()).thenReturn(items);
+        var interpreter = new ActionTemplateInterpreter(itemRegistryMock, metadataRegistryMock, eventPublisherMock);
+
+        long start = System.nanoTime();
+        interpret(interpreter, 0);
+        long indexNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        int count = 0;
+        for (int i = 1; i < ITEM_COUNT; i += 7) {
+            interpret(interpreter, i);
+            count++;
+        }
+        long averageNanos = (System.nanoTime() - start) / count;
+        logger.info("{} items: first interpretation {} ms (including indexing), then {} µs on average", ITEM_COUNT,
+                indexNanos / 1_000_000, averageNanos / 1_000);
+    }
+
+    private void interpret(ActionTemplateInterpreter interpreter, int i) throws InterpretationException {
+        var command = i % 2 == 0 ? OnOffType.ON : OnOffType.OFF;
+        var response = interpreter.interpret(Locale.ENGLISH,
+                (command == OnOffType.ON ? "turn on the lamp " : "turn off lamp ") + i);
+        assertThat(response, is("Done"));
+        Mockito.verify(eventPublisherMock).post(ItemEventFactory.createCommandEvent("lamp" + i, command));
+    }
+
+    private static List<CompiledTemplate> candidates(ActionTemplateIndex index, String text) {
+        return index.getCandidates(text.split(" "), new String[] {}, new String[] {}, List.of());
+    }
+
+    private static CompiledTemplate compile(Item item, String template, List<CompiledPlaceholder> placeholders) {
+        var actionConfig = new ActionTemplateConfiguration();
+        actionConfig.template = template;
+        var tokens = Arrays.stream(template.split(" ")).map(token -> token.split("\\|")).toArray(String[][]::new);
+        return new CompiledTemplate(item, actionConfig, template, tokens, placeholders);
+    }
+
+    private static CompiledPlaceholder compile(String label, String... values) {
+        var placeholder = ActionTemplatePlaceholder.withLabel(label);
+        placeholder.nerStaticValues = values;
+        var valuesByTokens = Arrays.stream(values).collect(Collectors.toMap(value -> value.split(" "), value -> value));
+        var dictionary = new Dictionary(false);
+        valuesByTokens.keySet().stream().map(StringList::new).forEach(dictionary::put);
+        return CompiledPlaceholder.withValues(placeholder, valuesByTokens, new DictionaryNameFinder(dictionary, label));
+    }
+}
@@ -0,0 +1,627 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.googletts.internal;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.audio.AudioFormat;
+import org.openhab.core.audio.AudioStream;
+import org.openhab.core.util.HexUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of synthesized audio files.
+ *
+ * The cache keeps an index of its files in memory in least recently used order, which is trusted by lookups, and evicts
+ * the least recently used files when it exceeds its maximum size or number of entries. A file stays in use until its
+ * {@link CachedAudio} is closed and is not evicted meanwhile. Files are written to a temporary file which is moved to
+ * its final name once complete, so a cached file is never partial. While a file is written, other requests for the
+ * same key read it as it grows instead of synthesizing it again.
+ *
+ * The VoiceRSS, Google Cloud TTS and Polly TTS add-ons each carry a copy of this class, since add-ons cannot depend on
+ * each other. Its tests live in the VoiceRSS add-on, so keep the copies identical apart from their package.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AudioFileCache {
+
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.\\w+");
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Provides the audio of an entry which is not cached yet
+     */
+    @FunctionalInterface
+    public interface AudioSupplier {
+        InputStream get() throws IOException;
+    }
+
+    /**
+     * The audio of an entry, either as a complete file or as a stream following a file which is still written.
+     *
+     * A complete file is protected from eviction until the audio is closed.
+     */
+    public static class CachedAudio implements Closeable {
+        private final @Nullable AudioFileCache cache;
+        private final @Nullable Entry entry;
+        private final @Nullable File file;
+        private final @Nullable InputStream stream;
+        private boolean closed;
+
+        private CachedAudio(AudioFileCache cache, Entry entry, File file) {
+            this.cache = cache;
+            this.entry = entry;
+            this.file = file;
+            this.stream = null;
+        }
+
+        private CachedAudio(InputStream stream) {
+            this.cache = null;
+            this.entry = null;
+            this.file = null;
+            this.stream = stream;
+        }
+
+        /**
+         * Returns the complete file of the entry, or {@code null} if it is still written.
+         */
+        public @Nullable File getFile() {
+            return file;
+        }
+
+        /**
+         * Returns a stream of the audio, which blocks until the audio is available if it is still written.
+         */
+        public InputStream getInputStream() throws IOException {
+            File localFile = file;
+            InputStream localStream = stream;
+            if (localFile != null) {
+                try {
+                    return Files.newInputStream(localFile.toPath());
+                } catch (NoSuchFileException e) {
+                    // removed behind the back of the cache, so that the next request provides the audio again
+                    AudioFileCache localCache = cache;
+                    Entry localEntry = entry;
+                    if (localCache != null && localEntry != null) {
+                        localCache.forget(localEntry);
+                    }
+                    throw e;
+                }
+            } else if (localStream != null) {
+                return localStream;
+            }
+            throw new IOException("No cached audio");
+        }
+
+        /**
+         * Releases the file of the entry, so that it can be evicted again. Streams which are already open are not
+         * closed.
+         */
+        @Override
+        public void close() {
+            AudioFileCache localCache = cache;
+            Entry localEntry = entry;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            if (localCache != null && localEntry != null) {
+                localCache.release(localEntry);
+            }
+        }
+    }
+
+    /**
+     * An {@link AudioStream} of audio with a length which is not known yet
+     */
+    public static class CachedAudioStream extends AudioStream {
+        private final InputStream stream;
+        private final AudioFormat format;
+
+        public CachedAudioStream(InputStream stream, AudioFormat format) {
+            this.stream = stream;
+            this.format = format;
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return stream.read();
+        }
+
+        @Override
+        public int read(byte @Nullable [] b, int off, int len) throws IOException {
+            return stream.read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return stream.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+
+    /**
+     * An entry of the index, guarded by the monitor of the cache
+     */
+    private static class Entry {
+        private final String key;
+        private final String fileName;
+        private final long size;
+        private long lastAccess;
+        // the number of unclosed CachedAudio of the entry
+        private int users;
+        private boolean indexed = true;
+
+        private Entry(String key, String fileName, long size, long lastAccess) {
+            this.key = key;
+            this.fileName = fileName;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * The progress of a file which is written, guarded by its own monitor
+     */
+    private static class PendingWrite {
+        private final Path tempFile;
+        private final OutputStream out;
+        private long written;
+        private boolean done;
+        private boolean failed;
+
+        private PendingWrite(Path tempFile) throws IOException {
+            this.tempFile = tempFile;
+            // the temporary file exists as long as the write is pending, so that readers can open it
+            this.out = Files.newOutputStream(tempFile);
+        }
+    }
+
+    /**
+     * Reads a file which is still written, waiting for more data until the writer is done
+     */
+    private static class TailingInputStream extends InputStream {
+        private final PendingWrite write;
+        private final FileChannel channel;
+        private long position;
+
+        private TailingInputStream(PendingWrite write, FileChannel channel) {
+            this.write = write;
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte @Nullable [] b, int off, int len) throws IOException {
+            if (b == null) {
+                throw new NullPointerException();
+            } else if (len == 0) {
+                return 0;
+            }
+            synchronized (write) {
+                while (position >= write.written && !write.done && !write.failed) {
+                    try {
+                        write.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the cached audio");
+                    }
+                }
+                if (write.failed) {
+                    throw new IOException("Failed to write the cached audio");
+                }
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, len), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            synchronized (write) {
+                return (int) Math.min(Integer.MAX_VALUE, Math.max(0, write.written - position));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(AudioFileCache.class);
+
+    private final Path directory;
+
+    // entries by key, in access order
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, PendingWrite> pendingWrites = new HashMap<>();
+    private long size;
+    private long maxSize = Long.MAX_VALUE;
+    private int maxEntries = Integer.MAX_VALUE;
+    private long maxAgeMillis;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param directory the directory to store the audio files in
+     */
+    public AudioFileCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates the directory and indexes the files in it, removing leftovers of interrupted writes. Files which are not
+     * named like cache entries are ignored.
+     */
+    public synchronized void load() throws IOException {
+        entries.clear();
+        size = 0;
+        Files.createDirectories(directory);
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        // oldest first, so that the access order of the index matches the last use
+        files.sort(Comparator.comparing(this::lastModified));
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            if (fileName.endsWith(TEMP_EXTENSION) && FILE_NAME
+                    .matcher(fileName.substring(0, fileName.length() - TEMP_EXTENSION.length())).matches()) {
+                delete(file);
+                continue;
+            } else if (!FILE_NAME.matcher(fileName).matches()) {
+                logger.debug("Ignoring file '{}' in audio cache '{}'", fileName, directory);
+                continue;
+            }
+            try {
+                long fileSize = Files.size(file);
+                String key = fileName.substring(0, fileName.indexOf('.'));
+                entries.put(key, new Entry(key, fileName, fileSize, lastModified(file).toMillis()));
+                size += fileSize;
+            } catch (IOException e) {
+                logger.debug("Failed to index audio cache file '{}': {}", file, e.getMessage());
+            }
+        }
+        evict();
+        logger.debug("Loaded audio cache '{}' with {} entries ({} bytes)", directory, entries.size(), size);
+    }
+
+    /**
+     * Sets the limits of the cache and evicts the entries exceeding them.
+     *
+     * @param maxSize the maximum total size of the files in bytes
+     * @param maxEntries the maximum number of files
+     * @param maxAgeMillis the time after which an unused file is removed, or 0 to keep it
+     */
+    public synchronized void setLimits(long maxSize, int maxEntries, long maxAgeMillis) {
+        this.maxSize = maxSize;
+        this.maxEntries = maxEntries;
+        this.maxAgeMillis = maxAgeMillis;
+        evict();
+    }
+
+    /**
+     * Returns the cached audio of a key, or stores the audio of the supplier if it is not cached yet.
+     *
+     * The thread storing the audio gets the complete file. Threads requesting the same key meanwhile get a stream
+     * following the file as it is written. The returned audio must be closed once it is no longer used, as its file is
+     * not evicted until then.
+     *
+     * @param key the key of the audio, see {@link #key(String...)}
+     * @param extension the file extension of the audio
+     * @param supplier provides the audio if it is not cached
+     * @return the cached audio
+     * @throws IOException if the audio cannot be provided or stored
+     */
+    public CachedAudio get(String key, String extension, AudioSupplier supplier) throws IOException {
+        String fileName = key + "." + extension.toLowerCase();
+        Entry hit;
+        PendingWrite write = null;
+        synchronized (this) {
+            // also marks the entry as recently used
+            hit = entries.get(key);
+            if (hit != null) {
+                hitCount++;
+                hit.lastAccess = System.currentTimeMillis();
+                hit.users++;
+                logger.debug("Audio cache hit for '{}' (hit ratio {}%)", hit.fileName, getHitRatioPercent());
+            } else {
+                PendingWrite pendingWrite = pendingWrites.get(key);
+                if (pendingWrite != null) {
+                    hitCount++;
+                    logger.debug("Audio cache hit for '{}' while it is written (hit ratio {}%)", fileName,
+                            getHitRatioPercent());
+                    FileChannel channel = FileChannel.open(pendingWrite.tempFile, StandardOpenOption.READ);
+                    return new CachedAudio(new TailingInputStream(pendingWrite, channel));
+                }
+                missCount++;
+                logger.debug("Audio cache miss for '{}' (hit ratio {}%)", fileName, getHitRatioPercent());
+                write = new PendingWrite(directory.resolve(fileName + TEMP_EXTENSION));
+                pendingWrites.put(key, write);
+            }
+        }
+        if (hit != null) {
+            // the entry is in use, so it is not evicted meanwhile
+            Path file = directory.resolve(hit.fileName);
+            touch(file);
+            return new CachedAudio(this, hit, file.toFile());
+        }
+        return store(key, fileName, Objects.requireNonNull(write), supplier);
+    }
+
+    private CachedAudio store(String key, String fileName, PendingWrite write, AudioSupplier supplier)
+            throws IOException {
+        OutputStream out = write.out;
+        try (InputStream in = supplier.get()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                synchronized (write) {
+                    write.written += read;
+                    write.notifyAll();
+                }
+            }
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(out);
+            failed(key, write);
+            throw e;
+        }
+
+        Path file = directory.resolve(fileName);
+        Entry entry = new Entry(key, fileName, write.written, System.currentTimeMillis());
+        entry.users = 1;
+        synchronized (this) {
+            try {
+                move(write.tempFile, file);
+            } catch (IOException e) {
+                failed(key, write);
+                throw e;
+            }
+            pendingWrites.remove(key);
+            // a miss is only possible without an entry, and the key is not indexed while its write is pending
+            entries.put(key, entry);
+            size += entry.size;
+            evict();
+        }
+        synchronized (write) {
+            write.done = true;
+            write.notifyAll();
+        }
+        return new CachedAudio(this, entry, file.toFile());
+    }
+
+    /**
+     * Removes all entries which are not in use.
+     */
+    public synchronized void clear() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.users == 0) {
+                iterator.remove();
+                entry.indexed = false;
+                size -= entry.size;
+                delete(directory.resolve(entry.fileName));
+            }
+        }
+        logger.debug("Cleared audio cache '{}'", directory);
+    }
+
+    /**
+     * Returns the number of cached entries
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the size of the cache in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of requests served from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests for which the audio had to be provided
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the ratio of requests served from the cache, between 0 and 1
+     */
+    public synchronized double getHitRatio() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the key of an audio, which is the hex encoded SHA-256 hash of everything that determines it.
+     *
+     * @param parts e.g. the voice, the format and the text
+     */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexUtils.bytesToHex(digest.digest()).toLowerCase();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long getHitRatioPercent() {
+        return Math.round(getHitRatio() * 100);
+    }
+
+    private void failed(String key, PendingWrite write) {
+        synchronized (this) {
+            pendingWrites.remove(key);
+            delete(write.tempFile);
+        }
+        synchronized (write) {
+            write.failed = true;
+            write.notifyAll();
+        }
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.users--;
+        if (entry.users == 0 && entry.indexed) {
+            // the entry may have been kept beyond the limits while it was in use
+            evict();
+        }
+    }
+
+    private synchronized void forget(Entry entry) {
+        if (entry.indexed) {
+            entries.remove(entry.key);
+            entry.indexed = false;
+            size -= entry.size;
+        }
+    }
+
+    private void evict() {
+        long expiry = maxAgeMillis > 0 ? System.currentTimeMillis() - maxAgeMillis : Long.MIN_VALUE;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            boolean withinLimits = size <= maxSize && entries.size() <= maxEntries;
+            if (withinLimits && eldest.lastAccess >= expiry) {
+                break;
+            }
+            // entries in use are kept as their file is about to be played, as is the most recently used entry even if
+            // it exceeds the limits alone
+            if (eldest.users > 0 || !iterator.hasNext()) {
+                continue;
+            }
+            iterator.remove();
+            eldest.indexed = false;
+            size -= eldest.size;
+            delete(directory.resolve(eldest.fileName));
+            logger.debug("Evicted audio cache entry '{}'", eldest.fileName);
+        }
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void touch(Path file) {
+        try {
+            // keeps the order of use across restarts
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.debug("Failed to update the audio cache file '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            // the write has failed anyway
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Failed to delete audio cache file '{}': {}", file, e.getMessage());
+        }
+    }
+}
@@ -12,17 +12,11 @@
  */
 package org.openhab.voice.googletts.internal;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.math.BigInteger;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.Dictionary;
 import java.util.HashMap;
@@ -44,6 +38,8 @@ import org.openhab.core.auth.client.oauth2.OAuthFactory;
 import org.openhab.core.auth.client.oauth2.OAuthResponseException;
 import org.openhab.core.i18n.CommunicationException;
 import org.openhab.core.io.net.http.HttpRequestBuilder;
+import org.openhab.voice.googletts.internal.AudioFileCache.AudioSupplier;
+import org.openhab.voice.googletts.internal.AudioFileCache.CachedAudio;
 import org.openhab.voice.googletts.internal.dto.AudioConfig;
 import org.openhab.voice.googletts.internal.dto.AudioEncoding;
 import org.openhab.voice.googletts.internal.dto.ListVoicesResponse;
@@ -69,10 +65,6 @@ import com.google.gson.JsonSyntaxException;
  */
 class GoogleCloudAPI {
 
-    private static final char EXTENSION_SEPARATOR = '.';
-    private static final char UNIX_SEPARATOR = '/';
-    private static final char WINDOWS_SEPARATOR = '\\';
-
     private static final String BEARER = "Bearer ";
 
     private static final String GCP_AUTH_URI = "https://accounts.google.com/o/oauth2/auth";
@@ -104,9 +96,9 @@ class GoogleCloudAPI {
     private final Map<Locale, Set<GoogleTTSVoice>> voices = new HashMap<>();
 
     /**
-     * Cache folder
+     * Cache of the synthesized audio
      */
-    private File cacheFolder;
+    private final AudioFileCache cache;
 
     /**
      * Configuration
@@ -127,12 +119,12 @@ class GoogleCloudAPI {
     /**
      * Constructor.
      *
-     * @param cacheFolder Service cache folder
+     * @param cache Service audio cache
      */
-    GoogleCloudAPI(ConfigurationAdmin configAdmin, OAuthFactory oAuthFactory, File cacheFolder) {
+    GoogleCloudAPI(ConfigurationAdmin configAdmin, OAuthFactory oAuthFactory, AudioFileCache cache) {
         this.configAdmin = configAdmin;
         this.oAuthFactory = oAuthFactory;
-        this.cacheFolder = cacheFolder;
+        this.cache = cache;
     }
 
     /**
@@ -167,11 +159,9 @@ class GoogleCloudAPI {
         }
 
         // maintain cache
+        cache.setLimits(config.cacheMaxSize * 1024L * 1024L, config.cacheMaxEntries, 0);
         if (config.purgeCache) {
-            File[] files = cacheFolder.listFiles();
-            if (files != null && files.length > 0) {
-                Arrays.stream(files).forEach(File::delete);
-            }
+            cache.clear();
             logger.debug("Cache purged.");
         }
     }
@@ -350,82 +340,36 @@ class GoogleCloudAPI {
 
     public byte[] synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) {
         String[] format = getFormatForCodec(codec);
-        String fileNameInCache = getUniqueFilenameForText(text, voice.getTechnicalName());
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + format[1]);
-        try {
-            // check if in cache
-            if (audioFileInCache.exists()) {
-                logger.debug("Audio file {} was found in cache.", audioFileInCache.getName());
-                return Files.readAllBytes(audioFileInCache.toPath());
-            }
-
-            // if not in cache, get audio data and put to cache
-            byte[] audio = synthesizeSpeechByGoogle(text, voice, format[0]);
-            if (audio != null) {
-                saveAudioAndTextToFile(text, audioFileInCache, audio, voice.getTechnicalName());
+        String key = AudioFileCache.key(voice.getTechnicalName(), config.toConfigString(), format[0], text);
+        // if not in cache, get audio data and put to cache
+        AudioSupplier supplier = () -> {
+            try {
+                byte[] audio = synthesizeSpeechByGoogle(text, voice, format[0]);
+                if (audio == null) {
+                    throw new IOException("No audio returned by Google Cloud TTS service");
+                }
+                return new ByteArrayInputStream(audio);
+            } catch (AuthenticationException | CommunicationException e) {
+                throw new IOException(e.getMessage(), e);
             }
-            return audio;
-        } catch (AuthenticationException | CommunicationException e) {
-            logger.warn("Error initializing Google Cloud TTS service: {}", e.getMessage());
-            oAuthService = null;
-            initialized = false;
-            voices.clear();
-        } catch (FileNotFoundException e) {
-            logger.warn("Could not write file {} to cache: {}", audioFileInCache, e.getMessage());
+        };
+        try (CachedAudio cachedAudio = cache.get(key, format[1], supplier);
+                InputStream audioStream = cachedAudio.getInputStream()) {
+            return audioStream.readAllBytes();
         } catch (IOException e) {
-            logger.debug("An unexpected IOException occurred: {}", e.getMessage());
+            Throwable cause = e.getCause();
+            if (cause instanceof AuthenticationException || cause instanceof CommunicationException) {
+                logger.warn("Error initializing Google Cloud TTS service: {}", cause.getMessage());
+                oAuthService = null;
+                initialized = false;
+                voices.clear();
+            } else {
+                logger.debug("An unexpected IOException occurred: {}", e.getMessage());
+            }
         }
         return null;
     }
 
-    /**
-     * Create cache entry.
-     *
-     * @param text Converted text.
-     * @param cacheFile Cache entry file.
-     * @param audio Byte array of the audio.
-     * @param voiceName Used voice
-     * @throws FileNotFoundException
-     * @throws IOException in case of file handling exceptions
-     */
-    private void saveAudioAndTextToFile(String text, File cacheFile, byte[] audio, String voiceName)
-            throws IOException, FileNotFoundException {
-        logger.debug("Caching audio file {}", cacheFile.getName());
-        try (FileOutputStream audioFileOutputStream = new FileOutputStream(cacheFile)) {
-            audioFileOutputStream.write(audio);
-        }
-
-        // write text to file for transparency too
-        // this allows to know which contents is in which audio file
-        String textFileName = removeExtension(cacheFile.getName()) + ".txt";
-        logger.debug("Caching text file {}", textFileName);
-        try (FileOutputStream textFileOutputStream = new FileOutputStream(new File(cacheFolder, textFileName))) {
-            // @formatter:off
-            StringBuilder sb = new StringBuilder("Config: ")
-                    .append(config.toConfigString())
-                    .append(",voice=")
-                    .append(voiceName)
-                    .append(System.lineSeparator())
-                    .append("Text: ")
-                    .append(text)
-                    .append(System.lineSeparator());
-            // @formatter:on
-            textFileOutputStream.write(sb.toString().getBytes(StandardCharsets.UTF_8));
-        }
-    }
-
-    /**
-     * Removes the extension of a file name.
-     *
-     * @param fileName the file name to remove the extension of
-     * @return the filename without the extension
-     */
-    private String removeExtension(String fileName) {
-        int extensionPos = fileName.lastIndexOf(EXTENSION_SEPARATOR);
-        int lastSeparator = Math.max(fileName.lastIndexOf(UNIX_SEPARATOR), fileName.lastIndexOf(WINDOWS_SEPARATOR));
-        return lastSeparator > extensionPos ? fileName : fileName.substring(0, extensionPos);
-    }
-
     /**
      * Call Google service to synthesize the required text
      *
@@ -470,25 +414,6 @@ class GoogleCloudAPI {
         return null;
     }
 
-    /**
-     * Gets a unique filename for a give text, by creating a MD5 hash of it. It
-     * will be preceded by the locale.
-     * <p>
-     * Sample: "en-US_00a2653ac5f77063bc4ea2fee87318d3"
-     */
-    private String getUniqueFilenameForText(String text, String voiceName) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] bytesOfMessage = (config.toConfigString() + text).getBytes(StandardCharsets.UTF_8);
-            String fileNameHash = String.format("%032x", new BigInteger(1, md.digest(bytesOfMessage)));
-            return voiceName + "_" + fileNameHash;
-        } catch (NoSuchAlgorithmException e) {
-            // should not happen
-            logger.error("Could not create MD5 hash for '{}'", text, e);
-            return null;
-        }
-    }
-
     boolean isInitialized() {
         return initialized;
     }
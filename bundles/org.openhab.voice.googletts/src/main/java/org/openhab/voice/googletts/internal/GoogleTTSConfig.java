@@ -49,10 +49,21 @@ class GoogleTTSConfig {
      */
     public Boolean purgeCache = Boolean.FALSE;
 
+    /**
+     * Maximum size of the cache in MB
+     */
+    public int cacheMaxSize = 100;
+
+    /**
+     * Maximum number of cached files
+     */
+    public int cacheMaxEntries = 1000;
+
     @Override
     public String toString() {
         return "GoogleTTSConfig{pitch=" + pitch + ", speakingRate=" + speakingRate + ", volumeGainDb=" + volumeGainDb
-                + ", purgeCache=" + purgeCache + '}';
+                + ", purgeCache=" + purgeCache + ", cacheMaxSize=" + cacheMaxSize + ", cacheMaxEntries="
+                + cacheMaxEntries + '}';
     }
 
     String toConfigString() {
@@ -90,6 +90,8 @@ public class GoogleTTSService implements TTSService {
     private static final String PARAM_SPEAKING_RATE = "speakingRate";
     private static final String PARAM_VOLUME_GAIN_DB = "volumeGainDb";
     private static final String PARAM_PURGE_CACHE = "purgeCache";
+    private static final String PARAM_CACHE_MAX_SIZE = "cacheMaxSize";
+    private static final String PARAM_CACHE_MAX_ENTRIES = "cacheMaxEntries";
 
     /**
      * Logger.
@@ -130,12 +132,15 @@ public class GoogleTTSService implements TTSService {
         // create cache folder
         File userData = new File(OpenHAB.getUserDataFolder());
         File cacheFolder = new File(new File(userData, CACHE_FOLDER_NAME), SERVICE_PID);
-        if (!cacheFolder.exists()) {
-            cacheFolder.mkdirs();
-        }
         logger.debug("Using cache folder {}", cacheFolder.getAbsolutePath());
+        AudioFileCache cache = new AudioFileCache(cacheFolder.toPath());
+        try {
+            cache.load();
+        } catch (IOException e) {
+            logger.warn("Failed to load the cache folder {}: {}", cacheFolder.getAbsolutePath(), e.getMessage());
+        }
 
-        apiImpl = new GoogleCloudAPI(configAdmin, oAuthFactory, cacheFolder);
+        apiImpl = new GoogleCloudAPI(configAdmin, oAuthFactory, cache);
         updateConfig(config);
     }
 
@@ -233,6 +238,19 @@ public class GoogleTTSService implements TTSService {
             if (param != null) {
                 config.purgeCache = Boolean.parseBoolean(param);
             }
+
+            // cacheMaxSize
+            param = newConfig.containsKey(PARAM_CACHE_MAX_SIZE) ? newConfig.get(PARAM_CACHE_MAX_SIZE).toString() : null;
+            if (param != null) {
+                config.cacheMaxSize = (int) Double.parseDouble(param);
+            }
+
+            // cacheMaxEntries
+            param = newConfig.containsKey(PARAM_CACHE_MAX_ENTRIES) ? newConfig.get(PARAM_CACHE_MAX_ENTRIES).toString()
+                    : null;
+            if (param != null) {
+                config.cacheMaxEntries = (int) Double.parseDouble(param);
+            }
             logger.trace("New configuration: {}", config.toString());
 
             if (config.clientId != null && !config.clientId.isEmpty() && config.clientSecret != null
@@ -58,10 +58,11 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         rawAudio = inputStreamToBytes(inputStream);
         this.length = rawAudio.length + 36;
         this.audioFormat = audioFormat;
-        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
+        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(audioFormat, length),
+                new ByteArrayInputStream(rawAudio));
     }
 
-    private byte[] inputStreamToBytes(InputStream inputStream) throws IOException {
+    static byte[] inputStreamToBytes(InputStream inputStream) throws IOException {
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         int n = 0;
         byte[] buffer = new byte[4096];
@@ -96,7 +97,14 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         return length;
     }
 
-    private InputStream getWavHeaderInputStream(int length) throws IOException {
+    /**
+     * Creates the header of a WAV stream
+     *
+     * @param audioFormat The AudioFormat of the stream
+     * @param length The length of the stream after the RIFF chunk size, i.e. the length of the audio data plus 36
+     * @return The header
+     */
+    static InputStream getWavHeaderInputStream(AudioFormat audioFormat, long length) {
         // WAVE header
         // see http://www-mmsp.ece.mcgill.ca/Documents/AudioFormats/WAVE/WAVE.html
         byte[] header = new byte[44];
@@ -104,7 +112,7 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         byte format = 0x10; // PCM
         byte bits = 16;
         byte channel = 1;
-        long srate = (this.audioFormat != null) ? this.audioFormat.getFrequency() : 48000l;
+        long srate = (audioFormat != null) ? audioFormat.getFrequency() : 48000l;
         long rawLength = length - 36;
         long bitrate = srate * channel * bits;
 
@@ -161,15 +169,13 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
             inputStream.close();
         } catch (IOException e) {
         }
-        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
+        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(audioFormat, length),
+                new ByteArrayInputStream(rawAudio));
     }
 
     @Override
     public InputStream getClonedStream() throws AudioException {
-        try {
-            return new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
-        } catch (IOException e) {
-            throw new AudioException(e);
-        }
+        return new SequenceInputStream(getWavHeaderInputStream(audioFormat, length),
+                new ByteArrayInputStream(rawAudio));
     }
 }
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.marytts.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.audio.AudioException;
+import org.openhab.core.audio.AudioFormat;
+import org.openhab.core.audio.FixedLengthAudioStream;
+
+/**
+ * An audio stream of the {@link MaryTTSService} which is synthesized sentence by sentence.
+ *
+ * The stream can be read as soon as the first sentence is synthesized. If it is read before all sentences are
+ * synthesized, its WAV header announces the largest possible length, as players do for live streams, and the reader
+ * blocks until the next sentence is available. Until all sentences are synthesized, {@link #length()} returns that
+ * largest possible length as well, and cloned streams follow the synthesis the same way, so that sinks can start
+ * playing early. Closing the stream ends the reads waiting for the next sentence.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MaryTTSChunkedAudioStream extends FixedLengthAudioStream {
+
+    // the largest length a WAV header can hold, used while the final length is not known
+    static final long UNKNOWN_LENGTH = 0xFFFFFFFFL;
+
+    private final AudioFormat audioFormat;
+    private final List<byte[]> chunks = new ArrayList<>();
+    private long rawLength;
+    private boolean complete;
+    private boolean closed;
+    private @Nullable IOException failure;
+
+    private ChunkReader reader = new ChunkReader();
+
+    /**
+     * Reads the WAV header and the audio of the sentences, waiting for the sentences not synthesized yet
+     */
+    private class ChunkReader extends InputStream {
+        private @Nullable InputStream header;
+        private int chunkIndex;
+        private int chunkPosition;
+        private boolean readerClosed;
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte @Nullable [] b, int off, int len) throws IOException {
+            if (b == null) {
+                throw new NullPointerException();
+            } else if (len == 0) {
+                return 0;
+            }
+            synchronized (MaryTTSChunkedAudioStream.this) {
+                InputStream localHeader = header;
+                if (localHeader == null) {
+                    localHeader = MaryTTSAudioStream.getWavHeaderInputStream(audioFormat,
+                            complete ? rawLength + 36 : UNKNOWN_LENGTH);
+                    header = localHeader;
+                }
+                int read = localHeader.read(b, off, len);
+                if (read > 0) {
+                    return read;
+                }
+
+                while (chunkIndex >= chunks.size() && !complete && failure == null && !closed && !readerClosed) {
+                    try {
+                        MaryTTSChunkedAudioStream.this.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the synthesized audio");
+                    }
+                }
+                IOException localFailure = failure;
+                if (closed || readerClosed) {
+                    return -1;
+                } else if (localFailure != null) {
+                    throw new IOException("Failed to synthesize the audio: " + localFailure.getMessage(),
+                            localFailure);
+                } else if (chunkIndex >= chunks.size()) {
+                    return -1;
+                }
+                byte[] chunk = chunks.get(chunkIndex);
+                read = Math.min(len, chunk.length - chunkPosition);
+                System.arraycopy(chunk, chunkPosition, b, off, read);
+                chunkPosition += read;
+                if (chunkPosition >= chunk.length) {
+                    chunkIndex++;
+                    chunkPosition = 0;
+                }
+                return read;
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            synchronized (MaryTTSChunkedAudioStream.this) {
+                InputStream localHeader = header;
+                long available = localHeader != null ? localHeader.available() : 44;
+                for (int i = chunkIndex; i < chunks.size(); i++) {
+                    available += chunks.get(i).length - (i == chunkIndex ? chunkPosition : 0);
+                }
+                return (int) Math.min(Integer.MAX_VALUE, available);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (MaryTTSChunkedAudioStream.this) {
+                readerClosed = true;
+                MaryTTSChunkedAudioStream.this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @param audioFormat The AudioFormat of the synthesized audio
+     */
+    public MaryTTSChunkedAudioStream(AudioFormat audioFormat) {
+        this.audioFormat = audioFormat;
+    }
+
+    /**
+     * Adds the audio of the next sentence
+     */
+    synchronized void addChunk(byte[] audio) {
+        chunks.add(audio);
+        rawLength += audio.length;
+        notifyAll();
+    }
+
+    /**
+     * Marks the audio of all sentences as added
+     */
+    synchronized void complete() {
+        complete = true;
+        notifyAll();
+    }
+
+    /**
+     * Marks the synthesis as failed, so readers get the exception instead of the remaining audio
+     */
+    synchronized void fail(IOException e) {
+        failure = e;
+        notifyAll();
+    }
+
+    /**
+     * Returns true if the stream was closed, so the remaining sentences do not need to be synthesized
+     */
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return audioFormat;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return currentReader().read();
+    }
+
+    @Override
+    public int read(byte @Nullable [] b) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        return read(b, 0, b.length);
+    }
+
+    @Override
+    public int read(byte @Nullable [] b, int off, int len) throws IOException {
+        return currentReader().read(b, off, len);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return currentReader().available();
+    }
+
+    /**
+     * Returns the length of the stream after the RIFF chunk size, or {@link #UNKNOWN_LENGTH} while sentences are
+     * still synthesized
+     */
+    @Override
+    public synchronized long length() {
+        return complete ? rawLength + 36 : UNKNOWN_LENGTH;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        reader = new ChunkReader();
+    }
+
+    @Override
+    public synchronized InputStream getClonedStream() throws AudioException {
+        IOException localFailure = failure;
+        if (localFailure != null) {
+            throw new AudioException("Failed to synthesize the audio", localFailure);
+        }
+        return new ChunkReader();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        notifyAll();
+    }
+
+    private synchronized ChunkReader currentReader() {
+        return reader;
+    }
+}
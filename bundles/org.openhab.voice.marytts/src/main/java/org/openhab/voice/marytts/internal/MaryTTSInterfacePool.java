@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.marytts.internal;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import marytts.LocalMaryInterface;
+import marytts.MaryInterface;
+import marytts.exceptions.MaryConfigurationException;
+
+/**
+ * A bounded pool of {@link LocalMaryInterface}s, so that several texts can be synthesized at the same time.
+ *
+ * All interfaces share the voices and modules of the MaryTTS runtime, which is started once. An interface only holds
+ * the settings of a request, like its voice, so it must not be used by two requests at the same time.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MaryTTSInterfacePool {
+
+    /**
+     * The heap a synthesis may need in the worst case, used to limit the number of concurrent syntheses
+     */
+    static final long MEMORY_PER_SYNTHESIS = 64L * 1024 * 1024;
+
+    private final BlockingQueue<MaryInterface> idleInterfaces = new LinkedBlockingQueue<>();
+    private final int size;
+
+    /**
+     * @param size The number of interfaces
+     * @throws MaryConfigurationException if the MaryTTS runtime cannot be started
+     */
+    MaryTTSInterfacePool(int size) throws MaryConfigurationException {
+        this.size = size;
+        for (int i = 0; i < size; i++) {
+            idleInterfaces.add(new LocalMaryInterface());
+        }
+    }
+
+    /**
+     * Returns the size of a pool for the configured size and the free heap
+     *
+     * @param configuredSize The configured size, or 0 to use one interface per processor
+     * @return The size, at least 1
+     */
+    static int getSize(int configuredSize) {
+        Runtime runtime = Runtime.getRuntime();
+        long freeMemory = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return getSize(configuredSize, freeMemory, runtime.availableProcessors());
+    }
+
+    /**
+     * Returns the size of a pool for the configured size, the free heap and the number of processors
+     *
+     * @param configuredSize The configured size, or 0 to use one interface per processor
+     * @param freeMemory The free heap, in bytes
+     * @param processors The number of processors
+     * @return The size, at least 1
+     */
+    static int getSize(int configuredSize, long freeMemory, int processors) {
+        int memoryLimit = (int) Math.max(1, Math.min(Integer.MAX_VALUE, freeMemory / MEMORY_PER_SYNTHESIS));
+        int requestedSize = configuredSize > 0 ? configuredSize : processors;
+        return Math.max(1, Math.min(requestedSize, memoryLimit));
+    }
+
+    /**
+     * Waits for an idle interface and removes it from the pool
+     */
+    MaryInterface borrow() throws InterruptedException {
+        return idleInterfaces.take();
+    }
+
+    /**
+     * Returns an interface to the pool
+     */
+    void release(MaryInterface marytts) {
+        idleInterfaces.add(marytts);
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int getIdleCount() {
+        return idleInterfaces.size();
+    }
+}
@@ -15,15 +15,25 @@ package org.openhab.voice.marytts.internal;
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
 import java.io.IOException;
+import java.text.BreakIterator;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.openhab.core.audio.AudioFormat;
 import org.openhab.core.audio.AudioStream;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.voice.TTSException;
 import org.openhab.core.voice.TTSService;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,12 +49,23 @@ import marytts.modules.synthesis.Voice;
  * @author Kelly Davis - Initial contribution and API
  * @author Kai Kreuzer - Refactored to updated APIs and moved to openHAB
  */
-@Component
+@Component(configurationPid = MaryTTSService.SERVICE_PID, property = Constants.SERVICE_PID + "="
+        + MaryTTSService.SERVICE_PID)
+@ConfigurableService(category = "voice", label = "Mary Text-to-Speech", description_uri = "voice:marytts")
 public class MaryTTSService implements TTSService {
 
+    static final String SERVICE_PID = "org.openhab.voice.marytts";
+
+    private static final String CONFIG_POOL_SIZE = "poolSize";
+
     private final Logger logger = LoggerFactory.getLogger(MaryTTSService.class);
 
-    private MaryInterface marytts;
+    private final ExecutorService executor = ThreadPoolManager.getPool("marytts");
+
+    /**
+     * Pool of interfaces, replaced when its configured size changes
+     */
+    private volatile MaryTTSInterfacePool pool;
 
     /**
      * Set of supported voices
@@ -56,11 +77,35 @@ public class MaryTTSService implements TTSService {
      */
     private Set<AudioFormat> audioFormats;
 
-    protected void activate() {
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        try {
+            MaryInterface marytts = new LocalMaryInterface();
+            voices = initVoices(marytts);
+            audioFormats = initAudioFormats(marytts);
+        } catch (MaryConfigurationException e) {
+            logger.error("Failed to initialize MaryTTS: {}", e.getMessage(), e);
+            return;
+        }
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        Object poolSize = config.get(CONFIG_POOL_SIZE);
+        int configuredSize = poolSize != null ? (int) Double.parseDouble(poolSize.toString()) : 0;
+        int size = MaryTTSInterfacePool.getSize(configuredSize);
+        if (configuredSize > size) {
+            logger.info("Limiting the number of concurrent syntheses to {} as the free memory is low", size);
+        }
+        MaryTTSInterfacePool currentPool = pool;
+        if (currentPool != null && currentPool.getSize() == size) {
+            return;
+        }
         try {
-            marytts = new LocalMaryInterface();
-            voices = initVoices();
-            audioFormats = initAudioFormats();
+            // requests holding an interface of the previous pool return it there
+            pool = new MaryTTSInterfacePool(size);
+            logger.debug("Synthesizing up to {} texts at the same time", size);
         } catch (MaryConfigurationException e) {
             logger.error("Failed to initialize MaryTTS: {}", e.getMessage(), e);
         }
@@ -113,19 +158,94 @@ public class MaryTTSService implements TTSService {
          */
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
+        List<String> sentences = splitSentences(text, voice.getLocale());
 
-        // Synchronize on marytts
-        synchronized (marytts) {
+        MaryTTSInterfacePool currentPool = pool;
+        if (currentPool == null) {
+            throw new TTSException("MaryTTS is not initialized");
+        }
+        long start = System.nanoTime();
+        MaryInterface marytts;
+        try {
+            marytts = currentPool.borrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TTSException("Interrupted while waiting for MaryTTS");
+        }
+        long waitNanos = System.nanoTime() - start;
+        boolean released = true;
+        try {
             // Set voice (Each voice supports only a single AudioFormat)
             marytts.setLocale(voice.getLocale());
             marytts.setVoice(voice.getLabel());
 
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
+            if (sentences.size() <= 1) {
+                AudioStream audioStream = new MaryTTSAudioStream(marytts.generateAudio(text),
+                        maryTTSVoiceAudioFormat);
+                long nanos = System.nanoTime() - start;
+                logger.debug("Synthesized 1 sentence in {} ms (waited {} ms for MaryTTS)", nanos / 1_000_000,
+                        waitNanos / 1_000_000);
+                return audioStream;
+            }
+
+            // return the first sentence while the others are synthesized
+            MaryTTSChunkedAudioStream audioStream = new MaryTTSChunkedAudioStream(maryTTSVoiceAudioFormat);
+            audioStream.addChunk(MaryTTSAudioStream.inputStreamToBytes(marytts.generateAudio(sentences.get(0))));
+            long firstNanos = System.nanoTime() - start;
+            executor.execute(() -> synthesizeRemaining(currentPool, marytts, sentences, audioStream, start, waitNanos,
+                    firstNanos));
+            released = false;
+            return audioStream;
+        } catch (SynthesisException | IOException e) {
+            throw new TTSException("Error generating an AudioStream", e);
+        } finally {
+            if (released) {
+                currentPool.release(marytts);
+            }
+        }
+    }
+
+    private void synthesizeRemaining(MaryTTSInterfacePool currentPool, MaryInterface marytts, List<String> sentences,
+            MaryTTSChunkedAudioStream audioStream, long start, long waitNanos, long firstNanos) {
+        try {
+            for (String sentence : sentences.subList(1, sentences.size())) {
+                if (audioStream.isClosed()) {
+                    logger.debug("Stopped synthesizing as the audio stream was closed");
+                    break;
+                }
+                audioStream.addChunk(MaryTTSAudioStream.inputStreamToBytes(marytts.generateAudio(sentence)));
+            }
+            audioStream.complete();
+            long nanos = System.nanoTime() - start;
+            logger.debug("Synthesized {} sentences in {} ms (waited {} ms for MaryTTS, first sentence after {} ms)",
+                    sentences.size(), nanos / 1_000_000, waitNanos / 1_000_000, firstNanos / 1_000_000);
+        } catch (SynthesisException | IOException | RuntimeException e) {
+            logger.warn("Error generating an AudioStream: {}", e.getMessage());
+            audioStream.fail(e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e));
+        } finally {
+            currentPool.release(marytts);
+        }
+    }
+
+    /**
+     * Splits a text into sentences, which are synthesized one after another
+     *
+     * @param text The text
+     * @param locale The locale of the text
+     * @return The non-blank sentences of the text
+     */
+    static List<String> splitSentences(String text, Locale locale) {
+        List<String> sentences = new ArrayList<>();
+        BreakIterator iterator = BreakIterator.getSentenceInstance(locale);
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                sentences.add(sentence);
             }
         }
+        return sentences;
     }
 
     /**
@@ -133,7 +253,7 @@ public class MaryTTSService implements TTSService {
      *
      * @return The voices of this instance
      */
-    private Set<org.openhab.core.voice.Voice> initVoices() {
+    private Set<org.openhab.core.voice.Voice> initVoices(MaryInterface marytts) {
         Set<org.openhab.core.voice.Voice> voices = new HashSet<>();
         for (Locale locale : marytts.getAvailableLocales()) {
             for (String voiceLabel : marytts.getAvailableVoices(locale)) {
@@ -148,7 +268,7 @@ public class MaryTTSService implements TTSService {
      *
      * @return The audio formats of this instance
      */
-    private Set<AudioFormat> initAudioFormats() {
+    private Set<AudioFormat> initAudioFormats(MaryInterface marytts) {
         Set<AudioFormat> audioFormats = new HashSet<>();
         for (String voiceLabel : marytts.getAvailableVoices()) {
             audioFormats.add(getAudioFormat(Voice.getVoice(voiceLabel).dbAudioFormat()));
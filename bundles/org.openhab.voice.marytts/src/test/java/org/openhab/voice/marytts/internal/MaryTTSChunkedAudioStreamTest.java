@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.marytts.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.audio.AudioException;
+import org.openhab.core.audio.AudioFormat;
+
+/**
+ * Tests for {@link MaryTTSChunkedAudioStream}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MaryTTSChunkedAudioStreamTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED,
+            false, 16, null, 16_000L);
+    private static final byte[] FIRST = new byte[] { 1, 2, 3, 4 };
+    private static final byte[] SECOND = new byte[] { 5, 6 };
+
+    private final MaryTTSChunkedAudioStream stream = new MaryTTSChunkedAudioStream(FORMAT);
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw new IOException("Stream ended after " + offset + " bytes");
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    private static long riffChunkSize(byte[] header) {
+        return (header[4] & 0xffL) | (header[5] & 0xffL) << 8 | (header[6] & 0xffL) << 16 | (header[7] & 0xffL) << 24;
+    }
+
+    private static CompletableFuture<Integer> readAsync(InputStream in) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return in.read();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testReadsSentencesAsTheyAreSynthesized() throws Exception {
+        stream.addChunk(FIRST);
+
+        byte[] header = readFully(stream, 44);
+        assertEquals(MaryTTSChunkedAudioStream.UNKNOWN_LENGTH, riffChunkSize(header));
+        assertArrayEquals(FIRST, readFully(stream, FIRST.length));
+
+        CompletableFuture<Integer> next = readAsync(stream);
+        Thread.sleep(100);
+        assertFalse(next.isDone());
+        stream.addChunk(SECOND);
+        assertEquals(SECOND[0], next.get(5, TimeUnit.SECONDS).intValue());
+        assertEquals(SECOND[1], stream.read());
+
+        stream.complete();
+        assertEquals(-1, stream.read());
+    }
+
+    @Test
+    public void testHeaderHasLengthOnceComplete() throws IOException {
+        stream.addChunk(FIRST);
+        stream.addChunk(SECOND);
+        stream.complete();
+
+        byte[] header = readFully(stream, 44);
+        assertEquals(FIRST.length + SECOND.length + 36, riffChunkSize(header));
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6 }, readFully(stream, 6));
+        assertEquals(-1, stream.read());
+    }
+
+    @Test
+    public void testCloseEndsBlockedRead() throws Exception {
+        stream.addChunk(FIRST);
+        readFully(stream, 44 + FIRST.length);
+
+        CompletableFuture<Integer> next = readAsync(stream);
+        Thread.sleep(100);
+        assertFalse(next.isDone());
+        stream.close();
+
+        assertEquals(-1, next.get(5, TimeUnit.SECONDS).intValue());
+        assertTrue(stream.isClosed());
+    }
+
+    @Test
+    public void testLengthDoesNotWaitForCompletion() {
+        stream.addChunk(FIRST);
+        assertEquals(MaryTTSChunkedAudioStream.UNKNOWN_LENGTH, stream.length());
+
+        stream.addChunk(SECOND);
+        stream.complete();
+        assertEquals(FIRST.length + SECOND.length + 36, stream.length());
+    }
+
+    @Test
+    public void testClonedStreamFollowsSynthesis() throws Exception {
+        stream.addChunk(FIRST);
+        InputStream clone = stream.getClonedStream();
+
+        readFully(clone, 44);
+        assertArrayEquals(FIRST, readFully(clone, FIRST.length));
+        CompletableFuture<Integer> next = readAsync(clone);
+        stream.addChunk(SECOND);
+        assertEquals(SECOND[0], next.get(5, TimeUnit.SECONDS).intValue());
+
+        // The stream itself is read independently of its clones
+        byte[] all = readFully(stream, 44 + FIRST.length + SECOND.length);
+        assertArrayEquals(SECOND, Arrays.copyOfRange(all, 44 + FIRST.length, all.length));
+
+        clone.close();
+        assertEquals(-1, clone.read());
+        assertFalse(stream.isClosed());
+    }
+
+    @Test
+    public void testFailureIsReported() throws IOException {
+        stream.addChunk(FIRST);
+        readFully(stream, 44 + FIRST.length);
+        stream.fail(new IOException("simulated"));
+
+        assertThrows(IOException.class, stream::read);
+        assertThrows(AudioException.class, stream::getClonedStream);
+    }
+}
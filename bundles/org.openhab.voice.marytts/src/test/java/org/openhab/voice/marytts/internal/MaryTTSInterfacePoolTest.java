@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.marytts.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MaryTTSInterfacePool}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MaryTTSInterfacePoolTest {
+
+    private static final long MEMORY = MaryTTSInterfacePool.MEMORY_PER_SYNTHESIS;
+
+    @Test
+    public void testConfiguredSize() {
+        assertEquals(3, MaryTTSInterfacePool.getSize(3, 16 * MEMORY, 8));
+    }
+
+    @Test
+    public void testDefaultsToProcessors() {
+        assertEquals(8, MaryTTSInterfacePool.getSize(0, 16 * MEMORY, 8));
+    }
+
+    @Test
+    public void testLimitedByFreeMemory() {
+        assertEquals(2, MaryTTSInterfacePool.getSize(6, 2 * MEMORY + MEMORY / 2, 8));
+        assertEquals(2, MaryTTSInterfacePool.getSize(0, 2 * MEMORY, 8));
+    }
+
+    @Test
+    public void testAtLeastOne() {
+        assertEquals(1, MaryTTSInterfacePool.getSize(4, 0, 8));
+        assertEquals(1, MaryTTSInterfacePool.getSize(0, 16 * MEMORY, 0));
+    }
+}
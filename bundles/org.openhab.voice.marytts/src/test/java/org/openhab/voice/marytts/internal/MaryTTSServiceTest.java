@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.marytts.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MaryTTSService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MaryTTSServiceTest {
+
+    @Test
+    public void testSplitSentences() {
+        assertEquals(List.of("Hello world.", "How are you?", "Fine!"),
+                MaryTTSService.splitSentences("Hello world. How are you? Fine!", Locale.ENGLISH));
+    }
+
+    @Test
+    public void testSplitSentencesSkipsBlankSentences() {
+        assertEquals(List.of("Hello.", "Bye."),
+                MaryTTSService.splitSentences("  Hello.   \n\n  Bye.  ", Locale.ENGLISH));
+    }
+
+    @Test
+    public void testSingleSentence() {
+        assertEquals(List.of("Good morning"), MaryTTSService.splitSentences("Good morning", Locale.ENGLISH));
+        assertEquals(List.of(), MaryTTSService.splitSentences("   ", Locale.ENGLISH));
+    }
+
+    @Test
+    public void testSplitSentencesUsesLocale() {
+        assertEquals(List.of("Guten Morgen.", "Wie geht's?"),
+                MaryTTSService.splitSentences("Guten Morgen. Wie geht's?", Locale.GERMAN));
+    }
+}
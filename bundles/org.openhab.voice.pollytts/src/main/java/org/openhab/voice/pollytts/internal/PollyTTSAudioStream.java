@@ -12,7 +12,9 @@
  */
 package org.openhab.voice.pollytts.internal;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 
 import org.openhab.core.audio.AudioException;
 import org.openhab.core.audio.AudioFormat;
@@ -28,10 +30,24 @@ import org.openhab.core.audio.FileAudioStream;
  */
 class PollyTTSAudioStream extends FileAudioStream {
 
+    private final Closeable cachedAudio;
+
     /**
      * main method the passes the audio file to system audio services
+     *
+     * @param cachedAudio the cache entry of the file, which is released when the stream is closed
      */
-    public PollyTTSAudioStream(File audioFile, AudioFormat format) throws AudioException {
+    public PollyTTSAudioStream(File audioFile, AudioFormat format, Closeable cachedAudio) throws AudioException {
         super(audioFile, format);
+        this.cachedAudio = cachedAudio;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            cachedAudio.close();
+        }
     }
 }
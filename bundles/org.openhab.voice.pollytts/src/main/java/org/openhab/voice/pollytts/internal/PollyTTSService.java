@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.openhab.core.OpenHAB;
 import org.openhab.core.audio.AudioException;
@@ -32,6 +33,8 @@ import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.voice.TTSException;
 import org.openhab.core.voice.TTSService;
 import org.openhab.core.voice.Voice;
+import org.openhab.voice.pollytts.internal.cloudapi.AudioFileCache;
+import org.openhab.voice.pollytts.internal.cloudapi.AudioFileCache.CachedAudio;
 import org.openhab.voice.pollytts.internal.cloudapi.CachedPollyTTSCloudImpl;
 import org.openhab.voice.pollytts.internal.cloudapi.PollyTTSConfig;
 import org.osgi.framework.Constants;
@@ -83,6 +86,11 @@ public class PollyTTSService implements TTSService {
      */
     private CachedPollyTTSCloudImpl pollyTTSImpl;
 
+    /**
+     * The cache of the synthesized audio, kept across configuration changes
+     */
+    private AudioFileCache cache;
+
     /**
      * Set of supported voices
      */
@@ -106,14 +114,17 @@ public class PollyTTSService implements TTSService {
             pollyTTSConfig = new PollyTTSConfig(config);
             logger.debug("Using configuration {}", config);
 
-            // create cache folder
-            File cacheFolder = new File(new File(OpenHAB.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
-            if (!cacheFolder.exists()) {
-                cacheFolder.mkdirs();
+            if (cache == null) {
+                File cacheFolder = new File(new File(OpenHAB.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
+                logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
+                AudioFileCache audioFileCache = new AudioFileCache(cacheFolder.toPath());
+                audioFileCache.load();
+                cache = audioFileCache;
             }
-            logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
+            cache.setLimits(pollyTTSConfig.getCacheMaxSize() * 1024L * 1024L, pollyTTSConfig.getCacheMaxEntries(),
+                    TimeUnit.DAYS.toMillis(pollyTTSConfig.getExpireDate()));
 
-            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, cacheFolder);
+            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, cache);
 
             audioFormats.clear();
             audioFormats.addAll(initAudioFormats());
@@ -167,14 +178,20 @@ public class PollyTTSService implements TTSService {
         // now create the input stream for given text, locale, format. There is
         // only a default voice
         try {
-            File cacheAudioFile = pollyTTSImpl.getTextToSpeechAsFile(text, voice.getLabel(),
+            CachedAudio cachedAudio = pollyTTSImpl.getCachedTextToSpeech(text, voice.getLabel(),
                     getApiAudioFormat(requestedFormat));
+            logger.debug("Audio Stream for '{}' in format {}", text, requestedFormat);
+            File cacheAudioFile = cachedAudio.getFile();
             if (cacheAudioFile == null) {
-                throw new TTSException("Could not read from PollyTTS service");
+                // still written by a concurrent request for the same text
+                return new AudioFileCache.CachedAudioStream(cachedAudio.getInputStream(), requestedFormat);
+            }
+            try {
+                return new PollyTTSAudioStream(cacheAudioFile, requestedFormat, cachedAudio);
+            } catch (AudioException ex) {
+                cachedAudio.close();
+                throw ex;
             }
-            logger.debug("Audio Stream for '{}' in format {}", text, requestedFormat);
-            AudioStream audioStream = new PollyTTSAudioStream(cacheAudioFile, requestedFormat);
-            return audioStream;
         } catch (AudioException ex) {
             throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
         } catch (IOException ex) {
@@ -29,13 +29,16 @@ public class PollyTTSConfig {
     private static final String SERVICE_REGION = "serviceRegion";
     private static final String AUDIO_FORMAT = "audioFormat";
     private static final String CACHE_EXPIRATION = "cacheExpiration";
+    private static final String CACHE_MAX_SIZE = "cacheMaxSize";
+    private static final String CACHE_MAX_ENTRIES = "cacheMaxEntries";
 
     private String accessKey = "";
     private String secretKey = "";
     private String serviceRegion = "eu-west-1";
     private int expireDate = 0;
     private String audioFormat = "default";
-    private long lastDelete;
+    private int cacheMaxSize = 100;
+    private int cacheMaxEntries = 1000;
 
     public PollyTTSConfig(Map<String, Object> config) {
         assertValidConfig(config);
@@ -46,6 +49,10 @@ public class PollyTTSConfig {
         audioFormat = config.getOrDefault(AUDIO_FORMAT, audioFormat).toString();
         expireDate = (int) Double
                 .parseDouble(config.getOrDefault(CACHE_EXPIRATION, Double.toString(expireDate)).toString());
+        cacheMaxSize = (int) Double
+                .parseDouble(config.getOrDefault(CACHE_MAX_SIZE, Double.toString(cacheMaxSize)).toString());
+        cacheMaxEntries = (int) Double
+                .parseDouble(config.getOrDefault(CACHE_MAX_ENTRIES, Double.toString(cacheMaxEntries)).toString());
     }
 
     private void assertValidConfig(Map<String, Object> config) {
@@ -86,17 +93,17 @@ public class PollyTTSConfig {
     }
 
     /**
-     * get the date when cache was cleaned last
+     * get the maximum size of the cache in MB
      */
-    public long getLastDelete() {
-        return lastDelete;
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
     }
 
     /**
-     * set the date when cache was cleaned last
+     * get the maximum number of cached files
      */
-    public void setLastDelete(long lastDelete) {
-        this.lastDelete = lastDelete;
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
     }
 
     @Override
@@ -104,7 +111,8 @@ public class PollyTTSConfig {
         StringBuilder builder = new StringBuilder();
         builder.append("PollyTTSConfig [accessKey=").append(accessKey).append(", secretKey=").append(secretKey)
                 .append(", serviceRegion=").append(serviceRegion).append(", expireDate=").append(expireDate)
-                .append(", audioFormat=").append(audioFormat).append(", lastDelete=").append(lastDelete).append("]");
+                .append(", audioFormat=").append(audioFormat).append(", cacheMaxSize=").append(cacheMaxSize)
+                .append(", cacheMaxEntries=").append(cacheMaxEntries).append("]");
         return builder.toString();
     }
 }
@@ -12,7 +12,9 @@
  */
 package org.openhab.voice.voicerss.internal;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.audio.AudioException;
@@ -31,7 +33,22 @@ import org.openhab.core.audio.FileAudioStream;
 @NonNullByDefault
 class VoiceRSSAudioStream extends FileAudioStream {
 
-    public VoiceRSSAudioStream(File audioFile, AudioFormat format) throws AudioException {
+    private final Closeable cachedAudio;
+
+    /**
+     * @param cachedAudio the cache entry of the file, which is released when the stream is closed
+     */
+    public VoiceRSSAudioStream(File audioFile, AudioFormat format, Closeable cachedAudio) throws AudioException {
         super(audioFile, format);
+        this.cachedAudio = cachedAudio;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            cachedAudio.close();
+        }
     }
 }
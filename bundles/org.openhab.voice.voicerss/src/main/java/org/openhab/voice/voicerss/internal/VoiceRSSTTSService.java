@@ -14,6 +14,7 @@ package org.openhab.voice.voicerss.internal;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
@@ -30,6 +31,8 @@ import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.voice.TTSException;
 import org.openhab.core.voice.TTSService;
 import org.openhab.core.voice.Voice;
+import org.openhab.voice.voicerss.internal.cloudapi.AudioFileCache;
+import org.openhab.voice.voicerss.internal.cloudapi.AudioFileCache.CachedAudio;
 import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
@@ -54,6 +57,11 @@ public class VoiceRSSTTSService implements TTSService {
 
     // API Key comes from ConfigAdmin
     private static final String CONFIG_API_KEY = "apiKey";
+    private static final String CONFIG_CACHE_MAX_SIZE = "cacheMaxSize";
+    private static final String CONFIG_CACHE_MAX_ENTRIES = "cacheMaxEntries";
+
+    private static final long DEFAULT_CACHE_MAX_SIZE_MB = 100;
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
 
     /**
      * Map from openHAB AudioFormat Codec to VoiceRSS API Audio Codec
@@ -71,6 +79,8 @@ public class VoiceRSSTTSService implements TTSService {
     private final Logger logger = LoggerFactory.getLogger(VoiceRSSTTSService.class);
 
     private @Nullable String apiKey;
+    private long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE_MB * 1024 * 1024;
+    private int cacheMaxEntries = DEFAULT_CACHE_MAX_ENTRIES;
 
     /**
      * We need the cached implementation to allow for FixedLengthAudioStream.
@@ -93,13 +103,13 @@ public class VoiceRSSTTSService implements TTSService {
     @Activate
     protected void activate(@Nullable Map<String, Object> config) {
         try {
-            modified(config);
             voiceRssImpl = initVoiceImplementation();
+            modified(config);
             voices = initVoices();
             audioFormats = initAudioFormats();
 
             logger.debug("Using VoiceRSS cache folder {}", getCacheFolderName());
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | IOException e) {
             logger.warn("Failed to activate VoiceRSS: {}", e.getMessage(), e);
         }
     }
@@ -108,6 +118,16 @@ public class VoiceRSSTTSService implements TTSService {
     protected void modified(@Nullable Map<String, Object> config) {
         if (config != null) {
             apiKey = config.containsKey(CONFIG_API_KEY) ? config.get(CONFIG_API_KEY).toString() : null;
+            Object maxSize = config.get(CONFIG_CACHE_MAX_SIZE);
+            cacheMaxSize = (maxSize != null ? (long) Double.parseDouble(maxSize.toString())
+                    : DEFAULT_CACHE_MAX_SIZE_MB) * 1024 * 1024;
+            Object maxEntries = config.get(CONFIG_CACHE_MAX_ENTRIES);
+            cacheMaxEntries = maxEntries != null ? (int) Double.parseDouble(maxEntries.toString())
+                    : DEFAULT_CACHE_MAX_ENTRIES;
+        }
+        CachedVoiceRSSCloudImpl voiceRssCloud = voiceRssImpl;
+        if (voiceRssCloud != null) {
+            voiceRssCloud.getCache().setLimits(cacheMaxSize, cacheMaxEntries, 0);
         }
     }
 
@@ -147,10 +167,20 @@ public class VoiceRSSTTSService implements TTSService {
 
         // now create the input stream for given text, locale, voice, codec and format.
         try {
-            File cacheAudioFile = voiceRssCloud.getTextToSpeechAsFile(key, trimmedText,
+            CachedAudio cachedAudio = voiceRssCloud.getCachedTextToSpeech(key, trimmedText,
                     voice.getLocale().toLanguageTag(), voice.getLabel(), getApiAudioCodec(requestedFormat),
                     getApiAudioFormat(requestedFormat));
-            return new VoiceRSSAudioStream(cacheAudioFile, requestedFormat);
+            File cacheAudioFile = cachedAudio.getFile();
+            if (cacheAudioFile == null) {
+                // still written by a concurrent request for the same text
+                return new AudioFileCache.CachedAudioStream(cachedAudio.getInputStream(), requestedFormat);
+            }
+            try {
+                return new VoiceRSSAudioStream(cacheAudioFile, requestedFormat, cachedAudio);
+            } catch (AudioException ex) {
+                cachedAudio.close();
+                throw ex;
+            }
         } catch (AudioException ex) {
             throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
         } catch (IOException ex) {
@@ -317,8 +347,10 @@ public class VoiceRSSTTSService implements TTSService {
         }
     }
 
-    private CachedVoiceRSSCloudImpl initVoiceImplementation() throws IllegalStateException {
-        return new CachedVoiceRSSCloudImpl(getCacheFolderName(), true);
+    private CachedVoiceRSSCloudImpl initVoiceImplementation() throws IOException {
+        AudioFileCache cache = new AudioFileCache(Path.of(getCacheFolderName()));
+        cache.load();
+        return new CachedVoiceRSSCloudImpl(cache, true);
     }
 
     private String getCacheFolderName() {
@@ -17,8 +17,11 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Path;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.voice.voicerss.internal.cloudapi.AudioFileCache;
+import org.openhab.voice.voicerss.internal.cloudapi.AudioFileCache.CachedAudio;
 import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
 
 /**
@@ -80,14 +83,20 @@ public class CreateTTSCache {
                 }
                 return RC_INPUT_FILE_NOT_FOUND;
             }
-            generateCacheForFile(apiKey, cacheDir, locale, voice, codec, format, inputFileName);
+            generateCacheForFile(apiKey, createImpl(cacheDir), locale, voice, codec, format, inputFileName);
         } else {
             String text = args[5];
-            generateCacheForMessage(apiKey, cacheDir, locale, voice, codec, format, text);
+            generateCacheForMessage(apiKey, createImpl(cacheDir), locale, voice, codec, format, text);
         }
         return RC_OK;
     }
 
+    private CachedVoiceRSSCloudImpl createImpl(String cacheDir) throws IOException {
+        AudioFileCache cache = new AudioFileCache(Path.of(cacheDir));
+        cache.load();
+        return new CachedVoiceRSSCloudImpl(cache, false);
+    }
+
     private void usage() {
         PrintStream printStream = System.out;
         if (printStream == null) {
@@ -111,20 +120,20 @@ public class CreateTTSCache {
         printStream.println();
     }
 
-    private void generateCacheForFile(String apiKey, String cacheDir, String locale, String voice, String codec,
-            String format, String inputFileName) throws IOException {
+    private void generateCacheForFile(String apiKey, CachedVoiceRSSCloudImpl impl, String locale, String voice,
+            String codec, String format, String inputFileName) throws IOException {
         File inputFile = new File(inputFileName);
         try (BufferedReader br = new BufferedReader(new FileReader(inputFile))) {
             String line;
             while ((line = br.readLine()) != null) {
                 // process the line.
-                generateCacheForMessage(apiKey, cacheDir, locale, voice, codec, format, line);
+                generateCacheForMessage(apiKey, impl, locale, voice, codec, format, line);
             }
         }
     }
 
-    private void generateCacheForMessage(String apiKey, String cacheDir, String locale, String voice, String codec,
-            String format, String msg) throws IOException {
+    private void generateCacheForMessage(String apiKey, CachedVoiceRSSCloudImpl impl, String locale, String voice,
+            String codec, String format, String msg) throws IOException {
         PrintStream printStream;
         String trimmedMsg = msg.trim();
         if (trimmedMsg.length() == 0) {
@@ -135,14 +144,16 @@ public class CreateTTSCache {
             return;
         }
         try {
-            CachedVoiceRSSCloudImpl impl = new CachedVoiceRSSCloudImpl(cacheDir, false);
-            File cachedFile = impl.getTextToSpeechAsFile(apiKey, trimmedMsg, locale, voice, codec, format);
-            printStream = System.out;
-            if (printStream != null) {
-                printStream.println("Created cached audio for locale='" + locale + "', voice='" + voice + "', msg='"
-                        + trimmedMsg + "' to file=" + cachedFile);
+            try (CachedAudio cachedAudio = impl.getCachedTextToSpeech(apiKey, trimmedMsg, locale, voice, codec,
+                    format)) {
+                File cachedFile = cachedAudio.getFile();
+                printStream = System.out;
+                if (printStream != null) {
+                    printStream.println("Created cached audio for locale='" + locale + "', voice='" + voice
+                            + "', msg='" + trimmedMsg + "' to file=" + cachedFile);
+                }
             }
-        } catch (IllegalStateException | IOException ex) {
+        } catch (IOException ex) {
             printStream = System.err;
             if (printStream != null) {
                 printStream.println("Failed to create cached audio for locale='" + locale + "', voice='" + voice
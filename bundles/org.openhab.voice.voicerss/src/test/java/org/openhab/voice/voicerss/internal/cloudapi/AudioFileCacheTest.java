@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.voicerss.internal.cloudapi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.voice.voicerss.internal.cloudapi.AudioFileCache.CachedAudio;
+
+/**
+ * Tests for {@link AudioFileCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AudioFileCacheTest {
+
+    private static final byte[] AUDIO = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 };
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+
+    private final AtomicInteger supplierCalls = new AtomicInteger();
+
+    private InputStream supply() {
+        supplierCalls.incrementAndGet();
+        return new ByteArrayInputStream(AUDIO);
+    }
+
+    @Test
+    public void testHitAfterMiss() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+
+        String key = AudioFileCache.key("en-us", "default", "MP3", "Hello World");
+        try (CachedAudio first = cache.get(key, "MP3", this::supply);
+                CachedAudio second = cache.get(key, "MP3", this::supply)) {
+            File file = first.getFile();
+            assertNotNull(file);
+            assertEquals(file, second.getFile());
+            assertArrayEquals(AUDIO, Files.readAllBytes(file.toPath()));
+        }
+        assertEquals(1, supplierCalls.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+        cache.setLimits(Long.MAX_VALUE, 2, 0);
+
+        cache.get("a".repeat(64), "mp3", this::supply).close();
+        cache.get("b".repeat(64), "mp3", this::supply).close();
+        cache.get("a".repeat(64), "mp3", this::supply).close();
+        cache.get("c".repeat(64), "mp3", this::supply).close();
+
+        assertEquals(2, cache.getEntryCount());
+        assertTrue(Files.exists(directory.resolve("a".repeat(64) + ".mp3")));
+        assertFalse(Files.exists(directory.resolve("b".repeat(64) + ".mp3")));
+
+        cache.setLimits(AUDIO.length, 2, 0);
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(AUDIO.length, cache.getSize());
+        assertTrue(Files.exists(directory.resolve("c".repeat(64) + ".mp3")));
+    }
+
+    @Test
+    public void testEntriesInUseAreNotEvicted() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+        cache.setLimits(Long.MAX_VALUE, 1, 0);
+
+        CachedAudio inUse = cache.get("a".repeat(64), "mp3", this::supply);
+        cache.get("a".repeat(64), "mp3", this::supply).close();
+        cache.get("b".repeat(64), "mp3", this::supply).close();
+
+        File file = inUse.getFile();
+        assertNotNull(file);
+        assertArrayEquals(AUDIO, Files.readAllBytes(file.toPath()));
+        assertEquals(2, cache.getEntryCount());
+
+        inUse.close();
+        assertEquals(1, cache.getEntryCount());
+        assertFalse(Files.exists(file.toPath()));
+
+        try (CachedAudio cleared = cache.get("b".repeat(64), "mp3", this::supply)) {
+            cache.clear();
+            File clearedFile = cleared.getFile();
+            assertNotNull(clearedFile);
+            assertTrue(Files.exists(clearedFile.toPath()));
+            assertEquals(1, cache.getEntryCount());
+        }
+        cache.clear();
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void testRemovedFileIsProvidedAgain() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+        cache.get("a".repeat(64), "mp3", this::supply).close();
+        Files.delete(directory.resolve("a".repeat(64) + ".mp3"));
+
+        try (CachedAudio removed = cache.get("a".repeat(64), "mp3", this::supply)) {
+            assertThrows(IOException.class, removed::getInputStream);
+        }
+        try (CachedAudio provided = cache.get("a".repeat(64), "mp3", this::supply);
+                InputStream in = provided.getInputStream()) {
+            assertArrayEquals(AUDIO, in.readAllBytes());
+        }
+        assertEquals(2, supplierCalls.get());
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(AUDIO.length, cache.getSize());
+    }
+
+    @Test
+    public void testLoadIndexesEntriesAndKeepsOtherFiles() throws IOException {
+        Files.write(directory.resolve("en-US_00a2653ac5f77063bc4ea2fee87318d3.mp3"), AUDIO);
+        Files.write(directory.resolve("notes.txt"), AUDIO);
+        Files.write(directory.resolve("d".repeat(64) + ".mp3.tmp"), AUDIO);
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+        cache.get("d".repeat(64), "mp3", this::supply).close();
+
+        AudioFileCache reloaded = new AudioFileCache(directory);
+        reloaded.load();
+        reloaded.clear();
+
+        assertEquals(0, reloaded.getEntryCount());
+        assertEquals(0, reloaded.getSize());
+        assertTrue(Files.exists(directory.resolve("en-US_00a2653ac5f77063bc4ea2fee87318d3.mp3")));
+        assertTrue(Files.exists(directory.resolve("notes.txt")));
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testReloadedEntryIsHit() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+        cache.get("d".repeat(64), "mp3", this::supply).close();
+
+        AudioFileCache reloaded = new AudioFileCache(directory);
+        reloaded.load();
+        reloaded.get("d".repeat(64), "mp3", this::supply).close();
+
+        assertEquals(1, reloaded.getEntryCount());
+        assertEquals(AUDIO.length, reloaded.getSize());
+        assertEquals(1, reloaded.getHitCount());
+        assertEquals(1, supplierCalls.get());
+    }
+
+    @Test
+    public void testFailedWriteIsNotCached() throws IOException {
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+
+        assertThrows(IOException.class, () -> cache.get("e".repeat(64), "mp3", () -> {
+            throw new IOException("Service unavailable");
+        }));
+
+        assertEquals(0, cache.getEntryCount());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testStreamsEntryWhileWritten() throws Exception {
+        AudioFileCache cache = new AudioFileCache(directory);
+        cache.load();
+        CountDownLatch firstChunkWritten = new CountDownLatch(1);
+        CountDownLatch readerStarted = new CountDownLatch(1);
+
+        String key = "f".repeat(64);
+        CompletableFuture<CachedAudio> writer = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.get(key, "mp3", () -> new InputStream() {
+                    private int position;
+
+                    @Override
+                    public int read() throws IOException {
+                        if (position == AUDIO.length / 2) {
+                            firstChunkWritten.countDown();
+                            try {
+                                readerStarted.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                throw new IOException(e);
+                            }
+                        }
+                        return position < AUDIO.length ? AUDIO[position++] : -1;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int read = read();
+                        if (read < 0) {
+                            return -1;
+                        }
+                        b[off] = (byte) read;
+                        return 1;
+                    }
+                });
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(firstChunkWritten.await(5, TimeUnit.SECONDS));
+        CachedAudio streamed = cache.get(key, "mp3", this::supply);
+        readerStarted.countDown();
+
+        assertNull(streamed.getFile());
+        try (InputStream in = streamed.getInputStream()) {
+            assertArrayEquals(AUDIO, in.readAllBytes());
+        }
+        try (CachedAudio written = writer.get(5, TimeUnit.SECONDS)) {
+            assertNotNull(written.getFile());
+        }
+        assertEquals(0, supplierCalls.get());
+        assertEquals(1, cache.getHitCount());
+    }
+}
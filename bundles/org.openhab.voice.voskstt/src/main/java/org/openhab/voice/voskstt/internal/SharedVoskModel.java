@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2022 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.voskstt.internal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vosk.Model;
+import org.vosk.Recognizer;
+
+/**
+ * The {@link SharedVoskModel} class is a reference counted Vosk {@link Model}, shared by the running recognitions, with
+ * a pool of idle {@link Recognizer}s per sample rate.
+ *
+ * The model is closed, along with the idle recognizers, when its last reference is released.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedVoskModel {
+    /**
+     * Max number of idle recognizers kept per sample rate
+     */
+    private static final int MAX_IDLE_RECOGNIZERS = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(SharedVoskModel.class);
+    private final Model model;
+    private final Map<Float, Deque<Recognizer>> idleRecognizers = new HashMap<>();
+    private int references = 1;
+
+    /**
+     * Loads a model, holding the first reference to it.
+     *
+     * @param modelPath the model directory
+     */
+    public SharedVoskModel(String modelPath) throws IOException {
+        logger.debug("loading model");
+        long start = System.nanoTime();
+        this.model = new Model(modelPath);
+        logger.debug("model loaded in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a reference to the model.
+     *
+     * @return false if the model was already closed
+     */
+    public synchronized boolean retain() {
+        if (references == 0) {
+            return false;
+        }
+        references++;
+        return true;
+    }
+
+    /**
+     * Releases a reference to the model, closing it if it was the last one.
+     */
+    public void release() {
+        List<Recognizer> recognizersToClose = new ArrayList<>();
+        synchronized (this) {
+            if (references == 0 || --references > 0) {
+                return;
+            }
+            idleRecognizers.values().forEach(recognizersToClose::addAll);
+            idleRecognizers.clear();
+        }
+        logger.debug("unloading model");
+        recognizersToClose.forEach(Recognizer::close);
+        model.close();
+    }
+
+    /**
+     * Creates an idle recognizer for a sample rate, so that the first recognition does not wait for it.
+     */
+    public void warmUp(float sampleRate) throws IOException {
+        returnRecognizer(sampleRate, borrowRecognizer(sampleRate));
+    }
+
+    /**
+     * Takes an idle recognizer for a sample rate from the pool or creates a new one. The caller must hold a reference
+     * to the model until the recognizer is returned.
+     */
+    public Recognizer borrowRecognizer(float sampleRate) throws IOException {
+        synchronized (this) {
+            var recognizers = idleRecognizers.get(sampleRate);
+            if (recognizers != null && !recognizers.isEmpty()) {
+                return recognizers.pop();
+            }
+        }
+        logger.debug("creating recognizer for sample rate {}", sampleRate);
+        return new Recognizer(model, sampleRate);
+    }
+
+    /**
+     * Returns a recognizer to the pool, or closes it if the pool is full.
+     */
+    public void returnRecognizer(float sampleRate, Recognizer recognizer) {
+        // flushing the pending audio leaves the recognizer ready for a new utterance
+        recognizer.getFinalResult();
+        synchronized (this) {
+            var recognizers = idleRecognizers.computeIfAbsent(sampleRate, rate -> new ArrayDeque<>());
+            if (references > 0 && recognizers.size() < MAX_IDLE_RECOGNIZERS) {
+                recognizers.push(recognizer);
+                return;
+            }
+        }
+        recognizer.close();
+    }
+}
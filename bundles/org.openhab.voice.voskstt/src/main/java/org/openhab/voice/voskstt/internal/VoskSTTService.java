@@ -42,6 +42,8 @@ import org.openhab.core.voice.STTService;
 import org.openhab.core.voice.STTServiceHandle;
 import org.openhab.core.voice.SpeechRecognitionErrorEvent;
 import org.openhab.core.voice.SpeechRecognitionEvent;
+import org.openhab.core.voice.SpeechStartEvent;
+import org.openhab.core.voice.SpeechStopEvent;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -50,9 +52,9 @@ import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.vosk.Model;
 import org.vosk.Recognizer;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -67,6 +69,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class VoskSTTService implements STTService {
     private static final String VOSK_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "vosk").toString();
     private static final String MODEL_PATH = Path.of(VOSK_FOLDER, "model").toString();
+    private static final long SUPPORTED_FREQUENCY = 16000L;
     static {
         Logger logger = LoggerFactory.getLogger(VoskSTTService.class);
         File directory = new File(VOSK_FOLDER);
@@ -79,8 +82,13 @@ public class VoskSTTService implements STTService {
     private final Logger logger = LoggerFactory.getLogger(VoskSTTService.class);
     private final ScheduledExecutorService executor = ThreadPoolManager.getScheduledPool("OH-voice-voskstt");
     private final LocaleService localeService;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Object modelLock = new Object();
     private VoskSTTConfiguration config = new VoskSTTConfiguration();
-    private @Nullable Model model;
+    // model shared by the running recognitions, possibly already closed
+    private @Nullable SharedVoskModel model;
+    // model the service holds a reference to, if preloaded
+    private @Nullable SharedVoskModel preloadedModel;
 
     @Activate
     public VoskSTTService(@Reference LocaleService localeService) {
@@ -99,27 +107,23 @@ public class VoskSTTService implements STTService {
 
     @Deactivate
     protected void deactivate(Map<String, Object> config) {
-        try {
-            unloadModel();
-        } catch (IOException e) {
-            logger.warn("IOException unloading model: {}", e.getMessage());
-        }
+        unloadModel();
     }
 
     private void configChange(Map<String, Object> config) {
         this.config = new Configuration(config).as(VoskSTTConfiguration.class);
+        unloadModel();
         if (this.config.preloadModel) {
             try {
-                loadModel();
+                synchronized (modelLock) {
+                    var model = loadModel();
+                    this.model = model;
+                    this.preloadedModel = model;
+                    model.warmUp(SUPPORTED_FREQUENCY);
+                }
             } catch (IOException e) {
                 logger.warn("IOException loading model: {}", e.getMessage());
             }
-        } else {
-            try {
-                unloadModel();
-            } catch (IOException e) {
-                logger.warn("IOException unloading model: {}", e.getMessage());
-            }
         }
     }
 
@@ -143,7 +147,8 @@ public class VoskSTTService implements STTService {
     @Override
     public Set<AudioFormat> getSupportedFormats() {
         return Set.of(
-                new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, null, null, 16000L));
+                new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, null, null,
+                        SUPPORTED_FREQUENCY));
     }
 
     @Override
@@ -164,34 +169,45 @@ public class VoskSTTService implements STTService {
         };
     }
 
-    private Model getModel() throws IOException {
-        var model = this.model;
-        if (model != null) {
+    /**
+     * Returns the shared model with a reference held by the caller, loading it if needed.
+     */
+    private SharedVoskModel acquireModel() throws IOException {
+        synchronized (modelLock) {
+            var model = this.model;
+            if (model != null && model.retain()) {
+                return model;
+            }
+            model = loadModel();
+            if (config.preloadModel) {
+                // the model could not be loaded on configuration, the service holds a reference from now on
+                model.retain();
+                this.preloadedModel = model;
+            }
+            this.model = model;
             return model;
         }
-        return loadModel();
     }
 
-    private Model loadModel() throws IOException {
-        unloadModel();
+    private SharedVoskModel loadModel() throws IOException {
         var modelFile = new File(MODEL_PATH);
         if (!modelFile.exists() || !modelFile.isDirectory()) {
             throw new IOException("missing model dir: " + MODEL_PATH);
         }
-        logger.debug("loading model");
-        var model = new Model(MODEL_PATH);
-        if (config.preloadModel) {
-            this.model = model;
-        }
-        return model;
+        return new SharedVoskModel(MODEL_PATH);
     }
 
-    private void unloadModel() throws IOException {
-        var model = this.model;
-        if (model != null) {
-            logger.debug("unloading model");
-            model.close();
+    /**
+     * Releases the reference of the service to the model, it is closed once the running recognitions finish.
+     */
+    private void unloadModel() {
+        synchronized (modelLock) {
+            var preloadedModel = this.preloadedModel;
             this.model = null;
+            this.preloadedModel = null;
+            if (preloadedModel != null) {
+                preloadedModel.release();
+            }
         }
     }
 
@@ -202,20 +218,30 @@ public class VoskSTTService implements STTService {
         long maxSilenceMillis = (config.maxSilenceSeconds * 1000L);
         long startTime = System.currentTimeMillis();
         return executor.submit(() -> {
+            SharedVoskModel model = null;
             Recognizer recognizer = null;
-            Model model = null;
+            long startNanos = System.nanoTime();
+            long audioBytes = 0;
+            long decodeNanos = 0;
+            long firstPartialNanos = 0;
             try {
-                model = getModel();
-                recognizer = new Recognizer(model, frequency);
+                model = acquireModel();
+                recognizer = model.borrowRecognizer(frequency);
                 long lastInputTime = System.currentTimeMillis();
                 int nbytes;
-                byte[] b = new byte[4096];
+                // chunks of 100ms of 16 bit mono audio, the read blocks until they are available
+                byte[] b = new byte[(int) (frequency / 10) * 2];
+                boolean speaking = false;
                 sttListener.sttEventReceived(new RecognitionStartEvent());
                 while (!aborted.get()) {
                     nbytes = audioStream.read(b);
                     if (aborted.get()) {
                         break;
                     }
+                    if (nbytes < 0) {
+                        logger.debug("Stops listening, end of audio stream reached");
+                        break;
+                    }
                     if (isExpiredInterval(maxTranscriptionMillis, startTime)) {
                         logger.debug("Stops listening, max transcription time reached");
                         break;
@@ -225,24 +251,49 @@ public class VoskSTTService implements STTService {
                         break;
                     }
                     if (nbytes == 0) {
-                        trySleep(100);
                         continue;
                     }
-                    if (recognizer.acceptWaveForm(b, nbytes)) {
+                    audioBytes += nbytes;
+                    long decodeStart = System.nanoTime();
+                    boolean utteranceEnded = recognizer.acceptWaveForm(b, nbytes);
+                    String result = utteranceEnded ? recognizer.getResult() : recognizer.getPartialResult();
+                    decodeNanos += System.nanoTime() - decodeStart;
+                    if (utteranceEnded) {
                         lastInputTime = System.currentTimeMillis();
-                        var result = recognizer.getResult();
                         logger.debug("Result: {}", result);
-                        ObjectMapper mapper = new ObjectMapper();
-                        var json = mapper.readTree(result);
-                        transcriptBuilder.append(json.get("text").asText()).append(" ");
+                        appendText(transcriptBuilder, result, "text");
+                        if (speaking) {
+                            speaking = false;
+                            sttListener.sttEventReceived(new SpeechStopEvent());
+                        }
                         if (config.singleUtteranceMode) {
                             break;
                         }
                     } else {
-                        logger.debug("Partial: {}", recognizer.getPartialResult());
+                        var partial = getText(result, "partial");
+                        if (!partial.isEmpty()) {
+                            logger.debug("Partial: {}", partial);
+                            if (firstPartialNanos == 0) {
+                                firstPartialNanos = System.nanoTime();
+                            }
+                            if (!speaking) {
+                                speaking = true;
+                                sttListener.sttEventReceived(new SpeechStartEvent());
+                            }
+                        }
                     }
                 }
+                long endOfInputNanos = System.nanoTime();
                 if (!aborted.get()) {
+                    if (speaking) {
+                        // the input ended in the middle of an utterance
+                        long decodeStart = System.nanoTime();
+                        var result = recognizer.getFinalResult();
+                        decodeNanos += System.nanoTime() - decodeStart;
+                        logger.debug("Result: {}", result);
+                        appendText(transcriptBuilder, result, "text");
+                        sttListener.sttEventReceived(new SpeechStopEvent());
+                    }
                     sttListener.sttEventReceived(new RecognitionStopEvent());
                     var transcript = transcriptBuilder.toString().trim();
                     logger.debug("Final: {}", transcript);
@@ -255,6 +306,7 @@ public class VoskSTTService implements STTService {
                             sttListener.sttEventReceived(new SpeechRecognitionErrorEvent("No results"));
                         }
                     }
+                    logMetrics(frequency, audioBytes, decodeNanos, startNanos, firstPartialNanos, endOfInputNanos);
                 }
             } catch (IOException e) {
                 logger.warn("Error running speech to text: {}", e.getMessage());
@@ -264,11 +316,11 @@ public class VoskSTTService implements STTService {
                     sttListener.sttEventReceived(new SpeechRecognitionErrorEvent(config.errorMessage));
                 }
             } finally {
-                if (recognizer != null) {
-                    recognizer.close();
-                }
-                if (!config.preloadModel && model != null) {
-                    model.close();
+                if (model != null) {
+                    if (recognizer != null) {
+                        model.returnRecognizer(frequency, recognizer);
+                    }
+                    model.release();
                 }
             }
             try {
@@ -279,11 +331,35 @@ public class VoskSTTService implements STTService {
         });
     }
 
-    private void trySleep(long ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException ignored) {
+    private void appendText(StringBuilder transcriptBuilder, String result, String field) throws IOException {
+        var text = getText(result, field);
+        if (!text.isEmpty()) {
+            transcriptBuilder.append(text).append(" ");
+        }
+    }
+
+    private String getText(String result, String field) throws IOException {
+        JsonNode text = mapper.readTree(result).get(field);
+        return text != null ? text.asText() : "";
+    }
+
+    /**
+     * Logs the real-time factor of the decoding, the time to the first partial result, and the latency of the
+     * final result after the end of the input and from the start of the recognition.
+     */
+    private void logMetrics(long frequency, long audioBytes, long decodeNanos, long startNanos,
+            long firstPartialNanos, long endOfInputNanos) {
+        if (!logger.isDebugEnabled()) {
+            return;
         }
+        long endNanos = System.nanoTime();
+        double audioSeconds = audioBytes / (frequency * 2.0);
+        double realTimeFactor = audioSeconds > 0 ? decodeNanos / 1e9 / audioSeconds : 0;
+        logger.debug(
+                "Recognized {} s of audio: real-time factor {}, first partial after {} ms, result {} ms after the end of the input, {} ms end-to-end",
+                String.format("%.2f", audioSeconds), String.format("%.2f", realTimeFactor),
+                firstPartialNanos != 0 ? (firstPartialNanos - startNanos) / 1_000_000 : "-",
+                (endNanos - endOfInputNanos) / 1_000_000, (endNanos - startNanos) / 1_000_000);
     }
 
     private boolean isExpiredInterval(long interval, long referenceTime) {
@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -616,6 +617,62 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         // no datetime, conversion not possible without transformation
     }
 
+    @Test
+    public void testOnRegistersUnchangedAreNotDecodedAgain() {
+        AtomicInteger transformations = new AtomicInteger();
+        mockTransformation("MULTIPLY", new TransformationService() {
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                transformations.incrementAndGet();
+                return new MultiplyTransformation().transform(function, source);
+            }
+        });
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "MULTIPLY(10)", ModbusConstants.ValueType.INT16, null,
+                new ModbusRegisterArray(new byte[] { (byte) 0xff, (byte) 0xfd, 0, 0 }), null, bundleContext);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-30));
+        int transformationsPerDecode = transformations.get();
+        assertTrue(transformationsPerDecode > 0);
+
+        // Poll-to-update path with only the registers of other things changing
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        for (int i = 0; i < 1000; i++) {
+            dataHandler.onReadResult(new AsyncModbusReadResult(request,
+                    new ModbusRegisterArray(new byte[] { (byte) 0xff, (byte) 0xfd, 0, (byte) i })));
+        }
+        assertThat(transformations.get(), is(equalTo(transformationsPerDecode)));
+
+        dataHandler.onReadResult(
+                new AsyncModbusReadResult(request, new ModbusRegisterArray(new byte[] { 0, 2, 0, 0 })));
+        assertThat(transformations.get(), is(equalTo(2 * transformationsPerDecode)));
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(getItemName(
+                    new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER)));
+            assertNotNull(updates);
+            assertThat(updates.get(updates.size() - 1), is(equalTo(new DecimalType(20))));
+        });
+    }
+
+    @Test
+    public void testOnRegistersUnchangedAreDecodedAgainOnceTransformationIsAvailable() {
+        // The transformation service is not available yet, e.g. on startup
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "LATEMULTIPLY(10)", ModbusConstants.ValueType.INT16, null,
+                new ModbusRegisterArray(new byte[] { (byte) 0xff, (byte) 0xfd, 0, 0 }), null, bundleContext);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-3));
+
+        mockTransformation("LATEMULTIPLY", new MultiplyTransformation());
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        dataHandler.onReadResult(new AsyncModbusReadResult(request,
+                new ModbusRegisterArray(new byte[] { (byte) 0xff, (byte) 0xfd, 0, 0 })));
+        waitForAssert(() -> {
+            List<State> updates = getStateUpdates(
+                    getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER)));
+            assertNotNull(updates);
+            assertThat(updates.get(updates.size() - 1), is(equalTo(new DecimalType(-30))));
+        });
+    }
+
     @Test
     public void testOnRegistersNaNFloatInRegisters() throws InvalidSyntaxException {
         ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,